@@ -350,16 +350,31 @@ public class RuleRegistryImpl extends AbstractRegistry<Rule, String, RuleProvide
         postRuleRemovedEvent(element);
     }
 
+    /**
+     * Notifies about each rule separately, as every rule has to be added to the {@link RuleEngine}.
+     */
     @Override
-    public Rule get(String key) {
-        for (Collection<Rule> rules : elementMap.values()) {
-            for (Rule rule : rules) {
-                if (rule.getUID().equals(key)) {
-                    return RuleUtils.getRuleCopy(rule);
-                }
+    protected void notifyListenersAboutAddedElements(Collection<Rule> elements) {
+        for (Rule element : elements) {
+            try {
+                notifyListenersAboutAddedElement(element);
+            } catch (RuntimeException e) {
+                logger.warn("Could not add rule '{}': {}", element.getUID(), e.getMessage(), e);
             }
         }
-        return null;
+    }
+
+    @Override
+    protected void notifyListenersAboutRemovedElements(Collection<Rule> elements) {
+        for (Rule element : elements) {
+            notifyListenersAboutRemovedElement(element);
+        }
+    }
+
+    @Override
+    public Rule get(String key) {
+        Rule rule = super.get(key);
+        return rule != null ? RuleUtils.getRuleCopy(rule) : null;
     }
 
     @Override
@@ -508,6 +523,14 @@ public class RuleRegistryImpl extends AbstractRegistry<Rule, String, RuleProvide
         updateRuleByTemplate(provider, element);
     }
 
+    @Override
+    public void addedAll(Provider<Rule> provider, Collection<Rule> elements) {
+        super.addedAll(provider, elements);
+        for (Rule element : elements) {
+            updateRuleByTemplate(provider, element);
+        }
+    }
+
     private void updateRuleByTemplate(Provider<Rule> provider, Rule rule) {
         Rule resolvedRule = resolveRuleByTemplate(rule);
         if (rule != resolvedRule) {
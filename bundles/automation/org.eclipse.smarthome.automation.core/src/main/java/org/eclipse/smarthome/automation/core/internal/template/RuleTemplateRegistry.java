@@ -61,16 +61,13 @@ public class RuleTemplateRegistry extends AbstractRegistry<RuleTemplate, String,
 
     @Override
     public RuleTemplate get(String templateUID, Locale locale) {
-        for (Provider<RuleTemplate> provider : elementMap.keySet()) {
-            for (RuleTemplate resultTemplate : elementMap.get(provider)) {
-                if (resultTemplate.getUID().equals(templateUID)) {
-                    RuleTemplate t = locale == null ? resultTemplate
-                            : ((RuleTemplateProvider) provider).getTemplate(templateUID, locale);
-                    return createCopy(t);
-                }
-            }
+        RuleTemplate resultTemplate = super.get(templateUID);
+        if (resultTemplate == null) {
+            return null;
         }
-        return null;
+        RuleTemplate t = locale == null ? resultTemplate
+                : ((RuleTemplateProvider) getProvider(resultTemplate)).getTemplate(templateUID, locale);
+        return createCopy(t);
     }
 
     private RuleTemplate createCopy(RuleTemplate template) {
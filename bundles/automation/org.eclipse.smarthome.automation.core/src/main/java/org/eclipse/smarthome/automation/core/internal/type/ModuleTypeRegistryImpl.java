@@ -65,16 +65,13 @@ public class ModuleTypeRegistryImpl extends AbstractRegistry<ModuleType, String,
     @Override
     @SuppressWarnings("unchecked")
     public <T extends ModuleType> T get(String moduleTypeUID, Locale locale) {
-        for (Provider<ModuleType> provider : elementMap.keySet()) {
-            for (ModuleType mType : elementMap.get(provider)) {
-                if (mType.getUID().equals(moduleTypeUID)) {
-                    ModuleType mt = locale == null ? mType
-                            : ((ModuleTypeProvider) provider).getModuleType(mType.getUID(), locale);
-                    return (T) createCopy(mt);
-                }
-            }
+        ModuleType mType = super.get(moduleTypeUID);
+        if (mType == null) {
+            return null;
         }
-        return null;
+        ModuleType mt = locale == null ? mType
+                : ((ModuleTypeProvider) getProvider(mType)).getModuleType(mType.getUID(), locale);
+        return (T) createCopy(mt);
     }
 
     @Override
@@ -21,9 +21,12 @@ import static org.mockito.MockitoAnnotations.initMocks;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.config.core.ConfigDescription;
 import org.eclipse.smarthome.config.core.ConfigDescriptionParameter;
@@ -193,6 +196,42 @@ public class PersistentInboxTest {
         assertThat(eventCaptor.getValue().getDiscoveryResult().properties, hasEntry("foo", "bar"));
     }
 
+    @Test
+    public void testDelayedWritesAreFlushedAtOnce() {
+        ThingUID otherThingUID = new ThingUID(THING_TYPE_UID, "other");
+        inbox.setWriteDelay(TimeUnit.MINUTES.toMillis(1));
+
+        inbox.add(DiscoveryResultBuilder.create(THING_UID).build());
+        inbox.add(DiscoveryResultBuilder.create(otherThingUID).build());
+
+        verify(storage, never()).put(any(), any());
+        assertEquals(2, inbox.getAll().size());
+
+        inbox.setWriteDelay(0);
+
+        ArgumentCaptor<Map<String, Object>> valuesCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(storage).putAll(valuesCaptor.capture());
+        assertEquals(new HashSet<>(Arrays.asList(THING_UID.toString(), otherThingUID.toString())),
+                valuesCaptor.getValue().keySet());
+        verify(storage, never()).removeAll(any());
+    }
+
+    @Test
+    public void testDelayedRemovalIsFlushedAtOnce() {
+        inbox.setWriteDelay(TimeUnit.MINUTES.toMillis(1));
+
+        inbox.add(DiscoveryResultBuilder.create(THING_UID).build());
+        inbox.remove(THING_UID);
+
+        assertTrue(inbox.getAll().isEmpty());
+
+        inbox.setWriteDelay(0);
+
+        verify(storage, never()).putAll(any());
+        verify(storage, never()).remove(any());
+        verify(storage).removeAll(Collections.singletonList(THING_UID.toString()));
+    }
+
     private void configureConfigDescriptionRegistryMock(String paramName, Type type) throws URISyntaxException {
         URI configDescriptionURI = new URI("thing-type:test:test");
         ThingType thingType = ThingTypeBuilder.instance(THING_TYPE_UID, "Test")
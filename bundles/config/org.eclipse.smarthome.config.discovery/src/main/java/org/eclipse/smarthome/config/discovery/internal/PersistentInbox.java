@@ -21,10 +21,13 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -64,6 +67,7 @@ import org.eclipse.smarthome.core.thing.type.ThingType;
 import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
@@ -76,8 +80,12 @@ import org.slf4j.LoggerFactory;
  * This implementation uses the {@link DiscoveryServiceRegistry} to register itself as {@link DiscoveryListener} to
  * receive {@link DiscoveryResult} objects automatically from {@link DiscoveryService}s.
  * <p>
- * This implementation does neither handle memory leaks (orphaned listener instances) nor blocked listeners. No
- * performance optimizations have been done (synchronization).
+ * This implementation does neither handle memory leaks (orphaned listener instances) nor blocked listeners. The results
+ * are indexed in memory by bridge and thing type and expired results are tracked in a queue ordered by expiry time, so
+ * that lookups and the time to live check do not need to scan the whole inbox.
+ * <p>
+ * If a write delay is configured, the changes of the results are kept in memory for that period and then written to
+ * the storage at once, so that bursts of discovery results do not cause a storage write each.
  *
  * @author Michael Grammling - Initial Contribution
  * @author Dennis Nobel - Added automated removing of entries
@@ -87,7 +95,7 @@ import org.slf4j.LoggerFactory;
  * @author Christoph Knauf - Added removeThingsForBridge and getPropsAndConfigParams
  *
  */
-@Component(immediate = true, service = Inbox.class)
+@Component(immediate = true, configurationPid = "org.eclipse.smarthome.inbox", service = Inbox.class)
 public final class PersistentInbox implements Inbox, DiscoveryListener, ThingRegistryChangeListener {
 
     /**
@@ -99,21 +107,52 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
         updated
     }
 
-    private class TimeToLiveCheckingThread implements Runnable {
+    /**
+     * Entry of the expiry queue. The queue is ordered by expiry time, so that only the results at its head need to be
+     * checked. There is at most one entry per result: it is replaced when the result is updated and removed together
+     * with the result.
+     */
+    private static class ExpiryEntry implements Comparable<ExpiryEntry> {
 
-        private final PersistentInbox inbox;
+        private final long expiryTime;
+        private final ThingUID thingUID;
 
-        public TimeToLiveCheckingThread(PersistentInbox inbox) {
-            this.inbox = inbox;
+        public ExpiryEntry(long expiryTime, ThingUID thingUID) {
+            this.expiryTime = expiryTime;
+            this.thingUID = thingUID;
+        }
+
+        @Override
+        public int compareTo(ExpiryEntry other) {
+            int result = Long.compare(expiryTime, other.expiryTime);
+            return result != 0 ? result : thingUID.getAsString().compareTo(other.thingUID.getAsString());
         }
+    }
+
+    private class TimeToLiveCheckingThread implements Runnable {
 
         @Override
         public void run() {
             long now = new Date().getTime();
-            for (DiscoveryResult result : inbox.getAll()) {
+            List<ThingUID> dueThingUIDs = new ArrayList<>();
+            synchronized (expiryQueue) {
+                while (!expiryQueue.isEmpty() && expiryQueue.first().expiryTime < now) {
+                    ExpiryEntry entry = expiryQueue.pollFirst();
+                    expiryEntries.remove(entry.thingUID);
+                    dueThingUIDs.add(entry.thingUID);
+                }
+            }
+            for (ThingUID thingUID : dueThingUIDs) {
+                DiscoveryResult result = get(thingUID);
+                if (result == null) {
+                    continue;
+                }
                 if (isResultExpired(result, now)) {
-                    logger.debug("Inbox entry for thing {} is expired and will be removed", result.getThingUID());
-                    remove(result.getThingUID());
+                    logger.debug("Inbox entry for thing {} is expired and will be removed", thingUID);
+                    remove(thingUID);
+                } else {
+                    // result has been updated meanwhile
+                    scheduleExpiry(result);
                 }
             }
         }
@@ -126,6 +165,8 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
         }
     }
 
+    private static final String CONFIG_WRITE_DELAY = "writeDelay";
+
     private final Logger logger = LoggerFactory.getLogger(PersistentInbox.class);
 
     private final Set<InboxListener> listeners = new CopyOnWriteArraySet<>();
@@ -137,6 +178,13 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
     private StorageService storageService;
     private volatile Storage<DiscoveryResult> discoveryResultStorage;
     private final Map<DiscoveryResult, Class<?>> resultDiscovererMap = new ConcurrentHashMap<>();
+    private final Map<ThingUID, Set<ThingUID>> resultsByBridge = new ConcurrentHashMap<>();
+    private final Map<ThingTypeUID, Set<ThingUID>> resultsByThingType = new ConcurrentHashMap<>();
+    private final NavigableSet<ExpiryEntry> expiryQueue = new TreeSet<>();
+    private final Map<ThingUID, ExpiryEntry> expiryEntries = new HashMap<>();
+    private final Map<String, DiscoveryResult> pendingWrites = new LinkedHashMap<>();
+    private volatile long writeDelay;
+    private ScheduledFuture<?> flushJob;
     private ScheduledFuture<?> timeToLiveChecker;
     private EventPublisher eventPublisher;
     private final List<ThingHandlerFactory> thingHandlerFactories = new CopyOnWriteArrayList<>();
@@ -182,7 +230,8 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
                 DiscoveryResult inboxResult = get(thingUID);
 
                 if (inboxResult == null) {
-                    discoveryResultStorage.put(result.getThingUID().toString(), result);
+                    storeResult(result);
+                    addToIndex(result);
                     notifyListeners(result, EventType.added);
                     logger.info("Added new thing '{}' to inbox.", thingUID);
                     return true;
@@ -190,7 +239,8 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
                     if (inboxResult instanceof DiscoveryResultImpl) {
                         DiscoveryResultImpl resultImpl = (DiscoveryResultImpl) inboxResult;
                         resultImpl.synchronize(result);
-                        discoveryResultStorage.put(result.getThingUID().toString(), resultImpl);
+                        storeResult(resultImpl);
+                        scheduleExpiry(resultImpl);
                         notifyListeners(resultImpl, EventType.updated);
                         logger.debug("Updated discovery result for '{}'.", thingUID);
                         return true;
@@ -274,7 +324,7 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
     public List<DiscoveryResult> get(InboxFilterCriteria criteria) throws IllegalStateException {
         List<DiscoveryResult> filteredEntries = new ArrayList<>();
 
-        for (DiscoveryResult discoveryResult : this.discoveryResultStorage.getValues()) {
+        for (DiscoveryResult discoveryResult : getCandidates(criteria)) {
             if (matchFilter(discoveryResult, criteria)) {
                 filteredEntries.add(discoveryResult);
             }
@@ -283,6 +333,34 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
         return filteredEntries;
     }
 
+    /**
+     * Returns the results that can possibly match the given criteria, using the indexes where the criteria allow.
+     */
+    private Collection<DiscoveryResult> getCandidates(InboxFilterCriteria criteria) {
+        if (criteria != null && criteria.getThingUID() != null) {
+            DiscoveryResult result = get(criteria.getThingUID());
+            return result == null ? Collections.emptyList() : Collections.singletonList(result);
+        }
+        if (criteria != null && criteria.getThingTypeUID() != null) {
+            return getResults(resultsByThingType.get(criteria.getThingTypeUID()));
+        }
+        return getStoredResults();
+    }
+
+    private List<DiscoveryResult> getResults(Collection<ThingUID> thingUIDs) {
+        if (thingUIDs == null) {
+            return Collections.emptyList();
+        }
+        List<DiscoveryResult> results = new ArrayList<>(thingUIDs.size());
+        for (ThingUID thingUID : thingUIDs) {
+            DiscoveryResult result = get(thingUID);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
     @Override
     public List<DiscoveryResult> getAll() {
         return stream().collect(Collectors.toList());
@@ -290,7 +368,7 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
 
     @Override
     public Stream<DiscoveryResult> stream() {
-        return this.discoveryResultStorage.getValues().stream();
+        return getStoredResults().stream();
     }
 
     @Override
@@ -302,7 +380,8 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
                     removeResultsForBridge(thingUID);
                 }
                 resultDiscovererMap.remove(discoveryResult);
-                this.discoveryResultStorage.remove(thingUID.toString());
+                removeStoredResults(Collections.singletonList(thingUID));
+                removeFromIndex(discoveryResult);
                 notifyListeners(discoveryResult, EventType.removed);
                 return true;
             }
@@ -333,10 +412,16 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
     public Collection<ThingUID> removeOlderResults(DiscoveryService source, long timestamp,
             Collection<ThingTypeUID> thingTypeUIDs, ThingUID bridgeUID) {
         HashSet<ThingUID> removedThings = new HashSet<>();
-        for (DiscoveryResult discoveryResult : getAll()) {
+        if (thingTypeUIDs == null) {
+            return removedThings;
+        }
+        List<DiscoveryResult> candidates = new ArrayList<>();
+        for (ThingTypeUID thingTypeUID : thingTypeUIDs) {
+            candidates.addAll(getResults(resultsByThingType.get(thingTypeUID)));
+        }
+        for (DiscoveryResult discoveryResult : candidates) {
             Class<?> discoverer = resultDiscovererMap.get(discoveryResult);
-            if (thingTypeUIDs != null && thingTypeUIDs.contains(discoveryResult.getThingTypeUID())
-                    && discoveryResult.getTimestamp() < timestamp
+            if (discoveryResult.getTimestamp() < timestamp
                     && (discoverer == null || source.getClass() == discoverer)) {
                 ThingUID thingUID = discoveryResult.getThingUID();
                 if (bridgeUID == null || bridgeUID.equals(discoveryResult.getBridgeUID())) {
@@ -377,7 +462,7 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
         if (result instanceof DiscoveryResultImpl) {
             DiscoveryResultImpl resultImpl = (DiscoveryResultImpl) result;
             resultImpl.setFlag((flag == null) ? DiscoveryResultFlag.NEW : flag);
-            discoveryResultStorage.put(resultImpl.getThingUID().toString(), resultImpl);
+            storeResult(resultImpl);
             notifyListeners(resultImpl, EventType.updated);
         } else {
             logger.warn("Cannot set flag for result of instance type '{}'", result.getClass().getName());
@@ -396,7 +481,13 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
      */
     private DiscoveryResult get(ThingUID thingUID) {
         if (thingUID != null) {
-            return discoveryResultStorage.get(thingUID.toString());
+            String key = thingUID.toString();
+            synchronized (pendingWrites) {
+                if (pendingWrites.containsKey(key)) {
+                    return pendingWrites.get(key);
+                }
+                return discoveryResultStorage.get(key);
+            }
         }
 
         return null;
@@ -492,23 +583,186 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
     }
 
     private void removeResultsForBridge(ThingUID bridgeUID) {
-        for (ThingUID thingUID : getResultsForBridge(bridgeUID)) {
-            DiscoveryResult discoveryResult = get(thingUID);
-            if (discoveryResult != null) {
-                this.discoveryResultStorage.remove(thingUID.toString());
-                notifyListeners(discoveryResult, EventType.removed);
+        List<DiscoveryResult> discoveryResults = getResults(getResultsForBridge(bridgeUID));
+        if (discoveryResults.isEmpty()) {
+            return;
+        }
+        removeStoredResults(discoveryResults.stream().map(DiscoveryResult::getThingUID).collect(Collectors.toList()));
+        for (DiscoveryResult discoveryResult : discoveryResults) {
+            removeFromIndex(discoveryResult);
+            notifyListeners(discoveryResult, EventType.removed);
+        }
+    }
+
+    /**
+     * Returns all results, including the changes which have not been written to the storage yet.
+     */
+    private Collection<DiscoveryResult> getStoredResults() {
+        synchronized (pendingWrites) {
+            if (pendingWrites.isEmpty()) {
+                return discoveryResultStorage.getValues();
+            }
+            Map<String, DiscoveryResult> results = new LinkedHashMap<>();
+            for (DiscoveryResult result : discoveryResultStorage.getValues()) {
+                results.put(result.getThingUID().toString(), result);
+            }
+            for (Map.Entry<String, DiscoveryResult> entry : pendingWrites.entrySet()) {
+                if (entry.getValue() == null) {
+                    results.remove(entry.getKey());
+                } else {
+                    results.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return new ArrayList<>(results.values());
+        }
+    }
+
+    private void storeResult(DiscoveryResult result) {
+        String key = result.getThingUID().toString();
+        if (writeDelay == 0) {
+            discoveryResultStorage.put(key, result);
+            return;
+        }
+        synchronized (pendingWrites) {
+            pendingWrites.put(key, result);
+            scheduleFlush();
+        }
+    }
+
+    private void removeStoredResults(Collection<ThingUID> thingUIDs) {
+        List<String> keys = thingUIDs.stream().map(ThingUID::toString).collect(Collectors.toList());
+        if (writeDelay == 0) {
+            if (keys.size() == 1) {
+                discoveryResultStorage.remove(keys.get(0));
+            } else {
+                discoveryResultStorage.removeAll(keys);
+            }
+            return;
+        }
+        synchronized (pendingWrites) {
+            for (String key : keys) {
+                pendingWrites.put(key, null);
+            }
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        synchronized (pendingWrites) {
+            if (flushJob == null || flushJob.isDone()) {
+                flushJob = ThreadPoolManager.getScheduledPool("discovery").schedule(this::flushPendingWrites,
+                        writeDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Writes the pending changes of the results to the storage with one bulk call for the added or updated results
+     * and one for the removed results. The lock is held until the storage is written, so that readers never see an
+     * outdated result.
+     */
+    private void flushPendingWrites() {
+        synchronized (pendingWrites) {
+            if (pendingWrites.isEmpty() || discoveryResultStorage == null) {
+                return;
+            }
+            Map<String, DiscoveryResult> updated = new LinkedHashMap<>();
+            List<String> removed = new ArrayList<>();
+            for (Map.Entry<String, DiscoveryResult> entry : pendingWrites.entrySet()) {
+                if (entry.getValue() == null) {
+                    removed.add(entry.getKey());
+                } else {
+                    updated.put(entry.getKey(), entry.getValue());
+                }
+            }
+            pendingWrites.clear();
+            try {
+                if (!updated.isEmpty()) {
+                    discoveryResultStorage.putAll(updated);
+                }
+                if (!removed.isEmpty()) {
+                    discoveryResultStorage.removeAll(removed);
+                }
+                logger.debug("Wrote {} updated and {} removed inbox results to the storage.", updated.size(),
+                        removed.size());
+            } catch (RuntimeException e) {
+                logger.error("Could not write the inbox results to the storage: {}", e.getMessage(), e);
             }
         }
     }
 
     private List<ThingUID> getResultsForBridge(ThingUID bridgeUID) {
-        List<ThingUID> thingsForBridge = new ArrayList<>();
-        for (DiscoveryResult result : discoveryResultStorage.getValues()) {
-            if (bridgeUID.equals(result.getBridgeUID())) {
-                thingsForBridge.add(result.getThingUID());
+        Set<ThingUID> thingsForBridge = resultsByBridge.get(bridgeUID);
+        return thingsForBridge == null ? Collections.emptyList() : new ArrayList<>(thingsForBridge);
+    }
+
+    private void addToIndex(DiscoveryResult result) {
+        ThingUID thingUID = result.getThingUID();
+        if (result.getBridgeUID() != null) {
+            resultsByBridge.computeIfAbsent(result.getBridgeUID(), k -> ConcurrentHashMap.newKeySet()).add(thingUID);
+        }
+        if (result.getThingTypeUID() != null) {
+            resultsByThingType.computeIfAbsent(result.getThingTypeUID(), k -> ConcurrentHashMap.newKeySet())
+                    .add(thingUID);
+        }
+        scheduleExpiry(result);
+    }
+
+    private void removeFromIndex(DiscoveryResult result) {
+        ThingUID thingUID = result.getThingUID();
+        unscheduleExpiry(thingUID);
+        if (result.getBridgeUID() != null) {
+            removeFromIndex(resultsByBridge, result.getBridgeUID(), thingUID);
+        }
+        if (result.getThingTypeUID() != null) {
+            removeFromIndex(resultsByThingType, result.getThingTypeUID(), thingUID);
+        }
+    }
+
+    private <K> void removeFromIndex(Map<K, Set<ThingUID>> index, K key, ThingUID thingUID) {
+        index.computeIfPresent(key, (k, thingUIDs) -> {
+            thingUIDs.remove(thingUID);
+            return thingUIDs.isEmpty() ? null : thingUIDs;
+        });
+    }
+
+    private void rebuildIndex() {
+        resultsByBridge.clear();
+        resultsByThingType.clear();
+        synchronized (expiryQueue) {
+            expiryQueue.clear();
+            expiryEntries.clear();
+        }
+        if (discoveryResultStorage != null) {
+            for (DiscoveryResult result : discoveryResultStorage.getValues()) {
+                addToIndex(result);
+            }
+        }
+    }
+
+    private void scheduleExpiry(DiscoveryResult result) {
+        if (result.getTimeToLive() == DiscoveryResult.TTL_UNLIMITED) {
+            unscheduleExpiry(result.getThingUID());
+            return;
+        }
+        ExpiryEntry entry = new ExpiryEntry(result.getTimestamp() + result.getTimeToLive() * 1000,
+                result.getThingUID());
+        synchronized (expiryQueue) {
+            ExpiryEntry previous = expiryEntries.put(entry.thingUID, entry);
+            if (previous != null) {
+                expiryQueue.remove(previous);
+            }
+            expiryQueue.add(entry);
+        }
+    }
+
+    private void unscheduleExpiry(ThingUID thingUID) {
+        synchronized (expiryQueue) {
+            ExpiryEntry previous = expiryEntries.remove(thingUID);
+            if (previous != null) {
+                expiryQueue.remove(previous);
             }
         }
-        return thingsForBridge;
     }
 
     /**
@@ -569,21 +823,59 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
     }
 
     protected void activate(ComponentContext componentContext) {
+        if (componentContext != null && componentContext.getProperties() != null) {
+            setWriteDelay(getWriteDelay(componentContext.getProperties().get(CONFIG_WRITE_DELAY)));
+        }
         this.timeToLiveChecker = ThreadPoolManager.getScheduledPool("discovery")
-                .scheduleWithFixedDelay(new TimeToLiveCheckingThread(this), 0, 30, TimeUnit.SECONDS);
+                .scheduleWithFixedDelay(new TimeToLiveCheckingThread(), 0, 30, TimeUnit.SECONDS);
         this.discoveryServiceRegistry.addDiscoveryListener(this);
     }
 
     void setTimeToLiveCheckingInterval(int interval) {
         this.timeToLiveChecker.cancel(true);
         this.timeToLiveChecker = ThreadPoolManager.getScheduledPool("discovery")
-                .scheduleWithFixedDelay(new TimeToLiveCheckingThread(this), 0, interval, TimeUnit.SECONDS);
+                .scheduleWithFixedDelay(new TimeToLiveCheckingThread(), 0, interval, TimeUnit.SECONDS);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> properties) {
+        setWriteDelay(getWriteDelay(properties == null ? null : properties.get(CONFIG_WRITE_DELAY)));
     }
 
     protected void deactivate(ComponentContext componentContext) {
         this.discoveryServiceRegistry.removeDiscoveryListener(this);
         this.listeners.clear();
         this.timeToLiveChecker.cancel(true);
+        setWriteDelay(0);
+    }
+
+    /**
+     * Sets the period in milliseconds for which changes of the results are collected before they are written to the
+     * storage. With 0, every change is written right away and the pending changes are written immediately.
+     */
+    void setWriteDelay(long writeDelay) {
+        synchronized (pendingWrites) {
+            this.writeDelay = writeDelay;
+            if (writeDelay == 0) {
+                if (flushJob != null) {
+                    flushJob.cancel(false);
+                    flushJob = null;
+                }
+                flushPendingWrites();
+            }
+        }
+    }
+
+    private long getWriteDelay(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.toString()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid write delay '{}' for the inbox, writing changes right away.", value);
+            return 0;
+        }
     }
 
     @Reference
@@ -618,16 +910,20 @@ public final class PersistentInbox implements Inbox, DiscoveryListener, ThingReg
     @Reference(policy = ReferencePolicy.DYNAMIC)
     protected void setStorageService(final StorageService storageService) {
         if (this.storageService != storageService) {
+            flushPendingWrites();
             this.storageService = storageService;
             this.discoveryResultStorage = storageService.getStorage(DiscoveryResult.class.getName(),
                     this.getClass().getClassLoader());
+            rebuildIndex();
         }
     }
 
     protected void unsetStorageService(final StorageService storageService) {
         if (this.storageService == storageService) {
+            flushPendingWrites();
             this.storageService = null;
             this.discoveryResultStorage = null;
+            rebuildIndex();
         }
     }
 
@@ -14,21 +14,24 @@ package org.eclipse.smarthome.config.xml;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
 
 import org.eclipse.smarthome.core.common.registry.Identifiable;
 import org.osgi.framework.Bundle;
 
 /**
  * Common base class for XML based providers.
+ * <p>
+ * The objects are indexed by their UID and the localized copies are cached per UID and locale, so that look-ups do
+ * not have to scan all modules or localize the objects again. The cached copies of an object are dropped whenever an
+ * object with the same UID is added or removed.
  *
  * @author Simon Kaufmann - initial contribution, factored out of subclasses
  *
@@ -37,49 +40,24 @@ import org.osgi.framework.Bundle;
  */
 public abstract class AbstractXmlBasedProvider<T_ID, T_OBJECT extends Identifiable<T_ID>> {
 
-    private static class LocalizedKey {
-        public final Object id;
-        public final String locale;
-
-        public LocalizedKey(Object id, String locale) {
-            this.id = id;
-            this.locale = locale;
-        }
+    /**
+     * Cache key for the objects requested without a locale.
+     */
+    private static final Object NO_LOCALE = new Object();
 
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + ((id == null) ? 0 : id.hashCode());
-            result = prime * result + ((locale == null) ? 0 : locale.hashCode());
-            return result;
-        }
+    private static class BundleObject<T_OBJECT> {
+        public final Bundle bundle;
+        public final T_OBJECT object;
 
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            LocalizedKey other = (LocalizedKey) obj;
-            if (!Objects.equals(id, other.id)) {
-                return false;
-            }
-            if (!Objects.equals(locale, other.locale)) {
-                return false;
-            }
-            return true;
+        public BundleObject(Bundle bundle, T_OBJECT object) {
+            this.bundle = bundle;
+            this.object = object;
         }
-
     }
 
     private final Map<Bundle, List<T_OBJECT>> bundleObjectMap = new ConcurrentHashMap<>();
-    private final Map<LocalizedKey, T_OBJECT> localizedObjectCache = new ConcurrentHashMap<>();
+    private final Map<T_ID, BundleObject<T_OBJECT>> objectIndex = new ConcurrentHashMap<>();
+    private final Map<T_ID, Map<Object, T_OBJECT>> localizedObjectCache = new ConcurrentHashMap<>();
 
     /**
      * Create a translated/localized copy of the given object.
@@ -121,8 +99,9 @@ public abstract class AbstractXmlBasedProvider<T_ID, T_OBJECT extends Identifiab
         }
         objects.addAll(objectList);
         for (T_OBJECT object : objectList) {
+            objectIndex.put(object.getUID(), new BundleObject<>(bundle, object));
             // just make sure no old entry remains in the cache
-            removeCachedEntries(object);
+            localizedObjectCache.remove(object.getUID());
         }
     }
 
@@ -146,14 +125,11 @@ public abstract class AbstractXmlBasedProvider<T_ID, T_OBJECT extends Identifiab
      * @return the object if found, <code>null</code> otherwise
      */
     protected final T_OBJECT get(T_ID key, Locale locale) {
-        for (Entry<Bundle, List<T_OBJECT>> objects : bundleObjectMap.entrySet()) {
-            for (T_OBJECT object : objects.getValue()) {
-                if (key.equals(object.getUID())) {
-                    return acquireLocalizedObject(objects.getKey(), object, locale);
-                }
-            }
+        BundleObject<T_OBJECT> entry = objectIndex.get(key);
+        if (entry == null) {
+            return null;
         }
-        return null;
+        return acquireLocalizedObject(entry.bundle, entry.object, locale);
     }
 
     /**
@@ -162,12 +138,25 @@ public abstract class AbstractXmlBasedProvider<T_ID, T_OBJECT extends Identifiab
      * @param locale the locale
      * @return a collection containing all available objects. Never <code>null</code>
      */
-    protected final synchronized Collection<T_OBJECT> getAll(Locale locale) {
+    protected final Collection<T_OBJECT> getAll(Locale locale) {
+        return getAll(locale, key -> true);
+    }
+
+    /**
+     * Gets all available objects whose key matches the given filter. Only the matching objects are localized.
+     *
+     * @param locale the locale
+     * @param filter the filter for the keys of the objects
+     * @return a collection containing all matching objects. Never <code>null</code>
+     */
+    protected final synchronized Collection<T_OBJECT> getAll(Locale locale, Predicate<T_ID> filter) {
         List<T_OBJECT> ret = new LinkedList<>();
         Collection<Entry<Bundle, List<T_OBJECT>>> objectList = bundleObjectMap.entrySet();
         for (Entry<Bundle, List<T_OBJECT>> objects : objectList) {
             for (T_OBJECT object : objects.getValue()) {
-                ret.add(acquireLocalizedObject(objects.getKey(), object, locale));
+                if (filter.test(object.getUID())) {
+                    ret.add(acquireLocalizedObject(objects.getKey(), object, locale));
+                }
             }
         }
         return ret;
@@ -186,44 +175,49 @@ public abstract class AbstractXmlBasedProvider<T_ID, T_OBJECT extends Identifiab
         }
         List<T_OBJECT> objects = bundleObjectMap.remove(bundle);
         if (objects != null) {
-            removeCachedEntries(objects);
-        }
-    }
-
-    private void removeCachedEntries(List<T_OBJECT> objects) {
-        for (T_OBJECT object : objects) {
-            removeCachedEntries(object);
+            for (T_OBJECT object : objects) {
+                T_ID key = object.getUID();
+                BundleObject<T_OBJECT> entry = objectIndex.get(key);
+                if (entry != null && entry.bundle.equals(bundle)) {
+                    reindex(key);
+                }
+                localizedObjectCache.remove(key);
+            }
         }
     }
 
-    private void removeCachedEntries(T_OBJECT object) {
-        for (Iterator<Entry<LocalizedKey, T_OBJECT>> it = localizedObjectCache.entrySet().iterator(); it.hasNext();) {
-            Entry<LocalizedKey, T_OBJECT> entry = it.next();
-            if (entry.getKey().id.equals(object.getUID())) {
-                it.remove();
+    /**
+     * Points the index for the given key to an object with the same key from another module, if there is any.
+     */
+    private void reindex(T_ID key) {
+        for (Entry<Bundle, List<T_OBJECT>> objects : bundleObjectMap.entrySet()) {
+            for (T_OBJECT object : objects.getValue()) {
+                if (key.equals(object.getUID())) {
+                    objectIndex.put(key, new BundleObject<>(objects.getKey(), object));
+                    return;
+                }
             }
         }
+        objectIndex.remove(key);
     }
 
     private T_OBJECT acquireLocalizedObject(Bundle bundle, T_OBJECT object, Locale locale) {
-        final LocalizedKey localizedKey = getLocalizedKey(object, locale);
+        final Map<Object, T_OBJECT> localizedObjects = localizedObjectCache.computeIfAbsent(object.getUID(),
+                key -> new ConcurrentHashMap<>());
+        final Object localeKey = locale != null ? locale : NO_LOCALE;
 
-        final T_OBJECT cacheEntry = localizedObjectCache.get(localizedKey);
+        final T_OBJECT cacheEntry = localizedObjects.get(localeKey);
         if (cacheEntry != null) {
             return cacheEntry;
         }
 
         final T_OBJECT localizedObject = localize(bundle, object, locale);
         if (localizedObject != null) {
-            localizedObjectCache.put(localizedKey, localizedObject);
+            localizedObjects.put(localeKey, localizedObject);
             return localizedObject;
         } else {
             return object;
         }
     }
 
-    private LocalizedKey getLocalizedKey(T_OBJECT object, Locale locale) {
-        return new LocalizedKey(object.getUID(), locale != null ? locale.toLanguageTag() : null);
-    }
-
 }
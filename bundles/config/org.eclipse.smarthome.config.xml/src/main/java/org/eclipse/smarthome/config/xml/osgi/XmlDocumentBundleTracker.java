@@ -24,6 +24,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
@@ -47,6 +49,10 @@ import org.slf4j.LoggerFactory;
  * according bundle and added to an {@link XmlDocumentProvider} for further
  * processing. For each module an own {@link XmlDocumentProvider} is created by
  * using the specified {@link XmlDocumentProviderFactory}.
+ * <p>
+ * The modules are processed concurrently on the {@link #THREAD_POOL_NAME} thread pool. The XML documents of a module
+ * are parsed concurrently on the {@link #PARSING_THREAD_POOL_NAME} thread pool, but they are added to the
+ * {@link XmlDocumentProvider} in a deterministic order.
  *
  * @author Michael Grammling - Initial Contribution
  * @author Benedikt Niehues - Changed resource handling so that resources can be
@@ -59,9 +65,11 @@ import org.slf4j.LoggerFactory;
 public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
 
     public static final String THREAD_POOL_NAME = "file-processing";
+    public static final String PARSING_THREAD_POOL_NAME = "xml-parsing";
 
     private final Logger logger = LoggerFactory.getLogger(XmlDocumentBundleTracker.class);
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME);
+    private final ExecutorService parser = ThreadPoolManager.getPool(PARSING_THREAD_POOL_NAME);
     private final String xmlDirectory;
     private final XmlDocumentReader<T> xmlDocumentTypeReader;
     private final XmlDocumentProviderFactory<T> xmlDocumentProviderFactory;
@@ -326,30 +334,56 @@ public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
             Enumeration<URL> xmlDocumentPaths = bundle.findEntries(xmlDirectory, "*.xml", true);
             if (xmlDocumentPaths != null) {
                 Collection<URL> filteredPaths = filterPatches(xmlDocumentPaths, bundle);
-                parseDocuments(bundle, filteredPaths);
+                if (!parseDocuments(bundle, filteredPaths)) {
+                    // the processing has been cancelled because the module has been removed
+                    return;
+                }
             }
         }
         finishBundle(bundle);
     }
 
-    private void parseDocuments(Bundle bundle, Collection<URL> filteredPaths) {
+    /**
+     * Parses the given XML documents and adds the results to the {@link XmlDocumentProvider} of the module.
+     *
+     * @return <code>false</code> if the thread has been interrupted while waiting for the documents to be parsed
+     */
+    private boolean parseDocuments(Bundle bundle, Collection<URL> filteredPaths) {
+        List<URL> xmlDocumentURLs = new ArrayList<>(filteredPaths);
+        List<Future<T>> results = new ArrayList<>(xmlDocumentURLs.size());
+        if (xmlDocumentURLs.size() > 1) {
+            for (URL xmlDocumentURL : xmlDocumentURLs) {
+                results.add(parser.submit(() -> readDocument(bundle, xmlDocumentURL)));
+            }
+        }
+
         int numberOfParsedXmlDocuments = 0;
-        for (URL xmlDocumentURL : filteredPaths) {
-            String moduleName = bundle.getSymbolicName();
-            String xmlDocumentFile = xmlDocumentURL.getFile();
-            logger.debug("Reading the XML document '{}' in module '{}'...", xmlDocumentFile, moduleName);
+        for (int i = 0; i < xmlDocumentURLs.size(); i++) {
+            URL xmlDocumentURL = xmlDocumentURLs.get(i);
             try {
-                T object = xmlDocumentTypeReader.readFromXML(xmlDocumentURL);
+                T object = results.isEmpty() ? readDocument(bundle, xmlDocumentURL) : results.get(i).get();
                 addingObject(bundle, object);
                 numberOfParsedXmlDocuments++;
+            } catch (InterruptedException ex) {
+                results.forEach(result -> result.cancel(true));
+                Thread.currentThread().interrupt();
+                return false;
             } catch (Exception ex) {
-                logger.warn("The XML document '{}' in module '{}' could not be parsed: {}", xmlDocumentFile, moduleName,
-                        ex.getLocalizedMessage(), ex);
+                Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+                logger.warn("The XML document '{}' in module '{}' could not be parsed: {}", xmlDocumentURL.getFile(),
+                        bundle.getSymbolicName(), cause.getLocalizedMessage(), cause);
             }
         }
         if (numberOfParsedXmlDocuments > 0) {
             addingFinished(bundle);
         }
+        return true;
+    }
+
+    private T readDocument(Bundle bundle, URL xmlDocumentURL) {
+        logger.debug("Reading the XML document '{}' in module '{}'...", xmlDocumentURL.getFile(),
+                bundle.getSymbolicName());
+        return xmlDocumentTypeReader.readFromXML(xmlDocumentURL);
     }
 
     private void registerReadyMarker(Bundle bundle) {
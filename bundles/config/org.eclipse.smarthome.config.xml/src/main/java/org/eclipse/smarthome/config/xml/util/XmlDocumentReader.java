@@ -23,7 +23,8 @@ import com.thoughtworks.xstream.io.xml.StaxDriver;
  * The {@link XmlDocumentReader} is an abstract class used to read XML documents
  * of a certain type and converts them to its according objects.
  * <p>
- * This class uses {@code XStream} and {@code StAX} to parse and convert the XML document.
+ * This class uses {@code XStream} and {@code StAX} to parse and convert the XML document. The {@code XStream} object
+ * is configured once and then shared by all threads reading documents, as it is thread-safe once configured.
  *
  * @author Michael Grammling - Initial Contribution
  *
@@ -165,6 +165,46 @@ public class AudioServletTest extends AudioOSGiTest {
                 is(HttpStatus.NOT_FOUND_404)
     }
 
+    @Test
+    public void 'audio servlet serves partial content of multitime streams'(){
+        initializeAudioServlet()
+
+        audioStream = getByteArrayAudioStream(AudioFormat.CONTAINER_NONE, AudioFormat.CODEC_MP3)
+
+        String path = audioServlet.serve(audioStream, 10)
+        String url = generateURL(AUDIO_SERVLET_PROTOCOL, AUDIO_SERVLET_HOSTNAME, AUDIO_SERVLET_PORT, path)
+
+        ContentResponse response = getHttpRequest(url).header("Range", "bytes=1-").send()
+
+        assertThat "The response status was not as expected",
+                response.getStatus(),
+                is(HttpStatus.PARTIAL_CONTENT_206)
+        assertThat "The response content was not as expected",
+                response.getContent(),
+                is([1, 2] as byte[])
+        assertThat "The content range was not as expected",
+                response.getHeaders().get("Content-Range"),
+                is("bytes 1-2/3")
+
+        response = getHttpRequest(url).header("Range", "bytes=-1").send()
+
+        assertThat "The response content was not as expected",
+                response.getContent(),
+                is([2] as byte[])
+
+        response = getHttpRequest(url).header("Range", "bytes=5-").send()
+
+        assertThat "The response status was not as expected",
+                response.getStatus(),
+                is(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE_416)
+
+        response = getHttpRequest(url).send()
+
+        assertThat "The response content was not as expected",
+                response.getContent(),
+                is(testByteArray)
+    }
+
     private ContentResponse getHttpResponse(AudioStream audioStream){
         initializeAudioServlet()
 
@@ -99,6 +99,15 @@ public class FileAudioStream extends FixedLengthAudioStream {
         return this.length;
     }
 
+    /**
+     * Provides the file this stream is reading from, so that it can be transferred directly by the caller.
+     *
+     * @return the underlying audio file
+     */
+    public File getFile() {
+        return file;
+    }
+
     @Override
     public synchronized void reset() throws IOException {
         IOUtils.closeQuietly(inputStream);
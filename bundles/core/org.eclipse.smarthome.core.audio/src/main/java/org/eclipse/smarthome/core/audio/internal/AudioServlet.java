@@ -12,13 +12,21 @@
  */
 package org.eclipse.smarthome.core.audio.internal;
 
+import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Hashtable;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
@@ -31,7 +39,9 @@ import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioHTTPServer;
 import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.FileAudioStream;
 import org.eclipse.smarthome.core.audio.FixedLengthAudioStream;
+import org.eclipse.smarthome.core.audio.utils.AudioBufferPool;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.http.HttpContext;
@@ -53,11 +63,24 @@ public class AudioServlet extends HttpServlet implements AudioHTTPServer {
 
     private static final String SERVLET_NAME = "/audio";
 
+    private static final String HEADER_RANGE = "Range";
+    private static final String HEADER_CONTENT_RANGE = "Content-Range";
+    private static final String HEADER_ACCEPT_RANGES = "Accept-Ranges";
+    private static final String RANGE_UNIT_PREFIX = "bytes=";
+
+    // streams up to this size are kept in memory while they are served
+    private static final int MAX_CACHED_STREAM_SIZE = 10 * 1024 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(AudioServlet.class);
 
     private final Map<String, AudioStream> oneTimeStreams = new ConcurrentHashMap<>();
     private final Map<String, FixedLengthAudioStream> multiTimeStreams = new ConcurrentHashMap<>();
     private final Map<String, Long> streamTimeouts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> bytesServed = new ConcurrentHashMap<>();
+
+    // content of multi time streams that is shared between all requests; keyed by instance, so that the same stream
+    // served to several sinks is only read once
+    private final Map<FixedLengthAudioStream, byte[]> cachedContents = new ConcurrentHashMap<>();
 
     protected HttpService httpService;
 
@@ -93,70 +116,207 @@ public class AudioServlet extends HttpServlet implements AudioHTTPServer {
         return httpContext;
     }
 
-    private InputStream prepareInputStream(final String streamId, final HttpServletResponse resp)
-            throws AudioException {
-        final AudioStream stream;
-        final boolean multiAccess;
-        if (oneTimeStreams.containsKey(streamId)) {
-            stream = oneTimeStreams.remove(streamId);
-            multiAccess = false;
-        } else if (multiTimeStreams.containsKey(streamId)) {
-            stream = multiTimeStreams.get(streamId);
-            multiAccess = true;
+    private String getMimeType(AudioStream stream) {
+        if (stream.getFormat().getCodec() == AudioFormat.CODEC_MP3) {
+            return "audio/mpeg";
+        } else if (stream.getFormat().getContainer() == AudioFormat.CONTAINER_WAVE) {
+            return "audio/wav";
+        } else if (stream.getFormat().getContainer() == AudioFormat.CONTAINER_OGG) {
+            return "audio/ogg";
         } else {
             return null;
         }
+    }
 
-        logger.debug("Stream to serve is {}", streamId);
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        removeTimedOutStreams();
 
-        // try to set the content-type, if possible
-        final String mimeType;
-        if (stream.getFormat().getCodec() == AudioFormat.CODEC_MP3) {
-            mimeType = "audio/mpeg";
-        } else if (stream.getFormat().getContainer() == AudioFormat.CONTAINER_WAVE) {
-            mimeType = "audio/wav";
-        } else if (stream.getFormat().getContainer() == AudioFormat.CONTAINER_OGG) {
-            mimeType = "audio/ogg";
-        } else {
-            mimeType = null;
+        final String streamId = StringUtils.substringBefore(StringUtils.substringAfterLast(req.getRequestURI(), "/"),
+                ".");
+
+        try {
+            final AudioStream oneTimeStream = oneTimeStreams.remove(streamId);
+            if (oneTimeStream != null) {
+                logger.debug("Stream to serve is {}", streamId);
+                serveOneTimeStream(streamId, oneTimeStream, resp);
+                return;
+            }
+
+            final FixedLengthAudioStream multiTimeStream = multiTimeStreams.get(streamId);
+            if (multiTimeStream != null) {
+                logger.debug("Stream to serve is {}", streamId);
+                serveMultiTimeStream(streamId, multiTimeStream, req, resp);
+                return;
+            }
+
+            logger.debug("Received request for invalid stream id at {}", req.getRequestURI());
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+        } catch (final AudioException ex) {
+            resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, ex.getMessage());
+        }
+    }
+
+    private void serveOneTimeStream(String streamId, AudioStream stream, HttpServletResponse resp)
+            throws IOException {
+        try (final InputStream in = stream) {
+            final String mimeType = getMimeType(stream);
+            if (mimeType != null) {
+                resp.setContentType(mimeType);
+            }
+            // try to set the content-length, if possible
+            if (stream instanceof FixedLengthAudioStream) {
+                resp.setContentLengthLong(((FixedLengthAudioStream) stream).length());
+            }
+            long count = AudioBufferPool.copy(in, resp.getOutputStream());
+            resp.flushBuffer();
+            logger.debug("Served {} bytes of one time stream {}", count, streamId);
         }
+    }
+
+    private void serveMultiTimeStream(String streamId, FixedLengthAudioStream stream, HttpServletRequest req,
+            HttpServletResponse resp) throws IOException, AudioException {
+        final long length = stream.length();
+        final String mimeType = getMimeType(stream);
         if (mimeType != null) {
             resp.setContentType(mimeType);
         }
+        resp.setHeader(HEADER_ACCEPT_RANGES, "bytes");
 
-        // try to set the content-length, if possible
-        if (stream instanceof FixedLengthAudioStream) {
-            final Long size = ((FixedLengthAudioStream) stream).length();
-            if (size != null) {
-                resp.setContentLength(size.intValue());
+        long start = 0;
+        long end = length - 1;
+        final String rangeHeader = req.getHeader(HEADER_RANGE);
+        if (rangeHeader != null) {
+            final long[] range = parseRange(rangeHeader, length);
+            if (range == null) {
+                logger.debug("Ignoring unsupported range '{}' for stream {}", rangeHeader, streamId);
+            } else if (range.length == 0) {
+                resp.setHeader(HEADER_CONTENT_RANGE, "bytes */" + length);
+                resp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            } else {
+                start = range[0];
+                end = range[1];
+                resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                resp.setHeader(HEADER_CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
             }
         }
+        final long count = end - start + 1;
+        resp.setContentLengthLong(count);
 
-        if (multiAccess) {
-            // we need to care about concurrent access and have a separate stream for each thread
-            return ((FixedLengthAudioStream) stream).getClonedStream();
+        final OutputStream out = resp.getOutputStream();
+        if (stream instanceof FileAudioStream) {
+            transferFile(((FileAudioStream) stream).getFile(), start, count, out);
         } else {
-            return stream;
+            final byte[] content = getCachedContent(streamId, stream);
+            if (content != null) {
+                out.write(content, (int) start, (int) count);
+            } else {
+                // we need to care about concurrent access and have a separate stream for each request
+                final byte[] buffer = AudioBufferPool.acquire();
+                try (final InputStream in = stream.getClonedStream()) {
+                    IOUtils.copyLarge(in, out, start, count, buffer);
+                } finally {
+                    AudioBufferPool.release(buffer);
+                }
+            }
+        }
+        resp.flushBuffer();
+
+        final AtomicLong served = bytesServed.get(streamId);
+        if (served != null) {
+            served.addAndGet(count);
         }
+        logger.debug("Served bytes {}-{} of {} for stream {}", start, end, length, streamId);
     }
 
-    @Override
-    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        removeTimedOutStreams();
+    /**
+     * Transfers a region of a file to the response without copying it through heap buffers, if the servlet container
+     * allows.
+     */
+    private void transferFile(File file, long start, long count, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    throw new EOFException("Unexpected end of file " + file.getName());
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
 
-        final String streamId = StringUtils.substringBefore(StringUtils.substringAfterLast(req.getRequestURI(), "/"),
-                ".");
+    /**
+     * Returns the content of a multi time stream, which is read only once and shared by all requests (e.g. when the
+     * same TTS output is played on several sinks at once).
+     *
+     * @return the content of the stream or null, if the stream is too large to be kept in memory
+     */
+    private byte[] getCachedContent(String streamId, FixedLengthAudioStream stream) throws IOException {
+        if (stream.length() > MAX_CACHED_STREAM_SIZE) {
+            return null;
+        }
+        try {
+            return cachedContents.computeIfAbsent(stream, s -> {
+                try (InputStream in = s.getClonedStream()) {
+                    logger.debug("Caching content of stream {} in memory", streamId);
+                    return IOUtils.toByteArray(in);
+                } catch (IOException | AudioException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            });
+        } catch (IllegalStateException e) {
+            throw new IOException("Cannot read stream content: " + e.getMessage(), e);
+        }
+    }
 
-        try (final InputStream stream = prepareInputStream(streamId, resp)) {
-            if (stream == null) {
-                logger.debug("Received request for invalid stream id at {}", req.getRequestURI());
-                resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+    /**
+     * Parses a HTTP range header of the form "bytes=start-end", "bytes=start-" or "bytes=-suffixLength".
+     * Multiple ranges are not supported and will result in the full content being served.
+     *
+     * @param rangeHeader the value of the "Range" header
+     * @param length the total length of the content
+     * @return the first and last byte position (inclusive), an empty array if the range cannot be satisfied or null
+     *         if the range should be ignored
+     */
+    static long[] parseRange(String rangeHeader, long length) {
+        if (!rangeHeader.startsWith(RANGE_UNIT_PREFIX) || rangeHeader.indexOf(',') >= 0) {
+            return null;
+        }
+        final String spec = rangeHeader.substring(RANGE_UNIT_PREFIX.length()).trim();
+        final int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            final String first = spec.substring(0, dash).trim();
+            final String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return null;
+                }
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(0, length - suffixLength);
+                end = length - 1;
             } else {
-                IOUtils.copy(stream, resp.getOutputStream());
-                resp.flushBuffer();
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
             }
-        } catch (final AudioException ex) {
-            resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, ex.getMessage());
+            if (start < 0 || start >= length || end < start) {
+                return new long[0];
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
 
@@ -166,9 +326,14 @@ public class AudioServlet extends HttpServlet implements AudioHTTPServer {
                 // the stream has expired, we need to remove it!
                 FixedLengthAudioStream stream = multiTimeStreams.remove(streamId);
                 streamTimeouts.remove(streamId);
-                IOUtils.closeQuietly(stream);
+                AtomicLong served = bytesServed.remove(streamId);
+                if (!multiTimeStreams.containsValue(stream)) {
+                    cachedContents.remove(stream);
+                    IOUtils.closeQuietly(stream);
+                }
                 stream = null;
-                logger.debug("Removed timed out stream {}", streamId);
+                logger.debug("Removed timed out stream {} after serving {} bytes", streamId,
+                        served == null ? 0 : served.get());
             }
         }
     }
@@ -184,6 +349,7 @@ public class AudioServlet extends HttpServlet implements AudioHTTPServer {
     public String serve(FixedLengthAudioStream stream, int seconds) {
         String streamId = UUID.randomUUID().toString();
         multiTimeStreams.put(streamId, stream);
+        bytesServed.put(streamId, new AtomicLong());
         streamTimeouts.put(streamId, System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds));
         return getRelativeURL(streamId);
     }
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.audio.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A pool of byte buffers for moving audio data between streams, so that playing and synthesizing audio does not
+ * allocate a new buffer for every transfer.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+public final class AudioBufferPool {
+
+    /**
+     * The size of the pooled buffers.
+     */
+    public static final int BUFFER_SIZE = 8192;
+
+    private static final int MAX_POOLED_BUFFERS = 32;
+
+    private static final Queue<byte[]> BUFFERS = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED_BUFFERS = new AtomicInteger();
+
+    private AudioBufferPool() {
+    }
+
+    /**
+     * Takes a buffer of {@link #BUFFER_SIZE} bytes from the pool or allocates a new one, if the pool is empty.
+     * The buffer should be returned through {@link #release(byte[])} once it is not used anymore.
+     *
+     * @return the buffer
+     */
+    public static byte[] acquire() {
+        byte[] buffer = BUFFERS.poll();
+        if (buffer == null) {
+            return new byte[BUFFER_SIZE];
+        }
+        POOLED_BUFFERS.decrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool. Buffers of a different size and buffers exceeding the capacity of the pool are
+     * dropped.
+     *
+     * @param buffer the buffer, which must not be used by the caller anymore
+     */
+    public static void release(byte[] buffer) {
+        if (buffer.length == BUFFER_SIZE && POOLED_BUFFERS.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            BUFFERS.offer(buffer);
+        } else if (buffer.length == BUFFER_SIZE) {
+            POOLED_BUFFERS.decrementAndGet();
+        }
+    }
+
+    /**
+     * Copies all bytes of the input stream to the output stream through a pooled buffer.
+     *
+     * @param in the stream to read from
+     * @param out the stream to write to
+     * @return the number of copied bytes
+     * @throws IOException if reading or writing fails
+     */
+    public static long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = acquire();
+        try {
+            long count = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                count += read;
+            }
+            return count;
+        } finally {
+            release(buffer);
+        }
+    }
+
+}
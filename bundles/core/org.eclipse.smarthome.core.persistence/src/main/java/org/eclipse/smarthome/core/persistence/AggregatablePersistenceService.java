@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.persistence;
+
+import java.time.Duration;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A queryable persistence service, which is able to aggregate the persisted states natively (e.g. through the query
+ * language of the underlying database) instead of returning every single {@link HistoricItem}.
+ * <p>
+ * Consumers should not check for this interface themselves, but use
+ * {@link HistoricItemAggregator#aggregate(QueryablePersistenceService, FilterCriteria, AggregationFunction, Duration)},
+ * which falls back to aggregating the results of {@link #query(FilterCriteria)} for other services.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+public interface AggregatablePersistenceService extends QueryablePersistenceService {
+
+    /**
+     * Aggregates the persisted states, which match the given filter.
+     * <p>
+     * The time range is split into consecutive buckets of the given size, starting at the begin date of the filter (or
+     * at the first matching state, if the filter has no begin date). Buckets without any state are omitted. Except for
+     * {@link AggregationFunction#COUNT}, only states which are
+     * {@link org.eclipse.smarthome.core.library.types.DecimalType}s are taken into account.
+     * <p>
+     * Each bucket is returned as a {@link HistoricItem} with a
+     * {@link org.eclipse.smarthome.core.library.types.DecimalType} state and the start of the bucket as timestamp.
+     * {@link AggregationFunction#MINIMUM}, {@link AggregationFunction#MAXIMUM} and {@link AggregationFunction#LAST}
+     * return the persisted state itself with its original timestamp, choosing the first one if several states hold the
+     * extreme value. {@link AggregationFunction#TIME_WEIGHTED_AVERAGE} covers the time from the first to the last state
+     * of the bucket and returns the timestamp of the first one.
+     * <p>
+     * The buckets are sorted according to the ordering of the filter, its paging settings are ignored.
+     *
+     * @param filter the filter to apply to the persisted states
+     * @param function the aggregation function
+     * @param bucketSize the size of the buckets or null to aggregate the whole time range into a single bucket
+     * @return the aggregated buckets
+     */
+    Iterable<HistoricItem> aggregate(FilterCriteria filter, AggregationFunction function,
+            @Nullable Duration bucketSize);
+
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.persistence;
+
+/**
+ * The functions, which can be used to aggregate the persisted states of an item.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public enum AggregationFunction {
+    /** the arithmetic mean of the numeric states */
+    AVERAGE,
+    /** the lowest numeric state */
+    MINIMUM,
+    /** the highest numeric state */
+    MAXIMUM,
+    /** the sum of the numeric states */
+    SUM,
+    /** the number of persisted states */
+    COUNT,
+    /** the average of the numeric states weighted by time, interpolating linearly between consecutive states */
+    TIME_WEIGHTED_AVERAGE,
+    /** the latest numeric state */
+    LAST
+}
@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.persistence;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * Aggregates persisted states as specified by
+ * {@link AggregatablePersistenceService#aggregate(FilterCriteria, AggregationFunction, Duration)}.
+ * <p>
+ * Services implementing {@link AggregatablePersistenceService} are asked to aggregate natively, for all other
+ * services the states are aggregated in a single pass over the query result, which only keeps the current bucket in
+ * memory.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+public final class HistoricItemAggregator {
+
+    private HistoricItemAggregator() {
+    }
+
+    /**
+     * Aggregates the persisted states of the given service, which match the given filter.
+     *
+     * @param service the service to query
+     * @param filter the filter to apply to the persisted states
+     * @param function the aggregation function
+     * @param bucketSize the size of the buckets or null to aggregate the whole time range into a single bucket
+     * @return the aggregated buckets
+     * @see AggregatablePersistenceService#aggregate(FilterCriteria, AggregationFunction, Duration)
+     */
+    public static Iterable<HistoricItem> aggregate(QueryablePersistenceService service, FilterCriteria filter,
+            AggregationFunction function, @Nullable Duration bucketSize) {
+        if (service instanceof AggregatablePersistenceService) {
+            return ((AggregatablePersistenceService) service).aggregate(filter, function, bucketSize);
+        }
+
+        FilterCriteria ascendingFilter = new FilterCriteria().setItemName(filter.getItemName())
+                .setBeginDate(filter.getBeginDateZoned()).setEndDate(filter.getEndDateZoned())
+                .setOperator(filter.getOperator()).setState(filter.getState()).setOrdering(Ordering.ASCENDING);
+        List<HistoricItem> buckets;
+        try (Stream<HistoricItem> historicItems = service.stream(ascendingFilter)) {
+            buckets = aggregate(historicItems::iterator, function, filter.getBeginDateZoned(), bucketSize);
+        }
+        if (filter.getOrdering() == Ordering.DESCENDING) {
+            Collections.reverse(buckets);
+        }
+        return buckets;
+    }
+
+    /**
+     * Aggregates the given historic items, which must be sorted by ascending timestamps.
+     *
+     * @param historicItems the historic items in ascending order
+     * @param function the aggregation function
+     * @param begin the start of the first bucket or null to start at the first historic item
+     * @param bucketSize the size of the buckets or null to aggregate all historic items into a single bucket
+     * @return the aggregated buckets in ascending order
+     */
+    public static List<HistoricItem> aggregate(Iterable<HistoricItem> historicItems, AggregationFunction function,
+            @Nullable ZonedDateTime begin, @Nullable Duration bucketSize) {
+        long size = bucketSize == null ? 0 : Math.max(1, bucketSize.toMillis());
+        long origin = begin == null ? Long.MIN_VALUE : begin.toInstant().toEpochMilli();
+
+        List<HistoricItem> buckets = new ArrayList<>();
+        Bucket bucket = null;
+        for (HistoricItem historicItem : historicItems) {
+            long timestamp = historicItem.getTimestamp().getTime();
+            if (origin == Long.MIN_VALUE) {
+                origin = timestamp;
+            }
+            long start = size == 0 ? origin : origin + Math.floorDiv(timestamp - origin, size) * size;
+            if (bucket == null || bucket.start != start) {
+                if (bucket != null && bucket.hasResult()) {
+                    buckets.add(bucket.toHistoricItem());
+                }
+                bucket = new Bucket(function, historicItem.getName(), start);
+            }
+            bucket.add(historicItem);
+        }
+        if (bucket != null && bucket.hasResult()) {
+            buckets.add(bucket.toHistoricItem());
+        }
+        return buckets;
+    }
+
+    private static class Bucket {
+
+        private final AggregationFunction function;
+        private final String name;
+        private final long start;
+
+        private BigDecimal sum = BigDecimal.ZERO;
+        private long count;
+        private long numericCount;
+        private @Nullable BigDecimal extreme;
+        private @Nullable HistoricItem extremeItem;
+        private @Nullable HistoricItem firstItem;
+        private @Nullable HistoricItem lastItem;
+        private @Nullable BigDecimal lastValue;
+
+        Bucket(AggregationFunction function, String name, long start) {
+            this.function = function;
+            this.name = name;
+            this.start = start;
+        }
+
+        void add(HistoricItem historicItem) {
+            count++;
+            State state = historicItem.getState();
+            if (!(state instanceof DecimalType)) {
+                return;
+            }
+            BigDecimal value = ((DecimalType) state).toBigDecimal();
+            numericCount++;
+            switch (function) {
+                case AVERAGE:
+                case SUM:
+                    sum = sum.add(value);
+                    break;
+                case MINIMUM:
+                case MAXIMUM:
+                    // only a strictly lower (or higher) value replaces the current one
+                    BigDecimal extreme = this.extreme;
+                    int direction = function == AggregationFunction.MINIMUM ? -1 : 1;
+                    if (extreme == null || Integer.signum(value.compareTo(extreme)) == direction) {
+                        this.extreme = value;
+                        this.extremeItem = historicItem;
+                    }
+                    break;
+                case TIME_WEIGHTED_AVERAGE:
+                    HistoricItem lastItem = this.lastItem;
+                    BigDecimal lastValue = this.lastValue;
+                    if (lastItem != null && lastValue != null) {
+                        // area of the trapezoid between the previous and this state
+                        BigDecimal timeSpan = BigDecimal
+                                .valueOf(historicItem.getTimestamp().getTime() - lastItem.getTimestamp().getTime());
+                        sum = sum.add(value.add(lastValue).multiply(timeSpan).divide(BigDecimal.valueOf(2),
+                                MathContext.DECIMAL64));
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (firstItem == null) {
+                firstItem = historicItem;
+            }
+            lastItem = historicItem;
+            lastValue = value;
+        }
+
+        boolean hasResult() {
+            return function == AggregationFunction.COUNT ? count > 0 : numericCount > 0;
+        }
+
+        HistoricItem toHistoricItem() {
+            switch (function) {
+                case AVERAGE:
+                    return new AggregatedItem(name, new Date(start),
+                            sum.divide(BigDecimal.valueOf(numericCount), MathContext.DECIMAL64));
+                case SUM:
+                    return new AggregatedItem(name, new Date(start), sum);
+                case MINIMUM:
+                case MAXIMUM:
+                    return getNumericItem(extremeItem);
+                case LAST:
+                    return getNumericItem(lastItem);
+                case TIME_WEIGHTED_AVERAGE:
+                    HistoricItem firstItem = getNumericItem(this.firstItem);
+                    HistoricItem lastItem = getNumericItem(this.lastItem);
+                    long timeSpan = lastItem.getTimestamp().getTime() - firstItem.getTimestamp().getTime();
+                    if (timeSpan == 0) {
+                        // a single point in time, so there is nothing to weight
+                        return new AggregatedItem(name, firstItem.getTimestamp(),
+                                ((DecimalType) firstItem.getState()).toBigDecimal());
+                    }
+                    return new AggregatedItem(name, firstItem.getTimestamp(),
+                            sum.divide(BigDecimal.valueOf(timeSpan), MathContext.DECIMAL64));
+                default:
+                    return new AggregatedItem(name, new Date(start), BigDecimal.valueOf(count));
+            }
+        }
+
+        private HistoricItem getNumericItem(@Nullable HistoricItem historicItem) {
+            if (historicItem == null) {
+                throw new IllegalStateException("Bucket does not contain a numeric state");
+            }
+            return historicItem;
+        }
+    }
+
+    private static class AggregatedItem implements HistoricItem {
+
+        private final String name;
+        private final Date timestamp;
+        private final State state;
+
+        AggregatedItem(String name, Date timestamp, BigDecimal value) {
+            this.name = name;
+            this.timestamp = timestamp;
+            this.state = new DecimalType(value);
+        }
+
+        @Override
+        public Date getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public State getState() {
+            return state;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return "AggregatedItem [name=" + name + ", timestamp=" + timestamp + ", state=" + state + "]";
+        }
+    }
+
+}
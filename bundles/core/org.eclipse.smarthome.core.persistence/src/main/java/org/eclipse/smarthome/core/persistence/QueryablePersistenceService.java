@@ -13,8 +13,11 @@
 package org.eclipse.smarthome.core.persistence;
 
 import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.items.Item;
 
 /**
@@ -35,6 +38,27 @@ public interface QueryablePersistenceService extends PersistenceService {
      */
     Iterable<HistoricItem> query(FilterCriteria filter);
 
+    /**
+     * Queries the {@link PersistenceService} for data with a given filter criteria and returns the results as a lazy
+     * stream, so that callers can process large results without holding them in memory and can stop reading early.
+     * <p>
+     * The returned stream must be closed by the caller (e.g. with a try-with-resources statement), so that resources
+     * like cursors or connections are released. The default implementation streams the result of
+     * {@link #query(FilterCriteria)}; services which can read their results incrementally should override it.
+     *
+     * @param filter the filter to apply to the query
+     * @return a time series of items, ordered as requested by the filter
+     */
+    default Stream<HistoricItem> stream(FilterCriteria filter) {
+        // some services return null instead of an empty result
+        @Nullable
+        Iterable<HistoricItem> result = query(filter);
+        if (result == null) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(result.spliterator(), false);
+    }
+
     /**
      * Returns a list of items that are stored in the persistence service
      *
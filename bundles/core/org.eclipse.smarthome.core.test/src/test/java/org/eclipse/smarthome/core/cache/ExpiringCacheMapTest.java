@@ -93,6 +93,24 @@ public class ExpiringCacheMapTest {
         assertNotEquals(RESPONSE_2, response);
     }
 
+    @Test
+    public void testPutIfAbsentAndGetRecordsLoads() {
+        subject.putIfAbsentAndGet(FIRST_TEST_KEY, PREDICTABLE_CACHE_ACTION_1);
+        subject.putIfAbsentAndGet(FIRST_TEST_KEY, PREDICTABLE_CACHE_ACTION_2);
+
+        assertEquals(1, subject.getStatistics().getLoadCount());
+    }
+
+    @Test
+    public void testZeroExpiry() {
+        subject = new ExpiringCacheMap<>(0);
+        subject.put(FIRST_TEST_KEY, CACHE_ACTION);
+
+        assertNotNull(subject.get(FIRST_TEST_KEY));
+        assertNotNull(subject.get(FIRST_TEST_KEY));
+        assertEquals(2, subject.getStatistics().getLoadCount());
+    }
+
     @Test
     public void testContainsKey() {
         subject.put(FIRST_TEST_KEY, CACHE_ACTION);
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.cache;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Test class for the {@link ExpiringLoadingCache} class.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class ExpiringLoadingCacheTest {
+    private static final long CACHE_EXPIRY = TimeUnit.SECONDS.toMillis(2);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRefreshAheadMustBeLessThanExpiry() {
+        new ExpiringLoadingCache<String, String>(CACHE_EXPIRY, CACHE_EXPIRY, 0, null);
+    }
+
+    @Test
+    public void testLoaderFunction() {
+        AtomicInteger loads = new AtomicInteger();
+        ExpiringLoadingCache<String, String> subject = new ExpiringLoadingCache<>(CACHE_EXPIRY, 0, 0, key -> {
+            loads.incrementAndGet();
+            return key.toUpperCase();
+        });
+
+        assertThat(subject.get("key"), is("KEY"));
+        assertThat(subject.get("key"), is("KEY"));
+        assertThat(loads.get(), is(1));
+        assertThat(subject.containsKey("key"), is(true));
+
+        CacheStatistics statistics = subject.getStatistics();
+        assertThat(statistics.getHitCount(), is(1L));
+        assertThat(statistics.getMissCount(), is(1L));
+        assertThat(statistics.getLoadCount(), is(1L));
+    }
+
+    @Test
+    public void testNoValueWithoutLoaderFunction() {
+        ExpiringLoadingCache<String, String> subject = new ExpiringLoadingCache<>(CACHE_EXPIRY, 0, 0, null);
+
+        assertThat(subject.get("key"), is(nullValue()));
+        assertThat(subject.containsKey("key"), is(false));
+    }
+
+    @Test
+    public void testConcurrentReadersShareOneLoad() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        ExpiringLoadingCache<String, String> subject = new ExpiringLoadingCache<>(CACHE_EXPIRY, 0, 0, null);
+        subject.put("key", () -> {
+            loads.incrementAndGet();
+            loadStarted.countDown();
+            try {
+                releaseLoad.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "value";
+        });
+
+        List<String> results = new ArrayList<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Thread reader = new Thread(() -> {
+                String value = subject.get("key");
+                synchronized (results) {
+                    results.add(value);
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        assertTrue(loadStarted.await(1, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        releaseLoad.countDown();
+        for (Thread reader : readers) {
+            reader.join(TimeUnit.SECONDS.toMillis(1));
+        }
+
+        assertThat(loads.get(), is(1));
+        assertThat(results.size(), is(5));
+        for (String result : results) {
+            assertThat(result, is("value"));
+        }
+    }
+
+    @Test
+    public void testEvictionOfLeastRecentlyAccessedEntries() throws InterruptedException {
+        ExpiringLoadingCache<Integer, Integer> subject = new ExpiringLoadingCache<>(CACHE_EXPIRY, 0, 3,
+                key -> key * 2);
+
+        subject.get(1);
+        Thread.sleep(1);
+        subject.get(2);
+        Thread.sleep(1);
+        subject.get(3);
+        Thread.sleep(1);
+        // access the first key again, so that the second one is the least recently accessed
+        subject.get(1);
+        Thread.sleep(1);
+        subject.get(4);
+
+        assertThat(subject.size(), is(3));
+        assertThat(subject.containsKey(1), is(true));
+        assertThat(subject.containsKey(2), is(false));
+        assertThat(subject.getStatistics().getEvictionCount(), is(1L));
+
+        // an evicted key is loaded again through the loader function
+        assertThat(subject.get(2), is(4));
+    }
+
+    @Test
+    public void testRefreshAhead() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        ExpiringLoadingCache<String, Integer> subject = new ExpiringLoadingCache<>(300, 250, 0,
+                key -> loads.incrementAndGet());
+
+        assertThat(subject.get("key"), is(1));
+        Thread.sleep(100);
+
+        // the value is still valid, but within the refresh-ahead window
+        assertThat(subject.get("key"), is(1));
+        long deadline = System.currentTimeMillis() + 1000;
+        while (loads.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(loads.get(), is(2));
+        assertThat(subject.get("key"), is(2));
+    }
+}
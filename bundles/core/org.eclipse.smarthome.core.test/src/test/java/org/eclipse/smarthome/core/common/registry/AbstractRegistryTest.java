@@ -0,0 +1,414 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.common.registry;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.storage.Storage;
+import org.eclipse.smarthome.core.storage.StorageService;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the keyed lookup and the bulk operations of the {@link AbstractRegistry}.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class AbstractRegistryTest {
+
+    private static class Element implements Identifiable<String> {
+
+        private final String uid;
+
+        Element(String uid) {
+            this.uid = uid;
+        }
+
+        @Override
+        public String getUID() {
+            return uid;
+        }
+    }
+
+    private static class ElementProvider extends AbstractProvider<Element> {
+
+        private final List<Element> elements;
+
+        ElementProvider(Element... elements) {
+            this.elements = new ArrayList<>(Arrays.asList(elements));
+        }
+
+        @Override
+        public Collection<Element> getAll() {
+            return elements;
+        }
+
+        void add(Element element) {
+            elements.add(element);
+            notifyListenersAboutAddedElement(element);
+        }
+
+        void remove(Element element) {
+            elements.remove(element);
+            notifyListenersAboutRemovedElement(element);
+        }
+
+        void update(Element oldElement, Element element) {
+            elements.set(elements.indexOf(oldElement), element);
+            notifyListenersAboutUpdatedElement(oldElement, element);
+        }
+
+        void addAll(Element... addedElements) {
+            elements.addAll(Arrays.asList(addedElements));
+            notifyListenersAboutAddedElements(Arrays.asList(addedElements));
+        }
+    }
+
+    private static class MapStorage implements Storage<String> {
+
+        private final Map<String, String> values = new HashMap<>();
+        private int writes;
+
+        @Override
+        public String put(String key, String value) {
+            writes++;
+            return values.put(key, value);
+        }
+
+        @Override
+        public String remove(String key) {
+            writes++;
+            return values.remove(key);
+        }
+
+        @Override
+        public boolean containsKey(String key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public String get(String key) {
+            return values.get(key);
+        }
+
+        @Override
+        public Collection<String> getKeys() {
+            return values.keySet();
+        }
+
+        @Override
+        public Collection<String> getValues() {
+            return values.values();
+        }
+
+        @Override
+        public void putAll(Map<String, String> newValues) {
+            writes++;
+            values.putAll(newValues);
+        }
+
+        @Override
+        public void removeAll(Collection<String> keys) {
+            writes++;
+            values.keySet().removeAll(keys);
+        }
+    }
+
+    private static class ManagedElementProvider extends AbstractManagedProvider<Element, String, String> {
+
+        ManagedElementProvider(MapStorage storage) {
+            setStorageService(new StorageService() {
+                @SuppressWarnings("unchecked")
+                @Override
+                public <T> Storage<T> getStorage(String name, ClassLoader classLoader) {
+                    return (Storage<T>) storage;
+                }
+
+                @Override
+                public <T> Storage<T> getStorage(String name) {
+                    return getStorage(name, null);
+                }
+            });
+        }
+
+        @Override
+        protected String getStorageName() {
+            return "elements";
+        }
+
+        @Override
+        protected String keyToString(String key) {
+            return key;
+        }
+
+        @Override
+        protected Element toElement(String key, String persistableElement) {
+            return new Element(key);
+        }
+
+        @Override
+        protected String toPersistableElement(Element element) {
+            return element.getUID();
+        }
+    }
+
+    private static class ElementRegistry extends AbstractRegistry<Element, String, ElementProvider> {
+
+        ElementRegistry() {
+            super(null);
+        }
+
+        @Override
+        protected void notifyListenersAboutAddedElements(Collection<Element> elements) {
+            notifyListenersAboutAddedElementsInBulk(elements);
+        }
+
+        @Override
+        protected void notifyListenersAboutRemovedElements(Collection<Element> elements) {
+            notifyListenersAboutRemovedElementsInBulk(elements);
+        }
+    }
+
+    /**
+     * A registry, which only overrides the notifications about single elements.
+     */
+    private static class SingleElementRegistry extends AbstractRegistry<Element, String, ElementProvider> {
+
+        private final List<String> notified = new ArrayList<>();
+
+        SingleElementRegistry() {
+            super(null);
+        }
+
+        @Override
+        protected void notifyListenersAboutAddedElement(Element element) {
+            super.notifyListenersAboutAddedElement(element);
+            notified.add("added " + element.getUID());
+        }
+
+        @Override
+        protected void notifyListenersAboutRemovedElement(Element element) {
+            super.notifyListenersAboutRemovedElement(element);
+            notified.add("removed " + element.getUID());
+        }
+    }
+
+    private final List<String> added = new ArrayList<>();
+    private final List<String> removed = new ArrayList<>();
+    private final List<Integer> addedBatches = new ArrayList<>();
+    private final List<Integer> removedBatches = new ArrayList<>();
+
+    private ElementRegistry registry;
+
+    @Before
+    public void setup() {
+        registry = new ElementRegistry();
+        registry.addRegistryChangeListener(new RegistryChangeListener<Element>() {
+            @Override
+            public void added(Element element) {
+                added.add(element.getUID());
+            }
+
+            @Override
+            public void removed(Element element) {
+                removed.add(element.getUID());
+            }
+
+            @Override
+            public void updated(Element oldElement, Element element) {
+            }
+
+            @Override
+            public void addedAll(Collection<Element> elements) {
+                addedBatches.add(elements.size());
+                RegistryChangeListener.super.addedAll(elements);
+            }
+
+            @Override
+            public void removedAll(Collection<Element> elements) {
+                removedBatches.add(elements.size());
+                RegistryChangeListener.super.removedAll(elements);
+            }
+        });
+    }
+
+    @Test
+    public void assertThatElementsAreFoundByUID() {
+        Element a = new Element("a");
+        ElementProvider provider = new ElementProvider(a);
+        registry.addProvider(provider);
+        Element b = new Element("b");
+        provider.add(b);
+
+        assertThat(registry.get("a"), is(sameInstance(a)));
+        assertThat(registry.get("b"), is(sameInstance(b)));
+        assertThat(registry.get("c"), is(nullValue()));
+        assertThat(registry.getProvider(b), is(sameInstance(provider)));
+        assertThat(registry.getAll().size(), is(2));
+        assertThat(added, is(Arrays.asList("a", "b")));
+    }
+
+    @Test
+    public void assertThatDuplicateUIDsAreRejected() {
+        Element a = new Element("a");
+        ElementProvider provider = new ElementProvider(a);
+        registry.addProvider(provider);
+        ElementProvider otherProvider = new ElementProvider(new Element("a"));
+        registry.addProvider(otherProvider);
+        otherProvider.add(new Element("a"));
+
+        assertThat(registry.get("a"), is(sameInstance(a)));
+        assertThat(registry.getAll().size(), is(1));
+        assertThat(added, is(Arrays.asList("a")));
+
+        registry.removeProvider(otherProvider);
+
+        assertThat(registry.get("a"), is(sameInstance(a)));
+        assertThat(removed.isEmpty(), is(true));
+    }
+
+    @Test
+    public void assertThatElementsAreOnlyRemovedByTheirProvider() {
+        Element a = new Element("a");
+        ElementProvider provider = new ElementProvider(a);
+        registry.addProvider(provider);
+        ElementProvider otherProvider = new ElementProvider();
+        registry.addProvider(otherProvider);
+
+        otherProvider.remove(new Element("a"));
+        assertThat(registry.get("a"), is(sameInstance(a)));
+
+        provider.remove(a);
+        assertThat(registry.get("a"), is(nullValue()));
+        assertThat(registry.getProvider(a), is(nullValue()));
+        assertThat(removed, is(Arrays.asList("a")));
+    }
+
+    @Test
+    public void assertThatUpdatedElementsReplaceTheOldOnes() {
+        Element a = new Element("a");
+        ElementProvider provider = new ElementProvider(a);
+        registry.addProvider(provider);
+        Element newA = new Element("a");
+
+        provider.update(a, newA);
+
+        assertThat(registry.get("a"), is(sameInstance(newA)));
+        assertThat(registry.getProvider(newA), is(sameInstance(provider)));
+        assertThat(registry.getAll().size(), is(1));
+    }
+
+    @Test
+    public void assertThatRemovingAProviderRemovesItsElements() {
+        ElementProvider provider = new ElementProvider(new Element("a"), new Element("b"));
+        registry.addProvider(provider);
+
+        registry.removeProvider(provider);
+
+        assertThat(registry.get("a"), is(nullValue()));
+        assertThat(registry.get("b"), is(nullValue()));
+        assertThat(registry.getAll().isEmpty(), is(true));
+        assertThat(removed.size(), is(2));
+    }
+
+    @Test
+    public void assertThatElementsOfANewProviderAreNotifiedAtOnce() {
+        registry.addProvider(new ElementProvider(new Element("a"), new Element("b")));
+
+        assertThat(added, is(Arrays.asList("a", "b")));
+        assertThat(addedBatches, is(Arrays.asList(2)));
+
+        ElementProvider provider = new ElementProvider();
+        registry.addProvider(provider);
+        long revision = registry.getRevision();
+        provider.addAll(new Element("c"), new Element("a"), new Element("d"));
+
+        assertThat(registry.getAll().size(), is(4));
+        assertThat(registry.getProvider(registry.get("d")), is(sameInstance(provider)));
+        assertThat(added, is(Arrays.asList("a", "b", "c", "d")));
+        assertThat(addedBatches, is(Arrays.asList(2, 2)));
+        assertThat(registry.getRevision(), is(revision + 1));
+
+        registry.removeProvider(provider);
+
+        assertThat(removed, is(Arrays.asList("c", "d")));
+        assertThat(removedBatches, is(Arrays.asList(2)));
+        assertThat(registry.get("a"), is(notNullValue()));
+    }
+
+    @Test
+    public void assertThatSingleElementNotificationsAreCalledForEveryElementByDefault() {
+        SingleElementRegistry singleElementRegistry = new SingleElementRegistry();
+        ElementProvider provider = new ElementProvider(new Element("a"), new Element("b"));
+        singleElementRegistry.addProvider(provider);
+        provider.addAll(new Element("c"));
+        singleElementRegistry.removeProvider(provider);
+
+        assertThat(singleElementRegistry.notified,
+                is(Arrays.asList("added a", "added b", "added c", "removed a", "removed b", "removed c")));
+    }
+
+    @Test
+    public void assertThatBulkOperationsUseASingleStorageWrite() {
+        MapStorage storage = new MapStorage();
+        ManagedElementProvider managedProvider = new ManagedElementProvider(storage);
+        registry.addProvider(managedProvider);
+        registry.setManagedProvider(managedProvider);
+
+        registry.addAll(Arrays.asList(new Element("a"), new Element("b"), new Element("c")));
+
+        assertThat(storage.writes, is(1));
+        assertThat(registry.getAll().size(), is(3));
+        assertThat(addedBatches, is(Arrays.asList(3)));
+
+        Collection<Element> oldElements = registry.updateAll(Arrays.asList(new Element("a"), new Element("x")));
+
+        assertThat(storage.writes, is(2));
+        assertThat(oldElements.size(), is(1));
+
+        Collection<Element> removedElements = registry.removeAll(Arrays.asList("a", "b", "x"));
+
+        assertThat(storage.writes, is(3));
+        assertThat(removedElements.size(), is(2));
+        assertThat(removed, is(Arrays.asList("a", "b")));
+        assertThat(removedBatches, is(Arrays.asList(2)));
+        assertThat(registry.getAll().size(), is(1));
+    }
+
+    @Test
+    public void assertThatBulkAddIsRejectedAsAWhole() {
+        MapStorage storage = new MapStorage();
+        ManagedElementProvider managedProvider = new ManagedElementProvider(storage);
+        registry.addProvider(managedProvider);
+        registry.setManagedProvider(managedProvider);
+        registry.add(new Element("b"));
+
+        try {
+            registry.addAll(Arrays.asList(new Element("a"), new Element("b")));
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        assertThat(storage.getKeys().size(), is(1));
+        assertThat(registry.get("a"), is(nullValue()));
+    }
+}
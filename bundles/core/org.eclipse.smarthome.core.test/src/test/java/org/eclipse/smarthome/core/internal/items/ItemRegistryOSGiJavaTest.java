@@ -112,6 +112,40 @@ public class ItemRegistryOSGiJavaTest extends JavaOSGiTest {
         assertNoTagsPersisted(ITEM_NAME);
     }
 
+    @Test
+    public void testWriteTagsViaUpdateDoesNotChangeOldItem() throws Exception {
+        prepareItem(ITEM_NAME, "foo");
+        Item oldItem = itemRegistry.getItem(ITEM_NAME);
+
+        StringItem item = new StringItem(ITEM_NAME);
+        item.addTag("bar");
+        itemRegistry.update(item);
+
+        assertEquals(1, oldItem.getTags().size());
+        assertTrue(oldItem.hasTag("foo"));
+        assertTagsInItem(ITEM_NAME, "bar");
+    }
+
+    @Test
+    public void testRejectedBulkAddDoesNotWriteTags() throws Exception {
+        prepareItem(ITEM_NAME);
+
+        StringItem newItem = new StringItem("other");
+        newItem.addTag("hello");
+        StringItem duplicateItem = new StringItem(ITEM_NAME);
+        duplicateItem.addTag("hello");
+        try {
+            itemRegistry.addAll(Arrays.asList(newItem, duplicateItem));
+            fail("The duplicate item should have been rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        assertTagsInMetadata("other");
+        assertTagsInMetadata(ITEM_NAME);
+        assertNull(itemRegistry.get("other"));
+    }
+
     @Test
     public void testUpdateTagsInMetadataViaAdd() throws Exception {
         prepareMetadata(ITEM_NAME, "foo");
@@ -194,6 +228,26 @@ public class ItemRegistryOSGiJavaTest extends JavaOSGiTest {
         assertTagsInItem(ITEM_NAME, "foo");
     }
 
+    @Test
+    public void testRemoveLastTag() throws Exception {
+        prepareItem(ITEM_NAME, "foo");
+
+        itemRegistry.removeTag(ITEM_NAME, "foo");
+
+        assertTagsInMetadata(ITEM_NAME);
+        assertTagsInItem(ITEM_NAME);
+    }
+
+    @Test
+    public void testTagsFromNewMetadataInExistingItemInstance() throws Exception {
+        prepareItem(ITEM_NAME);
+        Item item = itemRegistry.getItem(ITEM_NAME);
+
+        prepareMetadata(ITEM_NAME, "hello");
+
+        assertTrue(item.hasTag("hello"));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testRemoveTagFromNonExistingItem() throws Exception {
         itemRegistry.removeTag(ITEM_NAME, "hello");
@@ -27,6 +27,7 @@ import org.eclipse.smarthome.core.library.types.PercentType;
 import org.eclipse.smarthome.core.library.types.QuantityType;
 import org.eclipse.smarthome.core.library.unit.ImperialUnits;
 import org.eclipse.smarthome.core.library.unit.SIUnits;
+import org.eclipse.smarthome.core.library.unit.SmartHomeUnits;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.StateDescription;
 import org.eclipse.smarthome.core.types.UnDefType;
@@ -129,4 +130,26 @@ public class ItemStateConverterImplTest {
         assertThat(convertedState.getUnit(), is(originalState.getUnit()));
     }
 
+    @Test
+    public void numberItemWitDimensionShouldFollowChangedStateDescriptionUnit() {
+        NumberItem item = mock(NumberItem.class);
+        StateDescription stateDescription = mock(StateDescription.class);
+        when(item.getStateDescription()).thenReturn(stateDescription);
+        doReturn(Temperature.class).when(item).getDimension();
+        when(stateDescription.getPattern()).thenReturn("%.1f K");
+
+        State originalState = new QuantityType<>(12.34, SIUnits.CELSIUS);
+        assertThat(itemStateConverter.convertToAcceptedState(originalState, item),
+                is(new QuantityType<>(285.49, SmartHomeUnits.KELVIN)));
+        assertThat(itemStateConverter.convertToAcceptedState(originalState, item),
+                is(new QuantityType<>(285.49, SmartHomeUnits.KELVIN)));
+
+        UnitProvider unitProvider = mock(UnitProvider.class);
+        when(unitProvider.getUnit(Temperature.class)).thenReturn(SIUnits.CELSIUS);
+        itemStateConverter.setUnitProvider(unitProvider);
+
+        when(stateDescription.getPattern()).thenReturn("%.1f %unit%");
+        assertTrue(originalState == itemStateConverter.convertToAcceptedState(originalState, item));
+    }
+
 }
@@ -17,7 +17,9 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 
 import org.eclipse.smarthome.core.common.registry.ProviderChangeListener;
 import org.eclipse.smarthome.core.items.Item;
@@ -120,4 +122,39 @@ public class MetadataRegistryImplTest {
         assertEquals("itemName", res.getUID().getItemName());
     }
 
+    @Test
+    public void testGetItemAndNamespaceMetadata() throws Exception {
+        Metadata metadata = new Metadata(new MetadataKey("namespace", "itemName"), "value", Collections.emptyMap());
+        Metadata otherNamespace = new Metadata(new MetadataKey("other", "itemName"), "other", Collections.emptyMap());
+        Metadata otherItem = new Metadata(new MetadataKey("namespace", "other"), "other", Collections.emptyMap());
+        registry.added(managedProvider, metadata);
+        registry.added(managedProvider, otherNamespace);
+        registry.added(managedProvider, otherItem);
+
+        assertEquals(new HashSet<>(Arrays.asList(metadata, otherNamespace)),
+                new HashSet<>(registry.getItemMetadata("itemName")));
+        assertEquals(new HashSet<>(Arrays.asList(metadata, otherItem)),
+                new HashSet<>(registry.getNamespaceMetadata("namespace")));
+        assertEquals(new HashSet<>(Arrays.asList("namespace", "other")), registry.getNamespaces());
+        assertTrue(registry.getItemMetadata("unknown").isEmpty());
+
+        registry.removed(managedProvider, otherNamespace);
+
+        assertEquals(Collections.singletonList(metadata), registry.getItemMetadata("itemName"));
+        assertTrue(registry.getNamespaceMetadata("other").isEmpty());
+        assertEquals(Collections.singleton("namespace"), registry.getNamespaces());
+    }
+
+    @Test
+    public void testGetItemMetadataAfterUpdate() throws Exception {
+        MetadataKey key = new MetadataKey("namespace", "itemName");
+        Metadata metadata = new Metadata(key, "value", Collections.emptyMap());
+        registry.added(managedProvider, metadata);
+
+        registry.updated(managedProvider, metadata, new Metadata(key, "new", Collections.emptyMap()));
+
+        assertEquals("new", registry.getItemMetadata("itemName").iterator().next().getValue());
+        assertEquals("new", registry.getNamespaceMetadata("namespace").iterator().next().getValue());
+    }
+
 }
@@ -261,4 +261,37 @@ public class QuantityTypeTest {
         assertEquals("0.008 kWh", energy.toUnit("kWh").toString());
         assertEquals("28800 Ws", energy.toUnit("Ws").toString());
     }
+
+    @Test
+    public void testRepeatedConversions() {
+        QuantityType<Temperature> tempInF = new QuantityType<>(68, ImperialUnits.FAHRENHEIT);
+        for (int i = 0; i < 3; i++) {
+            QuantityType<Temperature> tempInC = tempInF.toUnit(SIUnits.CELSIUS);
+            assertEquals(20, tempInC.doubleValue(), 1E-10);
+        }
+        assertEquals(tempInF, tempInF.toUnit(SIUnits.CELSIUS).toUnit(ImperialUnits.FAHRENHEIT));
+    }
+
+    @Test
+    public void testCompareToAcrossUnits() {
+        QuantityType<Temperature> tempInC = new QuantityType<>(20, SIUnits.CELSIUS);
+        QuantityType<Temperature> tempInF = new QuantityType<>(68, ImperialUnits.FAHRENHEIT);
+        QuantityType<Temperature> warmer = new QuantityType<>(21, SIUnits.CELSIUS);
+
+        assertEquals(0, tempInC.compareTo(tempInF));
+        assertTrue(tempInF.compareTo(warmer) < 0);
+        assertTrue(warmer.compareTo(tempInF) > 0);
+        assertTrue(new QuantityType<>("1.5 m").compareTo(new QuantityType<>("1.50 m")) == 0);
+    }
+
+    @Test
+    public void testNumberConstructor() {
+        assertEquals(new BigDecimal("21.5"), new QuantityType<>(21.5, SIUnits.CELSIUS).toBigDecimal());
+        assertEquals(new BigDecimal("1.0E-7"), new QuantityType<>(1e-7, SIUnits.CELSIUS).toBigDecimal());
+        assertEquals(new BigDecimal("42"), new QuantityType<>(42, SIUnits.CELSIUS).toBigDecimal());
+        assertEquals(new BigDecimal("42"), new QuantityType<>(42L, SIUnits.CELSIUS).toBigDecimal());
+        assertEquals(new BigDecimal("0.1"), new QuantityType<>(0.1f, SIUnits.CELSIUS).toBigDecimal());
+        BigDecimal value = new BigDecimal("3.14159");
+        assertSame(value, new QuantityType<>(value, SIUnits.CELSIUS).toBigDecimal());
+    }
 }
@@ -83,6 +83,48 @@ public class CronExpressionTest {
         assertEquals(checkDate, nextDate);
     }
 
+    @Test
+    public void getTimeAfterLeapDay() throws ParseException {
+        Calendar cal = Calendar.getInstance();
+        cal.set(2018, 0, 1, 0, 0, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        Date startDate = cal.getTime();
+
+        // Fire at midnight on every February 29th
+        CronExpression expr = new CronExpression("0 0 0 29 2 ?", startDate);
+
+        cal.set(2020, 1, 29, 0, 0, 0);
+        assertEquals(cal.getTime(), expr.getTimeAfter(startDate));
+    }
+
+    @Test
+    public void getTimeAfterWeekdays() throws ParseException {
+        Calendar cal = Calendar.getInstance();
+        cal.set(2018, 5, 1, 10, 15, 0); // Friday, June 1st 2018, 10:15
+        cal.set(Calendar.MILLISECOND, 0);
+        Date startDate = cal.getTime();
+
+        // Fire at 10:15am every weekday
+        CronExpression expr = new CronExpression("0 15 10 ? * MON-FRI", startDate);
+
+        cal.set(2018, 5, 4, 10, 15, 0);
+        assertEquals(cal.getTime(), expr.getTimeAfter(startDate));
+    }
+
+    @Test
+    public void getTimeAfterSkipsShortMonths() throws ParseException {
+        Calendar cal = Calendar.getInstance();
+        cal.set(2018, 1, 1, 0, 0, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        Date startDate = cal.getTime();
+
+        // Fire at 12:30:15 on every 31st of a month
+        CronExpression expr = new CronExpression("15 30 12 31 * ?", startDate);
+
+        cal.set(2018, 2, 31, 12, 30, 15);
+        assertEquals(cal.getTime(), expr.getTimeAfter(startDate));
+    }
+
     @Test
     public void findNext() throws ParseException {
         final List<String> expressions = Arrays.asList(new String[] { //
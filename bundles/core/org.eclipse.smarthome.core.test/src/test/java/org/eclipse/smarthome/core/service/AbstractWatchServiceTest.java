@@ -23,6 +23,7 @@ import java.nio.file.WatchEvent;
 import java.nio.file.WatchEvent.Kind;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
 
@@ -185,6 +186,67 @@ public class AbstractWatchServiceTest extends JavaTest {
         assertNoEventsAreProcessed();
     }
 
+    @Test
+    public void test_sharedDirectory() throws Exception {
+        watchService = new RelativeWatchService(WATCHED_DIRECTORY, true);
+        RelativeWatchService otherWatchService = new RelativeWatchService(WATCHED_DIRECTORY, false);
+
+        watchService.activate();
+        otherWatchService.activate();
+        try {
+            // Both services receive the events of the directory they share
+            String fileName = "sharedFile";
+            File file = new File(WATCHED_DIRECTORY + File.separatorChar + fileName);
+            file.createNewFile();
+            assertFileCreateEventIsProcessed(file, fileName);
+            waitForAssert(() -> assertThat(otherWatchService.allFullEvents.size(), is(1)));
+            assertThat(otherWatchService.allFullEvents.get(0).eventKind, is(ENTRY_CREATE));
+        } finally {
+            otherWatchService.deactivate();
+        }
+        watchService.allFullEvents.clear();
+        otherWatchService.allFullEvents.clear();
+
+        // The remaining service still receives the events after the other one has been stopped
+        String otherFileName = "otherSharedFile";
+        File otherFile = new File(WATCHED_DIRECTORY + File.separatorChar + otherFileName);
+        otherFile.createNewFile();
+        assertFileCreateEventIsProcessed(otherFile, otherFileName);
+        assertThat(otherWatchService.allFullEvents.size(), is(0));
+    }
+
+    @Test
+    public void test_changeSets() throws Exception {
+        ChangeSetWatchService changeSetWatchService = new ChangeSetWatchService(WATCHED_DIRECTORY);
+        watchService = changeSetWatchService;
+        watchService.activate();
+
+        File file = new File(WATCHED_DIRECTORY + File.separatorChar + "changeSetFile");
+        File temporaryFile = new File(WATCHED_DIRECTORY + File.separatorChar + "temporaryFile");
+
+        // The creation and modification of a file are reported as one creation, a deleted temporary file not at all
+        file.createNewFile();
+        FileUtils.writeLines(file, Collections.singletonList("content"), true);
+        temporaryFile.createNewFile();
+        temporaryFile.delete();
+
+        waitForAssert(() -> assertThat(changeSetWatchService.changeSets.size(), is(1)));
+        Map<Path, Kind<?>> changes = changeSetWatchService.changeSets.get(0);
+        assertThat(changes.size(), is(1));
+        assertThat(changes.get(file.toPath()), is(ENTRY_CREATE));
+        assertThat(watchService.allFullEvents.size(), is(0));
+        changeSetWatchService.changeSets.clear();
+
+        // Rewriting the same content does not produce any change
+        FileUtils.writeLines(file, Collections.singletonList("content"), false);
+        Thread.sleep(NO_EVENT_TIMEOUT_IN_SECONDS * 1000);
+        assertThat(changeSetWatchService.changeSets.size(), is(0));
+
+        file.delete();
+        waitForAssert(() -> assertThat(changeSetWatchService.changeSets.size(), is(1)));
+        assertThat(changeSetWatchService.changeSets.get(0).get(file.toPath()), is(ENTRY_DELETE));
+    }
+
     private void assertNoEventsAreProcessed() throws Exception {
         // Wait for a possible event for the maximum timeout
         Thread.sleep(NO_EVENT_TIMEOUT_IN_SECONDS * 1000);
@@ -309,6 +371,26 @@ public class AbstractWatchServiceTest extends JavaTest {
 
     }
 
+    private static class ChangeSetWatchService extends RelativeWatchService {
+
+        public final List<Map<Path, Kind<?>>> changeSets = new CopyOnWriteArrayList<>();
+
+        ChangeSetWatchService(String rootPath) {
+            super(rootPath, false);
+        }
+
+        @Override
+        protected long getChangeSetDelay() {
+            return 200;
+        }
+
+        @Override
+        protected void processWatchEvents(Map<Path, Kind<?>> changes) {
+            changeSets.add(changes);
+        }
+
+    }
+
     private static class FullEvent {
         WatchEvent<?> watchEvent;
         Kind<?> eventKind;
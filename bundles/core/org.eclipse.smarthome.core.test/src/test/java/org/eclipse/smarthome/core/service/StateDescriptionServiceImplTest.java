@@ -201,6 +201,82 @@ public class StateDescriptionServiceImplTest {
         assertThat(finalStateDescription.getOptions(), is(options));
     }
 
+    @Test
+    public void testCacheableStateDescriptionIsCachedUntilInvalidated() {
+        StateDescriptionFragment fragment = StateDescriptionFragmentBuilder.create().withPattern("pattern").build();
+        StateDescriptionFragmentProvider provider = registerStateDescriptionFragmentProvider(fragment, 0);
+        when(provider.isCacheable(ITEM_NAME)).thenReturn(true);
+
+        assertThat(item.getStateDescription().getPattern(), is("pattern"));
+        assertThat(item.getStateDescription().getPattern(), is("pattern"));
+        verify(provider, times(1)).getStateDescriptionFragment(ITEM_NAME, null);
+        assertThat(stateDescriptionService.getCacheStatistics().getHitCount(), is(1L));
+        assertThat(stateDescriptionService.getCacheStatistics().getMissCount(), is(1L));
+
+        StateDescriptionFragment changedFragment = StateDescriptionFragmentBuilder.create().withPattern("changed")
+                .build();
+        when(provider.getStateDescriptionFragment(ITEM_NAME, null)).thenReturn(changedFragment);
+        stateDescriptionService.invalidate(ITEM_NAME);
+
+        assertThat(item.getStateDescription().getPattern(), is("changed"));
+        verify(provider, times(2)).getStateDescriptionFragment(ITEM_NAME, null);
+    }
+
+    @Test
+    public void testStateDescriptionIsNotCachedIfAProviderIsNotCacheable() {
+        StateDescriptionFragment fragment = StateDescriptionFragmentBuilder.create().withPattern("pattern").build();
+        StateDescriptionFragmentProvider cacheableProvider = registerStateDescriptionFragmentProvider(fragment, 1);
+        when(cacheableProvider.isCacheable(ITEM_NAME)).thenReturn(true);
+        StateDescriptionFragmentProvider provider = registerStateDescriptionFragmentProvider(fragment, 0);
+
+        item.getStateDescription();
+        item.getStateDescription();
+
+        verify(cacheableProvider, times(2)).getStateDescriptionFragment(ITEM_NAME, null);
+        verify(provider, times(2)).getStateDescriptionFragment(ITEM_NAME, null);
+        assertThat(stateDescriptionService.getCacheStatistics().getHitCount(), is(0L));
+    }
+
+    @Test
+    public void testAddingAProviderInvalidatesTheCache() {
+        StateDescriptionFragment fragment = StateDescriptionFragmentBuilder.create().withPattern("pattern").build();
+        StateDescriptionFragmentProvider provider = registerStateDescriptionFragmentProvider(fragment, 0);
+        when(provider.isCacheable(ITEM_NAME)).thenReturn(true);
+        assertThat(item.getStateDescription().getPattern(), is("pattern"));
+
+        StateDescriptionFragment higherRankedFragment = StateDescriptionFragmentBuilder.create()
+                .withPattern("higher ranked").build();
+        StateDescriptionFragmentProvider higherRankedProvider = registerStateDescriptionFragmentProvider(
+                higherRankedFragment, 1);
+        when(higherRankedProvider.isCacheable(ITEM_NAME)).thenReturn(true);
+
+        assertThat(item.getStateDescription().getPattern(), is("higher ranked"));
+    }
+
+    @Test
+    public void testRevisionIsIncreasedOnInvalidation() {
+        StateDescriptionFragment fragment = StateDescriptionFragmentBuilder.create().withPattern("pattern").build();
+        StateDescriptionFragmentProvider provider = registerStateDescriptionFragmentProvider(fragment, 0);
+        when(provider.announcesChanges()).thenReturn(true);
+
+        long revision = stateDescriptionService.getRevision();
+        item.getStateDescription();
+        assertThat(stateDescriptionService.getRevision(), is(revision));
+
+        stateDescriptionService.invalidate(ITEM_NAME);
+        assertThat(stateDescriptionService.getRevision() > revision, is(true));
+    }
+
+    @Test
+    public void testRevisionIsUnknownIfAProviderDoesNotAnnounceChanges() {
+        StateDescriptionFragment fragment = StateDescriptionFragmentBuilder.create().withPattern("pattern").build();
+        StateDescriptionFragmentProvider provider = registerStateDescriptionFragmentProvider(fragment, 0);
+        when(provider.announcesChanges()).thenReturn(true);
+        registerStateDescriptionFragmentProvider(fragment, 1);
+
+        assertThat(stateDescriptionService.getRevision(), is(-1L));
+    }
+
     private void registerStateDescriptionProvider(StateDescription stateDescription, int serviceRanking) {
         StateDescriptionProvider stateDescriptionProvider = mock(StateDescriptionProvider.class);
 
@@ -209,13 +285,14 @@ public class StateDescriptionServiceImplTest {
         stateDescriptionService.addStateDescriptionProvider(stateDescriptionProvider);
     }
 
-    private void registerStateDescriptionFragmentProvider(StateDescriptionFragment stateDescription,
-            int serviceRanking) {
+    private StateDescriptionFragmentProvider registerStateDescriptionFragmentProvider(
+            StateDescriptionFragment stateDescription, int serviceRanking) {
         StateDescriptionFragmentProvider stateDescriptionProvider = mock(StateDescriptionFragmentProvider.class);
 
         when(stateDescriptionProvider.getRank()).thenReturn(serviceRanking);
         when(stateDescriptionProvider.getStateDescriptionFragment(ITEM_NAME, null)).thenReturn(stateDescription);
         stateDescriptionService.addStateDescriptionFragmentProvider(stateDescriptionProvider);
+        return stateDescriptionProvider;
     }
 
 }
@@ -18,6 +18,7 @@ import static org.mockito.MockitoAnnotations.initMocks;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
@@ -89,6 +90,13 @@ public class ChannelItemProviderTest {
         verify(listener, only()).added(same(provider), same(ITEM));
     }
 
+    @Test
+    public void testItemCreation_bulk() throws Exception {
+        provider.linkRegistryListener.addedAll(Arrays.asList(new ItemChannelLink(ITEM_NAME, CHANNEL_UID),
+                new ItemChannelLink(ITEM_NAME, CHANNEL_UID)));
+        verify(listener, only()).addedAll(same(provider), eq(Collections.singletonList(ITEM)));
+    }
+
     @Test
     public void testItemCreation_alreadyExists() throws Exception {
         when(itemRegistry.get(eq(ITEM_NAME))).thenReturn(ITEM);
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.thing.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.Collections;
+import java.util.Locale;
+
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
+import org.eclipse.smarthome.core.service.ReadyMarker;
+import org.eclipse.smarthome.core.service.ReadyService;
+import org.eclipse.smarthome.core.service.StateDescriptionService;
+import org.eclipse.smarthome.core.thing.Channel;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingRegistry;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.builder.ChannelBuilder;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry;
+import org.eclipse.smarthome.core.thing.type.ChannelType;
+import org.eclipse.smarthome.core.thing.type.ChannelTypeUID;
+import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
+import org.eclipse.smarthome.core.types.StateDescription;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+/**
+ * Tests the cache of the {@link ChannelStateDescriptionProvider}.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class ChannelStateDescriptionProviderTest {
+
+    private static final String ITEM_NAME = "item";
+    private static final ChannelUID CHANNEL_UID = new ChannelUID("binding:type:thing:channel");
+
+    private @Mock ItemChannelLinkRegistry itemChannelLinkRegistry;
+    private @Mock ThingTypeRegistry thingTypeRegistry;
+    private @Mock ThingRegistry thingRegistry;
+    private @Mock ReadyService readyService;
+    private @Mock StateDescriptionService stateDescriptionService;
+    private @Mock ChannelType channelType;
+
+    private final Channel channel = ChannelBuilder.create(CHANNEL_UID, "Number")
+            .withType(new ChannelTypeUID("binding:channel")).build();
+    private final StateDescription stateDescription = new StateDescription(null, null, null, "%d °C", false, null);
+
+    private ChannelStateDescriptionProvider provider;
+
+    @Before
+    public void setup() {
+        initMocks(this);
+        when(itemChannelLinkRegistry.getBoundChannels(ITEM_NAME)).thenReturn(Collections.singleton(CHANNEL_UID));
+        when(thingRegistry.getChannel(CHANNEL_UID)).thenReturn(channel);
+        when(channelType.getState()).thenReturn(stateDescription);
+
+        provider = new ChannelStateDescriptionProvider();
+        provider.activate(Collections.emptyMap());
+        provider.setItemChannelLinkRegistry(itemChannelLinkRegistry);
+        provider.setThingTypeRegistry(thingTypeRegistry);
+        provider.setThingRegistry(thingRegistry);
+        provider.setReadyService(readyService);
+        provider.setStateDescriptionService(stateDescriptionService);
+    }
+
+    @Test
+    public void testUnknownChannelTypeIsNotCached() {
+        assertNull(provider.getStateDescriptionFragment(ITEM_NAME, Locale.ENGLISH));
+        assertFalse(provider.isCacheable(ITEM_NAME));
+
+        when(thingTypeRegistry.getChannelType(channel, Locale.ENGLISH)).thenReturn(channelType);
+
+        assertEquals("%d °C",
+                provider.getStateDescriptionFragment(ITEM_NAME, Locale.ENGLISH).toStateDescription().getPattern());
+        assertTrue(provider.isCacheable(ITEM_NAME));
+    }
+
+    @Test
+    public void testCacheIsClearedWhenChannelTypesHaveBeenLoaded() {
+        when(thingTypeRegistry.getChannelType(channel, Locale.ENGLISH)).thenReturn(channelType);
+        provider.getStateDescriptionFragment(ITEM_NAME, Locale.ENGLISH);
+        provider.getStateDescriptionFragment(ITEM_NAME, Locale.ENGLISH);
+        verify(thingTypeRegistry, times(1)).getChannelType(channel, Locale.ENGLISH);
+
+        provider.onReadyMarkerAdded(new ReadyMarker(ThingManager.XML_THING_TYPE, "binding"));
+
+        verify(stateDescriptionService).invalidateAll();
+        provider.getStateDescriptionFragment(ITEM_NAME, Locale.ENGLISH);
+        verify(thingTypeRegistry, times(2)).getChannelType(channel, Locale.ENGLISH);
+    }
+
+    @Test
+    public void testThingUpdateInvalidatesItsItems() {
+        ArgumentCaptor<RegistryChangeListener<Thing>> captor = ArgumentCaptor.forClass(RegistryChangeListener.class);
+        verify(thingRegistry).addRegistryChangeListener(captor.capture());
+        when(thingTypeRegistry.getChannelType(channel, Locale.ENGLISH)).thenReturn(channelType);
+        provider.getStateDescriptionFragment(ITEM_NAME, Locale.ENGLISH);
+
+        Thing otherThing = mock(Thing.class);
+        when(otherThing.getUID()).thenReturn(new ThingUID("binding:type:other"));
+        captor.getValue().updated(otherThing, otherThing);
+        verify(stateDescriptionService, never()).invalidate(any());
+
+        Thing thing = mock(Thing.class);
+        when(thing.getUID()).thenReturn(CHANNEL_UID.getThingUID());
+        captor.getValue().updated(thing, thing);
+        verify(stateDescriptionService).invalidate(ITEM_NAME);
+
+        provider.getStateDescriptionFragment(ITEM_NAME, Locale.ENGLISH);
+        verify(thingTypeRegistry, times(2)).getChannelType(channel, Locale.ENGLISH);
+    }
+}
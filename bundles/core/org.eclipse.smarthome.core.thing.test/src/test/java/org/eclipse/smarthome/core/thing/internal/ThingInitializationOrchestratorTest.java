@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.thing.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.builder.BridgeBuilder;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingStatusInfoBuilder;
+import org.eclipse.smarthome.core.thing.internal.ThingInitializationOrchestrator.Initialization;
+import org.eclipse.smarthome.core.thing.internal.ThingInitializationOrchestrator.Priority;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Tests the ordering, the concurrency limits and the completion of the {@link ThingInitializationOrchestrator}.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class ThingInitializationOrchestratorTest {
+
+    private static final ThingTypeUID THING_TYPE_UID = new ThingTypeUID("binding", "type");
+    private static final ThingTypeUID OTHER_THING_TYPE_UID = new ThingTypeUID("other", "type");
+    private static final ThingUID BRIDGE_UID = new ThingUID(THING_TYPE_UID, "bridge");
+
+    private final Queue<Runnable> tasks = new LinkedList<>();
+    private final List<String> initialized = Collections.synchronizedList(new ArrayList<>());
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+
+    private ThingInitializationOrchestrator orchestrator;
+
+    @Before
+    public void setup() {
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+        orchestrator = new ThingInitializationOrchestrator(tasks::add, scheduler);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ThingInitializationOrchestrator.CONFIG_BINDING_CONCURRENCY, 3);
+        properties.put(ThingInitializationOrchestrator.CONFIG_BRIDGE_CONCURRENCY, "1");
+        orchestrator.activate(properties);
+    }
+
+    @Test
+    public void assertThatInitializationsAreStartedByPriority() {
+        orchestrator.modified(Collections.singletonMap(ThingInitializationOrchestrator.CONFIG_BINDING_CONCURRENCY, 1));
+        orchestrator.submit(thing(THING_TYPE_UID, "x", null), Priority.DEFAULT, initialization("x"));
+        orchestrator.submit(thing(THING_TYPE_UID, "a", null), Priority.DEFAULT, initialization("a"));
+        orchestrator.submit(thing(THING_TYPE_UID, "b", null), Priority.LINKED, initialization("b"));
+        orchestrator.submit(BridgeBuilder.create(THING_TYPE_UID, "c").build(), Priority.BRIDGE, initialization("c"));
+
+        runTasks();
+
+        assertThat(initialized, is(Arrays.asList("x", "c", "b", "a")));
+    }
+
+    @Test
+    public void assertThatConcurrencyIsLimitedPerBindingAndBridge() {
+        for (int i = 0; i < 4; i++) {
+            orchestrator.submit(thing(THING_TYPE_UID, "t" + i, null), Priority.DEFAULT, initialization("t" + i));
+        }
+        orchestrator.submit(thing(THING_TYPE_UID, "c1", BRIDGE_UID), Priority.DEFAULT, initialization("c1"));
+        orchestrator.submit(thing(OTHER_THING_TYPE_UID, "c2", BRIDGE_UID), Priority.DEFAULT, initialization("c2"));
+        orchestrator.submit(thing(OTHER_THING_TYPE_UID, "o", null), Priority.DEFAULT, initialization("o"));
+
+        // three things of the binding, one child of the bridge and the thing of the other binding
+        assertThat(tasks.size(), is(5));
+
+        runTasks();
+
+        assertThat(initialized.size(), is(7));
+        for (Initialization initialization : orchestrator.getInitializations()) {
+            assertTrue(initialization.isFinished());
+        }
+    }
+
+    @Test
+    public void assertThatQueuedInitializationsCanBeReplacedAndCancelled() {
+        orchestrator.submit(thing(THING_TYPE_UID, "c1", BRIDGE_UID), Priority.DEFAULT, initialization("c1"));
+        orchestrator.submit(thing(THING_TYPE_UID, "c2", BRIDGE_UID), Priority.DEFAULT, initialization("c2"));
+        orchestrator.submit(thing(THING_TYPE_UID, "c2", BRIDGE_UID), Priority.DEFAULT, initialization("c2'"));
+        orchestrator.submit(thing(THING_TYPE_UID, "c3", BRIDGE_UID), Priority.DEFAULT, initialization("c3"));
+        orchestrator.cancel(new ThingUID(THING_TYPE_UID, "c3"));
+
+        runTasks();
+
+        assertThat(initialized, is(Arrays.asList("c1", "c2'")));
+        assertThat(orchestrator.getInitializations().size(), is(2));
+    }
+
+    @Test
+    public void assertThatFailingInitializationsReleaseTheirBudget() {
+        orchestrator.submit(thing(THING_TYPE_UID, "c1", BRIDGE_UID), Priority.DEFAULT, () -> {
+            throw new IllegalStateException("test");
+        });
+        orchestrator.submit(thing(THING_TYPE_UID, "c2", BRIDGE_UID), Priority.DEFAULT, initialization("c2"));
+
+        runTasks();
+
+        assertThat(initialized, is(Arrays.asList("c2")));
+    }
+
+    @Test
+    public void assertThatTheBudgetIsHeldUntilTheThingHasLeftInitializing() {
+        Thing c1 = thing(THING_TYPE_UID, "c1", BRIDGE_UID);
+        orchestrator.submit(c1, Priority.DEFAULT, () -> {
+            c1.setStatusInfo(ThingStatusInfoBuilder.create(ThingStatus.UNKNOWN).build());
+            initialized.add("c1");
+        });
+        orchestrator.submit(thing(THING_TYPE_UID, "c2", BRIDGE_UID), Priority.DEFAULT, initialization("c2"));
+
+        runTasks();
+
+        // the handler of c1 has been initialized, but c1 has not reported its actual status yet
+        assertThat(initialized, is(Arrays.asList("c1")));
+        Initialization initialization = getInitialization(c1.getUID());
+        assertTrue(initialization.isStarted());
+        assertFalse(initialization.isFinished());
+
+        orchestrator.statusChanged(c1.getUID(), ThingStatus.INITIALIZING);
+        runTasks();
+        assertThat(initialized, is(Arrays.asList("c1")));
+
+        orchestrator.statusChanged(c1.getUID(), ThingStatus.ONLINE);
+        runTasks();
+        assertThat(initialized, is(Arrays.asList("c1", "c2")));
+        assertTrue(initialization.isFinished());
+        assertFalse(initialization.isTimedOut());
+    }
+
+    @Test
+    public void assertThatTheBudgetIsReleasedAfterTheTimeout() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ThingInitializationOrchestrator.CONFIG_BRIDGE_CONCURRENCY, 1);
+        properties.put(ThingInitializationOrchestrator.CONFIG_INITIALIZATION_TIMEOUT, 5);
+        orchestrator.modified(properties);
+        Thing c1 = thing(THING_TYPE_UID, "c1", BRIDGE_UID);
+        orchestrator.submit(c1, Priority.DEFAULT, () -> {
+            c1.setStatusInfo(ThingStatusInfoBuilder.create(ThingStatus.INITIALIZING).build());
+            initialized.add("c1");
+        });
+        orchestrator.submit(thing(THING_TYPE_UID, "c2", BRIDGE_UID), Priority.DEFAULT, initialization("c2"));
+
+        runTasks();
+        assertThat(initialized, is(Arrays.asList("c1")));
+
+        ArgumentCaptor<Runnable> timeoutCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(timeoutCaptor.capture(), eq(5L), eq(TimeUnit.SECONDS));
+        timeoutCaptor.getValue().run();
+        runTasks();
+
+        assertThat(initialized, is(Arrays.asList("c1", "c2")));
+        assertTrue(getInitialization(c1.getUID()).isTimedOut());
+    }
+
+    private Initialization getInitialization(ThingUID thingUID) {
+        return orchestrator.getInitializations().stream()
+                .filter(initialization -> initialization.getThingUID().equals(thingUID)).findFirst().get();
+    }
+
+    private Thing thing(ThingTypeUID thingTypeUID, String id, ThingUID bridgeUID) {
+        return ThingBuilder.create(thingTypeUID, id).withBridge(bridgeUID).build();
+    }
+
+    private Runnable initialization(String name) {
+        return () -> initialized.add(name);
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+}
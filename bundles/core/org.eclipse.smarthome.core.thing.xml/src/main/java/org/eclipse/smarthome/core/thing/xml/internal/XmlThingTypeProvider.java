@@ -102,6 +102,11 @@ public class XmlThingTypeProvider extends AbstractXmlBasedProvider<UID, ThingTyp
         return getAll(locale);
     }
 
+    @Override
+    public Collection<ThingType> getThingTypes(String bindingId, Locale locale) {
+        return getAll(locale, uid -> uid.getBindingId().equals(bindingId));
+    }
+
     @Reference
     public void setThingTypeI18nLocalizationService(
             final ThingTypeI18nLocalizationService thingTypeI18nLocalizationService) {
@@ -14,6 +14,7 @@ package org.eclipse.smarthome.core.thing.binding;
 
 import java.util.Collection;
 import java.util.Locale;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -37,6 +38,19 @@ public interface ThingTypeProvider {
      */
     Collection<ThingType> getThingTypes(@Nullable Locale locale);
 
+    /**
+     * Provides the thing types of the given binding. Implementations should override this method if they can look up
+     * the thing types of a binding without localizing all of their thing types.
+     *
+     * @param bindingId the binding id
+     * @param locale locale (can be null)
+     * @return the thing types of the given binding provided by the {@link ThingTypeProvider}
+     */
+    default Collection<ThingType> getThingTypes(String bindingId, @Nullable Locale locale) {
+        return getThingTypes(locale).stream().filter(thingType -> thingType.getBindingId().equals(bindingId))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Provides a thing type for the given UID or null if no type for the
      * given UID exists.
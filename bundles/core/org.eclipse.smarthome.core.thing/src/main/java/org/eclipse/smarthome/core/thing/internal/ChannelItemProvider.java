@@ -12,9 +12,11 @@
  */
 package org.eclipse.smarthome.core.thing.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -234,9 +236,7 @@ public class ChannelItemProvider implements ItemProvider {
             return;
         }
         items = new ConcurrentHashMap<>();
-        for (ItemChannelLink link : linkRegistry.getAll()) {
-            createItemForLink(link);
-        }
+        createItemsForLinks(linkRegistry.getAll());
     }
 
     @Deactivate
@@ -257,12 +257,41 @@ public class ChannelItemProvider implements ItemProvider {
     }
 
     private void createItemForLink(ItemChannelLink link) {
+        Item item = createItem(link);
+        if (item != null) {
+            for (ProviderChangeListener<Item> listener : listeners) {
+                listener.added(this, item);
+            }
+        }
+    }
+
+    private void createItemsForLinks(Collection<ItemChannelLink> links) {
+        List<Item> createdItems = new ArrayList<>();
+        for (ItemChannelLink link : links) {
+            Item item = createItem(link);
+            if (item != null) {
+                createdItems.add(item);
+            }
+        }
+        if (!createdItems.isEmpty()) {
+            for (ProviderChangeListener<Item> listener : listeners) {
+                listener.addedAll(this, createdItems);
+            }
+        }
+    }
+
+    /**
+     * Creates the item for the given link, without notifying the listeners.
+     *
+     * @return the created item or null, if no item has been created
+     */
+    private Item createItem(ItemChannelLink link) {
         if (!enabled) {
-            return;
+            return null;
         }
-        if (itemRegistry.get(link.getItemName()) != null) {
+        if (items.containsKey(link.getItemName()) || itemRegistry.get(link.getItemName()) != null) {
             // there is already an item, we do not need to create one
-            return;
+            return null;
         }
         Channel channel = thingRegistry.getChannel(link.getLinkedUID());
         if (channel != null) {
@@ -284,11 +313,10 @@ public class ChannelItemProvider implements ItemProvider {
             }
             if (item != null) {
                 items.put(item.getName(), item);
-                for (ProviderChangeListener<Item> listener : listeners) {
-                    listener.added(this, item);
-                }
             }
+            return item;
         }
+        return null;
     }
 
     private String getCategory(Channel channel) {
@@ -341,11 +369,25 @@ public class ChannelItemProvider implements ItemProvider {
             if (!initialized) {
                 return;
             }
+            List<ItemChannelLink> links = new ArrayList<>();
             for (Channel channel : element.getChannels()) {
-                for (ItemChannelLink link : linkRegistry.getLinks(channel.getUID())) {
-                    createItemForLink(link);
+                links.addAll(linkRegistry.getLinks(channel.getUID()));
+            }
+            createItemsForLinks(links);
+        }
+
+        @Override
+        public void addedAll(Collection<Thing> elements) {
+            if (!initialized) {
+                return;
+            }
+            List<ItemChannelLink> links = new ArrayList<>();
+            for (Thing element : elements) {
+                for (Channel channel : element.getChannels()) {
+                    links.addAll(linkRegistry.getLinks(channel.getUID()));
                 }
             }
+            createItemsForLinks(links);
         }
 
         @Override
@@ -374,6 +416,15 @@ public class ChannelItemProvider implements ItemProvider {
             createItemForLink(element);
         }
 
+        @Override
+        public void addedAll(Collection<ItemChannelLink> elements) {
+            if (!initialized) {
+                lastUpdate = System.nanoTime();
+                return;
+            }
+            createItemsForLinks(elements);
+        }
+
         @Override
         public void removed(ItemChannelLink element) {
             if (!initialized) {
@@ -397,14 +448,12 @@ public class ChannelItemProvider implements ItemProvider {
                 lastUpdate = System.nanoTime();
                 return;
             }
-            // check, if it is our own item
-            for (Item item : items.values()) {
-                if (item == element) {
-                    return;
-                }
+            Item oldElement = items.get(element.getName());
+            if (oldElement == element) {
+                // it is our own item
+                return;
             }
             // it is from some other provider, so remove ours, if we have one
-            Item oldElement = items.get(element.getName());
             if (oldElement != null) {
                 for (ProviderChangeListener<Item> listener : listeners) {
                     listener.removed(ChannelItemProvider.this, oldElement);
@@ -418,11 +467,9 @@ public class ChannelItemProvider implements ItemProvider {
             if (!initialized) {
                 return;
             }
-            // check, if it is our own item
-            for (Item item : items.values()) {
-                if (item == element) {
-                    return;
-                }
+            if (items.get(element.getName()) == element) {
+                // it is our own item
+                return;
             }
             // it is from some other provider, so create one ourselves if needed
             for (ChannelUID uid : linkRegistry.getBoundChannels(element.getName())) {
@@ -12,21 +12,33 @@
  */
 package org.eclipse.smarthome.core.thing.internal;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.library.CoreItemFactory;
+import org.eclipse.smarthome.core.service.ReadyMarker;
+import org.eclipse.smarthome.core.service.ReadyMarkerFilter;
+import org.eclipse.smarthome.core.service.ReadyService;
+import org.eclipse.smarthome.core.service.StateDescriptionService;
 import org.eclipse.smarthome.core.thing.Channel;
 import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingRegistry;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
 import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry;
 import org.eclipse.smarthome.core.thing.type.ChannelType;
+import org.eclipse.smarthome.core.thing.type.ChannelTypeProvider;
 import org.eclipse.smarthome.core.thing.type.DynamicStateDescriptionProvider;
 import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
 import org.eclipse.smarthome.core.types.StateDescription;
@@ -45,11 +57,17 @@ import org.slf4j.LoggerFactory;
 /**
  * A {@link ChannelStateDescriptionProvider} provides localized {@link StateDescription}s from the type of a
  * {@link Channel} bounded to an {@link Item}.
+ * <p>
+ * The channel and the state description of its type are cached per item and locale. The cache is invalidated by
+ * changes of the item's links, of the thing the channel belongs to, of the available {@link ChannelTypeProvider}s and
+ * whenever the thing types and channel types of a bundle have been loaded. Items whose channel type is not known yet
+ * are not cached. The {@link DynamicStateDescriptionProvider}s are asked on every call, as they cannot announce their
+ * changes.
  *
  * @author Dennis Nobel - Initial contribution
  */
 @Component(immediate = true, property = { "service.ranking:Integer=-1" })
-public class ChannelStateDescriptionProvider implements StateDescriptionFragmentProvider {
+public class ChannelStateDescriptionProvider implements StateDescriptionFragmentProvider, ReadyService.ReadyTracker {
 
     private final Logger logger = LoggerFactory.getLogger(ChannelStateDescriptionProvider.class);
 
@@ -57,8 +75,68 @@ public class ChannelStateDescriptionProvider implements StateDescriptionFragment
     private ItemChannelLinkRegistry itemChannelLinkRegistry;
     private ThingTypeRegistry thingTypeRegistry;
     private ThingRegistry thingRegistry;
+    private StateDescriptionService stateDescriptionService;
     private Integer rank;
 
+    private final Map<String, Map<String, ChannelDescription>> channelDescriptions = new ConcurrentHashMap<>();
+    // guarded by channelDescriptions
+    private final Map<ThingUID, Set<String>> itemsByThing = new ConcurrentHashMap<>();
+    private final Set<String> unresolvedItems = ConcurrentHashMap.newKeySet();
+    private final AtomicLong cacheGeneration = new AtomicLong();
+
+    private final RegistryChangeListener<ItemChannelLink> linkListener = new RegistryChangeListener<ItemChannelLink>() {
+        @Override
+        public void added(ItemChannelLink element) {
+            invalidateItem(element.getItemName());
+        }
+
+        @Override
+        public void removed(ItemChannelLink element) {
+            invalidateItem(element.getItemName());
+        }
+
+        @Override
+        public void updated(ItemChannelLink oldElement, ItemChannelLink element) {
+            invalidateItem(oldElement.getItemName());
+            invalidateItem(element.getItemName());
+        }
+    };
+
+    private final RegistryChangeListener<Thing> thingListener = new RegistryChangeListener<Thing>() {
+        @Override
+        public void added(Thing element) {
+            invalidateThing(element.getUID());
+        }
+
+        @Override
+        public void removed(Thing element) {
+            invalidateThing(element.getUID());
+        }
+
+        @Override
+        public void updated(Thing oldElement, Thing element) {
+            invalidateThing(element.getUID());
+        }
+    };
+
+    /**
+     * The channel an item is bound to and the state description of the channel's type for a locale.
+     */
+    private static class ChannelDescription {
+        private final @Nullable ChannelUID channelUID;
+        private final @Nullable Channel channel;
+        private final @Nullable StateDescription stateDescription;
+        private final boolean resolved;
+
+        private ChannelDescription(@Nullable ChannelUID channelUID, @Nullable Channel channel,
+                @Nullable StateDescription stateDescription, boolean resolved) {
+            this.channelUID = channelUID;
+            this.channel = channel;
+            this.stateDescription = stateDescription;
+            this.resolved = resolved;
+        }
+    }
+
     @Activate
     protected void activate(Map<String, Object> properties) {
         Object serviceRanking = properties.get(Constants.SERVICE_RANKING);
@@ -85,7 +163,71 @@ public class ChannelStateDescriptionProvider implements StateDescriptionFragment
         return null;
     }
 
+    @Override
+    public boolean isCacheable(@NonNull String itemName) {
+        if (unresolvedItems.contains(itemName)) {
+            // the channel type might be provided later on
+            return false;
+        }
+        if (dynamicStateDescriptionProviders.isEmpty()) {
+            return true;
+        }
+        // the state descriptions of dynamic providers might change at any time for items bound to a channel
+        Map<String, ChannelDescription> itemDescriptions = channelDescriptions.get(itemName);
+        return itemDescriptions != null
+                && itemDescriptions.values().stream().allMatch(description -> description.channel == null);
+    }
+
+    @Override
+    public boolean announcesChanges() {
+        // the state descriptions of dynamic providers might change at any time
+        return dynamicStateDescriptionProviders.isEmpty();
+    }
+
     private StateDescription getStateDescription(String itemName, Locale locale) {
+        ChannelDescription channelDescription = getChannelDescription(itemName, locale);
+        Channel channel = channelDescription.channel;
+        if (channel != null) {
+            StateDescription stateDescription = channelDescription.stateDescription;
+            StateDescription dynamicStateDescription = getDynamicStateDescription(channel, stateDescription, locale);
+            if (dynamicStateDescription != null) {
+                return dynamicStateDescription;
+            }
+            return stateDescription;
+        }
+        return null;
+    }
+
+    private ChannelDescription getChannelDescription(String itemName, @Nullable Locale locale) {
+        String localeKey = locale == null ? "" : locale.toString();
+        Map<String, ChannelDescription> itemDescriptions = channelDescriptions.get(itemName);
+        ChannelDescription channelDescription = itemDescriptions == null ? null : itemDescriptions.get(localeKey);
+        if (channelDescription != null) {
+            return channelDescription;
+        }
+
+        long generation = cacheGeneration.get();
+        channelDescription = resolveChannelDescription(itemName, locale);
+        if (!channelDescription.resolved) {
+            unresolvedItems.add(itemName);
+            return channelDescription;
+        }
+        unresolvedItems.remove(itemName);
+        synchronized (channelDescriptions) {
+            // do not cache a description which might have been invalidated while it was resolved
+            if (cacheGeneration.get() == generation) {
+                channelDescriptions.computeIfAbsent(itemName, k -> new ConcurrentHashMap<>()).put(localeKey,
+                        channelDescription);
+                ChannelUID channelUID = channelDescription.channelUID;
+                if (channelUID != null) {
+                    itemsByThing.computeIfAbsent(channelUID.getThingUID(), k -> new HashSet<>()).add(itemName);
+                }
+            }
+        }
+        return channelDescription;
+    }
+
+    private ChannelDescription resolveChannelDescription(String itemName, @Nullable Locale locale) {
         Set<ChannelUID> boundChannels = itemChannelLinkRegistry.getBoundChannels(itemName);
         if (!boundChannels.isEmpty()) {
             ChannelUID channelUID = boundChannels.iterator().next();
@@ -115,15 +257,74 @@ public class ChannelStateDescriptionProvider implements StateDescriptionFragment
                         }
                     }
                 }
-                StateDescription dynamicStateDescription = getDynamicStateDescription(channel, stateDescription,
-                        locale);
-                if (dynamicStateDescription != null) {
-                    return dynamicStateDescription;
-                }
-                return stateDescription;
+                return new ChannelDescription(channelUID, channel, stateDescription, channelType != null);
             }
+            return new ChannelDescription(channelUID, null, null, true);
+        }
+        return new ChannelDescription(null, null, null, true);
+    }
+
+    private void invalidateItem(String itemName) {
+        synchronized (channelDescriptions) {
+            cacheGeneration.incrementAndGet();
+            removeItem(itemName);
+        }
+        StateDescriptionService stateDescriptionService = this.stateDescriptionService;
+        if (stateDescriptionService != null) {
+            stateDescriptionService.invalidate(itemName);
+        }
+    }
+
+    private void invalidateThing(ThingUID thingUID) {
+        Set<String> itemNames;
+        synchronized (channelDescriptions) {
+            cacheGeneration.incrementAndGet();
+            itemNames = itemsByThing.remove(thingUID);
+            if (itemNames == null) {
+                return;
+            }
+            for (String itemName : itemNames) {
+                removeItem(itemName);
+            }
+        }
+        StateDescriptionService stateDescriptionService = this.stateDescriptionService;
+        if (stateDescriptionService != null) {
+            for (String itemName : itemNames) {
+                stateDescriptionService.invalidate(itemName);
+            }
+        }
+    }
+
+    /**
+     * Removes the cached descriptions of the given item along with their index entries. Must be called while holding
+     * the lock of the cache.
+     */
+    private void removeItem(String itemName) {
+        Map<String, ChannelDescription> itemDescriptions = channelDescriptions.remove(itemName);
+        if (itemDescriptions == null) {
+            return;
+        }
+        for (ChannelDescription description : itemDescriptions.values()) {
+            ChannelUID channelUID = description.channelUID;
+            if (channelUID != null) {
+                itemsByThing.computeIfPresent(channelUID.getThingUID(), (thingUID, itemNames) -> {
+                    itemNames.remove(itemName);
+                    return itemNames.isEmpty() ? null : itemNames;
+                });
+            }
+        }
+    }
+
+    private void invalidateAll() {
+        synchronized (channelDescriptions) {
+            cacheGeneration.incrementAndGet();
+            channelDescriptions.clear();
+            itemsByThing.clear();
+        }
+        StateDescriptionService stateDescriptionService = this.stateDescriptionService;
+        if (stateDescriptionService != null) {
+            stateDescriptionService.invalidateAll();
         }
-        return null;
     }
 
     private StateDescription getDynamicStateDescription(Channel channel, StateDescription originalStateDescription,
@@ -149,29 +350,84 @@ public class ChannelStateDescriptionProvider implements StateDescriptionFragment
     @Reference
     protected void setItemChannelLinkRegistry(ItemChannelLinkRegistry itemChannelLinkRegistry) {
         this.itemChannelLinkRegistry = itemChannelLinkRegistry;
+        itemChannelLinkRegistry.addRegistryChangeListener(linkListener);
     }
 
     protected void unsetItemChannelLinkRegistry(ItemChannelLinkRegistry itemChannelLinkRegistry) {
+        itemChannelLinkRegistry.removeRegistryChangeListener(linkListener);
         this.itemChannelLinkRegistry = null;
+        invalidateAll();
     }
 
     @Reference
     protected void setThingRegistry(ThingRegistry thingRegistry) {
         this.thingRegistry = thingRegistry;
+        thingRegistry.addRegistryChangeListener(thingListener);
     }
 
     protected void unsetThingRegistry(ThingRegistry thingRegistry) {
+        thingRegistry.removeRegistryChangeListener(thingListener);
         this.thingRegistry = null;
+        invalidateAll();
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setStateDescriptionService(StateDescriptionService stateDescriptionService) {
+        this.stateDescriptionService = stateDescriptionService;
+    }
+
+    protected void unsetStateDescriptionService(StateDescriptionService stateDescriptionService) {
+        this.stateDescriptionService = null;
+    }
+
+    @Override
+    public void onReadyMarkerAdded(@NonNull ReadyMarker readyMarker) {
+        // the channel types of another bundle have been loaded into the long-lived XML channel type provider
+        invalidateAll();
+    }
+
+    @Override
+    public void onReadyMarkerRemoved(@NonNull ReadyMarker readyMarker) {
+        invalidateAll();
+    }
+
+    @Reference
+    protected void setReadyService(ReadyService readyService) {
+        readyService.registerTracker(this, new ReadyMarkerFilter().withType(ThingManager.XML_THING_TYPE));
+    }
+
+    protected void unsetReadyService(ReadyService readyService) {
+        readyService.unregisterTracker(this);
+    }
+
+    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    protected void addChannelTypeProvider(ChannelTypeProvider channelTypeProvider) {
+        // the localized channel types might have changed
+        invalidateAll();
+    }
+
+    protected void removeChannelTypeProvider(ChannelTypeProvider channelTypeProvider) {
+        invalidateAll();
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
     protected void addDynamicStateDescriptionProvider(DynamicStateDescriptionProvider dynamicStateDescriptionProvider) {
         this.dynamicStateDescriptionProviders.add(dynamicStateDescriptionProvider);
+        invalidateStateDescriptionService();
     }
 
     protected void removeDynamicStateDescriptionProvider(
             DynamicStateDescriptionProvider dynamicStateDescriptionProvider) {
         this.dynamicStateDescriptionProviders.remove(dynamicStateDescriptionProvider);
+        invalidateStateDescriptionService();
+    }
+
+    private void invalidateStateDescriptionService() {
+        // the dynamic providers determine which state descriptions may be cached
+        StateDescriptionService stateDescriptionService = this.stateDescriptionService;
+        if (stateDescriptionService != null) {
+            stateDescriptionService.invalidateAll();
+        }
     }
 
 }
@@ -0,0 +1,430 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.thing.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ThingInitializationOrchestrator} runs the registration and initialization of many thing handlers at once,
+ * e.g. when a binding has been started or a bridge has been initialized. The initializations are queued by their
+ * {@link Priority} and run in parallel on the thing manager thread pool, while the number of concurrent initializations
+ * per binding and per bridge is limited, so that a binding or a bridge is not flooded with initializations.
+ * <p>
+ * As handlers usually finish their initialization in the background, an initialization is only completed once the
+ * thing has left the {@link ThingStatus#INITIALIZING} and {@link ThingStatus#UNKNOWN} status (as reported through
+ * {@link #statusChanged(ThingUID, ThingStatus)}) or the configured timeout has expired.
+ * <p>
+ * The waiting time and the duration of every initialization are recorded, in order to report the startup progress.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@Component(service = ThingInitializationOrchestrator.class, configurationPid = "org.eclipse.smarthome.thinginit", property = {
+        "service.config.description.uri:String=system:thinginit",
+        "service.config.label:String=Thing Initialization", "service.config.category:String=system",
+        "service.pid:String=org.eclipse.smarthome.thinginit" })
+public class ThingInitializationOrchestrator {
+
+    /**
+     * The priority classes of the initializations, in the order in which they are started.
+     */
+    public enum Priority {
+        /** bridges, as their child things can only be initialized after them */
+        BRIDGE,
+        /** things which have a channel linked to an item */
+        LINKED,
+        /** all other things */
+        DEFAULT;
+    }
+
+    private static final String THREADPOOL_NAME = "thingManager";
+
+    static final String CONFIG_BINDING_CONCURRENCY = "bindingConcurrency";
+    static final String CONFIG_BRIDGE_CONCURRENCY = "bridgeConcurrency";
+    static final String CONFIG_INITIALIZATION_TIMEOUT = "initializationTimeout";
+
+    private static final int DEFAULT_BINDING_CONCURRENCY = 4;
+    private static final int DEFAULT_BRIDGE_CONCURRENCY = 2;
+    private static final int DEFAULT_INITIALIZATION_TIMEOUT = 60;
+
+    private final Logger logger = LoggerFactory.getLogger(ThingInitializationOrchestrator.class);
+
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+
+    /**
+     * The waiting initializations, ordered by their priority and the order of their submission.
+     */
+    private final TreeSet<QueuedInitialization> queue = new TreeSet<>(Comparator
+            .comparing((QueuedInitialization queued) -> queued.initialization.priority)
+            .thenComparingLong(queued -> queued.sequence));
+    private final Map<ThingUID, QueuedInitialization> queuedThings = new HashMap<>();
+    private final Map<String, Integer> runningPerBinding = new HashMap<>();
+    private final Map<ThingUID, Integer> runningPerBridge = new HashMap<>();
+    private long sequence;
+    private int running;
+
+    /**
+     * The started initializations, which have not been completed yet.
+     */
+    private final Map<ThingUID, QueuedInitialization> runningThings = new ConcurrentHashMap<>();
+
+    private final Map<ThingUID, Initialization> initializations = new ConcurrentHashMap<>();
+
+    private volatile int bindingConcurrency = DEFAULT_BINDING_CONCURRENCY;
+    private volatile int bridgeConcurrency = DEFAULT_BRIDGE_CONCURRENCY;
+    private volatile int initializationTimeout = DEFAULT_INITIALIZATION_TIMEOUT;
+
+    public ThingInitializationOrchestrator() {
+        this(ThreadPoolManager.getPool(THREADPOOL_NAME), ThreadPoolManager.getScheduledPool(THREADPOOL_NAME));
+    }
+
+    ThingInitializationOrchestrator(Executor executor, ScheduledExecutorService scheduler) {
+        this.executor = executor;
+        this.scheduler = scheduler;
+    }
+
+    @Activate
+    protected void activate(Map<String, Object> properties) {
+        modified(properties);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> properties) {
+        if (properties != null) {
+            bindingConcurrency = getIntegerProperty(properties, CONFIG_BINDING_CONCURRENCY,
+                    DEFAULT_BINDING_CONCURRENCY);
+            bridgeConcurrency = getIntegerProperty(properties, CONFIG_BRIDGE_CONCURRENCY, DEFAULT_BRIDGE_CONCURRENCY);
+            initializationTimeout = getIntegerProperty(properties, CONFIG_INITIALIZATION_TIMEOUT,
+                    DEFAULT_INITIALIZATION_TIMEOUT);
+        }
+        dispatch();
+    }
+
+    private int getIntegerProperty(Map<String, Object> properties, String name, int defaultValue) {
+        Object value = properties.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for the thing initialization parameter '{}', using {}.", value, name,
+                    defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Queues the initialization of the given thing. An initialization of the same thing, which is still waiting, is
+     * replaced.
+     *
+     * @param thing the thing to be initialized
+     * @param priority the priority class of the initialization
+     * @param initialization the registration and initialization of the thing handler
+     */
+    public void submit(Thing thing, Priority priority, Runnable initialization) {
+        ThingUID thingUID = thing.getUID();
+        Initialization stats = new Initialization(thingUID, thing.getThingTypeUID().getBindingId(), priority);
+        synchronized (lock) {
+            QueuedInitialization replaced = queuedThings.remove(thingUID);
+            if (replaced != null) {
+                queue.remove(replaced);
+            }
+            QueuedInitialization queued = new QueuedInitialization(stats, thing, initialization, sequence++);
+            queue.add(queued);
+            queuedThings.put(thingUID, queued);
+            initializations.put(thingUID, stats);
+        }
+        logger.debug("Queued initialization of thing '{}' with priority {}.", thingUID, priority);
+        dispatch();
+    }
+
+    /**
+     * Drops the waiting initialization and the statistics of the given thing, e.g. because it has been removed. A
+     * started initialization, which waits for the status of the thing, is completed.
+     *
+     * @param thingUID the UID of the thing
+     */
+    public void cancel(ThingUID thingUID) {
+        synchronized (lock) {
+            QueuedInitialization queued = queuedThings.remove(thingUID);
+            if (queued != null) {
+                queue.remove(queued);
+            }
+            initializations.remove(thingUID);
+        }
+        QueuedInitialization running = runningThings.get(thingUID);
+        if (running != null) {
+            complete(running);
+        }
+    }
+
+    /**
+     * Notifies the orchestrator about the new status of a thing. A started initialization of the thing is completed as
+     * soon as the thing is neither {@link ThingStatus#INITIALIZING} nor {@link ThingStatus#UNKNOWN}.
+     *
+     * @param thingUID the UID of the thing
+     * @param status the new status of the thing
+     */
+    public void statusChanged(ThingUID thingUID, ThingStatus status) {
+        if (!isInitializing(status)) {
+            QueuedInitialization running = runningThings.get(thingUID);
+            if (running != null) {
+                complete(running);
+            }
+        }
+    }
+
+    /**
+     * Starts the waiting initializations, as far as the concurrency limits of their binding and bridge allow.
+     */
+    private void dispatch() {
+        List<QueuedInitialization> started = new ArrayList<>();
+        synchronized (lock) {
+            Iterator<QueuedInitialization> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                QueuedInitialization queued = iterator.next();
+                String binding = queued.initialization.binding;
+                if (!isBelowLimit(runningPerBinding.get(binding), bindingConcurrency)
+                        || (queued.bridgeUID != null
+                                && !isBelowLimit(runningPerBridge.get(queued.bridgeUID), bridgeConcurrency))) {
+                    continue;
+                }
+                iterator.remove();
+                queuedThings.remove(queued.initialization.thingUID, queued);
+                runningPerBinding.merge(binding, 1, Integer::sum);
+                if (queued.bridgeUID != null) {
+                    runningPerBridge.merge(queued.bridgeUID, 1, Integer::sum);
+                }
+                running++;
+                started.add(queued);
+            }
+        }
+        for (QueuedInitialization queued : started) {
+            try {
+                executor.execute(() -> run(queued));
+            } catch (RuntimeException e) {
+                logger.error("Could not start the initialization of thing '{}': {}", queued.initialization.thingUID,
+                        e.getMessage(), e);
+                finished(queued);
+            }
+        }
+    }
+
+    private boolean isBelowLimit(Integer count, int limit) {
+        return limit <= 0 || count == null || count < limit;
+    }
+
+    private void run(QueuedInitialization queued) {
+        Initialization initialization = queued.initialization;
+        initialization.started = System.nanoTime();
+        runningThings.put(initialization.thingUID, queued);
+        try {
+            queued.runnable.run();
+        } catch (Exception e) {
+            logger.error("Initialization of thing '{}' has failed: {}", initialization.thingUID, e.getMessage(), e);
+        } finally {
+            int timeout = initializationTimeout;
+            if (timeout > 0 && isInitializing(queued.thing.getStatus())) {
+                // keep the budget until the handler has reported the actual status of the thing
+                ScheduledFuture<?> timeoutJob = scheduler.schedule(() -> {
+                    if (complete(queued)) {
+                        initialization.timedOut = true;
+                        logger.debug("Thing '{}' is still initializing after {}s, its initialization is completed.",
+                                initialization.thingUID, timeout);
+                    }
+                }, timeout, TimeUnit.SECONDS);
+                queued.timeoutJob = timeoutJob;
+                if (queued.completed.get()) {
+                    timeoutJob.cancel(false);
+                }
+            } else {
+                complete(queued);
+            }
+        }
+    }
+
+    private boolean isInitializing(ThingStatus status) {
+        return status == ThingStatus.INITIALIZING || status == ThingStatus.UNKNOWN;
+    }
+
+    /**
+     * Completes the given started initialization and releases its budget, unless this has happened already.
+     *
+     * @return <code>true</code> if the initialization has been completed by this call
+     */
+    private boolean complete(QueuedInitialization queued) {
+        if (!queued.completed.compareAndSet(false, true)) {
+            return false;
+        }
+        Initialization initialization = queued.initialization;
+        runningThings.remove(initialization.thingUID, queued);
+        ScheduledFuture<?> timeoutJob = queued.timeoutJob;
+        if (timeoutJob != null) {
+            timeoutJob.cancel(false);
+        }
+        initialization.finished = System.nanoTime();
+        logger.debug("Initialization of thing '{}' took {}ms after waiting {}ms.", initialization.thingUID,
+                initialization.getDuration(), initialization.getWaitingTime());
+        finished(queued);
+        return true;
+    }
+
+    private void finished(QueuedInitialization queued) {
+        boolean completed;
+        synchronized (lock) {
+            runningPerBinding.computeIfPresent(queued.initialization.binding,
+                    (binding, count) -> count > 1 ? count - 1 : null);
+            if (queued.bridgeUID != null) {
+                runningPerBridge.computeIfPresent(queued.bridgeUID, (bridgeUID, count) -> count > 1 ? count - 1 : null);
+            }
+            running--;
+            completed = running == 0 && queue.isEmpty();
+        }
+        if (completed) {
+            logger.debug("All queued thing initializations have been completed.");
+        } else {
+            dispatch();
+        }
+    }
+
+    /**
+     * Returns the latest initialization of every thing, which has been initialized through the orchestrator.
+     *
+     * @return the initializations
+     */
+    public Collection<Initialization> getInitializations() {
+        return new ArrayList<>(initializations.values());
+    }
+
+    /**
+     * The statistics of the initialization of a single thing.
+     */
+    public static class Initialization {
+
+        private final ThingUID thingUID;
+        private final String binding;
+        private final Priority priority;
+        private final long queued = System.nanoTime();
+        private volatile long started;
+        private volatile long finished;
+        private volatile boolean timedOut;
+
+        private Initialization(ThingUID thingUID, String binding, Priority priority) {
+            this.thingUID = thingUID;
+            this.binding = binding;
+            this.priority = priority;
+        }
+
+        public ThingUID getThingUID() {
+            return thingUID;
+        }
+
+        public String getBinding() {
+            return binding;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public boolean isStarted() {
+            return started != 0;
+        }
+
+        public boolean isFinished() {
+            return finished != 0;
+        }
+
+        /**
+         * Returns whether the thing was still {@link ThingStatus#INITIALIZING} or {@link ThingStatus#UNKNOWN} when the
+         * timeout of the initialization expired.
+         *
+         * @return <code>true</code> if the initialization has been completed by its timeout
+         */
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+
+        /**
+         * Returns the time the initialization has been waiting in the queue.
+         *
+         * @return the waiting time in milliseconds, up to now if the initialization has not been started yet
+         */
+        public long getWaitingTime() {
+            long startTime = started;
+            return TimeUnit.NANOSECONDS.toMillis((startTime != 0 ? startTime : System.nanoTime()) - queued);
+        }
+
+        /**
+         * Returns the time from the start of the initialization until the thing has left the
+         * {@link ThingStatus#INITIALIZING} and {@link ThingStatus#UNKNOWN} status.
+         *
+         * @return the duration in milliseconds, up to now if the initialization is still running or 0 if it has not
+         *         been started yet
+         */
+        public long getDuration() {
+            long startTime = started;
+            if (startTime == 0) {
+                return 0;
+            }
+            long endTime = finished;
+            return TimeUnit.NANOSECONDS.toMillis((endTime != 0 ? endTime : System.nanoTime()) - startTime);
+        }
+    }
+
+    private static class QueuedInitialization {
+
+        private final Initialization initialization;
+        private final Thing thing;
+        private final ThingUID bridgeUID;
+        private final Runnable runnable;
+        private final long sequence;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile ScheduledFuture<?> timeoutJob;
+
+        private QueuedInitialization(Initialization initialization, Thing thing, Runnable runnable, long sequence) {
+            this.initialization = initialization;
+            this.thing = thing;
+            this.bridgeUID = thing.getBridgeUID();
+            this.runnable = runnable;
+            this.sequence = sequence;
+        }
+    }
+
+}
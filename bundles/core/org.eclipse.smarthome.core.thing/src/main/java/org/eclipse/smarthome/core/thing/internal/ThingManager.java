@@ -115,7 +115,7 @@ public class ThingManager implements ThingTracker, ThingTypeMigrationService, Re
 
     private static final String FORCEREMOVE_THREADPOOL_NAME = "forceRemove";
     private static final String THING_MANAGER_THREADPOOL_NAME = "thingManager";
-    private static final String XML_THING_TYPE = "esh.xmlThingTypes";
+    static final String XML_THING_TYPE = "esh.xmlThingTypes";
 
     private final Logger logger = LoggerFactory.getLogger(ThingManager.class);
 
@@ -144,6 +144,7 @@ public class ThingManager implements ThingTracker, ThingTypeMigrationService, Re
     private final Map<ThingUID, Lock> thingLocks = new HashMap<>();
     private final Set<String> loadedXmlThingTypes = new CopyOnWriteArraySet<>();
     private SafeCaller safeCaller;
+    private ThingInitializationOrchestrator initializationOrchestrator;
     private volatile boolean active = false;
 
     private final ThingHandlerCallback thingHandlerCallback = new ThingHandlerCallback() {
@@ -426,6 +427,7 @@ public class ThingManager implements ThingTracker, ThingTypeMigrationService, Re
         }
 
         this.things.remove(thing);
+        initializationOrchestrator.cancel(thing.getUID());
     }
 
     @Override
@@ -556,21 +558,47 @@ public class ThingManager implements ThingTracker, ThingTypeMigrationService, Re
     private void registerChildHandlers(final Bridge bridge) {
         for (final Thing child : bridge.getThings()) {
             logger.debug("Register and initialize child '{}' of bridge '{}'.", child.getUID(), bridge.getUID());
-            ThreadPoolManager.getPool(THING_MANAGER_THREADPOOL_NAME).execute(new Runnable() {
-                @Override
-                public void run() {
-                    try {
+            initializationOrchestrator.submit(child, getInitializationPriority(child), () -> {
+                try {
+                    if (isTracked(child)) {
                         registerAndInitializeHandler(child, getThingHandlerFactory(child));
-                    } catch (Exception ex) {
-                        logger.error(
-                                "Registration resp. initialization of child '{}' of bridge '{}' has been failed: {}",
-                                child.getUID(), bridge.getUID(), ex.getMessage(), ex);
                     }
+                } catch (Exception ex) {
+                    logger.error("Registration resp. initialization of child '{}' of bridge '{}' has been failed: {}",
+                            child.getUID(), bridge.getUID(), ex.getMessage(), ex);
                 }
             });
         }
     }
 
+    /**
+     * Bridges are initialized first, as their children depend on them, followed by the things which are actually
+     * used, i.e. which have linked channels.
+     */
+    private ThingInitializationOrchestrator.Priority getInitializationPriority(Thing thing) {
+        if (isBridge(thing)) {
+            return ThingInitializationOrchestrator.Priority.BRIDGE;
+        }
+        for (Channel channel : thing.getChannels()) {
+            if (!itemChannelLinkRegistry.getLinks(channel.getUID()).isEmpty()) {
+                return ThingInitializationOrchestrator.Priority.LINKED;
+            }
+        }
+        return ThingInitializationOrchestrator.Priority.DEFAULT;
+    }
+
+    /**
+     * Checks whether the given thing instance is still the tracked one, as it might have been removed or updated while
+     * its initialization was queued.
+     */
+    private boolean isTracked(Thing thing) {
+        if (thingRegistry.get(thing.getUID()) != thing) {
+            logger.debug("Thing '{}' has been changed while its initialization was queued.", thing.getUID());
+            return false;
+        }
+        return true;
+    }
+
     private void initializeHandler(Thing thing) {
         if (!isHandlerRegistered(thing)) {
             return;
@@ -928,7 +956,7 @@ public class ThingManager implements ThingTracker, ThingTypeMigrationService, Re
     protected synchronized void activate(ComponentContext componentContext) {
         readyService.registerTracker(this, new ReadyMarkerFilter().withType(XML_THING_TYPE));
         for (ThingHandlerFactory factory : thingHandlerFactories) {
-            handleThingHandlerFactoryAddition(getBundleName(factory));
+            handleThingHandlerFactoryAddition(getBundleName(factory), true);
         }
         thingRegistry.addThingTracker(this);
         active = true;
@@ -939,7 +967,7 @@ public class ThingManager implements ThingTracker, ThingTypeMigrationService, Re
         logger.debug("Thing handler factory '{}' added", thingHandlerFactory.getClass().getSimpleName());
         thingHandlerFactories.add(thingHandlerFactory);
         if (active) {
-            handleThingHandlerFactoryAddition(getBundleName(thingHandlerFactory));
+            handleThingHandlerFactoryAddition(getBundleName(thingHandlerFactory), false);
         }
     }
 
@@ -956,7 +984,7 @@ public class ThingManager implements ThingTracker, ThingTypeMigrationService, Re
     public void onReadyMarkerAdded(ReadyMarker readyMarker) {
         String bsn = readyMarker.getIdentifier();
         loadedXmlThingTypes.add(bsn);
-        handleThingHandlerFactoryAddition(bsn);
+        handleThingHandlerFactoryAddition(bsn, true);
     }
 
     @Override
@@ -965,14 +993,32 @@ public class ThingManager implements ThingTracker, ThingTypeMigrationService, Re
         loadedXmlThingTypes.remove(bsn);
     }
 
-    private void handleThingHandlerFactoryAddition(String bsn) {
+    /**
+     * Registers and initializes the handlers of all things supported by the handler factories of the given bundle.
+     *
+     * @param bsn the symbolic name of the bundle
+     * @param bulk <code>true</code> if the things of all bindings are brought up at once, i.e. on activation or once
+     *            the thing types of a binding have been loaded, in which case the initializations are queued in the
+     *            {@link ThingInitializationOrchestrator}; <code>false</code> to initialize the handlers right away,
+     *            outside of the concurrency limits of the orchestrator, e.g. when a single handler factory is added
+     *            later on
+     */
+    private void handleThingHandlerFactoryAddition(String bsn, boolean bulk) {
         thingHandlerFactories.stream().filter(it -> {
             return getBundleName(it).equals(bsn);
         }).forEach(thingHandlerFactory -> {
             things.forEach(thing -> {
                 if (thingHandlerFactory.supportsThingType(thing.getThingTypeUID())) {
                     if (!isHandlerRegistered(thing)) {
-                        registerAndInitializeHandler(thing, thingHandlerFactory);
+                        if (bulk) {
+                            initializationOrchestrator.submit(thing, getInitializationPriority(thing), () -> {
+                                if (isTracked(thing)) {
+                                    registerAndInitializeHandler(thing, thingHandlerFactory);
+                                }
+                            });
+                        } else {
+                            registerAndInitializeHandler(thing, thingHandlerFactory);
+                        }
                     } else {
                         logger.debug("Thing handler for thing '{}' already registered", thing.getUID());
                     }
@@ -1099,6 +1145,7 @@ public class ThingManager implements ThingTracker, ThingTypeMigrationService, Re
     private void setThingStatus(Thing thing, ThingStatusInfo thingStatusInfo) {
         ThingStatusInfo oldStatusInfo = thingStatusInfoI18nLocalizationService.getLocalizedThingStatusInfo(thing, null);
         thing.setStatusInfo(thingStatusInfo);
+        initializationOrchestrator.statusChanged(thing.getUID(), thingStatusInfo.getStatus());
         ThingStatusInfo newStatusInfo = thingStatusInfoI18nLocalizationService.getLocalizedThingStatusInfo(thing, null);
         try {
             eventPublisher.post(ThingEventFactory.createStatusInfoEvent(thing.getUID(), newStatusInfo));
@@ -1167,4 +1214,13 @@ public class ThingManager implements ThingTracker, ThingTypeMigrationService, Re
         this.safeCaller = null;
     }
 
+    @Reference
+    protected void setThingInitializationOrchestrator(ThingInitializationOrchestrator initializationOrchestrator) {
+        this.initializationOrchestrator = initializationOrchestrator;
+    }
+
+    protected void unsetThingInitializationOrchestrator(ThingInitializationOrchestrator initializationOrchestrator) {
+        this.initializationOrchestrator = null;
+    }
+
 }
@@ -12,6 +12,7 @@
  */
 package org.eclipse.smarthome.core.thing.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -112,6 +113,22 @@ public class ThingRegistryImpl extends AbstractRegistry<Thing, ThingUID, ThingPr
         return thing;
     }
 
+    /**
+     * Removes the things one by one, as removing a thing only initiates its removal by the {@link ThingTracker}s (see
+     * {@link #remove(ThingUID)}).
+     */
+    @Override
+    public Collection<Thing> removeAll(Collection<ThingUID> thingUIDs) {
+        List<Thing> things = new ArrayList<>(thingUIDs.size());
+        for (ThingUID thingUID : thingUIDs) {
+            Thing thing = remove(thingUID);
+            if (thing != null) {
+                things.add(thing);
+            }
+        }
+        return things;
+    }
+
     /**
      * Removes a thing tracker.
      *
@@ -137,6 +154,24 @@ public class ThingRegistryImpl extends AbstractRegistry<Thing, ThingUID, ThingPr
         postEvent(ThingEventFactory.createRemovedEvent(element));
     }
 
+    @Override
+    protected void notifyListenersAboutAddedElements(Collection<Thing> elements) {
+        notifyListenersAboutAddedElementsInBulk(elements);
+        for (Thing element : elements) {
+            postEvent(ThingEventFactory.createAddedEvent(element));
+            notifyTrackers(element, ThingTrackerEvent.THING_ADDED);
+        }
+    }
+
+    @Override
+    protected void notifyListenersAboutRemovedElements(Collection<Thing> elements) {
+        notifyListenersAboutRemovedElementsInBulk(elements);
+        for (Thing element : elements) {
+            notifyTrackers(element, ThingTrackerEvent.THING_REMOVED);
+            postEvent(ThingEventFactory.createRemovedEvent(element));
+        }
+    }
+
     @Override
     protected void notifyListenersAboutUpdatedElement(Thing oldElement, Thing element) {
         super.notifyListenersAboutUpdatedElement(oldElement, element);
@@ -12,8 +12,10 @@
  */
 package org.eclipse.smarthome.core.thing.internal.console;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 
 import org.eclipse.smarthome.core.events.EventPublisher;
@@ -26,6 +28,8 @@ import org.eclipse.smarthome.core.thing.ThingStatusInfo;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.events.ThingEventFactory;
 import org.eclipse.smarthome.core.thing.i18n.ThingStatusInfoI18nLocalizationService;
+import org.eclipse.smarthome.core.thing.internal.ThingInitializationOrchestrator;
+import org.eclipse.smarthome.core.thing.internal.ThingInitializationOrchestrator.Initialization;
 import org.eclipse.smarthome.io.console.Console;
 import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
 import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
@@ -46,11 +50,13 @@ public class ThingConsoleCommandExtension extends AbstractConsoleCommandExtensio
     private static final String SUBCMD_CLEAR = "clear";
     private static final String SUBCMD_REMOVE = "remove";
     private static final String SUBCMD_TRIGGER = "trigger";
+    private static final String SUBCMD_INIT = "init";
 
     private ManagedThingProvider managedThingProvider;
     private ThingRegistry thingRegistry;
     private ThingStatusInfoI18nLocalizationService thingStatusInfoI18nLocalizationService;
     private EventPublisher eventPublisher;
+    private ThingInitializationOrchestrator initializationOrchestrator;
 
     public ThingConsoleCommandExtension() {
         super("things", "Access your thing registry.");
@@ -85,6 +91,9 @@ public class ThingConsoleCommandExtension extends AbstractConsoleCommandExtensio
                         console.println("Command '" + subCommand + "' needs arguments <channelUID> [<event>]");
                     }
                     break;
+                case SUBCMD_INIT:
+                    printInitializations(console);
+                    return;
                 default:
                     break;
             }
@@ -120,7 +129,8 @@ public class ThingConsoleCommandExtension extends AbstractConsoleCommandExtensio
                 buildCommandUsage(SUBCMD_CLEAR, "removes all managed things"),
                 buildCommandUsage(SUBCMD_REMOVE + " <thingUID>", "removes a thing"),
                 buildCommandUsage(SUBCMD_TRIGGER + " <channelUID> [<event>]",
-                        "triggers the <channelUID> with <event> (if given)") });
+                        "triggers the <channelUID> with <event> (if given)"),
+                buildCommandUsage(SUBCMD_INIT, "shows the progress and the durations of the thing initializations") });
     }
 
     private void printThings(Console console, Collection<Thing> things) {
@@ -140,6 +150,29 @@ public class ThingConsoleCommandExtension extends AbstractConsoleCommandExtensio
         }
     }
 
+    private void printInitializations(Console console) {
+        List<Initialization> initializations = new ArrayList<>(initializationOrchestrator.getInitializations());
+        long finished = initializations.stream().filter(Initialization::isFinished).count();
+        long queued = initializations.stream().filter(initialization -> !initialization.isStarted()).count();
+        console.println(String.format("%d thing initializations: %d finished, %d running, %d queued.",
+                initializations.size(), finished, initializations.size() - finished - queued, queued));
+
+        // the slowest initializations first
+        initializations.sort(Comparator
+                .comparingLong((Initialization initialization) -> initialization.getWaitingTime()
+                        + initialization.getDuration())
+                .reversed());
+        for (Initialization initialization : initializations) {
+            Thing thing = thingRegistry.get(initialization.getThingUID());
+            String status = thing != null ? thing.getStatus().toString() : "REMOVED";
+            String state = initialization.isTimedOut() ? "timed out"
+                    : initialization.isFinished() ? "finished" : initialization.isStarted() ? "running" : "queued";
+            console.println(String.format("%s (Priority=%s, Status=%s, Initialization=%s, Waited=%dms, Took=%dms)",
+                    initialization.getThingUID(), initialization.getPriority(), status, state,
+                    initialization.getWaitingTime(), initialization.getDuration()));
+        }
+    }
+
     @Reference
     protected void setManagedThingProvider(ManagedThingProvider managedThingProvider) {
         this.managedThingProvider = managedThingProvider;
@@ -178,4 +211,13 @@ public class ThingConsoleCommandExtension extends AbstractConsoleCommandExtensio
         this.eventPublisher = null;
     }
 
+    @Reference
+    protected void setThingInitializationOrchestrator(ThingInitializationOrchestrator initializationOrchestrator) {
+        this.initializationOrchestrator = initializationOrchestrator;
+    }
+
+    protected void unsetThingInitializationOrchestrator(ThingInitializationOrchestrator initializationOrchestrator) {
+        this.initializationOrchestrator = null;
+    }
+
 }
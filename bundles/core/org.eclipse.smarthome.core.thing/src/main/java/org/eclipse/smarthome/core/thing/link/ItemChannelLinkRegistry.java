@@ -169,6 +169,22 @@ public class ItemChannelLinkRegistry extends AbstractLinkRegistry<ItemChannelLin
         postEvent(LinkEventFactory.createItemChannelLinkRemovedEvent(element));
     }
 
+    @Override
+    protected void notifyListenersAboutAddedElements(Collection<ItemChannelLink> elements) {
+        notifyListenersAboutAddedElementsInBulk(elements);
+        for (ItemChannelLink element : elements) {
+            postEvent(LinkEventFactory.createItemChannelLinkAddedEvent(element));
+        }
+    }
+
+    @Override
+    protected void notifyListenersAboutRemovedElements(Collection<ItemChannelLink> elements) {
+        notifyListenersAboutRemovedElementsInBulk(elements);
+        for (ItemChannelLink element : elements) {
+            postEvent(LinkEventFactory.createItemChannelLinkRemovedEvent(element));
+        }
+    }
+
     @Override
     protected void notifyListenersAboutUpdatedElement(ItemChannelLink oldElement, ItemChannelLink element) {
         super.notifyListenersAboutUpdatedElement(oldElement, element);
@@ -15,12 +15,9 @@ package org.eclipse.smarthome.core.transform;
 import static java.nio.file.StandardWatchEventKinds.*;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.FileSystems;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.WatchEvent;
-import java.nio.file.WatchKey;
+import java.nio.file.WatchEvent.Kind;
 import java.nio.file.WatchService;
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +28,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.i18n.LocaleProvider;
+import org.eclipse.smarthome.core.service.AbstractWatchService;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceReference;
 import org.osgi.util.tracker.ServiceTracker;
@@ -51,9 +49,17 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class AbstractFileTransformationService<T> implements TransformationService {
 
-    private WatchService watchService = null;
+    private static final long CHANGE_SET_DELAY = 100; // ms
+
+    private TransformationFolderWatcher folderWatcher = null;
 
     protected final Map<String, T> cachedFiles = new ConcurrentHashMap<>();
+
+    /**
+     * @deprecated the transformation folder and all of its subfolders are watched through a single
+     *             {@link AbstractWatchService}, this list is not maintained anymore
+     */
+    @Deprecated
     protected final List<String> watchedDirectories = new ArrayList<String>();
 
     private final Logger logger = LoggerFactory.getLogger(AbstractFileTransformationService.class);
@@ -95,6 +101,7 @@ public abstract class AbstractFileTransformationService<T> implements Transforma
 
     protected void deactivate() {
         localeProviderTracker.close();
+        stopFolderWatcher();
     }
 
     protected Locale getLocale() {
@@ -119,10 +126,9 @@ public abstract class AbstractFileTransformationService<T> implements Transforma
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        final WatchService watchService = getWatchService();
-        processFolderEvents(watchService);
+        startFolderWatcher();
 
-        String transformFile = getLocalizedProposedFilename(filename, watchService);
+        String transformFile = getLocalizedProposedFilename(filename);
         T transform = cachedFiles.get(transformFile);
         if (transform == null) {
             transform = internalLoadTransform(transformFile);
@@ -162,63 +168,70 @@ public abstract class AbstractFileTransformationService<T> implements Transforma
      */
     protected abstract T internalLoadTransform(String filename) throws TransformationException;
 
-    private synchronized WatchService getWatchService() throws TransformationException {
-        WatchService watchService = this.watchService;
-        if (watchService != null) {
-            return watchService;
+    private synchronized void startFolderWatcher() {
+        if (folderWatcher == null) {
+            folderWatcher = new TransformationFolderWatcher(getSourcePath());
+            folderWatcher.activate();
+            logger.debug("Watching directory {}", getSourcePath());
         }
+    }
 
-        try {
-            watchService = this.watchService = FileSystems.getDefault().newWatchService();
-        } catch (IOException e) {
-            logger.error("Unable to start transformation directory monitoring");
-            throw new TransformationException("Cannot get a new watch service.");
+    private synchronized void stopFolderWatcher() {
+        if (folderWatcher != null) {
+            folderWatcher.deactivate();
+            folderWatcher = null;
         }
-
-        watchSubDirectory("", watchService);
-        return watchService;
     }
 
-    private void watchSubDirectory(String subDirectory, final WatchService watchService) {
-        if (watchedDirectories.indexOf(subDirectory) == -1) {
-            String watchedDirectory = getSourcePath() + subDirectory;
-            Path transformFilePath = Paths.get(watchedDirectory);
-            try {
-                transformFilePath.register(watchService, ENTRY_DELETE, ENTRY_MODIFY);
-                logger.debug("Watching directory {}", transformFilePath);
-                watchedDirectories.add(subDirectory);
-            } catch (IOException e) {
-                logger.warn("Unable to watch transformation directory : {}", watchedDirectory);
-                cachedFiles.clear();
+    /**
+     * Ensures that a modified or deleted cached files does not stay in the cache
+     */
+    private void processFolderChanges(Map<Path, Kind<?>> changes) {
+        for (Path path : changes.keySet()) {
+            logger.debug("Refreshing transformation file '{}'", path);
+
+            String fileName = path.getFileName().toString();
+            for (String fileEntry : cachedFiles.keySet()) {
+                if (fileEntry.endsWith(fileName)) {
+                    cachedFiles.remove(fileEntry);
+                }
             }
         }
     }
 
     /**
-     * Ensures that a modified or deleted cached files does not stay in the cache
+     * Watches the transformation folder and its subfolders through the shared watch queue reader, instead of
+     * polling a separate {@link WatchService} on every transformation.
      */
-    private void processFolderEvents(final WatchService watchService) {
-        WatchKey key = watchService.poll();
-        if (key != null) {
-            for (WatchEvent<?> e : key.pollEvents()) {
-                if (e.kind() == OVERFLOW) {
-                    continue;
-                }
+    private class TransformationFolderWatcher extends AbstractWatchService {
 
-                // Context for directory entry event is the file name of entry
-                @SuppressWarnings("unchecked")
-                WatchEvent<Path> ev = (WatchEvent<Path>) e;
-                Path path = ev.context();
+        public TransformationFolderWatcher(String pathToWatch) {
+            super(pathToWatch);
+        }
 
-                logger.debug("Refreshing transformation file '{}'", path);
+        @Override
+        protected boolean watchSubDirectories() {
+            return true;
+        }
 
-                for (String fileEntry : cachedFiles.keySet()) {
-                    if (fileEntry.endsWith(path.toString())) {
-                        cachedFiles.remove(fileEntry);
-                    }
-                }
-            }
-            key.reset();
+        @Override
+        protected Kind<?>[] getWatchEventKinds(Path directory) {
+            return new Kind<?>[] { ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY };
+        }
+
+        @Override
+        protected void processWatchEvent(WatchEvent<?> event, Kind<?> kind, Path path) {
+            // changes are processed as change sets
+        }
+
+        @Override
+        protected long getChangeSetDelay() {
+            return CHANGE_SET_DELAY;
+        }
+
+        @Override
+        protected void processWatchEvents(Map<Path, Kind<?>> changes) {
+            processFolderChanges(changes);
         }
     }
 
@@ -229,15 +242,11 @@ public abstract class AbstractFileTransformationService<T> implements Transforma
      * @param filename name of the requested transformation file
      * @return original or localized transformation file to use
      */
-    protected String getLocalizedProposedFilename(String filename, final WatchService watchService) {
+    protected String getLocalizedProposedFilename(String filename) {
         String extension = FilenameUtils.getExtension(filename);
         String prefix = FilenameUtils.getPath(filename);
         String result = filename;
 
-        if (!prefix.isEmpty()) {
-            watchSubDirectory(prefix, watchService);
-        }
-
         // the filename may already contain locale information
         if (!filename.matches(".*_[a-z]{2}." + extension + "$")) {
             String basename = FilenameUtils.getBaseName(filename);
@@ -254,6 +263,15 @@ public abstract class AbstractFileTransformationService<T> implements Transforma
         return result;
     }
 
+    /**
+     * @deprecated the transformation folder is watched by the service itself, use
+     *             {@link #getLocalizedProposedFilename(String)} instead
+     */
+    @Deprecated
+    protected String getLocalizedProposedFilename(String filename, final WatchService watchService) {
+        return getLocalizedProposedFilename(filename);
+    }
+
     /**
      * Returns the path to the root of the transformation folder
      */
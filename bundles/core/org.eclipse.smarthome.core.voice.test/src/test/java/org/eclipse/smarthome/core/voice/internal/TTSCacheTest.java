@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.voice.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.FixedLengthAudioStream;
+import org.eclipse.smarthome.core.voice.Voice;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link TTSCache}.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class TTSCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger syntheses = new AtomicInteger();
+    private TTSServiceStub tts;
+    private Voice voice;
+
+    @Before
+    public void setUp() {
+        tts = new TTSServiceStub() {
+            @Override
+            public AudioStream synthesize(String text, Voice voice, AudioFormat requestedFormat) {
+                syntheses.incrementAndGet();
+                ByteArrayInputStream in = new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+                return new AudioStream() {
+                    @Override
+                    public int read() throws IOException {
+                        return in.read();
+                    }
+
+                    @Override
+                    public AudioFormat getFormat() {
+                        return AudioFormat.WAV;
+                    }
+                };
+            }
+        };
+        voice = new VoiceStub();
+    }
+
+    @Test
+    public void assertThatCompletelyReadSpeechIsServedFromTheCache() throws Exception {
+        TTSCache cache = new TTSCache(1024, null);
+
+        assertThat(read(cache.synthesize(tts, "hello", voice, null, null)), is("hello"));
+        AudioStream cached = cache.synthesize(tts, "hello", voice, null, null);
+
+        assertThat(syntheses.get(), is(1));
+        assertThat(cached, is(instanceOf(FixedLengthAudioStream.class)));
+        assertThat(((FixedLengthAudioStream) cached).length(), is(5L));
+        assertThat(cached.getFormat(), is(AudioFormat.WAV));
+        assertThat(read(cached), is("hello"));
+    }
+
+    @Test
+    public void assertThatPartiallyReadSpeechIsNotCached() throws Exception {
+        TTSCache cache = new TTSCache(1024, null);
+
+        AudioStream stream = cache.synthesize(tts, "hello", voice, null, null);
+        stream.read();
+        stream.close();
+        read(cache.synthesize(tts, "hello", voice, null, null));
+
+        assertThat(syntheses.get(), is(2));
+    }
+
+    @Test
+    public void assertThatTheFirstByteIsReportedOnce() throws Exception {
+        TTSCache cache = new TTSCache(1024, null);
+        AtomicInteger firstBytes = new AtomicInteger();
+
+        read(cache.synthesize(tts, "hello", voice, null, firstBytes::incrementAndGet));
+        read(cache.synthesize(tts, "hello", voice, null, firstBytes::incrementAndGet));
+
+        assertThat(firstBytes.get(), is(2));
+    }
+
+    @Test
+    public void assertThatPersistentEntriesSurviveANewCache() throws Exception {
+        read(new TTSCache(1024, folder.getRoot().toPath()).synthesize(tts, "hello", voice, null, null));
+
+        AudioStream cached = new TTSCache(1024, folder.getRoot().toPath()).synthesize(tts, "hello", voice, null,
+                null);
+
+        assertThat(syntheses.get(), is(1));
+        assertThat(read(cached), is("hello"));
+    }
+
+    @Test
+    public void assertThatNothingIsCachedWithoutASize() throws Exception {
+        TTSCache cache = new TTSCache(0, folder.getRoot().toPath());
+
+        read(cache.synthesize(tts, "hello", voice, null, null));
+        read(cache.synthesize(tts, "hello", voice, null, null));
+
+        assertThat(syntheses.get(), is(2));
+        assertThat(folder.getRoot().list().length, is(0));
+    }
+
+    private String read(AudioStream stream) throws IOException {
+        try (AudioStream in = stream) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8.name());
+        }
+    }
+}
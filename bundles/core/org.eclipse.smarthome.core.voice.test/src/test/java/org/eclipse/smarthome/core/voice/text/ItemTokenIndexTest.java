@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.voice.text;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.smarthome.core.items.GroupItem;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ItemTokenIndex}.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class ItemTokenIndexTest {
+
+    private ItemTokenIndex index;
+
+    private GroupItem livingRoom;
+    private GroupItem kitchen;
+    private SwitchItem light;
+
+    @Before
+    public void setUp() {
+        index = new ItemTokenIndex(label -> label == null ? Collections.emptyList()
+                : Arrays.asList(label.toLowerCase(Locale.ENGLISH).split("\\s+")));
+
+        livingRoom = group("LivingRoom", "Living Room");
+        kitchen = group("Kitchen", "Kitchen");
+        light = switchItem("Light", "Ceiling Light", "LivingRoom", "Kitchen");
+    }
+
+    @Test
+    public void testMatchesGroupPaths() {
+        index.add(light);
+        index.add(livingRoom);
+        index.add(kitchen);
+
+        assertThat(match("ceiling", "light"), is(Arrays.<Item> asList(light)));
+        assertThat(match("living", "light"), is(Arrays.<Item> asList(light)));
+        assertThat(match("kitchen", "light"), is(Arrays.<Item> asList(light)));
+        assertThat(match("kitchen", "living", "light"), is(Collections.<Item> emptyList()));
+        assertThat(match("garage"), is(Collections.<Item> emptyList()));
+        assertThat(index.getAllTokens().contains("ceiling"), is(true));
+    }
+
+    @Test
+    public void testUpdatesMembersWhenGroupChanges() {
+        index.add(livingRoom);
+        index.add(light);
+
+        GroupItem lounge = group("LivingRoom", "Lounge");
+        index.update(livingRoom, lounge);
+        assertThat(match("living", "light"), is(Collections.<Item> emptyList()));
+        assertThat(match("lounge", "light"), is(Arrays.<Item> asList(light)));
+        assertThat(index.getAllTokens().contains("living"), is(false));
+
+        index.remove(lounge);
+        assertThat(match("lounge", "light"), is(Collections.<Item> emptyList()));
+        assertThat(match("ceiling"), is(Collections.<Item> emptyList()));
+
+        index.add(kitchen);
+        assertThat(match("kitchen", "ceiling"), is(Arrays.<Item> asList(light)));
+    }
+
+    @Test
+    public void testItemWithoutGroupsIsMatchedByItsLabel() {
+        SwitchItem fan = switchItem("Fan", "Fan");
+        index.add(fan);
+        assertThat(match("fan"), is(Arrays.<Item> asList(fan)));
+
+        index.remove(fan);
+        assertThat(match("fan"), is(Collections.<Item> emptyList()));
+        assertThat(index.getAllTokens().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testCyclicGroupsDoNotRecurseEndlessly() {
+        GroupItem first = group("First", "First");
+        first.addGroupName("Second");
+        GroupItem second = group("Second", "Second");
+        second.addGroupName("First");
+
+        index.add(first);
+        index.add(second);
+        assertThat(match("first"), is(Collections.<Item> emptyList()));
+    }
+
+    private List<Item> match(String... fragments) {
+        return index.getMatchingItems(Arrays.asList(fragments));
+    }
+
+    private GroupItem group(String name, String label) {
+        GroupItem group = new GroupItem(name);
+        group.setLabel(label);
+        return group;
+    }
+
+    private SwitchItem switchItem(String name, String label, String... groupNames) {
+        SwitchItem item = new SwitchItem(name);
+        item.setLabel(label);
+        item.addGroupNames(groupNames);
+        return item;
+    }
+
+}
@@ -14,6 +14,7 @@ package org.eclipse.smarthome.core.voice.internal;
 
 import java.util.HashSet;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
@@ -84,12 +85,13 @@ public class DialogProcessor implements KSListener, STTListener {
     private final String keyword;
     private final String listeningItem;
     private final EventPublisher eventPublisher;
+    private final TTSCache ttsCache;
 
     private final AudioFormat format;
 
     public DialogProcessor(KSService ks, STTService stt, TTSService tts, HumanLanguageInterpreter hli,
             AudioSource source, AudioSink sink, Locale locale, String keyword, String listeningItem,
-            EventPublisher eventPublisher) {
+            EventPublisher eventPublisher, TTSCache ttsCache) {
         this.locale = locale;
         this.ks = ks;
         this.hli = hli;
@@ -100,6 +102,7 @@ public class DialogProcessor implements KSListener, STTListener {
         this.keyword = keyword;
         this.listeningItem = listeningItem;
         this.eventPublisher = eventPublisher;
+        this.ttsCache = ttsCache;
         this.format = AudioFormat.getBestMatch(source.getSupportedFormats(), sink.getSupportedFormats());
     }
 
@@ -155,14 +158,15 @@ public class DialogProcessor implements KSListener, STTListener {
                 this.isSTTServerAborting = true;
                 SpeechRecognitionEvent sre = (SpeechRecognitionEvent) sttEvent;
                 String question = sre.getTranscript();
+                long recognized = System.nanoTime();
                 try {
                     toggleProcessing(false);
                     String answer = hli.interpret(this.locale, question);
                     if (answer != null) {
-                        say(answer);
+                        say(answer, recognized);
                     }
                 } catch (InterpretationException e) {
-                    say(e.getMessage());
+                    say(e.getMessage(), recognized);
                 }
             }
         } else if (sttEvent instanceof RecognitionStopEvent) {
@@ -184,6 +188,16 @@ public class DialogProcessor implements KSListener, STTListener {
      * @param text The text to say
      */
     protected void say(String text) {
+        say(text, System.nanoTime());
+    }
+
+    /**
+     * Says the passed command and logs the latency from the given start to the first played audio byte.
+     *
+     * @param text The text to say
+     * @param start The start of the measurement, as returned by {@link System#nanoTime()}
+     */
+    private void say(String text, long start) {
         try {
             Voice voice = null;
             for (Voice currentVoice : tts.getAvailableVoices()) {
@@ -195,7 +209,9 @@ public class DialogProcessor implements KSListener, STTListener {
             if (null == voice) {
                 throw new TTSException("Unable to find a suitable voice");
             }
-            AudioStream audioStream = tts.synthesize(text, voice, null);
+            AudioStream audioStream = ttsCache.synthesize(tts, text, voice, null,
+                    () -> logger.debug("Played first audio byte of answer '{}' {} ms after the utterance", text,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
 
             if (sink.getSupportedStreams().stream().anyMatch(clazz -> clazz.isInstance(audioStream))) {
                 try {
@@ -0,0 +1,443 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.voice.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.FixedLengthAudioStream;
+import org.eclipse.smarthome.core.audio.URLAudioStream;
+import org.eclipse.smarthome.core.audio.utils.AudioBufferPool;
+import org.eclipse.smarthome.core.voice.TTSException;
+import org.eclipse.smarthome.core.voice.TTSService;
+import org.eclipse.smarthome.core.voice.Voice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache of synthesized speech, keyed by the TTS service, the voice, the audio format and the text, so that
+ * repeated announcements are not synthesized again. The least recently used entries are evicted first. If a directory
+ * is given, the entries are also stored on disk within the same size limit and survive a restart.
+ * <p>
+ * Synthesized streams of unknown length are passed through while they are played and only stored once they have been
+ * read completely, so that playback does not wait for the synthesis to finish.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+public final class TTSCache {
+
+    static final String FILE_EXTENSION = ".snd";
+
+    private static final int FILE_MAGIC = 0x45534854;
+    private static final int MAX_ENTRY_SHARE = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(TTSCache.class);
+
+    private final long maxSize;
+    private final long maxEntrySize;
+    private final @Nullable Path directory;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    private long filesSize;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum number of bytes to keep in memory and on disk, 0 disables the cache
+     * @param directory the directory to store the entries in or null to keep them in memory only
+     */
+    public TTSCache(long maxSize, @Nullable Path directory) {
+        this.maxSize = maxSize;
+        this.maxEntrySize = maxSize / MAX_ENTRY_SHARE;
+        this.directory = maxSize > 0 ? directory : null;
+        loadFiles();
+    }
+
+    /**
+     * Returns the synthesized speech for the given text, either from the cache or from the TTS service.
+     *
+     * @param tts the TTS service
+     * @param text the text to synthesize
+     * @param voice the voice to use
+     * @param format the requested audio format or null to let the service choose
+     * @param firstByteListener is called once, when the first byte of the returned stream (or any of its clones) is
+     *            read, or null
+     * @return the audio stream
+     * @throws TTSException if the text could not be synthesized
+     */
+    public AudioStream synthesize(TTSService tts, String text, Voice voice, @Nullable AudioFormat format,
+            @Nullable Runnable firstByteListener) throws TTSException {
+        FirstByteNotifier notifier = new FirstByteNotifier(firstByteListener);
+        String key = getKey(tts, text, voice, format);
+        Entry entry = get(key);
+        if (entry != null) {
+            logger.debug("Using cached speech for '{}'", text);
+            return new CachedAudioStream(entry.content, entry.format, notifier);
+        }
+
+        AudioStream stream = tts.synthesize(text, voice, format);
+        if (stream instanceof FixedLengthAudioStream) {
+            // the length is known, so the synthesis is already complete and the stream can be stored right away
+            long length = ((FixedLengthAudioStream) stream).length();
+            if (length > maxEntrySize) {
+                return stream;
+            }
+            try (InputStream in = stream) {
+                ByteArrayOutputStream content = new ByteArrayOutputStream((int) length);
+                AudioBufferPool.copy(in, content);
+                byte[] bytes = content.toByteArray();
+                put(key, bytes, stream.getFormat());
+                return new CachedAudioStream(bytes, stream.getFormat(), notifier);
+            } catch (IOException e) {
+                throw new TTSException("Cannot read synthesized speech: " + e.getMessage(), e);
+            }
+        } else if (stream instanceof URLAudioStream) {
+            return stream;
+        }
+        return new CachingAudioStream(stream, key, notifier);
+    }
+
+    private synchronized @Nullable Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        Path directory = this.directory;
+        String fileName = getFileName(key);
+        if (directory == null || !files.containsKey(fileName)) {
+            return null;
+        }
+        Path file = directory.resolve(fileName);
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != FILE_MAGIC || !key.equals(in.readUTF())) {
+                return null;
+            }
+            AudioFormat format = new AudioFormat(readString(in), readString(in),
+                    in.readBoolean() ? in.readBoolean() : null, in.readBoolean() ? in.readInt() : null,
+                    in.readBoolean() ? in.readInt() : null, in.readBoolean() ? in.readLong() : null);
+            byte[] content = new byte[in.readInt()];
+            in.readFully(content);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            entry = new Entry(content, format);
+            addEntry(key, entry);
+            return entry;
+        } catch (IOException e) {
+            logger.debug("Cannot read cached speech from '{}': {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private synchronized void put(String key, byte[] content, AudioFormat format) {
+        if (content.length == 0 || content.length > maxEntrySize) {
+            return;
+        }
+        Entry entry = new Entry(content, format);
+        addEntry(key, entry);
+
+        Path directory = this.directory;
+        if (directory != null) {
+            String fileName = getFileName(key);
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(directory.resolve(fileName)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeUTF(key);
+                writeString(out, format.getContainer());
+                writeString(out, format.getCodec());
+                writeNullable(out, format.isBigEndian(), () -> out.writeBoolean(format.isBigEndian()));
+                writeNullable(out, format.getBitDepth(), () -> out.writeInt(format.getBitDepth()));
+                writeNullable(out, format.getBitRate(), () -> out.writeInt(format.getBitRate()));
+                writeNullable(out, format.getFrequency(), () -> out.writeLong(format.getFrequency()));
+                out.writeInt(content.length);
+                out.write(content);
+                Long previous = files.put(fileName, (long) content.length);
+                filesSize += content.length - (previous == null ? 0 : previous);
+            } catch (IOException e) {
+                logger.warn("Cannot store cached speech in '{}': {}", directory, e.getMessage());
+            }
+            evictFiles(directory);
+        }
+    }
+
+    private void addEntry(String key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        size += entry.content.length - (previous == null ? 0 : previous.content.length);
+        for (Iterator<Entry> it = entries.values().iterator(); size > maxSize && it.hasNext();) {
+            size -= it.next().content.length;
+            it.remove();
+        }
+    }
+
+    private void evictFiles(Path directory) {
+        for (Iterator<Map.Entry<String, Long>> it = files.entrySet().iterator(); filesSize > maxSize
+                && it.hasNext();) {
+            Map.Entry<String, Long> file = it.next();
+            try {
+                Files.deleteIfExists(directory.resolve(file.getKey()));
+            } catch (IOException e) {
+                logger.debug("Cannot delete cached speech '{}': {}", file.getKey(), e.getMessage());
+            }
+            filesSize -= file.getValue();
+            it.remove();
+        }
+    }
+
+    private void loadFiles() {
+        Path directory = this.directory;
+        if (directory == null) {
+            return;
+        }
+        List<Path> paths = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+                stream.forEach(paths::add);
+            }
+            // the least recently used files are evicted first
+            paths.sort(Comparator.comparing(path -> path.toFile().lastModified()));
+            for (Path path : paths) {
+                long length = Files.size(path);
+                files.put(path.getFileName().toString(), length);
+                filesSize += length;
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot read the speech cache in '{}': {}", directory, e.getMessage());
+        }
+        evictFiles(directory);
+    }
+
+    private static String getKey(TTSService tts, String text, Voice voice, @Nullable AudioFormat format) {
+        return tts.getId() + '\n' + voice.getUID() + '\n' + format + '\n' + text;
+    }
+
+    private static String getFileName(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder(hash.length * 2 + FILE_EXTENSION.length());
+            for (byte b : hash) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.append(FILE_EXTENSION).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static @Nullable String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        writeNullable(out, value, () -> out.writeUTF(value));
+    }
+
+    private static void writeNullable(DataOutputStream out, @Nullable Object value, ValueWriter writer)
+            throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writer.write();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write() throws IOException;
+    }
+
+    private static class Entry {
+        private final byte[] content;
+        private final AudioFormat format;
+
+        Entry(byte[] content, AudioFormat format) {
+            this.content = content;
+            this.format = format;
+        }
+    }
+
+    /**
+     * Calls the listener once, when the first byte has been read.
+     */
+    private static class FirstByteNotifier {
+        private final AtomicBoolean notified = new AtomicBoolean();
+        private final @Nullable Runnable listener;
+
+        FirstByteNotifier(@Nullable Runnable listener) {
+            this.listener = listener;
+        }
+
+        void bytesRead(int count) {
+            Runnable listener = this.listener;
+            if (count > 0 && listener != null && notified.compareAndSet(false, true)) {
+                listener.run();
+            }
+        }
+    }
+
+    /**
+     * A stream of cached speech.
+     */
+    private static class CachedAudioStream extends FixedLengthAudioStream {
+        private final byte[] content;
+        private final AudioFormat format;
+        private final FirstByteNotifier notifier;
+        private final ByteArrayInputStream stream;
+
+        CachedAudioStream(byte[] content, AudioFormat format, FirstByteNotifier notifier) {
+            this.content = content;
+            this.format = format;
+            this.notifier = notifier;
+            this.stream = new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public AudioFormat getFormat() {
+            return format;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = stream.read();
+            notifier.bytesRead(b < 0 ? 0 : 1);
+            return b;
+        }
+
+        @Override
+        public int read(byte @Nullable [] b, int off, int len) throws IOException {
+            int count = stream.read(b, off, len);
+            notifier.bytesRead(count);
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return stream.available();
+        }
+
+        @Override
+        public long length() {
+            return content.length;
+        }
+
+        @Override
+        public InputStream getClonedStream() {
+            return new CachedAudioStream(content, format, notifier);
+        }
+    }
+
+    /**
+     * Passes a synthesized stream through while it is played and stores it, once it has been read completely.
+     */
+    private class CachingAudioStream extends AudioStream {
+        private final AudioStream stream;
+        private final String key;
+        private final FirstByteNotifier notifier;
+        private @Nullable ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        CachingAudioStream(AudioStream stream, String key, FirstByteNotifier notifier) {
+            this.stream = stream;
+            this.key = key;
+            this.notifier = notifier;
+        }
+
+        @Override
+        public AudioFormat getFormat() {
+            return stream.getFormat();
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = stream.read();
+            if (b < 0) {
+                complete();
+            } else {
+                notifier.bytesRead(1);
+                ByteArrayOutputStream content = this.content;
+                if (content != null && content.size() < maxEntrySize) {
+                    content.write(b);
+                } else {
+                    this.content = null;
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte @Nullable [] b, int off, int len) throws IOException {
+            int count = stream.read(b, off, len);
+            if (count < 0) {
+                complete();
+            } else if (b != null) {
+                notifier.bytesRead(count);
+                record(b, off, count);
+            }
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return stream.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // a stream, which was not read completely, is not cached
+            content = null;
+            stream.close();
+        }
+
+        private void record(byte[] b, int off, int len) {
+            ByteArrayOutputStream content = this.content;
+            if (content == null) {
+                return;
+            }
+            if (content.size() + len > maxEntrySize) {
+                // too large to be cached
+                this.content = null;
+            } else {
+                content.write(b, off, len);
+            }
+        }
+
+        private void complete() {
+            ByteArrayOutputStream content = this.content;
+            if (content != null) {
+                this.content = null;
+                put(key, content.toByteArray(), stream.getFormat());
+            }
+        }
+    }
+
+}
@@ -12,7 +12,10 @@
  */
 package org.eclipse.smarthome.core.voice.internal;
 
+import java.io.File;
+import java.math.BigDecimal;
 import java.net.URI;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -22,7 +25,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigOptionProvider;
 import org.eclipse.smarthome.config.core.ConfigurableService;
 import org.eclipse.smarthome.config.core.ParameterOption;
@@ -85,6 +90,12 @@ public class VoiceManagerImpl implements VoiceManager, ConfigOptionProvider {
     private static final String CONFIG_DEFAULT_TTS = "defaultTTS";
     private static final String CONFIG_DEFAULT_VOICE = "defaultVoice";
     private static final String CONFIG_PREFIX_DEFAULT_VOICE = "defaultVoice.";
+    private static final String CONFIG_TTS_CACHE_SIZE = "ttsCacheSize";
+    private static final String CONFIG_TTS_CACHE_PERSISTENT = "ttsCachePersistent";
+
+    // the default size of the TTS cache in kilobytes
+    private static final long DEFAULT_TTS_CACHE_SIZE = 10240;
+    private static final String TTS_CACHE_FOLDER = "cache" + File.separator + "tts";
 
     private final Logger logger = LoggerFactory.getLogger(VoiceManagerImpl.class);
 
@@ -107,6 +118,7 @@ public class VoiceManagerImpl implements VoiceManager, ConfigOptionProvider {
     private String defaultHLI = null;
     private String defaultVoice = null;
     private final Map<String, String> defaultVoices = new HashMap<>();
+    private TTSCache ttsCache = new TTSCache(DEFAULT_TTS_CACHE_SIZE * 1024, null);
     private AudioManager audioManager;
     private EventPublisher eventPublisher;
 
@@ -139,6 +151,20 @@ public class VoiceManagerImpl implements VoiceManager, ConfigOptionProvider {
                     defaultVoices.put(tts, config.get(key).toString());
                 }
             }
+
+            long ttsCacheSize = DEFAULT_TTS_CACHE_SIZE;
+            if (config.containsKey(CONFIG_TTS_CACHE_SIZE)) {
+                try {
+                    ttsCacheSize = new BigDecimal(config.get(CONFIG_TTS_CACHE_SIZE).toString()).longValue();
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid TTS cache size '{}', using the default", config.get(CONFIG_TTS_CACHE_SIZE));
+                }
+            }
+            boolean ttsCachePersistent = config.containsKey(CONFIG_TTS_CACHE_PERSISTENT)
+                    && Boolean.parseBoolean(config.get(CONFIG_TTS_CACHE_PERSISTENT).toString());
+            this.ttsCache = new TTSCache(Math.max(0, ttsCacheSize) * 1024, ttsCachePersistent
+                    ? Paths.get(ConfigConstants.getUserDataFolder(), TTS_CACHE_FOLDER)
+                    : null);
         }
     }
 
@@ -171,6 +197,7 @@ public class VoiceManagerImpl implements VoiceManager, ConfigOptionProvider {
     public void say(String text, String voiceId, String sinkId, PercentType volume) {
         Objects.requireNonNull(text, "Text cannot be said as it is null.");
 
+        long start = System.nanoTime();
         try {
             TTSService tts = null;
             Voice voice = null;
@@ -211,7 +238,9 @@ public class VoiceManagerImpl implements VoiceManager, ConfigOptionProvider {
             if (sink != null) {
                 AudioFormat audioFormat = getBestMatch(audioFormats, sink.getSupportedFormats());
                 if (audioFormat != null) {
-                    AudioStream audioStream = tts.synthesize(text, voice, audioFormat);
+                    AudioStream audioStream = ttsCache.synthesize(tts, text, voice, audioFormat,
+                            () -> logger.debug("Played first audio byte of '{}' after {} ms", text,
+                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
 
                     if (sink.getSupportedStreams().stream().anyMatch(clazz -> clazz.isInstance(audioStream))) {
                         // get current volume
@@ -442,7 +471,7 @@ public class VoiceManagerImpl implements VoiceManager, ConfigOptionProvider {
         if (ks != null && stt != null && tts != null && hli != null && source != null && sink != null && loc != null
                 && kw != null) {
             DialogProcessor processor = new DialogProcessor(ks, stt, tts, hli, source, sink, loc, kw, item,
-                    this.eventPublisher);
+                    this.eventPublisher, this.ttsCache);
             processor.start();
         } else {
             String msg = "Cannot start dialog as services are missing.";
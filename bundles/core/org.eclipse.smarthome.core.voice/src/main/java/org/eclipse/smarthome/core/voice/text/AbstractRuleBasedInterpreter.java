@@ -18,12 +18,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
 
 import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
 import org.eclipse.smarthome.core.events.EventPublisher;
-import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.events.ItemEventFactory;
@@ -64,8 +64,7 @@ public abstract class AbstractRuleBasedInterpreter implements HumanLanguageInter
     private Logger logger = LoggerFactory.getLogger(AbstractRuleBasedInterpreter.class);
 
     private HashMap<Locale, ArrayList<Rule>> languageRules;
-    private HashMap<Locale, HashSet<String>> allItemTokens = null;
-    private HashMap<Locale, HashMap<Item, ArrayList<HashSet<String>>>> itemTokens = null;
+    private final Map<Locale, ItemTokenIndex> itemTokenIndexes = new HashMap<>();
 
     private ItemRegistry itemRegistry;
     private EventPublisher eventPublisher;
@@ -73,17 +72,26 @@ public abstract class AbstractRuleBasedInterpreter implements HumanLanguageInter
     private RegistryChangeListener<Item> registryChangeListener = new RegistryChangeListener<Item>() {
         @Override
         public void added(Item element) {
-            invalidate();
+            synchronized (itemTokenIndexes) {
+                itemTokenIndexes.values().forEach(index -> index.add(element));
+            }
+            languageRules = null;
         }
 
         @Override
         public void removed(Item element) {
-            invalidate();
+            synchronized (itemTokenIndexes) {
+                itemTokenIndexes.values().forEach(index -> index.remove(element));
+            }
+            languageRules = null;
         }
 
         @Override
         public void updated(Item oldElement, Item element) {
-            invalidate();
+            synchronized (itemTokenIndexes) {
+                itemTokenIndexes.values().forEach(index -> index.update(oldElement, element));
+            }
+            languageRules = null;
         }
     };
 
@@ -123,70 +131,38 @@ public abstract class AbstractRuleBasedInterpreter implements HumanLanguageInter
         }
     }
 
-    private void invalidate() {
-        allItemTokens = null;
-        itemTokens = null;
-        languageRules = null;
-    }
-
     /**
      * All the tokens (name parts) of the names of all the items in the {@link ItemRegistry}.
      *
      * @param locale The locale that is to be used for preparing the tokens.
      * @return the identifier tokens
      */
-    HashSet<String> getAllItemTokens(Locale locale) {
-        if (allItemTokens == null) {
-            allItemTokens = new HashMap<Locale, HashSet<String>>();
-        }
-        HashSet<String> localeTokens = allItemTokens.get(locale);
-        if (localeTokens == null) {
-            allItemTokens.put(locale, localeTokens = new HashSet<String>());
-            for (Item item : itemRegistry.getAll()) {
-                localeTokens.addAll(tokenize(locale, item.getLabel()));
-            }
-        }
-        return localeTokens;
+    Set<String> getAllItemTokens(Locale locale) {
+        return getItemTokenIndex(locale).getAllTokens();
     }
 
     /**
-     * Retrieves the list of identifier token sets per item currently contained in the {@link ItemRegistry}.
-     * Each item entry in the resulting hash map will feature a list of different token sets. Each token set
-     * represents one possible way "through" a chain of parent groups, where each groups tokenized name is
-     * part of the set.
+     * Retrieves the index of the identifier token sets of the items currently contained in the {@link ItemRegistry}.
+     * Each item is indexed with a list of different token sets. Each token set represents one possible way "through" a
+     * chain of parent groups, where each groups tokenized name is part of the set.
+     * The index is built once per locale and then kept up to date through the registry change listener.
      *
      * @param locale The locale that is to be used for preparing the tokens.
-     * @return the list of identifier token sets per item
+     * @return the index of the identifier token sets
      */
-    HashMap<Item, ArrayList<HashSet<String>>> getItemTokens(Locale locale) {
-        if (itemTokens == null) {
-            itemTokens = new HashMap<Locale, HashMap<Item, ArrayList<HashSet<String>>>>();
-        }
-        HashMap<Item, ArrayList<HashSet<String>>> localeTokens = itemTokens.get(locale);
-        if (localeTokens == null) {
-            itemTokens.put(locale, localeTokens = new HashMap<Item, ArrayList<HashSet<String>>>());
-            for (Item item : itemRegistry.getItems()) {
-                if (item.getGroupNames().isEmpty()) {
-                    addItem(locale, localeTokens, new HashSet<String>(), item);
+    ItemTokenIndex getItemTokenIndex(Locale locale) {
+        synchronized (itemTokenIndexes) {
+            ItemTokenIndex index = itemTokenIndexes.get(locale);
+            if (index == null) {
+                index = new ItemTokenIndex(label -> tokenize(locale, label));
+                if (itemRegistry != null) {
+                    for (Item item : itemRegistry.getAll()) {
+                        index.add(item);
+                    }
                 }
+                itemTokenIndexes.put(locale, index);
             }
-        }
-        return localeTokens;
-    }
-
-    private void addItem(Locale locale, HashMap<Item, ArrayList<HashSet<String>>> target, HashSet<String> tokens,
-            Item item) {
-        HashSet<String> nt = new HashSet<String>(tokens);
-        nt.addAll(tokenize(locale, item.getLabel()));
-        ArrayList<HashSet<String>> list = target.get(item);
-        if (list == null) {
-            target.put(item, list = new ArrayList<HashSet<String>>());
-        }
-        list.add(nt);
-        if (item instanceof GroupItem) {
-            for (Item member : ((GroupItem) item).getMembers()) {
-                addItem(locale, target, nt, member);
-            }
+            return index;
         }
     }
 
@@ -541,36 +517,28 @@ public abstract class AbstractRuleBasedInterpreter implements HumanLanguageInter
      */
     protected ArrayList<Item> getMatchingItems(ResourceBundle language, String[] labelFragments, Class<?> commandType) {
         ArrayList<Item> items = new ArrayList<Item>();
-        HashMap<Item, ArrayList<HashSet<String>>> map = getItemTokens(language.getLocale());
-        for (Item item : map.keySet()) {
-            for (HashSet<String> parts : map.get(item)) {
-                boolean allMatch = true;
-                for (String fragment : labelFragments) {
-                    if (!parts.contains(fragment.toLowerCase(language.getLocale()))) {
-                        allMatch = false;
-                        break;
+        Set<String> fragments = new HashSet<String>();
+        for (String fragment : labelFragments) {
+            fragments.add(fragment.toLowerCase(language.getLocale()));
+        }
+        for (Item item : getItemTokenIndex(language.getLocale()).getMatchingItems(fragments)) {
+            if (commandType == null || item.getAcceptedCommandTypes().contains(commandType)) {
+                String name = item.getName();
+                boolean insert = true;
+                for (Item si : items) {
+                    if (name.startsWith(si.getName())) {
+                        insert = false;
                     }
                 }
-                if (allMatch) {
-                    if (commandType == null || item.getAcceptedCommandTypes().contains(commandType)) {
-                        String name = item.getName();
-                        boolean insert = true;
-                        for (Item si : items) {
-                            if (name.startsWith(si.getName())) {
-                                insert = false;
-                            }
-                        }
-                        if (insert) {
-                            for (int i = 0; i < items.size(); i++) {
-                                Item si = items.get(i);
-                                if (si.getName().startsWith(name)) {
-                                    items.remove(i);
-                                    i--;
-                                }
-                            }
-                            items.add(item);
+                if (insert) {
+                    for (int i = 0; i < items.size(); i++) {
+                        Item si = items.get(i);
+                        if (si.getName().startsWith(name)) {
+                            items.remove(i);
+                            i--;
                         }
                     }
+                    items.add(item);
                 }
             }
         }
@@ -853,6 +821,7 @@ public abstract class AbstractRuleBasedInterpreter implements HumanLanguageInter
         if (this.itemRegistry == null) {
             this.itemRegistry = itemRegistry;
             this.itemRegistry.addRegistryChangeListener(registryChangeListener);
+            clearItemTokenIndexes();
         }
     }
 
@@ -860,6 +829,13 @@ public abstract class AbstractRuleBasedInterpreter implements HumanLanguageInter
         if (itemRegistry == this.itemRegistry) {
             this.itemRegistry.removeRegistryChangeListener(registryChangeListener);
             this.itemRegistry = null;
+            clearItemTokenIndexes();
+        }
+    }
+
+    private void clearItemTokenIndexes() {
+        synchronized (itemTokenIndexes) {
+            itemTokenIndexes.clear();
         }
     }
 
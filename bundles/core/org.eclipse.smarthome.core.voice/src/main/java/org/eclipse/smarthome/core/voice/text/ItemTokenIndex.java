@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.voice.text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.smarthome.core.items.GroupItem;
+import org.eclipse.smarthome.core.items.Item;
+
+/**
+ * An inverted index from the label tokens of items to the items for a single locale.
+ * <p>
+ * Each item is indexed with one token set per path through its parent groups, where each group's tokenized label is
+ * part of the set. The index is updated incrementally when items are added, updated or removed, so that matching the
+ * fragments of an utterance only looks at the items, which contain the least frequent fragment.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+final class ItemTokenIndex {
+
+    private final Function<String, List<String>> tokenizer;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Set<String>> members = new HashMap<>();
+    private final Map<String, Set<String>> itemsByToken = new HashMap<>();
+    private final Map<String, Integer> labelTokenCounts = new HashMap<>();
+
+    /**
+     * Creates a new index.
+     *
+     * @param tokenizer tokenizes a label for the locale of this index
+     */
+    ItemTokenIndex(Function<String, List<String>> tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    /**
+     * Adds an item to the index and updates the token sets of its members.
+     *
+     * @param item the item to add
+     */
+    synchronized void add(Item item) {
+        String name = item.getName();
+        if (entries.containsKey(name)) {
+            remove(name);
+        }
+
+        Entry entry = new Entry(item, tokenizer.apply(item.getLabel()));
+        entries.put(name, entry);
+        for (String token : entry.labelTokens) {
+            labelTokenCounts.merge(token, 1, Integer::sum);
+        }
+        for (String groupName : item.getGroupNames()) {
+            members.computeIfAbsent(groupName, k -> new HashSet<>()).add(name);
+        }
+        refresh(name, new HashSet<>());
+    }
+
+    /**
+     * Removes an item from the index and updates the token sets of its members.
+     *
+     * @param item the item to remove
+     */
+    synchronized void remove(Item item) {
+        if (remove(item.getName())) {
+            refreshMembers(item.getName(), new HashSet<>());
+        }
+    }
+
+    /**
+     * Replaces an item in the index.
+     *
+     * @param oldItem the item before the update
+     * @param item the item after the update
+     */
+    synchronized void update(Item oldItem, Item item) {
+        if (!oldItem.getName().equals(item.getName())) {
+            remove(oldItem);
+        }
+        add(item);
+    }
+
+    /**
+     * Returns all tokens of the labels of the indexed items.
+     *
+     * @return the tokens
+     */
+    synchronized Set<String> getAllTokens() {
+        return new HashSet<>(labelTokenCounts.keySet());
+    }
+
+    /**
+     * Returns the items, which have at least one token set containing all the given fragments.
+     *
+     * @param fragments the lower case fragments
+     * @return the matching items
+     */
+    synchronized List<Item> getMatchingItems(Collection<String> fragments) {
+        Collection<String> candidates = null;
+        for (String fragment : fragments) {
+            Set<String> items = itemsByToken.get(fragment);
+            if (items == null) {
+                return Collections.emptyList();
+            }
+            if (candidates == null || items.size() < candidates.size()) {
+                candidates = items;
+            }
+        }
+        if (candidates == null) {
+            candidates = entries.keySet();
+        }
+
+        List<Item> result = new ArrayList<>();
+        for (String name : candidates) {
+            Entry entry = entries.get(name);
+            for (Set<String> tokens : entry.paths) {
+                if (tokens.containsAll(fragments)) {
+                    result.add(entry.item);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean remove(String name) {
+        Entry entry = entries.remove(name);
+        if (entry == null) {
+            return false;
+        }
+        for (String token : entry.labelTokens) {
+            labelTokenCounts.computeIfPresent(token, (k, count) -> count > 1 ? count - 1 : null);
+        }
+        for (String groupName : entry.item.getGroupNames()) {
+            Set<String> groupMembers = members.get(groupName);
+            if (groupMembers != null) {
+                groupMembers.remove(name);
+                if (groupMembers.isEmpty()) {
+                    members.remove(groupName);
+                }
+            }
+        }
+        unindexPaths(name, entry.paths);
+        return true;
+    }
+
+    /**
+     * Recomputes the token sets of the given item and, if they changed, of its members.
+     *
+     * @param name the name of the item
+     * @param ancestors the names of the items, which are currently refreshed, to stop at cyclic group memberships
+     */
+    private void refresh(String name, Set<String> ancestors) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return;
+        }
+        List<Set<String>> paths = computePaths(entry);
+        if (paths.equals(entry.paths)) {
+            return;
+        }
+        unindexPaths(name, entry.paths);
+        entry.paths = paths;
+        for (Set<String> tokens : paths) {
+            for (String token : tokens) {
+                itemsByToken.computeIfAbsent(token, k -> new HashSet<>()).add(name);
+            }
+        }
+        refreshMembers(name, ancestors);
+    }
+
+    private void refreshMembers(String name, Set<String> ancestors) {
+        Set<String> groupMembers = members.get(name);
+        if (groupMembers == null || !ancestors.add(name)) {
+            return;
+        }
+        for (String member : new ArrayList<>(groupMembers)) {
+            refresh(member, ancestors);
+        }
+        ancestors.remove(name);
+    }
+
+    private List<Set<String>> computePaths(Entry entry) {
+        Set<String> groupNames = new LinkedHashSet<>(entry.item.getGroupNames());
+        if (groupNames.isEmpty()) {
+            return Collections.singletonList(new HashSet<>(entry.labelTokens));
+        }
+        List<Set<String>> paths = new ArrayList<>();
+        for (String groupName : groupNames) {
+            Entry group = entries.get(groupName);
+            if (group != null && group.item instanceof GroupItem) {
+                for (Set<String> groupTokens : group.paths) {
+                    Set<String> tokens = new HashSet<>(groupTokens);
+                    tokens.addAll(entry.labelTokens);
+                    paths.add(tokens);
+                }
+            }
+        }
+        return paths;
+    }
+
+    private void unindexPaths(String name, List<Set<String>> paths) {
+        for (Set<String> tokens : paths) {
+            for (String token : tokens) {
+                Set<String> items = itemsByToken.get(token);
+                if (items != null) {
+                    items.remove(name);
+                    if (items.isEmpty()) {
+                        itemsByToken.remove(token);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Entry {
+        private final Item item;
+        private final List<String> labelTokens;
+        private List<Set<String>> paths = Collections.emptyList();
+
+        Entry(Item item, List<String> labelTokens) {
+            this.item = item;
+            this.labelTokens = labelTokens;
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.cache;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * An immutable snapshot of the statistics of an {@link ExpiringLoadingCache}.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+public final class CacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadCount;
+    private final long totalLoadTime;
+    private final long evictionCount;
+
+    public CacheStatistics(long hitCount, long missCount, long loadCount, long totalLoadTime, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.totalLoadTime = totalLoadTime;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Returns the number of times a valid value has been returned from the cache.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of times no valid value was in the cache when it was requested.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the ratio of hits to requests, or 1.0 if there have not been any requests.
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Returns the number of times a value has been calculated, including background refreshes.
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Returns the total time in nanoseconds spent calculating values.
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * Returns the average time in nanoseconds spent calculating a value.
+     */
+    public double getAverageLoadTime() {
+        return loadCount == 0 ? 0.0 : (double) totalLoadTime / loadCount;
+    }
+
+    /**
+     * Returns the number of entries that have been evicted because the cache exceeded its maximum size.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics [hitCount=" + hitCount + ", missCount=" + missCount + ", loadCount=" + loadCount
+                + ", totalLoadTime=" + totalLoadTime + ", evictionCount=" + evictionCount + "]";
+    }
+}
@@ -13,6 +13,10 @@
 package org.eclipse.smarthome.core.cache;
 
 import java.lang.ref.SoftReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -24,6 +28,9 @@ import org.eclipse.jdt.annotation.Nullable;
  * There must be provided an action in order to retrieve/calculate the value. This action will be called only if the
  * answer from the last calculation is not valid anymore, i.e. if it is expired.
  *
+ * Reading a valid value does not acquire any lock. If the value needs to be (re-)calculated, the action is only called
+ * by one thread at a time - concurrent callers wait for and share the result of the ongoing calculation.
+ *
  * @author Christoph Weitkamp - Initial contribution and API.
  *
  * @param <V> the type of the value
@@ -31,8 +38,9 @@ import org.eclipse.jdt.annotation.Nullable;
 public class ExpiringCache<V> {
     private final long expiry;
     private final Supplier<V> action;
-    private SoftReference<V> value;
-    private long expiresAt;
+    private volatile SoftReference<V> value;
+    private volatile long expiresAt;
+    private @Nullable CompletableFuture<V> currentLoad;
 
     /**
      * Create a new instance.
@@ -55,10 +63,10 @@ public class ExpiringCache<V> {
      * Returns the value - possibly from the cache, if it is still valid.
      */
     @Nullable
-    public synchronized V getValue() {
-        V cachedValue = value.get();
-        if (cachedValue == null || isExpired()) {
-            return refreshValue();
+    public V getValue() {
+        V cachedValue = getCachedValue();
+        if (cachedValue == null) {
+            return load(false);
         }
         return cachedValue;
     }
@@ -66,22 +74,20 @@ public class ExpiringCache<V> {
     /**
      * Invalidates the value in the cache.
      */
-    public final synchronized void invalidateValue() {
+    public final void invalidateValue() {
         value = new SoftReference<>(null);
         expiresAt = 0;
     }
 
     /**
      * Refreshes and returns the value in the cache.
+     * If the value is already being refreshed by another thread, the result of that refresh is returned.
      *
      * @return the new value
      */
     @Nullable
-    public synchronized V refreshValue() {
-        V freshValue = action.get();
-        value = new SoftReference<>(freshValue);
-        expiresAt = System.nanoTime() + expiry;
-        return freshValue;
+    public V refreshValue() {
+        return load(true);
     }
 
     /**
@@ -92,4 +98,117 @@ public class ExpiringCache<V> {
     public boolean isExpired() {
         return expiresAt < System.nanoTime();
     }
+
+    /**
+     * Returns the cached value without calculating it.
+     *
+     * @return the cached value, or null if there is no valid value in the cache
+     */
+    @Nullable
+    V getCachedValue() {
+        V cachedValue = value.get();
+        if (cachedValue == null || isExpired()) {
+            return null;
+        }
+        return cachedValue;
+    }
+
+    /**
+     * Returns the remaining time until the value expires.
+     *
+     * @return the remaining time in nanoseconds, negative if the value is already expired
+     */
+    long getRemainingNanos() {
+        return expiresAt - System.nanoTime();
+    }
+
+    /**
+     * Refreshes the value in the background, unless it is already being refreshed.
+     *
+     * @param executor the executor to run the action on
+     * @return true if a refresh has been started
+     */
+    boolean refreshValueAsync(Executor executor) {
+        final CompletableFuture<V> load;
+        synchronized (this) {
+            if (currentLoad != null) {
+                return false;
+            }
+            load = new CompletableFuture<>();
+            currentLoad = load;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    calculate(load);
+                } catch (RuntimeException e) {
+                    // the failure is passed to the callers waiting for this refresh
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                currentLoad = null;
+            }
+            load.completeExceptionally(e);
+            return false;
+        }
+        return true;
+    }
+
+    private @Nullable V load(boolean force) {
+        final CompletableFuture<V> load;
+        final boolean owner;
+        synchronized (this) {
+            if (!force) {
+                // another thread might have calculated the value meanwhile
+                V cachedValue = getCachedValue();
+                if (cachedValue != null) {
+                    return cachedValue;
+                }
+            }
+            CompletableFuture<V> ongoingLoad = currentLoad;
+            if (ongoingLoad == null) {
+                load = new CompletableFuture<>();
+                currentLoad = load;
+                owner = true;
+            } else {
+                load = ongoingLoad;
+                owner = false;
+            }
+        }
+        if (owner) {
+            return calculate(load);
+        }
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private @Nullable V calculate(CompletableFuture<V> load) {
+        final V freshValue;
+        try {
+            freshValue = action.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                currentLoad = null;
+            }
+            load.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            value = new SoftReference<>(freshValue);
+            expiresAt = System.nanoTime() + expiry;
+            currentLoad = null;
+        }
+        load.complete(freshValue);
+        return freshValue;
+    }
 }
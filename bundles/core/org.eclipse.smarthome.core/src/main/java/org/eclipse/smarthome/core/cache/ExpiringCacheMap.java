@@ -14,19 +14,15 @@ package org.eclipse.smarthome.core.cache;
 
 import java.time.Duration;
 import java.util.Collection;
-import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 /**
  * This is a simple expiring and reloading multiple key-value-pair cache implementation. The value expires after the
  * specified duration has passed since the item was created, or the most recent replacement of the value.
+ * <p>
+ * It is backed by an {@link ExpiringLoadingCache}, so values are read without locking and each value is only
+ * calculated by one thread at a time.
  *
  * @author Christoph Weitkamp - Initial contribution and API.
  * @author Martin van Wingerden - Added constructor accepting Duration and putIfAbsentAndGet
@@ -36,10 +32,7 @@ import org.slf4j.LoggerFactory;
  */
 public class ExpiringCacheMap<K, V> {
 
-    private final Logger logger = LoggerFactory.getLogger(ExpiringCacheMap.class);
-
-    private final long expiry;
-    private final ConcurrentMap<K, ExpiringCache<V>> items;
+    private final ExpiringLoadingCache<K, V> items;
 
     /**
      * Creates a new instance.
@@ -56,8 +49,7 @@ public class ExpiringCacheMap<K, V> {
      * @param expiry the duration in milliseconds for how long the value stays valid
      */
     public ExpiringCacheMap(long expiry) {
-        this.expiry = expiry;
-        this.items = new ConcurrentHashMap<>();
+        this.items = new ExpiringLoadingCache<>(expiry);
     }
 
     /**
@@ -67,11 +59,21 @@ public class ExpiringCacheMap<K, V> {
      * @param action the action for the item to be associated with the specified key to retrieve/calculate the value
      */
     public void put(K key, Supplier<V> action) {
-        put(key, new ExpiringCache<>(expiry, action));
+        if (key == null) {
+            throw new IllegalArgumentException("Item cannot be added as key is null.");
+        }
+        if (action == null) {
+            throw new IllegalArgumentException("Item cannot be added as action is null.");
+        }
+
+        items.put(key, action);
     }
 
     /**
      * Adds an {@link ExpiringCache} to the cache.
+     * <p>
+     * The loads of the given item are not recorded in the {@link #getStatistics() statistics}, as its value is
+     * calculated by its own action.
      * 
      * @param key the key with which the specified value is to be associated
      * @param item the item to be associated with the specified key
@@ -89,6 +91,9 @@ public class ExpiringCacheMap<K, V> {
 
     /**
      * If the specified key is not already associated with a value, associate it with the given {@link ExpiringCache}.
+     * <p>
+     * The loads of the given item are not recorded in the {@link #getStatistics() statistics}, as its value is
+     * calculated by its own action.
      *
      * @param key the key with which the specified value is to be associated
      * @param item the item to be associated with the specified key
@@ -114,11 +119,21 @@ public class ExpiringCacheMap<K, V> {
      * @return the (cached) value for the specified key
      */
     public V putIfAbsentAndGet(K key, Supplier<V> action) {
-        return putIfAbsentAndGet(key, new ExpiringCache<>(expiry, action));
+        if (key == null) {
+            throw new IllegalArgumentException("Item cannot be added as key is null.");
+        }
+        if (action == null) {
+            throw new IllegalArgumentException("Item cannot be added as action is null.");
+        }
+
+        items.putIfAbsent(key, action);
+
+        return this.get(key);
     }
 
     /**
      * If the specified key is not already associated with a value, associate it with the given {@link ExpiringCache}.
+     * The loads of the given item are not recorded in the {@link #getStatistics() statistics}.
      *
      * Note that this method has the overhead of actually calling/performing the action
      *
@@ -163,12 +178,8 @@ public class ExpiringCacheMap<K, V> {
      * 
      * @return the set of all keys
      */
-    public synchronized Set<K> keys() {
-        final Set<K> keys = new LinkedHashSet<>();
-        for (final K key : items.keySet()) {
-            keys.add(key);
-        }
-        return keys;
+    public Set<K> keys() {
+        return items.keys();
     }
 
     /**
@@ -178,13 +189,7 @@ public class ExpiringCacheMap<K, V> {
      * @return the value associated with the given key, or null if there is no cached value for the given key
      */
     public V get(K key) {
-        final ExpiringCache<V> item = items.get(key);
-        if (item == null) {
-            logger.debug("No item for key '{}' found", key);
-            return null;
-        } else {
-            return item.getValue();
-        }
+        return items.get(key);
     }
 
     /**
@@ -192,12 +197,8 @@ public class ExpiringCacheMap<K, V> {
      * 
      * @return the collection of all values
      */
-    public synchronized Collection<V> values() {
-        final Collection<V> values = new LinkedList<>();
-        for (final ExpiringCache<V> item : items.values()) {
-            values.add(item.getValue());
-        }
-        return values;
+    public Collection<V> values() {
+        return items.values();
     }
 
     /**
@@ -205,20 +206,15 @@ public class ExpiringCacheMap<K, V> {
      * 
      * @param key the key whose associated value is to be invalidated
      */
-    public synchronized void invalidate(K key) {
-        final ExpiringCache<V> item = items.get(key);
-        if (item == null) {
-            logger.debug("No item for key '{}' found", key);
-        } else {
-            item.invalidateValue();
-        }
+    public void invalidate(K key) {
+        items.invalidate(key);
     }
 
     /**
      * Invalidates all values in the cache.
      */
-    public synchronized void invalidateAll() {
-        items.values().forEach(item -> item.invalidateValue());
+    public void invalidateAll() {
+        items.invalidateAll();
     }
 
     /**
@@ -227,14 +223,8 @@ public class ExpiringCacheMap<K, V> {
      * @param key the key whose associated value is to be refreshed
      * @return the value associated with the given key, or null if there is no cached value for the given key
      */
-    public synchronized V refresh(K key) {
-        final ExpiringCache<V> item = items.get(key);
-        if (item == null) {
-            logger.debug("No item for key '{}' found", key);
-            return null;
-        } else {
-            return item.refreshValue();
-        }
+    public V refresh(K key) {
+        return items.refresh(key);
     }
 
     /**
@@ -242,11 +232,16 @@ public class ExpiringCacheMap<K, V> {
      * 
      * @return the collection of all values
      */
-    public synchronized Collection<V> refreshAll() {
-        final Collection<V> values = new LinkedList<>();
-        for (final ExpiringCache<V> item : items.values()) {
-            values.add(item.refreshValue());
-        }
-        return values;
+    public Collection<V> refreshAll() {
+        return items.refreshAll();
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss and load statistics of this cache.
+     *
+     * @return the cache statistics
+     */
+    public CacheStatistics getStatistics() {
+        return items.getStatistics();
     }
 }
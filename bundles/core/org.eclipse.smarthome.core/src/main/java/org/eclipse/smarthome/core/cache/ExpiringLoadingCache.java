@@ -0,0 +1,382 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A concurrent expiring and reloading multiple key-value-pair cache.
+ * <p>
+ * Values are read without locking. If a value is missing or expired, it is calculated by a single thread, while
+ * concurrent readers of the same key wait for and share that result. The action to calculate a value is either given
+ * per key or as a loader function for all keys.
+ * <p>
+ * Optionally, values can be refreshed in the background shortly before they expire ("refresh-ahead"), so that readers
+ * of frequently requested keys never have to wait for a calculation. The number of entries can be bounded, in which case
+ * the least recently accessed entries are evicted.
+ *
+ * @author Flavio Costa - Initial contribution
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+@NonNullByDefault
+public class ExpiringLoadingCache<K, V> {
+
+    private static final String THREAD_POOL_NAME = "cache";
+
+    private final Logger logger = LoggerFactory.getLogger(ExpiringLoadingCache.class);
+
+    private final long expiry;
+    private final long refreshAhead;
+    private final int maximumSize;
+    private final @Nullable Function<K, V> loader;
+    private final ConcurrentMap<K, Entry<V>> items = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private static class Entry<V> {
+        private final ExpiringCache<V> item;
+        private volatile long lastAccess = System.nanoTime();
+
+        public Entry(ExpiringCache<V> item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * Creates a new unbounded instance without refresh-ahead and without loader function.
+     *
+     * @param expiry the duration for how long a value stays valid
+     */
+    public ExpiringLoadingCache(Duration expiry) {
+        this(expiry.toMillis(), 0, 0, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param expiry the duration in milliseconds for how long a value stays valid
+     * @param refreshAhead the duration in milliseconds before the expiry of a value in which a read triggers a
+     *            background refresh; 0 disables refresh-ahead
+     * @param maximumSize the maximum number of entries; 0 for an unbounded cache
+     * @param loader the function to calculate the value of keys that have not been added explicitly, may be null
+     */
+    public ExpiringLoadingCache(long expiry, long refreshAhead, int maximumSize, @Nullable Function<K, V> loader) {
+        if (expiry <= 0) {
+            throw new IllegalArgumentException("Cache expire time must be greater than 0");
+        }
+        if (refreshAhead < 0 || refreshAhead >= expiry) {
+            throw new IllegalArgumentException("Refresh-ahead time must be positive and less than the expire time");
+        }
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size must not be negative");
+        }
+        this.expiry = expiry;
+        this.refreshAhead = TimeUnit.MILLISECONDS.toNanos(refreshAhead);
+        this.maximumSize = maximumSize;
+        this.loader = loader;
+    }
+
+    /**
+     * Creates a new unbounded instance without refresh-ahead and without loader function, which accepts any expire
+     * time like {@link ExpiringCache} does.
+     *
+     * @param expiry the duration in milliseconds for how long a value stays valid
+     */
+    ExpiringLoadingCache(long expiry) {
+        this.expiry = expiry;
+        this.refreshAhead = 0;
+        this.maximumSize = 0;
+        this.loader = null;
+    }
+
+    /**
+     * Associates the given action with the given key, replacing any previous entry.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param action the action to retrieve/calculate the value
+     */
+    public void put(K key, Supplier<V> action) {
+        put(key, createItem(action));
+    }
+
+    /**
+     * Associates the given {@link ExpiringCache} with the given key, replacing any previous entry.
+     * <p>
+     * The value of the given item is calculated by its own action, so its loads are not recorded in the load
+     * statistics of this cache. Use {@link #put(Object, Supplier)} to have them recorded.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param item the item to be associated with the specified key
+     */
+    public void put(K key, ExpiringCache<V> item) {
+        items.put(key, new Entry<>(item));
+        evictIfNecessary();
+    }
+
+    /**
+     * If the specified key is not already associated, associates it with the given action.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param action the action to retrieve/calculate the value
+     */
+    public void putIfAbsent(K key, Supplier<V> action) {
+        putIfAbsent(key, createItem(action));
+    }
+
+    /**
+     * If the specified key is not already associated, associates it with the given {@link ExpiringCache}.
+     * <p>
+     * The value of the given item is calculated by its own action, so its loads are not recorded in the load
+     * statistics of this cache. Use {@link #putIfAbsent(Object, Supplier)} to have them recorded.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param item the item to be associated with the specified key
+     */
+    public void putIfAbsent(K key, ExpiringCache<V> item) {
+        if (items.putIfAbsent(key, new Entry<>(item)) == null) {
+            evictIfNecessary();
+        }
+    }
+
+    /**
+     * Checks if the key is present in the cache.
+     *
+     * @param key the key whose presence in the cache is to be tested
+     * @return true if the cache contains an entry for the specified key
+     */
+    public boolean containsKey(K key) {
+        return items.containsKey(key);
+    }
+
+    /**
+     * Removes the entry associated with the given key from the cache.
+     *
+     * @param key the key whose associated entry is to be removed
+     */
+    public void remove(K key) {
+        items.remove(key);
+    }
+
+    /**
+     * Discards all entries from the cache.
+     */
+    public void clear() {
+        items.clear();
+    }
+
+    /**
+     * Returns a set of all keys.
+     *
+     * @return the set of all keys
+     */
+    public Set<K> keys() {
+        return new LinkedHashSet<>(items.keySet());
+    }
+
+    /**
+     * Returns the value associated with the given key - possibly from the cache, if it is still valid.
+     * If there is no entry for the key and the cache has a loader function, an entry is created.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the given key, or null if there is no entry for the given key
+     */
+    public @Nullable V get(K key) {
+        Entry<V> entry = getEntry(key);
+        if (entry == null) {
+            logger.debug("No item for key '{}' found", key);
+            return null;
+        }
+        return getValue(entry);
+    }
+
+    /**
+     * Returns a collection of all values - possibly from the cache, if they are still valid.
+     *
+     * @return the collection of all values
+     */
+    public Collection<@Nullable V> values() {
+        final List<@Nullable V> values = new ArrayList<>(items.size());
+        for (final Entry<V> entry : items.values()) {
+            values.add(getValue(entry));
+        }
+        return values;
+    }
+
+    /**
+     * Invalidates the value associated with the given key in the cache.
+     *
+     * @param key the key whose associated value is to be invalidated
+     */
+    public void invalidate(K key) {
+        final Entry<V> entry = items.get(key);
+        if (entry == null) {
+            logger.debug("No item for key '{}' found", key);
+        } else {
+            entry.item.invalidateValue();
+        }
+    }
+
+    /**
+     * Invalidates all values in the cache.
+     */
+    public void invalidateAll() {
+        items.values().forEach(entry -> entry.item.invalidateValue());
+    }
+
+    /**
+     * Refreshes and returns the value associated with the given key in the cache.
+     *
+     * @param key the key whose associated value is to be refreshed
+     * @return the value associated with the given key, or null if there is no entry for the given key
+     */
+    public @Nullable V refresh(K key) {
+        final Entry<V> entry = getEntry(key);
+        if (entry == null) {
+            logger.debug("No item for key '{}' found", key);
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        return entry.item.refreshValue();
+    }
+
+    /**
+     * Refreshes and returns a collection of all new values in the cache.
+     *
+     * @return the collection of all values
+     */
+    public Collection<@Nullable V> refreshAll() {
+        final List<@Nullable V> values = new ArrayList<>(items.size());
+        for (final Entry<V> entry : items.values()) {
+            values.add(entry.item.refreshValue());
+        }
+        return values;
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Returns a snapshot of the statistics of this cache.
+     *
+     * @return the cache statistics
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount.sum(), missCount.sum(), loadCount.sum(), totalLoadTime.sum(),
+                evictionCount.sum());
+    }
+
+    private @Nullable Entry<V> getEntry(K key) {
+        Entry<V> entry = items.get(key);
+        final Function<K, V> loader = this.loader;
+        if (entry == null && loader != null) {
+            Entry<V> newEntry = new Entry<>(createItem(() -> loader.apply(key)));
+            entry = items.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+                evictIfNecessary();
+            }
+        }
+        return entry;
+    }
+
+    private @Nullable V getValue(Entry<V> entry) {
+        entry.lastAccess = System.nanoTime();
+        final ExpiringCache<V> item = entry.item;
+        V value = item.getCachedValue();
+        if (value != null) {
+            hitCount.increment();
+            if (refreshAhead > 0 && item.getRemainingNanos() < refreshAhead) {
+                item.refreshValueAsync(ThreadPoolManager.getPool(THREAD_POOL_NAME));
+            }
+            return value;
+        }
+        missCount.increment();
+        return item.getValue();
+    }
+
+    private ExpiringCache<V> createItem(Supplier<V> action) {
+        return new ExpiringCache<>(expiry, () -> {
+            long start = System.nanoTime();
+            try {
+                return action.get();
+            } finally {
+                loadCount.increment();
+                totalLoadTime.add(System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * Evicts the least recently accessed entries, if the cache has grown beyond its maximum size. A tenth of the
+     * entries is evicted at once, so that the cost of finding them is shared by many insertions.
+     */
+    private void evictIfNecessary() {
+        if (maximumSize == 0 || items.size() <= maximumSize) {
+            return;
+        }
+        synchronized (items) {
+            int excess = items.size() - maximumSize;
+            if (excess <= 0) {
+                return;
+            }
+            int toEvict = Math.min(items.size(), Math.max(excess, maximumSize / 10));
+            Comparator<Map.Entry<K, Entry<V>>> mostRecentFirst = (e1, e2) -> Long.compare(e2.getValue().lastAccess,
+                    e1.getValue().lastAccess);
+            PriorityQueue<Map.Entry<K, Entry<V>>> candidates = new PriorityQueue<>(toEvict + 1, mostRecentFirst);
+            for (Map.Entry<K, Entry<V>> mapEntry : items.entrySet()) {
+                candidates.add(mapEntry);
+                if (candidates.size() > toEvict) {
+                    candidates.poll();
+                }
+            }
+            for (Map.Entry<K, Entry<V>> mapEntry : candidates) {
+                if (items.remove(mapEntry.getKey(), mapEntry.getValue())) {
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+}
@@ -12,7 +12,11 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -62,6 +66,30 @@ public abstract class AbstractManagedProvider<E extends Identifiable<K>, K, PE>
         logger.debug("Added new element {} to {}.", keyAsString, this.getClass().getSimpleName());
     }
 
+    /**
+     * Adds all elements in a single storage operation and notifies the listeners about them at once. No element is
+     * added, if one of them already exists or is contained twice.
+     */
+    @Override
+    public void addAll(Collection<E> elements) {
+        Map<String, PE> persistableElements = new LinkedHashMap<>();
+        for (E element : elements) {
+            String keyAsString = getKeyAsString(element);
+            if (persistableElements.containsKey(keyAsString) || storage.get(keyAsString) != null) {
+                throw new IllegalArgumentException(
+                        "Cannot add element, because an element with same UID (" + keyAsString + ") already exists.");
+            }
+            persistableElements.put(keyAsString, toPersistableElement(element));
+        }
+        if (persistableElements.isEmpty()) {
+            return;
+        }
+
+        storage.putAll(persistableElements);
+        notifyListenersAboutAddedElements(new ArrayList<>(elements));
+        logger.debug("Added {} new elements to {}.", persistableElements.size(), this.getClass().getSimpleName());
+    }
+
     @Override
     public Collection<E> getAll() {
         return storage.getKeys().stream().map(key -> {
@@ -106,6 +134,34 @@ public abstract class AbstractManagedProvider<E extends Identifiable<K>, K, PE>
         return null;
     }
 
+    /**
+     * Removes all elements in a single storage operation and notifies the listeners about them at once.
+     */
+    @Override
+    public Collection<E> removeAll(Collection<K> keys) {
+        List<String> keysAsString = new ArrayList<>(keys.size());
+        List<E> removedElements = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            String keyAsString = keyToString(key);
+            PE persistableElement = storage.get(keyAsString);
+            if (persistableElement != null) {
+                keysAsString.add(keyAsString);
+                E element = toElement(keyAsString, persistableElement);
+                if (element != null) {
+                    removedElements.add(element);
+                }
+            }
+        }
+        if (keysAsString.isEmpty()) {
+            return removedElements;
+        }
+
+        storage.removeAll(keysAsString);
+        notifyListenersAboutRemovedElements(removedElements);
+        logger.debug("Removed {} elements from {}.", keysAsString.size(), this.getClass().getSimpleName());
+        return removedElements;
+    }
+
     @Override
     public E update(E element) {
         String key = getKeyAsString(element);
@@ -125,6 +181,39 @@ public abstract class AbstractManagedProvider<E extends Identifiable<K>, K, PE>
         return null;
     }
 
+    /**
+     * Updates all elements in a single storage operation. Elements that do not exist are skipped.
+     */
+    @Override
+    public Collection<E> updateAll(Collection<E> elements) {
+        Map<String, PE> persistableElements = new LinkedHashMap<>();
+        List<E> oldElements = new ArrayList<>(elements.size());
+        List<E> updatedElements = new ArrayList<>(elements.size());
+        for (E element : elements) {
+            String key = getKeyAsString(element);
+            PE oldPersistableElement = persistableElements.containsKey(key) ? persistableElements.get(key)
+                    : storage.get(key);
+            if (oldPersistableElement != null) {
+                persistableElements.put(key, toPersistableElement(element));
+                oldElements.add(toElement(key, oldPersistableElement));
+                updatedElements.add(element);
+            } else {
+                logger.warn("Could not update element with key {} in {}, because it does not exists.", key,
+                        this.getClass().getSimpleName());
+            }
+        }
+        if (persistableElements.isEmpty()) {
+            return oldElements;
+        }
+
+        storage.putAll(persistableElements);
+        for (int i = 0; i < updatedElements.size(); i++) {
+            notifyListenersAboutUpdatedElement(oldElements.get(i), updatedElements.get(i));
+        }
+        logger.debug("Updated {} elements in {}.", updatedElements.size(), this.getClass().getSimpleName());
+        return oldElements;
+    }
+
     private @NonNull String getKeyAsString(@NonNull E element) {
         return keyToString(element.getUID());
     }
@@ -12,6 +12,7 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -86,4 +87,34 @@ public abstract class AbstractProvider<E> implements Provider<E> {
         notifyListeners(oldElement, element, EventType.UPDATED);
     }
 
+    private void notifyListeners(Collection<E> elements, EventType eventType) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        for (ProviderChangeListener<E> listener : this.listeners) {
+            try {
+                switch (eventType) {
+                    case ADDED:
+                        listener.addedAll(this, elements);
+                        break;
+                    case REMOVED:
+                        listener.removedAll(this, elements);
+                        break;
+                    default:
+                        break;
+                }
+            } catch (Exception ex) {
+                logger.error("Could not inform the listener '{}' about the '{}' event!: {}", listener, eventType.name(), ex.getMessage(), ex);
+            }
+        }
+    }
+
+    protected void notifyListenersAboutAddedElements(Collection<E> elements) {
+        notifyListeners(elements, EventType.ADDED);
+    }
+
+    protected void notifyListenersAboutRemovedElements(Collection<E> elements) {
+        notifyListeners(elements, EventType.REMOVED);
+    }
+
 }
@@ -12,11 +12,14 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -55,12 +58,21 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
     private final Class<P> providerClazz;
     private ServiceTracker<P, P> providerTracker;
 
+    /**
+     * The elements of each provider. The collections are read-only views, elements are added and removed through the
+     * {@link ProviderChangeListener} methods.
+     */
     protected Map<Provider<E>, Collection<E>> elementMap = new ConcurrentHashMap<Provider<E>, Collection<E>>();
 
+    private final Map<Provider<E>, Map<K, E>> providerElements = new ConcurrentHashMap<>();
+    private final Map<K, ProvidedElement<E>> elementIndex = new ConcurrentHashMap<>();
+
     protected Collection<RegistryChangeListener<E>> listeners = new CopyOnWriteArraySet<RegistryChangeListener<E>>();
 
     protected ManagedProvider<E, K> managedProvider;
 
+    private final AtomicLong revision = new AtomicLong();
+
     protected EventPublisher eventPublisher;
 
     /**
@@ -121,23 +133,25 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
         }
     }
 
+    /**
+     * A registered element together with the provider it belongs to.
+     */
+    private static final class ProvidedElement<E> {
+
+        private final E element;
+        private final Provider<E> provider;
+
+        private ProvidedElement(E element, Provider<E> provider) {
+            this.element = element;
+            this.provider = provider;
+        }
+    }
+
     @Override
     public void added(Provider<E> provider, E element) {
-        Collection<E> elements = elementMap.get(provider);
-        if (elements != null) {
+        Map<K, E> elements = providerElements.get(provider);
+        if (elements != null && addElement(provider, elements, element, "add")) {
             try {
-                K uid = element.getUID();
-                E existingElement = get(uid);
-                if (uid != null && existingElement != null) {
-                    logger.warn(
-                            "{} with key '{}' already exists from provider {}! Failed to add a second with the same UID from provider {}!",
-                            element.getClass().getSimpleName(), uid,
-                            getProvider(existingElement).getClass().getSimpleName(),
-                            provider.getClass().getSimpleName());
-                    return;
-                }
-                onAddElement(element);
-                elements.add(element);
                 notifyListenersAboutAddedElement(element);
             } catch (Exception ex) {
                 logger.warn("Could not add element: {}", ex.getMessage(), ex);
@@ -145,6 +159,61 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
         }
     }
 
+    @Override
+    public void addedAll(Provider<E> provider, Collection<E> elements) {
+        Map<K, E> providedElements = providerElements.get(provider);
+        if (providedElements != null) {
+            addElements(provider, providedElements, elements, "add");
+        }
+    }
+
+    private void addElements(Provider<E> provider, Map<K, E> providedElements, Collection<E> elements,
+            String operation) {
+        List<E> addedElements = new ArrayList<>(elements.size());
+        for (E element : elements) {
+            if (addElement(provider, providedElements, element, operation)) {
+                addedElements.add(element);
+            }
+        }
+        try {
+            notifyListenersAboutAddedElements(addedElements);
+        } catch (Exception ex) {
+            logger.warn("Could not add elements: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Registers the element, without notifying the listeners.
+     *
+     * @return <code>true</code> if the element has been added, <code>false</code> otherwise
+     */
+    private boolean addElement(Provider<E> provider, Map<K, E> elements, E element, String operation) {
+        try {
+            K uid = element.getUID();
+            ProvidedElement<E> existing = elementIndex.get(uid);
+            if (existing == null) {
+                onAddElement(element);
+                existing = elementIndex.putIfAbsent(uid, new ProvidedElement<>(element, provider));
+                if (existing != null) {
+                    // the same UID has been added concurrently by another provider
+                    onRemoveElement(element);
+                }
+            }
+            if (existing != null) {
+                logger.warn(
+                        "{} with key '{}' already exists from provider {}! Failed to {} a second with the same UID from provider {}!",
+                        element.getClass().getSimpleName(), uid, existing.provider.getClass().getSimpleName(),
+                        operation, provider.getClass().getSimpleName());
+                return false;
+            }
+            elements.put(uid, element);
+            return true;
+        } catch (Exception ex) {
+            logger.warn("Could not add element: {}", ex.getMessage(), ex);
+            return false;
+        }
+    }
+
     @Override
     public void addRegistryChangeListener(RegistryChangeListener<E> listener) {
         listeners.add(listener);
@@ -165,21 +234,64 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
 
     @Override
     public void removed(Provider<E> provider, E element) {
-        Collection<E> elements = elementMap.get(provider);
+        Map<K, E> elements = providerElements.get(provider);
         if (elements != null) {
+            E removedElement = removeElement(provider, elements, element);
+            if (removedElement != null) {
+                try {
+                    notifyListenersAboutRemovedElement(removedElement);
+                } catch (Exception ex) {
+                    logger.warn("Could not remove element: {}", ex.getMessage(), ex);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void removedAll(Provider<E> provider, Collection<E> elements) {
+        Map<K, E> providedElements = providerElements.get(provider);
+        if (providedElements != null) {
+            List<E> removedElements = new ArrayList<>(elements.size());
+            for (E element : elements) {
+                E removedElement = removeElement(provider, providedElements, element);
+                if (removedElement != null) {
+                    removedElements.add(removedElement);
+                }
+            }
             try {
-                // the given "element" might not be the live instance but
-                // loaded from storage. operate on the real element:
-                E existingElement = get(element.getUID());
-                onRemoveElement(existingElement);
-                elements.remove(existingElement);
-                notifyListenersAboutRemovedElement(existingElement);
+                notifyListenersAboutRemovedElements(removedElements);
             } catch (Exception ex) {
-                logger.warn("Could not remove element: {}", ex.getMessage(), ex);
+                logger.warn("Could not remove elements: {}", ex.getMessage(), ex);
             }
         }
     }
 
+    /**
+     * Unregisters the element, without notifying the listeners.
+     *
+     * @return the live instance of the removed element or <code>null</code> if it has not been removed
+     */
+    private E removeElement(Provider<E> provider, Map<K, E> elements, E element) {
+        try {
+            // the given "element" might not be the live instance but
+            // loaded from storage. operate on the real element:
+            K uid = element.getUID();
+            ProvidedElement<E> existing = elementIndex.get(uid);
+            if (existing == null || existing.provider != provider) {
+                logger.debug("Element with key '{}' is not known from provider {}, nothing to remove.", uid,
+                        provider.getClass().getSimpleName());
+                return null;
+            }
+            onRemoveElement(existing.element);
+            elements.remove(uid);
+            elementIndex.remove(uid, existing);
+            return existing.element;
+        } catch (Exception ex) {
+            logger.warn("Could not remove element: {}", ex.getMessage(), ex);
+            return null;
+        }
+    }
+
     @Override
     public void removeRegistryChangeListener(RegistryChangeListener<E> listener) {
         listeners.remove(listener);
@@ -187,15 +299,18 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
 
     @Override
     public void updated(Provider<E> provider, E oldElement, E element) {
-        Collection<E> elements = elementMap.get(provider);
-        if (elements != null && elements.contains(oldElement) && oldElement.getUID().equals(element.getUID())) {
+        Map<K, E> elements = providerElements.get(provider);
+        K uid = oldElement.getUID();
+        ProvidedElement<E> existing = elementIndex.get(uid);
+        if (elements != null && existing != null && existing.provider == provider
+                && oldElement.equals(existing.element) && uid.equals(element.getUID())) {
             try {
                 // the given "oldElement" might not be the live instance but
                 // loaded from storage. operate on the real element:
-                E existingElement = get(oldElement.getUID());
+                E existingElement = existing.element;
                 onUpdateElement(existingElement, element);
-                elements.remove(existingElement);
-                elements.add(element);
+                elements.put(uid, element);
+                elementIndex.replace(uid, existing, new ProvidedElement<>(element, provider));
                 notifyListenersAboutUpdatedElement(existingElement, element);
             } catch (Exception ex) {
                 logger.warn("Could not update element: {}", ex.getMessage(), ex);
@@ -205,14 +320,8 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
 
     @Override
     public E get(K key) {
-        for (final Map.Entry<Provider<E>, Collection<E>> entry : elementMap.entrySet()) {
-            for (final E element : entry.getValue()) {
-                if (key.equals(element.getUID())) {
-                    return element;
-                }
-            }
-        }
-        return null;
+        ProvidedElement<E> providedElement = elementIndex.get(key);
+        return providedElement != null ? providedElement.element : null;
     }
 
     @Override
@@ -243,7 +352,35 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
         }
     }
 
+    @Override
+    public void addAll(Collection<E> elements) {
+        if (this.managedProvider != null) {
+            this.managedProvider.addAll(elements);
+        } else {
+            throw new IllegalStateException("ManagedProvider is not available");
+        }
+    }
+
+    @Override
+    public Collection<E> updateAll(Collection<E> elements) {
+        if (this.managedProvider != null) {
+            return this.managedProvider.updateAll(elements);
+        } else {
+            throw new IllegalStateException("ManagedProvider is not available");
+        }
+    }
+
+    @Override
+    public Collection<E> removeAll(Collection<K> keys) {
+        if (this.managedProvider != null) {
+            return this.managedProvider.removeAll(keys);
+        } else {
+            throw new IllegalStateException("ManagedProvider is not available");
+        }
+    }
+
     protected void notifyListeners(E oldElement, E element, EventType eventType) {
+        revision.incrementAndGet();
         for (RegistryChangeListener<E> listener : this.listeners) {
             try {
                 switch (eventType) {
@@ -266,6 +403,11 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
         }
     }
 
+    @Override
+    public long getRevision() {
+        return revision.get();
+    }
+
     protected void notifyListeners(E element, EventType eventType) {
         notifyListeners(null, element, eventType);
     }
@@ -282,43 +424,93 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
         notifyListeners(oldElement, element, EventType.UPDATED);
     }
 
+    private void notifyListeners(Collection<E> elements, EventType eventType) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        revision.incrementAndGet();
+        Collection<E> unmodifiableElements = Collections.unmodifiableCollection(elements);
+        for (RegistryChangeListener<E> listener : this.listeners) {
+            try {
+                switch (eventType) {
+                    case ADDED:
+                        listener.addedAll(unmodifiableElements);
+                        break;
+                    case REMOVED:
+                        listener.removedAll(unmodifiableElements);
+                        break;
+                    default:
+                        break;
+                }
+            } catch (Throwable throwable) {
+                logger.error("Could not inform the listener '{}' about the '{}' event: {}", listener, eventType.name(),
+                        throwable.getMessage(), throwable);
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners about several added elements. By default, every element is passed to
+     * {@link #notifyListenersAboutAddedElement(Identifiable)}. Subclasses can override this method to notify the
+     * listeners at once through {@link #notifyListenersAboutAddedElementsInBulk(Collection)}.
+     *
+     * @param elements the added elements
+     */
+    protected void notifyListenersAboutAddedElements(Collection<E> elements) {
+        for (E element : elements) {
+            notifyListenersAboutAddedElement(element);
+        }
+    }
+
+    /**
+     * Notifies the listeners about several removed elements. By default, every element is passed to
+     * {@link #notifyListenersAboutRemovedElement(Identifiable)}. Subclasses can override this method to notify the
+     * listeners at once through {@link #notifyListenersAboutRemovedElementsInBulk(Collection)}.
+     *
+     * @param elements the removed elements
+     */
+    protected void notifyListenersAboutRemovedElements(Collection<E> elements) {
+        for (E element : elements) {
+            notifyListenersAboutRemovedElement(element);
+        }
+    }
+
+    /**
+     * Notifies the listeners about several added elements at once through
+     * {@link RegistryChangeListener#addedAll(Collection)}.
+     *
+     * @param elements the added elements
+     */
+    protected void notifyListenersAboutAddedElementsInBulk(Collection<E> elements) {
+        notifyListeners(elements, EventType.ADDED);
+    }
+
+    /**
+     * Notifies the listeners about several removed elements at once through
+     * {@link RegistryChangeListener#removedAll(Collection)}.
+     *
+     * @param elements the removed elements
+     */
+    protected void notifyListenersAboutRemovedElementsInBulk(Collection<E> elements) {
+        notifyListeners(elements, EventType.REMOVED);
+    }
+
     protected void addProvider(Provider<E> provider) {
         // only add this provider if it does not already exist
         if (!elementMap.containsKey(provider)) {
             Collection<E> elementsOfProvider = provider.getAll();
-            Collection<E> elements = new CopyOnWriteArraySet<E>();
+            Map<K, E> elements = new ConcurrentHashMap<>();
             provider.addProviderChangeListener(this);
-            elementMap.put(provider, elements);
-            for (E element : elementsOfProvider) {
-                try {
-                    K uid = element.getUID();
-                    E existingElement = get(uid);
-                    if (uid != null && existingElement != null) {
-                        logger.warn(
-                                "{} with key '{}' already exists from provider {}! Failed to bulk-add a second with the same UID from provider {}!",
-                                element.getClass().getSimpleName(), uid,
-                                getProvider(existingElement).getClass().getSimpleName(),
-                                provider.getClass().getSimpleName());
-                        continue;
-                    }
-                    onAddElement(element);
-                    elements.add(element);
-                    notifyListenersAboutAddedElement(element);
-                } catch (Exception ex) {
-                    logger.warn("Could not add element: {}", ex.getMessage(), ex);
-                }
-            }
+            providerElements.put(provider, elements);
+            elementMap.put(provider, Collections.unmodifiableCollection(elements.values()));
+            addElements(provider, elements, elementsOfProvider, "bulk-add");
             logger.debug("Provider '{}' has been added.", provider.getClass().getName());
         }
     }
 
     public Provider<E> getProvider(E element) {
-        for (Entry<Provider<E>, Collection<E>> entry : elementMap.entrySet()) {
-            if (entry.getValue().contains(element)) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        ProvidedElement<E> providedElement = elementIndex.get(element.getUID());
+        return providedElement != null && element.equals(providedElement.element) ? providedElement.provider : null;
     }
 
     protected void setManagedProvider(ManagedProvider<E, K> provider) {
@@ -372,17 +564,29 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
     }
 
     protected void removeProvider(Provider<E> provider) {
-        if (elementMap.containsKey(provider)) {
-            for (E element : elementMap.get(provider)) {
+        Map<K, E> elements = providerElements.get(provider);
+        if (elements != null) {
+            List<E> removedElements = new ArrayList<>(elements.size());
+            for (E element : elements.values()) {
                 try {
                     onRemoveElement(element);
-                    notifyListenersAboutRemovedElement(element);
+                    removedElements.add(element);
                 } catch (Exception ex) {
                     logger.warn("Could not remove element: {}", ex.getMessage(), ex);
                 }
             }
+            try {
+                notifyListenersAboutRemovedElements(removedElements);
+            } catch (Exception ex) {
+                logger.warn("Could not remove elements: {}", ex.getMessage(), ex);
+            }
 
             elementMap.remove(provider);
+            providerElements.remove(provider);
+            for (K uid : elements.keySet()) {
+                elementIndex.computeIfPresent(uid,
+                        (key, providedElement) -> providedElement.provider == provider ? null : providedElement);
+            }
 
             provider.removeProviderChangeListener(this);
 
@@ -12,6 +12,10 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.jdt.annotation.NonNull;
 
 /**
@@ -52,6 +56,51 @@ public interface ManagedProvider<E extends Identifiable<K>, K> extends Provider<
      */
     E update(@NonNull E element);
 
+    /**
+     * Adds several elements at once. By default, the elements are added one by one.
+     *
+     * @param elements elements to be added
+     */
+    default void addAll(Collection<@NonNull E> elements) {
+        for (E element : elements) {
+            add(element);
+        }
+    }
+
+    /**
+     * Removes several elements at once. By default, the elements are removed one by one.
+     *
+     * @param keys keys of the elements that should be removed
+     * @return the elements that were removed, keys without an element are skipped
+     */
+    default Collection<E> removeAll(Collection<@NonNull K> keys) {
+        List<E> removedElements = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            E element = remove(key);
+            if (element != null) {
+                removedElements.add(element);
+            }
+        }
+        return removedElements;
+    }
+
+    /**
+     * Updates several elements at once. By default, the elements are updated one by one.
+     *
+     * @param elements elements to be updated
+     * @return the old elements, elements without an existing element with the same key are skipped
+     */
+    default Collection<E> updateAll(Collection<@NonNull E> elements) {
+        List<E> oldElements = new ArrayList<>(elements.size());
+        for (E element : elements) {
+            E oldElement = update(element);
+            if (oldElement != null) {
+                oldElements.add(oldElement);
+            }
+        }
+        return oldElements;
+    }
+
     /**
      * Returns an element for the given key or null if no element for the given
      * key exists.
@@ -12,6 +12,8 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.Collection;
+
 /**
  * {@link ProviderChangeListener} can be added to {@link Provider} services, to
  * listen for changes. The {@link AbstractRegistry} implements a {@link ProviderChangeListener} and subscribes itself to
@@ -48,4 +50,30 @@ public interface ProviderChangeListener<E> {
      */
     void updated(Provider<E> provider, E oldelement, E element);
 
+    /**
+     * Notifies the listener that several elements have been added at once. By default, the listener is notified
+     * about each element separately.
+     *
+     * @param provider the provider that provides the elements
+     * @param elements the elements that have been added
+     */
+    default void addedAll(Provider<E> provider, Collection<E> elements) {
+        for (E element : elements) {
+            added(provider, element);
+        }
+    }
+
+    /**
+     * Notifies the listener that several elements have been removed at once. By default, the listener is notified
+     * about each element separately.
+     *
+     * @param provider the provider that provides the elements
+     * @param elements the elements that have been removed
+     */
+    default void removedAll(Provider<E> provider, Collection<E> elements) {
+        for (E element : elements) {
+            removed(provider, element);
+        }
+    }
+
 }
@@ -12,7 +12,9 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -95,4 +97,65 @@ public interface Registry<E extends Identifiable<K>, K> {
      * @throws IllegalStateException if no ManagedProvider is available
      */
     public @Nullable E remove(@NonNull K key);
+
+    /**
+     * Adds the given elements to the according {@link ManagedProvider}. By default, the elements are added one by
+     * one, registries backed by an {@link AbstractManagedProvider} add them in a single storage operation.
+     *
+     * @param elements elements to be added
+     * @throws IllegalStateException if no ManagedProvider is available
+     */
+    default void addAll(Collection<@NonNull E> elements) {
+        for (E element : elements) {
+            add(element);
+        }
+    }
+
+    /**
+     * Updates the given elements at the according {@link ManagedProvider}. By default, the elements are updated one
+     * by one.
+     *
+     * @param elements elements to be updated
+     * @return the old elements, elements without an existing element with the same key are skipped
+     * @throws IllegalStateException if no ManagedProvider is available
+     */
+    default Collection<E> updateAll(Collection<@NonNull E> elements) {
+        List<E> oldElements = new ArrayList<>(elements.size());
+        for (E element : elements) {
+            E oldElement = update(element);
+            if (oldElement != null) {
+                oldElements.add(oldElement);
+            }
+        }
+        return oldElements;
+    }
+
+    /**
+     * Removes the elements with the given keys from the according {@link ManagedProvider}. By default, the elements
+     * are removed one by one.
+     *
+     * @param keys keys of the elements
+     * @return the elements that were removed, keys without an element are skipped
+     * @throws IllegalStateException if no ManagedProvider is available
+     */
+    default Collection<E> removeAll(Collection<@NonNull K> keys) {
+        List<E> removedElements = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            E element = remove(key);
+            if (element != null) {
+                removedElements.add(element);
+            }
+        }
+        return removedElements;
+    }
+
+    /**
+     * Returns the revision of the registry content. The revision is increased whenever an element is added, updated
+     * or removed, so that consumers can detect changes without comparing the elements.
+     *
+     * @return the revision of the registry content or -1 if the registry does not track revisions
+     */
+    default long getRevision() {
+        return -1;
+    }
 }
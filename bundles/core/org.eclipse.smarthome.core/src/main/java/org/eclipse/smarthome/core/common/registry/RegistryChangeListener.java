@@ -12,6 +12,8 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.Collection;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
@@ -47,4 +49,28 @@ public interface RegistryChangeListener<E> {
      */
     void updated(E oldElement, E element);
 
+    /**
+     * Notifies the listener that several elements have been added at once, e.g. by a bulk operation or a new provider.
+     * By default, the listener is notified about each element separately.
+     *
+     * @param elements the elements that have been added
+     */
+    default void addedAll(Collection<E> elements) {
+        for (E element : elements) {
+            added(element);
+        }
+    }
+
+    /**
+     * Notifies the listener that several elements have been removed at once, e.g. by a bulk operation or a removed
+     * provider. By default, the listener is notified about each element separately.
+     *
+     * @param elements the elements that have been removed
+     */
+    default void removedAll(Collection<E> elements) {
+        for (E element : elements) {
+            removed(element);
+        }
+    }
+
 }
@@ -18,16 +18,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Stream;
 
-import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.registry.AbstractRegistry;
+import org.eclipse.smarthome.core.common.registry.ManagedProvider;
 import org.eclipse.smarthome.core.common.registry.Provider;
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.i18n.UnitProvider;
 import org.eclipse.smarthome.core.items.ActiveItem;
@@ -87,30 +88,63 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
         super(ItemProvider.class);
     }
 
-    @Override
-    public Stream<Item> stream() {
-        return super.stream().map(item -> {
-            setTagsFromMetadata(item);
-            return item;
-        });
+    /**
+     * Set while this registry writes the tags of an item, as it applies them to the right item instance itself.
+     * Otherwise the tags written for an updated item would be applied to the old instance, which is still registered.
+     */
+    private final ThreadLocal<Boolean> writingTags = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /**
+     * Keeps the tags of the items in sync with the tags namespace of the metadata registry, so that items can be
+     * returned as they are.
+     */
+    private final RegistryChangeListener<Metadata> tagsListener = new RegistryChangeListener<Metadata>() {
+
+        @Override
+        public void added(Metadata element) {
+            tagsChanged(element.getUID(), parseTags(element));
+        }
+
+        @Override
+        public void removed(Metadata element) {
+            tagsChanged(element.getUID(), Collections.emptySet());
+        }
+
+        @Override
+        public void updated(Metadata oldElement, Metadata element) {
+            tagsChanged(element.getUID(), parseTags(element));
+        }
+    };
+
+    private void tagsChanged(MetadataKey key, Set<String> tags) {
+        if (TAG_NAMESPACE.equals(key.getNamespace()) && !writingTags.get()) {
+            Item item = get(key.getItemName());
+            if (item instanceof ActiveItem) {
+                setTags((ActiveItem) item, tags);
+            }
+        }
     }
 
     private void setTagsFromMetadata(Item item) {
         if (item instanceof ActiveItem) {
             SortedSet<String> tags = readTags(item.getName());
             if (!tags.isEmpty()) {
-                ActiveItem activeItem = (ActiveItem) item;
-                activeItem.removeAllTags();
-                activeItem.addTags(tags);
+                setTags((ActiveItem) item, tags);
             }
         }
     }
 
-    @Override
-    public @Nullable Item get(String key) {
-        Item item = super.get(key);
-        setTagsFromMetadata(item);
-        return item;
+    private void applyTagsFromMetadata(Item item) {
+        if (item instanceof ActiveItem) {
+            setTags((ActiveItem) item, readTags(item.getName()));
+        }
+    }
+
+    private void setTags(ActiveItem item, Set<String> tags) {
+        if (!item.getTags().equals(tags)) {
+            item.removeAllTags();
+            item.addTags(tags);
+        }
     }
 
     @Override
@@ -273,10 +307,49 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
         return super.update(item);
     }
 
+    @Override
+    public void addAll(Collection<Item> items) {
+        // the bulk add is rejected as a whole, which must not leave the tags of any item behind
+        ManagedProvider<Item, String> managedProvider = getManagedProvider();
+        Set<String> names = new HashSet<>();
+        for (Item item : items) {
+            if (!names.add(item.getName()) || managedProvider.get(item.getName()) != null) {
+                throw new IllegalArgumentException(
+                        "Cannot add item, because an item with same name (" + item.getName() + ") already exists.");
+            }
+        }
+        for (Item item : items) {
+            writeTags(item.getName(), item.getTags());
+        }
+        super.addAll(items);
+    }
+
+    @Override
+    public Collection<Item> updateAll(Collection<Item> items) {
+        // items which do not exist are skipped by the bulk update, so their tags are not written either
+        ManagedProvider<Item, String> managedProvider = getManagedProvider();
+        for (Item item : items) {
+            if (managedProvider.get(item.getName()) != null) {
+                writeTags(item.getName(), item.getTags());
+            }
+        }
+        return super.updateAll(items);
+    }
+
+    private ManagedProvider<Item, String> getManagedProvider() {
+        ManagedProvider<Item, String> managedProvider = this.managedProvider;
+        if (managedProvider == null) {
+            throw new IllegalStateException("ManagedProvider is not available");
+        }
+        return managedProvider;
+    }
+
     @Override
     protected void onAddElement(Item element) throws IllegalArgumentException {
         initializeItem(element);
         addTags(element, element.getTags());
+        setTagsFromMetadata(element);
+        invalidateStateDescription(element.getName());
     }
 
     @Override
@@ -285,6 +358,7 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
             ((GenericItem) element).dispose();
         }
         removeFromGroupItems(element, element.getGroupNames());
+        invalidateStateDescription(element.getName());
     }
 
     @Override
@@ -308,6 +382,15 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
 
         removeTags(oldItem, oldItem.getTags());
         addTags(item, item.getTags());
+        setTagsFromMetadata(item);
+        invalidateStateDescription(item.getName());
+    }
+
+    private void invalidateStateDescription(String itemName) {
+        StateDescriptionService stateDescriptionService = this.stateDescriptionService;
+        if (stateDescriptionService != null) {
+            stateDescriptionService.invalidate(itemName);
+        }
     }
 
     @Override
@@ -422,17 +505,18 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
 
     private SortedSet<String> readTags(String itemName) {
         MetadataKey key = new MetadataKey(TAG_NAMESPACE, itemName);
-        SortedSet<String> tags = new TreeSet<>();
         Metadata metadata = metadataRegistry.get(key);
-        if (metadata != null) {
-            tags.addAll(Arrays.asList(metadata.getValue().split(TAG_SPLIT_REGEX)));
-        }
-        return tags;
+        return metadata != null ? parseTags(metadata) : new TreeSet<>();
+    }
+
+    private SortedSet<String> parseTags(Metadata metadata) {
+        return new TreeSet<>(Arrays.asList(metadata.getValue().split(TAG_SPLIT_REGEX)));
     }
 
     private void writeTags(String itemName, Set<String> tags) {
         MetadataKey key = new MetadataKey(TAG_NAMESPACE, itemName);
         Metadata metadata = serializeTags(key, tags);
+        writingTags.set(Boolean.TRUE);
         try {
             if (metadata == null) {
                 metadataRegistry.remove(key);
@@ -444,6 +528,8 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
         } catch (IllegalStateException e) {
             logger.debug("Could not persist tags of item '{}', presumably no ManagedMetadataProvider was available",
                     itemName);
+        } finally {
+            writingTags.remove();
         }
     }
 
@@ -458,7 +544,9 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
         if (item == null) {
             throw new IllegalArgumentException("Item " + itemName + " does not exist");
         }
-        return addTags(item, tags);
+        boolean ret = addTags(item, tags);
+        applyTagsFromMetadata(item);
+        return ret;
     }
 
     private boolean addTags(Item item, Collection<String> tags) {
@@ -479,7 +567,9 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
         if (item == null) {
             throw new IllegalArgumentException("Item " + itemName + " does not exist");
         }
-        return removeTags(item, tags);
+        boolean ret = removeTags(item, tags);
+        applyTagsFromMetadata(item);
+        return ret;
     }
 
     private boolean removeTags(Item item, Collection<String> tags) {
@@ -507,6 +597,22 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
         postEvent(ItemEventFactory.createUpdateEvent(element, oldElement));
     }
 
+    @Override
+    protected void notifyListenersAboutAddedElements(Collection<Item> elements) {
+        notifyListenersAboutAddedElementsInBulk(elements);
+        for (Item element : elements) {
+            postEvent(ItemEventFactory.createAddedEvent(element));
+        }
+    }
+
+    @Override
+    protected void notifyListenersAboutRemovedElements(Collection<Item> elements) {
+        notifyListenersAboutRemovedElementsInBulk(elements);
+        for (Item element : elements) {
+            postEvent(ItemEventFactory.createRemovedEvent(element));
+        }
+    }
+
     @Override
     public void added(Provider<Item> provider, Item element) {
         for (RegistryHook<Item> registryHook : registryHooks) {
@@ -515,6 +621,16 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
         super.added(provider, element);
     }
 
+    @Override
+    public void addedAll(Provider<Item> provider, Collection<Item> elements) {
+        for (Item element : elements) {
+            for (RegistryHook<Item> registryHook : registryHooks) {
+                registryHook.beforeAdding(element);
+            }
+        }
+        super.addedAll(provider, elements);
+    }
+
     @Override
     protected void addProvider(Provider<Item> provider) {
         for (Item element : provider.getAll()) {
@@ -533,6 +649,16 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
         }
     }
 
+    @Override
+    public void removedAll(Provider<Item> provider, Collection<Item> elements) {
+        super.removedAll(provider, elements);
+        for (Item element : elements) {
+            for (RegistryHook<Item> registryHook : registryHooks) {
+                registryHook.afterRemoving(element);
+            }
+        }
+    }
+
     @Override
     protected void removeProvider(Provider<Item> provider) {
         super.removeProvider(provider);
@@ -593,9 +719,11 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
     @Reference
     protected void setMetadataRegistry(MetadataRegistry metadataRegistry) {
         this.metadataRegistry = metadataRegistry;
+        metadataRegistry.addRegistryChangeListener(tagsListener);
     }
 
     protected void unsetMetadataRegistry(MetadataRegistry metadataRegistry) {
+        metadataRegistry.removeRegistryChangeListener(tagsListener);
         this.metadataRegistry = null;
     }
 
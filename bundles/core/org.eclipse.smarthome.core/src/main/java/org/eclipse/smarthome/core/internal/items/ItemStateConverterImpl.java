@@ -12,6 +12,10 @@
  */
 package org.eclipse.smarthome.core.internal.items;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.measure.Quantity;
 import javax.measure.Unit;
 
@@ -34,6 +38,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Convert a {@link State} to an {@link Item} accepted {@link State}.
+ * <p>
+ * The units parsed from state description patterns and the comparisons of measurement systems are cached, as they
+ * are needed for every state update of a dimensioned {@link NumberItem}. Both only depend on their keys, so the
+ * caches never have to be invalidated: a changed state description simply resolves through its new pattern.
  *
  * @author Henning Treu - initial contribution and API
  *
@@ -43,6 +51,10 @@ public class ItemStateConverterImpl implements ItemStateConverter {
 
     private final Logger logger = LoggerFactory.getLogger(ItemStateConverterImpl.class);
 
+    private final Map<String, Optional<Unit<?>>> patternUnits = new ConcurrentHashMap<>();
+
+    private final Map<Unit<?>, Map<Unit<?>, Boolean>> differentMeasurementSystems = new ConcurrentHashMap<>();
+
     private UnitProvider unitProvider;
 
     @Override
@@ -82,8 +94,7 @@ public class ItemStateConverterImpl implements ItemStateConverter {
                 Class<? extends Quantity<?>> dimension = numberItem.getDimension();
                 @SuppressWarnings({ "unchecked", "rawtypes" })
                 Unit<? extends Quantity<?>> conversionUnit = unitProvider.getUnit((Class<Quantity>) dimension);
-                if (conversionUnit != null
-                        && UnitUtils.isDifferentMeasurementSystem(conversionUnit, quantityState.getUnit())) {
+                if (conversionUnit != null && isDifferentMeasurementSystem(conversionUnit, quantityState.getUnit())) {
                     return convertOrUndef(quantityState, conversionUnit);
                 }
 
@@ -111,7 +122,15 @@ public class ItemStateConverterImpl implements ItemStateConverter {
         }
 
         String pattern = stateDescription.getPattern();
-        return UnitUtils.parseUnit(pattern);
+        if (pattern == null) {
+            return null;
+        }
+        return patternUnits.computeIfAbsent(pattern, p -> Optional.ofNullable(UnitUtils.parseUnit(p))).orElse(null);
+    }
+
+    private boolean isDifferentMeasurementSystem(Unit<? extends Quantity<?>> conversionUnit, Unit<?> stateUnit) {
+        return differentMeasurementSystems.computeIfAbsent(conversionUnit, u -> new ConcurrentHashMap<>())
+                .computeIfAbsent(stateUnit, u -> UnitUtils.isDifferentMeasurementSystem(conversionUnit, u));
     }
 
     private boolean isAccepted(Item item, State state) {
@@ -12,6 +12,14 @@
  */
 package org.eclipse.smarthome.core.internal.items;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.smarthome.core.common.registry.AbstractRegistry;
 import org.eclipse.smarthome.core.common.registry.Provider;
 import org.eclipse.smarthome.core.common.registry.ProviderChangeListener;
@@ -36,6 +44,9 @@ import org.slf4j.LoggerFactory;
 /**
  * This is the main implementing class of the {@link MetadataRegistry} interface. It
  * keeps track of all declared metadata of all metadata providers.
+ * <p>
+ * The metadata is additionally indexed by item and by namespace, so that all metadata of an item or of a namespace can
+ * be looked up without going through all metadata.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
@@ -46,6 +57,11 @@ public class MetadataRegistryImpl extends AbstractRegistry<Metadata, MetadataKey
 
     private final Logger logger = LoggerFactory.getLogger(MetadataRegistryImpl.class);
 
+    // item name -> namespace -> metadata
+    private final Map<String, Map<String, Metadata>> itemIndex = new ConcurrentHashMap<>();
+    // namespace -> item name -> metadata
+    private final Map<String, Map<String, Metadata>> namespaceIndex = new ConcurrentHashMap<>();
+
     private final ProviderChangeListener<Item> itemProviderChangeListener = new ProviderChangeListener<Item>() {
         @Override
         public void added(Provider<Item> provider, Item element) {
@@ -86,6 +102,69 @@ public class MetadataRegistryImpl extends AbstractRegistry<Metadata, MetadataKey
         return namespace.startsWith(INTERNAL_NAMESPACE_PREFIX);
     }
 
+    @Override
+    public Collection<Metadata> getItemMetadata(String itemName) {
+        return getIndexed(itemIndex, itemName);
+    }
+
+    @Override
+    public Collection<Metadata> getNamespaceMetadata(String namespace) {
+        return getIndexed(namespaceIndex, namespace);
+    }
+
+    @Override
+    public Set<String> getNamespaces() {
+        return Collections.unmodifiableSet(new HashSet<>(namespaceIndex.keySet()));
+    }
+
+    private Collection<Metadata> getIndexed(Map<String, Map<String, Metadata>> index, String key) {
+        Map<String, Metadata> metadata = index.get(key);
+        return metadata == null ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(metadata.values()));
+    }
+
+    @Override
+    protected void onAddElement(Metadata element) throws IllegalArgumentException {
+        addToIndex(element);
+    }
+
+    @Override
+    protected void onRemoveElement(Metadata element) {
+        removeFromIndex(element);
+    }
+
+    @Override
+    protected void onUpdateElement(Metadata oldElement, Metadata element) throws IllegalArgumentException {
+        addToIndex(element);
+    }
+
+    private void addToIndex(Metadata metadata) {
+        MetadataKey key = metadata.getUID();
+        addToIndex(itemIndex, key.getItemName(), key.getNamespace(), metadata);
+        addToIndex(namespaceIndex, key.getNamespace(), key.getItemName(), metadata);
+    }
+
+    private void addToIndex(Map<String, Map<String, Metadata>> index, String key, String subKey, Metadata metadata) {
+        index.compute(key, (k, entries) -> {
+            Map<String, Metadata> result = entries == null ? new ConcurrentHashMap<>() : entries;
+            result.put(subKey, metadata);
+            return result;
+        });
+    }
+
+    private void removeFromIndex(Metadata metadata) {
+        MetadataKey key = metadata.getUID();
+        removeFromIndex(itemIndex, key.getItemName(), key.getNamespace());
+        removeFromIndex(namespaceIndex, key.getNamespace(), key.getItemName());
+    }
+
+    private void removeFromIndex(Map<String, Map<String, Metadata>> index, String key, String subKey) {
+        index.computeIfPresent(key, (k, entries) -> {
+            entries.remove(subKey);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
     @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
     protected void setManagedItemProvider(ManagedItemProvider managedItemProvider) {
         managedItemProvider.addProviderChangeListener(itemProviderChangeListener);
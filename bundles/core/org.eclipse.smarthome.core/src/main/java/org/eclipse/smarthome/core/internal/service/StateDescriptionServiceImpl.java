@@ -16,11 +16,17 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.cache.CacheStatistics;
 import org.eclipse.smarthome.core.internal.types.StateDescriptionFragmentImpl;
 import org.eclipse.smarthome.core.service.StateDescriptionService;
 import org.eclipse.smarthome.core.types.StateDescription;
@@ -32,11 +38,17 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * This service contains different StateDescriptionProviders and provides a
  * getStateDescription method that returns a single StateDescription using all
  * of the providers.
+ * <p>
+ * The merged StateDescriptions are cached per item and locale, as long as all providers allow caching them (see
+ * {@link StateDescriptionFragmentProvider#isCacheable(String)}). The cache of an item is discarded through
+ * {@link #invalidate(String)}, the whole cache whenever a provider is added or removed.
  *
  * @author Lyubomir Papazov - Initial contribution
  *
@@ -45,6 +57,15 @@ import org.osgi.service.component.annotations.ReferencePolicy;
 @Component
 public class StateDescriptionServiceImpl implements StateDescriptionService {
 
+    private final Logger logger = LoggerFactory.getLogger(StateDescriptionServiceImpl.class);
+
+    private final Map<String, Map<String, Optional<StateDescription>>> cache = new ConcurrentHashMap<>();
+    private final AtomicLong cacheGeneration = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder totalMergeTime = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
     @Deprecated
     private final Set<StateDescriptionProvider> stateDescriptionProviders = Collections
             .synchronizedSet(new TreeSet<StateDescriptionProvider>(new Comparator<StateDescriptionProvider>() {
@@ -67,24 +88,117 @@ public class StateDescriptionServiceImpl implements StateDescriptionService {
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
     public void addStateDescriptionProvider(StateDescriptionProvider provider) {
         stateDescriptionProviders.add(provider);
+        invalidateAll();
     }
 
     @Deprecated
     public void removeStateDescriptionProvider(StateDescriptionProvider provider) {
         stateDescriptionProviders.remove(provider);
+        invalidateAll();
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
     public void addStateDescriptionFragmentProvider(StateDescriptionFragmentProvider provider) {
         stateDescriptionFragmentProviders.add(provider);
+        invalidateAll();
     }
 
     public void removeStateDescriptionFragmentProvider(StateDescriptionFragmentProvider provider) {
         stateDescriptionFragmentProviders.remove(provider);
+        invalidateAll();
     }
 
     @Override
     public @Nullable StateDescription getStateDescription(String itemName, @Nullable Locale locale) {
+        String localeKey = locale == null ? "" : locale.toString();
+        Map<String, Optional<StateDescription>> itemCache = cache.get(itemName);
+        Optional<StateDescription> cached = itemCache == null ? null : itemCache.get(localeKey);
+        if (cached != null) {
+            hitCount.increment();
+            return cached.orElse(null);
+        }
+
+        missCount.increment();
+        long generation = cacheGeneration.get();
+        long start = System.nanoTime();
+        StateDescription stateDescription = mergeStateDescriptions(itemName, locale);
+        totalMergeTime.add(System.nanoTime() - start);
+        if (isCacheable(itemName)) {
+            synchronized (cache) {
+                // do not cache a result which might have been invalidated while it was merged
+                if (cacheGeneration.get() == generation) {
+                    cache.computeIfAbsent(itemName, k -> new ConcurrentHashMap<>()).put(localeKey,
+                            Optional.ofNullable(stateDescription));
+                }
+            }
+        }
+        return stateDescription;
+    }
+
+    @Override
+    public void invalidate(String itemName) {
+        synchronized (cache) {
+            cacheGeneration.incrementAndGet();
+            if (cache.remove(itemName) != null) {
+                invalidationCount.increment();
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (cache) {
+            cacheGeneration.incrementAndGet();
+            invalidationCount.add(cache.size());
+            cache.clear();
+        }
+        logger.debug("Cleared state description cache: {}", getCacheStatistics());
+    }
+
+    @Override
+    public long getRevision() {
+        if (!stateDescriptionProviders.isEmpty()) {
+            // the deprecated providers cannot announce changes
+            return -1;
+        }
+        synchronized (stateDescriptionFragmentProviders) {
+            for (StateDescriptionFragmentProvider provider : stateDescriptionFragmentProviders) {
+                if (!provider.announcesChanges()) {
+                    return -1;
+                }
+            }
+        }
+        // every invalidation and every change of the providers starts a new generation
+        return cacheGeneration.get();
+    }
+
+    /**
+     * Returns the statistics of the state description cache, where the evictions are the items whose cached state
+     * descriptions have been invalidated.
+     *
+     * @return the cache statistics
+     */
+    public CacheStatistics getCacheStatistics() {
+        long misses = missCount.sum();
+        return new CacheStatistics(hitCount.sum(), misses, misses, totalMergeTime.sum(), invalidationCount.sum());
+    }
+
+    private boolean isCacheable(String itemName) {
+        if (!stateDescriptionProviders.isEmpty()) {
+            // the deprecated providers cannot announce changes
+            return false;
+        }
+        synchronized (stateDescriptionFragmentProviders) {
+            for (StateDescriptionFragmentProvider provider : stateDescriptionFragmentProviders) {
+                if (!provider.isCacheable(itemName)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private @Nullable StateDescription mergeStateDescriptions(String itemName, @Nullable Locale locale) {
         StateDescriptionFragment result;
         StateDescription legacy = getLegacyStateDescription(itemName, locale);
         StateDescriptionFragment stateDescriptionFragment = mergeStateDescriptionFragments(itemName, locale);
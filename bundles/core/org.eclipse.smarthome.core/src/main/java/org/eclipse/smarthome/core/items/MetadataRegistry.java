@@ -12,6 +12,10 @@
  */
 package org.eclipse.smarthome.core.items;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.core.common.registry.Registry;
 
@@ -37,4 +41,38 @@ public interface MetadataRegistry extends Registry<Metadata, MetadataKey> {
      */
     boolean isInternalNamespace(String namespace);
 
+    /**
+     * Returns the metadata of the given item in all namespaces. The default implementation filters all metadata,
+     * implementations should answer it from an index.
+     *
+     * @param itemName the name of the item
+     * @return the metadata of the item, an empty collection if there is none
+     */
+    default Collection<Metadata> getItemMetadata(String itemName) {
+        return getAll().stream().filter(metadata -> metadata.getUID().getItemName().equals(itemName))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the metadata of all items in the given namespace. The default implementation filters all metadata,
+     * implementations should answer it from an index.
+     *
+     * @param namespace the metadata namespace
+     * @return the metadata in the namespace, an empty collection if there is none
+     */
+    default Collection<Metadata> getNamespaceMetadata(String namespace) {
+        return getAll().stream().filter(metadata -> metadata.getUID().getNamespace().equals(namespace))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns all namespaces which contain metadata. The default implementation collects them from all metadata,
+     * implementations should answer it from an index.
+     *
+     * @return the namespaces
+     */
+    default Set<String> getNamespaces() {
+        return getAll().stream().map(metadata -> metadata.getUID().getNamespace()).collect(Collectors.toSet());
+    }
+
 }
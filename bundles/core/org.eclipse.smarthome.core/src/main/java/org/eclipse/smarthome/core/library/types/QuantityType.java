@@ -16,6 +16,9 @@ import static org.eclipse.jdt.annotation.DefaultLocation.*;
 
 import java.math.BigDecimal;
 import java.util.IllegalFormatConversionException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 import javax.measure.Dimension;
 import javax.measure.IncommensurableException;
@@ -61,7 +64,10 @@ public class QuantityType<T extends Quantity<T>> extends Number
     // split on any blank character, even none (\\s*) which occurs after a digit (?<=\\d) and before
     // a "unit" character ?=[a-zA-Z°µ%'] which itself must not be preceded by plus/minus digit (?![\\+\\-]?\\d).
     // The later would be an exponent from the scalar value.
-    private static final String UNIT_PATTERN = "(?<=\\d)\\s*(?=[a-zA-Z°µ%'](?![\\+\\-]?\\d))";
+    private static final Pattern UNIT_PATTERN = Pattern.compile("(?<=\\d)\\s*(?=[a-zA-Z°µ%'](?![\\+\\-]?\\d))");
+
+    // the converters by source and target unit, as looking them up walks the unit definitions
+    private static final Map<Unit<?>, Map<Unit<?>, UnitConverter>> CONVERTERS = new ConcurrentHashMap<>();
 
     private final Quantity<T> quantity;
 
@@ -82,7 +88,7 @@ public class QuantityType<T extends Quantity<T>> extends Number
      */
     @SuppressWarnings("unchecked")
     public QuantityType(String value) {
-        String[] constituents = value.split(UNIT_PATTERN);
+        String[] constituents = UNIT_PATTERN.split(value);
 
         // getQuantity needs a space between numeric value and unit
         String formatted = String.join(" ", constituents);
@@ -98,9 +104,7 @@ public class QuantityType<T extends Quantity<T>> extends Number
      *            unit for conversion.
      */
     public QuantityType(Number value, Unit<T> unit) {
-        // Avoid scientific notation for double
-        BigDecimal bd = new BigDecimal(value.toString());
-        quantity = (Quantity<T>) Quantities.getQuantity(bd, unit);
+        quantity = (Quantity<T>) Quantities.getQuantity(toBigDecimal(value), unit);
     }
 
     /**
@@ -156,12 +160,15 @@ public class QuantityType<T extends Quantity<T>> extends Number
 
     @Override
     public int compareTo(QuantityType<T> o) {
+        if (getUnit().equals(o.getUnit())) {
+            return Double.compare(doubleValue(), o.doubleValue());
+        }
         if (quantity.getUnit().isCompatible(o.quantity.getUnit())) {
-            QuantityType<T> v1 = this.toUnit(getUnit().getSystemUnit());
-            QuantityType<?> v2 = o.toUnit(o.getUnit().getSystemUnit());
-            if (v1 != null && v2 != null) {
-                return Double.compare(v1.doubleValue(), v2.doubleValue());
-            } else {
+            try {
+                Number v1 = getConverter(getUnit(), getUnit().getSystemUnit()).convert(quantity.getValue());
+                Number v2 = getConverter(o.getUnit(), o.getUnit().getSystemUnit()).convert(o.quantity.getValue());
+                return Double.compare(toBigDecimal(v1).doubleValue(), toBigDecimal(v2).doubleValue());
+            } catch (UnconvertibleException | IncommensurableException e) {
                 throw new IllegalArgumentException("Unable to convert to system unit during compare.");
             }
         } else {
@@ -187,10 +194,8 @@ public class QuantityType<T extends Quantity<T>> extends Number
     public @Nullable QuantityType<T> toUnit(Unit<?> targetUnit) {
         if (!targetUnit.equals(getUnit())) {
             try {
-                UnitConverter uc = getUnit().getConverterToAny(targetUnit);
-                Quantity<?> result = Quantities.getQuantity(uc.convert(quantity.getValue()), targetUnit);
-
-                return new QuantityType<T>(result.getValue(), (Unit<T>) targetUnit);
+                UnitConverter uc = getConverter(getUnit(), targetUnit);
+                return new QuantityType<T>(uc.convert(quantity.getValue()), (Unit<T>) targetUnit);
             } catch (UnconvertibleException | IncommensurableException e) {
                 logger.debug("Unable to convert unit from {} to {}", getUnit(), targetUnit);
                 return null;
@@ -210,7 +215,32 @@ public class QuantityType<T extends Quantity<T>> extends Number
     }
 
     public BigDecimal toBigDecimal() {
-        return new BigDecimal(quantity.getValue().toString());
+        return toBigDecimal(quantity.getValue());
+    }
+
+    private static BigDecimal toBigDecimal(Number value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof Double) {
+            // same as parsing Double.toString(), which avoids the scientific notation of new BigDecimal(double)
+            return BigDecimal.valueOf(value.doubleValue());
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte) {
+            return BigDecimal.valueOf(value.longValue());
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private static UnitConverter getConverter(Unit<?> sourceUnit, Unit<?> targetUnit)
+            throws UnconvertibleException, IncommensurableException {
+        Map<Unit<?>, UnitConverter> converters = CONVERTERS.computeIfAbsent(sourceUnit,
+                unit -> new ConcurrentHashMap<>());
+        UnitConverter converter = converters.get(targetUnit);
+        if (converter == null) {
+            converter = sourceUnit.getConverterToAny(targetUnit);
+            converters.put(targetUnit, converter);
+        }
+        return converter;
     }
 
     @Override
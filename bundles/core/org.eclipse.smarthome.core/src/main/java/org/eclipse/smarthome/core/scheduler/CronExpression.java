@@ -14,6 +14,7 @@ package org.eclipse.smarthome.core.scheduler;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.LinkedList;
@@ -43,6 +44,9 @@ public final class CronExpression extends AbstractExpression<CronExpressionPart>
 
     private final Logger logger = LoggerFactory.getLogger(CronExpression.class);
 
+    // not initialized on declaration, as it is set while the super constructor parses the expression
+    private CronFields fields;
+
     public enum Month {
         JANUARY("JAN", Calendar.JANUARY, 31),
         FEBRUARY("FEB", Calendar.FEBRUARY, 28) {
@@ -251,6 +255,63 @@ public final class CronExpression extends AbstractExpression<CronExpressionPart>
             setExpressionParts(parts);
         }
 
+        fields = createFields();
+    }
+
+    /**
+     * Creates the fields for the direct calculation of the fire times, if the expression does not make use of any of
+     * the special day options (L, W, #) or of month names, which are still evaluated through candidate dates.
+     */
+    private CronFields createFields() {
+        DayOfMonthExpressionPart domPart = getExpressionPart(DayOfMonthExpressionPart.class);
+        DayOfWeekExpressionPart dowPart = getExpressionPart(DayOfWeekExpressionPart.class);
+        MonthsExpressionPart monthsPart = getExpressionPart(MonthsExpressionPart.class);
+        if (domPart.isLastDayOfMonth() || domPart.isLastWeekDayOfMonth() || domPart.isNearestWeekDay()
+                || dowPart.isLastDayOfMonth() || dowPart.isLastDayOfWeek() || dowPart.isInstanceOfWeekday()
+                || !StringUtils.containsOnly(monthsPart.getPart(), "0123456789*/-,")) {
+            return null;
+        }
+
+        // a specific day of week takes precedence over the day of month, unless both are specific
+        boolean matchDayOfWeek;
+        if (dowPart.isNotSpecific()) {
+            matchDayOfWeek = false;
+        } else if (domPart.isNotSpecific() || domPart.getPart().equals("*")) {
+            matchDayOfWeek = true;
+        } else {
+            return null;
+        }
+
+        BitSet daysOfMonth = domPart.getPart().equals("*") ? toBitSet(DayOfMonthExpressionPart.MIN_MONTHDAY,
+                DayOfMonthExpressionPart.MAX_MONTHDAY) : toBitSet(domPart.getValueSet());
+        return new CronFields(toBitSet(getExpressionPart(SecondsExpressionPart.class).getValueSet()),
+                toBitSet(getExpressionPart(MinutesExpressionPart.class).getValueSet()),
+                toBitSet(getExpressionPart(HoursExpressionPart.class).getValueSet()), daysOfMonth,
+                toBitSet(monthsPart.getValueSet()), toBitSet(dowPart.getValueSet()), matchDayOfWeek,
+                toBitSet(getExpressionPart(YearsExpressionPart.class).getValueSet()));
+    }
+
+    private static BitSet toBitSet(Iterable<Integer> values) {
+        BitSet bits = new BitSet();
+        for (Integer value : values) {
+            bits.set(value);
+        }
+        return bits;
+    }
+
+    private static BitSet toBitSet(int from, int to) {
+        BitSet bits = new BitSet();
+        bits.set(from, to + 1);
+        return bits;
+    }
+
+    @Override
+    public Date getTimeAfter(Date afterTime) {
+        CronFields fields = this.fields;
+        if (fields == null) {
+            return super.getTimeAfter(afterTime);
+        }
+        return fields.getTimeAfter(afterTime, getTimeZone());
     }
 
     @Override
@@ -1227,4 +1288,120 @@ public final class CronExpression extends AbstractExpression<CronExpressionPart>
     public boolean hasFloatingStartDate() {
         return true;
     }
+
+    /**
+     * The allowed values of each field of a cron expression. The next fire time is found by advancing a calendar
+     * field by field to the next allowed value, instead of expanding and pruning lists of candidate dates.
+     */
+    private static final class CronFields {
+
+        // each iteration advances the calendar, a year without any match takes at most a few hundred of them
+        private static final int MAX_ITERATIONS = 100000;
+
+        private final BitSet seconds;
+        private final BitSet minutes;
+        private final BitSet hours;
+        private final BitSet daysOfMonth;
+        private final BitSet months;
+        private final BitSet daysOfWeek;
+        private final boolean matchDayOfWeek;
+        private final BitSet years;
+
+        CronFields(BitSet seconds, BitSet minutes, BitSet hours, BitSet daysOfMonth, BitSet months, BitSet daysOfWeek,
+                boolean matchDayOfWeek, BitSet years) {
+            this.seconds = seconds;
+            this.minutes = minutes;
+            this.hours = hours;
+            this.daysOfMonth = daysOfMonth;
+            this.months = months;
+            this.daysOfWeek = daysOfWeek;
+            this.matchDayOfWeek = matchDayOfWeek;
+            this.years = years;
+        }
+
+        Date getTimeAfter(Date afterTime, TimeZone timeZone) {
+            Calendar cal = Calendar.getInstance(timeZone);
+            cal.setTime(afterTime);
+            cal.set(Calendar.MILLISECOND, 0);
+            cal.add(Calendar.SECOND, 1);
+
+            for (int i = 0; i < MAX_ITERATIONS; i++) {
+                int year = cal.get(Calendar.YEAR);
+                if (!years.get(year)) {
+                    int next = years.nextSetBit(year);
+                    if (next < 0) {
+                        return null;
+                    }
+                    cal.set(next, Calendar.JANUARY, 1, 0, 0, 0);
+                    continue;
+                }
+
+                int month = cal.get(Calendar.MONTH) + 1;
+                if (!months.get(month)) {
+                    int next = months.nextSetBit(month);
+                    if (next < 0) {
+                        cal.set(year + 1, Calendar.JANUARY, 1, 0, 0, 0);
+                    } else {
+                        cal.set(year, next - 1, 1, 0, 0, 0);
+                    }
+                    continue;
+                }
+
+                boolean dayMatches = matchDayOfWeek ? daysOfWeek.get(cal.get(Calendar.DAY_OF_WEEK))
+                        : daysOfMonth.get(cal.get(Calendar.DAY_OF_MONTH));
+                if (!dayMatches) {
+                    startNextDay(cal);
+                    continue;
+                }
+
+                int hour = cal.get(Calendar.HOUR_OF_DAY);
+                if (!hours.get(hour)) {
+                    int next = hours.nextSetBit(hour);
+                    if (next < 0) {
+                        startNextDay(cal);
+                    } else {
+                        cal.set(Calendar.HOUR_OF_DAY, next);
+                        cal.set(Calendar.MINUTE, 0);
+                        cal.set(Calendar.SECOND, 0);
+                    }
+                    continue;
+                }
+
+                int minute = cal.get(Calendar.MINUTE);
+                if (!minutes.get(minute)) {
+                    int next = minutes.nextSetBit(minute);
+                    if (next < 0) {
+                        cal.add(Calendar.HOUR_OF_DAY, 1);
+                        cal.set(Calendar.MINUTE, 0);
+                    } else {
+                        cal.set(Calendar.MINUTE, next);
+                    }
+                    cal.set(Calendar.SECOND, 0);
+                    continue;
+                }
+
+                int second = cal.get(Calendar.SECOND);
+                if (!seconds.get(second)) {
+                    int next = seconds.nextSetBit(second);
+                    if (next < 0) {
+                        cal.add(Calendar.MINUTE, 1);
+                        cal.set(Calendar.SECOND, 0);
+                    } else {
+                        cal.set(Calendar.SECOND, next);
+                    }
+                    continue;
+                }
+
+                return cal.getTime();
+            }
+            return null;
+        }
+
+        private void startNextDay(Calendar cal) {
+            cal.add(Calendar.DAY_OF_MONTH, 1);
+            cal.set(Calendar.HOUR_OF_DAY, 0);
+            cal.set(Calendar.MINUTE, 0);
+            cal.set(Calendar.SECOND, 0);
+        }
+    }
 }
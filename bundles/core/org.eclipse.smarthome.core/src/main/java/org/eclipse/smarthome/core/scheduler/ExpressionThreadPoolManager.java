@@ -18,7 +18,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
@@ -78,6 +79,8 @@ public class ExpressionThreadPoolManager extends ThreadPoolManager {
 
     public static class ExpressionThreadPoolExecutor extends ScheduledThreadPoolExecutor {
         private final Map<Expression, RunnableWrapper> scheduled = new ConcurrentHashMap<>();
+        // guarded by the monitoringLock
+        private final Queue<ScheduledExpression> nextExecutions = new PriorityQueue<>();
         private final Map<RunnableWrapper, List<ScheduledFuture<?>>> futures = Collections
                 .synchronizedMap(new HashMap<>());
         private final Lock futuresLock = new ReentrantLock();
@@ -160,6 +163,11 @@ public class ExpressionThreadPoolManager extends ThreadPoolManager {
             }
         }
 
+        /**
+         * Waits for the earliest fire time in the queue of expressions and only then calculates the following fire
+         * time of the expression that has fired. The task of an expression is always scheduled for its next fire
+         * time ahead, so that it is executed on time and can be cancelled through its future.
+         */
         Runnable monitorTask = new Runnable() {
 
             @Override
@@ -167,119 +175,21 @@ public class ExpressionThreadPoolManager extends ThreadPoolManager {
                 logger.debug("Starting the monitor thread '{}'", Thread.currentThread().getName());
                 while (true) {
                     try {
-                        Date earliestExecution = null;
-                        final Date now = new Date();
-
-                        List<Expression> finishedExpressions = new ArrayList<Expression>();
-
-                        if (logger.isTraceEnabled()) {
-                            logger.trace("There are {} scheduled expressions", scheduled.keySet().size());
-                            for (Entry<Expression, RunnableWrapper> entry : scheduled.entrySet()) {
-                                logger.trace("  Runnable {} with {}", entry.getValue(), entry.getValue());
-                            }
-                        }
-                        for (Expression e : scheduled.keySet()) {
-                            Date time = e.getTimeAfter(now);
-
-                            if (time != null) {
-                                logger.trace("Expression's '{}' next execution time is {}", e, time);
-
-                                final RunnableWrapper task = scheduled.get(e);
-
-                                if (task != null) {
-                                    try {
-                                        futuresLock.lock();
-                                        List<ScheduledFuture<?>> taskFutures = futures.get(task);
-
-                                        if (taskFutures == null) {
-                                            taskFutures = new ArrayList<ScheduledFuture<?>>();
-                                            futures.put(task, taskFutures);
-                                        }
-
-                                        boolean schedule = false;
-
-                                        long delay = time.getTime() - now.getTime();
-                                        if (taskFutures.size() == 0) {
-                                            // if no futures are currently scheduled, we definitely have to schedule the
-                                            // task
-                                            schedule = true;
-                                        } else {
-                                            // check the time stamp of the last scheduled task if an additional task
-                                            // needs
-                                            // to be scheduled
-                                            Date timestamp = timestamps.get(taskFutures.get(taskFutures.size() - 1));
-
-                                            if (time.after(timestamp)) {
-                                                schedule = true;
-                                            } else {
-                                                logger.trace("The task '{}' is already scheduled to execute in {} ms",
-                                                        task, delay);
-                                            }
-                                        }
-
-                                        if (schedule) {
-                                            logger.debug("Scheduling the task '{}' to execute in {} ms", task, delay);
-                                            ScheduledFuture<?> newFuture = ExpressionThreadPoolExecutor.this
-                                                    .schedule(task, delay, TimeUnit.MILLISECONDS);
-                                            taskFutures.add(newFuture);
-                                            logger.trace("Task '{}' has now {} Futures", task, taskFutures.size());
-                                            timestamps.put(newFuture, time);
-                                        }
-                                        if (logger.isTraceEnabled()) {
-                                            for (ScheduledFuture<?> future : taskFutures) {
-                                                logger.trace("Task {} ({}) will run in {}", task,
-                                                        System.identityHashCode(task),
-                                                        future.getDelay(TimeUnit.MILLISECONDS));
-                                            }
-                                        }
-                                    } finally {
-                                        futuresLock.unlock();
-                                    }
-                                } else {
-                                    logger.trace("Expressions without tasks are not valid");
-                                }
-
-                                if (earliestExecution == null) {
-                                    earliestExecution = time;
-                                } else {
-                                    if (time.before(earliestExecution)) {
-                                        earliestExecution = time;
-                                    }
-                                }
-                            } else {
-                                logger.debug("Expression '{}' has no future executions anymore", e);
-                                finishedExpressions.add(e);
-                            }
+                        ScheduledExpression entry = takeNextExpression();
+                        if (entry == null) {
+                            continue;
                         }
 
-                        for (Expression e : finishedExpressions) {
-                            scheduled.remove(e);
-                            logger.trace("Cleaning up finished expression '{}'", e);
-                        }
-
-                        if (earliestExecution != null) {
-                            boolean newExpression = false;
-                            while (!newExpression && new Date().before(earliestExecution)) {
-                                if (logger.isTraceEnabled()) {
-                                    logger.trace("Putting the monitor thread '{}' to sleep for {} ms",
-                                            Thread.currentThread().getName(),
-                                            earliestExecution.getTime() - new Date().getTime());
-                                }
-                                try {
-                                    monitoringLock.lock();
-                                    newExpression = newExpressionCondition.await(
-                                            earliestExecution.getTime() - new Date().getTime(), TimeUnit.MILLISECONDS);
-                                    logger.trace("Monitor thread woke again with {}", newExpression);
-                                } finally {
-                                    monitoringLock.unlock();
-                                }
-                            }
-                        } else {
-                            logger.trace("Putting the monitor thread '{}' to sleep for {} ms",
-                                    Thread.currentThread().getName(), THREAD_MONITOR_SLEEP);
+                        final Date now = new Date();
+                        Date time = entry.expression.getTimeAfter(now);
+                        if (time == null) {
+                            logger.debug("Expression '{}' has no future executions anymore", entry.expression);
+                            scheduled.remove(entry.expression, entry.task);
+                            logger.trace("Cleaning up finished expression '{}'", entry.expression);
+                        } else if (scheduleExecution(entry, time, now)) {
                             try {
                                 monitoringLock.lock();
-                                newExpressionCondition.await(THREAD_MONITOR_SLEEP, TimeUnit.MILLISECONDS);
+                                nextExecutions.add(new ScheduledExpression(entry.expression, entry.task, time));
                             } finally {
                                 monitoringLock.unlock();
                             }
@@ -295,6 +205,63 @@ public class ExpressionThreadPoolManager extends ThreadPoolManager {
             }
         };
 
+        /**
+         * Removes the expression with the earliest fire time from the queue once that time has been reached, or waits
+         * for it or for a new expression.
+         *
+         * @return the expression that needs its next fire time to be calculated, null if there is none yet
+         */
+        private ScheduledExpression takeNextExpression() throws InterruptedException {
+            try {
+                monitoringLock.lock();
+                ScheduledExpression entry = nextExecutions.peek();
+                if (entry == null) {
+                    logger.trace("Putting the monitor thread '{}' to sleep for {} ms",
+                            Thread.currentThread().getName(), THREAD_MONITOR_SLEEP);
+                    newExpressionCondition.await(THREAD_MONITOR_SLEEP, TimeUnit.MILLISECONDS);
+                    return null;
+                }
+                if (entry.time != null) {
+                    long delay = entry.time.getTime() - System.currentTimeMillis();
+                    if (delay > 0) {
+                        logger.trace("Putting the monitor thread '{}' to sleep for {} ms",
+                                Thread.currentThread().getName(), delay);
+                        newExpressionCondition.await(delay, TimeUnit.MILLISECONDS);
+                        return null;
+                    }
+                }
+                nextExecutions.poll();
+                return isScheduled(entry) ? entry : null;
+            } finally {
+                monitoringLock.unlock();
+            }
+        }
+
+        private boolean isScheduled(ScheduledExpression entry) {
+            return scheduled.get(entry.expression) == entry.task;
+        }
+
+        private boolean scheduleExecution(ScheduledExpression entry, Date time, Date now) {
+            try {
+                futuresLock.lock();
+                // the expression might have been removed in the meantime, which also removes its futures
+                if (!isScheduled(entry)) {
+                    return false;
+                }
+                RunnableWrapper task = entry.task;
+                long delay = time.getTime() - now.getTime();
+                logger.debug("Scheduling the task '{}' to execute in {} ms", task, delay);
+                ScheduledFuture<?> newFuture = schedule(task, delay, TimeUnit.MILLISECONDS);
+                List<ScheduledFuture<?>> taskFutures = futures.computeIfAbsent(task, t -> new ArrayList<>());
+                taskFutures.add(newFuture);
+                timestamps.put(newFuture, time);
+                logger.trace("Task '{}' has now {} Futures", task, taskFutures.size());
+                return true;
+            } finally {
+                futuresLock.unlock();
+            }
+        }
+
         public void schedule(final Runnable task, final Expression expression) {
             if (task == null || expression == null) {
                 throw new IllegalArgumentException("Task cannot be scheduled as task or expression is null.");
@@ -315,6 +282,7 @@ public class ExpressionThreadPoolManager extends ThreadPoolManager {
             logger.debug("Scheduled task '{}' using expression '{}'", wrapper, expression);
             try {
                 monitoringLock.lock();
+                nextExecutions.add(new ScheduledExpression(expression, wrapper, null));
                 newExpressionCondition.signalAll();
             } finally {
                 monitoringLock.unlock();
@@ -324,6 +292,12 @@ public class ExpressionThreadPoolManager extends ThreadPoolManager {
         public boolean remove(Expression expression) {
             logger.debug("Removing the expression '{}' from the scheduler", expression);
             RunnableWrapper task = scheduled.remove(expression);
+            try {
+                monitoringLock.lock();
+                nextExecutions.removeIf(entry -> entry.expression.equals(expression));
+            } finally {
+                monitoringLock.unlock();
+            }
 
             if (task != null) {
                 return doRemoveFutures(task);
@@ -388,5 +362,30 @@ public class ExpressionThreadPoolManager extends ThreadPoolManager {
                 futuresLock.unlock();
             }
         }
+
+        /**
+         * An expression in the queue of the monitor thread, ordered by its next fire time. The fire time of a newly
+         * scheduled expression is not known yet, so that it is calculated right away.
+         */
+        private static class ScheduledExpression implements Comparable<ScheduledExpression> {
+
+            private final Expression expression;
+            private final RunnableWrapper task;
+            private final Date time;
+
+            ScheduledExpression(Expression expression, RunnableWrapper task, Date time) {
+                this.expression = expression;
+                this.task = task;
+                this.time = time;
+            }
+
+            @Override
+            public int compareTo(ScheduledExpression other) {
+                if (time == null || other.time == null) {
+                    return time == null ? (other.time == null ? 0 : -1) : 1;
+                }
+                return time.compareTo(other.time);
+            }
+        }
     }
 }
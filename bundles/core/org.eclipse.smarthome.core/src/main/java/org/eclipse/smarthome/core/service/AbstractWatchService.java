@@ -14,10 +14,12 @@ package org.eclipse.smarthome.core.service;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchEvent.Kind;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -114,4 +116,29 @@ public abstract class AbstractWatchService {
      */
     protected abstract void processWatchEvent(WatchEvent<?> event, Kind<?> kind, Path path);
 
+    /**
+     * Determines whether the events are passed individually to {@link #processWatchEvent(WatchEvent, Kind, Path)} or
+     * collected into change sets, which are passed to {@link #processWatchEvents(Map)}. Each new change restarts the
+     * delay, so that a burst of changes is delivered at once.
+     *
+     * @return the delay in milliseconds after the last change before a change set is delivered or <code>0</code>
+     *         (default) if the events should be processed individually
+     */
+    protected long getChangeSetDelay() {
+        return 0;
+    }
+
+    /**
+     * Processes a set of changes, if the service has a positive {@link #getChangeSetDelay()}. Subsequent events for
+     * the same path are coalesced into a single change (e.g. a created and then modified file is reported as
+     * {@link StandardWatchEventKinds#ENTRY_CREATE}, a created and deleted file is not reported at all) and
+     * modifications which did not change the content of a file are dropped.
+     *
+     * @param changes the changed paths (resolved to the {@link #getSourcePath()}) in the order of their first change,
+     *            mapped to the kind of the change
+     */
+    protected void processWatchEvents(Map<Path, Kind<?>> changes) {
+        logger.warn("{} uses change sets but does not process them", getClass().getSimpleName());
+    }
+
 }
@@ -38,4 +38,31 @@ public interface StateDescriptionService {
      */
     @Nullable
     StateDescription getStateDescription(String itemName, @Nullable Locale locale);
+
+    /**
+     * Discards the StateDescriptions of the given item, which implementations might have cached. Must be called
+     * when information the StateDescription of the item is based on has changed.
+     *
+     * @param itemName the item for which the StateDescription has changed (must not be null)
+     */
+    default void invalidate(String itemName) {
+    }
+
+    /**
+     * Discards all StateDescriptions which implementations might have cached. Must be called when information the
+     * StateDescriptions of an unknown set of items are based on has changed.
+     */
+    default void invalidateAll() {
+    }
+
+    /**
+     * Returns the revision of the StateDescriptions, which is increased whenever a StateDescription might have
+     * changed without an update of its item.
+     *
+     * @return the revision of the StateDescriptions or -1 if changes cannot be tracked, e.g. as some provider does
+     *         not announce them
+     */
+    default long getRevision() {
+        return -1;
+    }
 }
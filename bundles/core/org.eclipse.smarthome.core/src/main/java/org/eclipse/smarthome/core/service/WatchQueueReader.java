@@ -33,11 +33,15 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -59,21 +63,45 @@ public class WatchQueueReader implements Runnable {
 
     private static final String THREAD_POOL_NAME = "file-processing";
     private static final int PROCESSING_DELAY = 1000; // ms
+    private static final int MAX_CHANGE_SET_DELAY_FACTOR = 5;
 
     protected final Logger logger = LoggerFactory.getLogger(WatchQueueReader.class);
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME);
 
     protected WatchService watchService;
 
-    private final Map<WatchKey, Path> registeredKeys = new HashMap<>();
-    private final Map<WatchKey, AbstractWatchService> keyToService = new HashMap<>();
+    private final Map<WatchKey, Map<AbstractWatchService, Registration>> keyToServices = new HashMap<>();
     private final Map<AbstractWatchService, Map<Path, byte[]>> hashes = new HashMap<>();
-    private final Map<WatchKey, @Nullable Map<Path, @Nullable ScheduledFuture<?>>> futures = new ConcurrentHashMap<>();
+    private final Map<AbstractWatchService, @Nullable Map<Path, @Nullable ScheduledFuture<?>>> futures = new ConcurrentHashMap<>();
+    private final Map<AbstractWatchService, ChangeSet> changeSets = new HashMap<>();
 
     private Thread qr;
 
     private static final WatchQueueReader INSTANCE = new WatchQueueReader();
 
+    /**
+     * The directory and the event kinds a single service has registered for a {@link WatchKey}.
+     */
+    private static class Registration {
+        private final Path directory;
+        private final Set<Kind<?>> kinds;
+
+        private Registration(Path directory, Set<Kind<?>> kinds) {
+            this.directory = directory;
+            this.kinds = kinds;
+        }
+    }
+
+    /**
+     * The changes collected for a service which delivers change sets, see
+     * {@link AbstractWatchService#getChangeSetDelay()}.
+     */
+    private static class ChangeSet {
+        private final Map<Path, Kind<?>> changes = new LinkedHashMap<>();
+        private final long created = System.nanoTime();
+        private @Nullable ScheduledFuture<?> flushJob;
+    }
+
     /**
      * Perform a simple cast of given event to WatchEvent
      *
@@ -152,51 +180,77 @@ public class WatchQueueReader implements Runnable {
                 return;
             }
         }
+
+        // A directory has a single registration in the watch service, so it has to cover the event kinds of all
+        // services watching it. The events are filtered again for each service when they are dispatched.
+        Set<Kind<?>> serviceKinds = new HashSet<>(Arrays.asList(kinds));
+        Set<Kind<?>> allKinds = new HashSet<>(serviceKinds);
+        WatchKey existingKey = getRegisteredKey(directory);
+        if (existingKey != null) {
+            keyToServices.get(existingKey).forEach((otherService, registration) -> {
+                if (otherService != service) {
+                    allKinds.addAll(registration.kinds);
+                }
+            });
+        }
+
         WatchKey registrationKey = null;
         try {
-            registrationKey = directory.register(this.watchService, kinds);
+            registrationKey = directory.register(this.watchService, allKinds.toArray(new Kind<?>[allKinds.size()]));
         } catch (IOException e) {
             logger.debug("The directory '{}' was not registered in the watch service: {}", directory, e.getMessage());
         }
         if (registrationKey != null) {
-            registeredKeys.put(registrationKey, directory);
-            keyToService.put(registrationKey, service);
+            if (existingKey != null && !existingKey.equals(registrationKey)) {
+                keyToServices.put(registrationKey, keyToServices.remove(existingKey));
+            }
+            keyToServices.computeIfAbsent(registrationKey, key -> new HashMap<>()).put(service,
+                    new Registration(directory, serviceKinds));
         } else {
             logger.debug("The directory '{}' was not registered in the watch service", directory);
         }
     }
 
+    private @Nullable WatchKey getRegisteredKey(Path directory) {
+        Path absoluteDirectory = directory.toAbsolutePath().normalize();
+        for (Entry<WatchKey, Map<AbstractWatchService, Registration>> entry : keyToServices.entrySet()) {
+            for (Registration registration : entry.getValue().values()) {
+                if (registration.directory.toAbsolutePath().normalize().equals(absoluteDirectory)) {
+                    return entry.getKey();
+                }
+            }
+        }
+        return null;
+    }
+
     public synchronized void stopWatchService(AbstractWatchService service) {
         if (watchService != null) {
-            List<WatchKey> keys = new LinkedList<>();
-            for (WatchKey key : keyToService.keySet()) {
-                if (keyToService.get(key) == service) {
-                    keys.add(key);
+            Iterator<Entry<WatchKey, Map<AbstractWatchService, Registration>>> iterator = keyToServices.entrySet()
+                    .iterator();
+            while (iterator.hasNext()) {
+                Entry<WatchKey, Map<AbstractWatchService, Registration>> entry = iterator.next();
+                Map<AbstractWatchService, Registration> registrations = entry.getValue();
+                if (registrations.remove(service) != null && registrations.isEmpty()) {
+                    entry.getKey().cancel();
+                    iterator.remove();
                 }
             }
-            if (keys.size() == keyToService.size()) {
+            synchronized (hashes) {
+                hashes.remove(service);
+            }
+            cancelScheduledJobs(service);
+
+            if (keyToServices.isEmpty()) {
                 try {
                     watchService.close();
                 } catch (IOException e) {
                     logger.warn("Cannot deactivate folder watcher", e);
                 }
                 watchService = null;
-                keyToService.clear();
-                registeredKeys.clear();
-                hashes.clear();
-                futures.values().forEach(keyFutures -> keyFutures.values().forEach(future -> future.cancel(true)));
-                futures.clear();
-            } else {
-                for (WatchKey key : keys) {
-                    key.cancel();
-                    keyToService.remove(key);
-                    registeredKeys.remove(key);
-                    hashes.remove(service);
-                    Map<Path, @Nullable ScheduledFuture<?>> keyFutures = futures.remove(key);
-                    if (keyFutures != null) {
-                        keyFutures.values().forEach(future -> future.cancel(true));
-                    }
+                synchronized (hashes) {
+                    hashes.clear();
                 }
+                new HashSet<>(futures.keySet()).forEach(this::cancelScheduledJobs);
             }
         }
     }
@@ -222,52 +276,26 @@ public class WatchQueueReader implements Runnable {
                         continue;
                     }
 
-                    Path resolvedPath = resolvePath(key, event);
-                    if (resolvedPath != null) {
-                        // Process the event only when a relative path to it is resolved
-                        AbstractWatchService service;
-                        synchronized (this) {
-                            service = keyToService.get(key);
-                        }
-                        if (service != null) {
-                            File f = resolvedPath.toFile();
-                            if (kind == ENTRY_MODIFY && f.isDirectory()) {
-                                logger.trace("Skipping modification event for directory: {}", f);
-                            } else {
-                                if (kind == ENTRY_MODIFY) {
-                                    processModificationEvent(key, event, resolvedPath, service);
-                                } else {
-                                    service.processWatchEvent(event, kind, resolvedPath);
-                                }
-                            }
-                            if (kind == ENTRY_CREATE && f.isDirectory() && service.watchSubDirectories()
-                                    && service.getWatchEventKinds(resolvedPath) != null) {
-                                registerDirectoryInternal(service, service.getWatchEventKinds(resolvedPath),
-                                        resolvedPath);
-                            } else if (kind == ENTRY_DELETE) {
-                                synchronized (this) {
-                                    WatchKey toCancel = null;
-                                    for (WatchKey k : registeredKeys.keySet()) {
-                                        if (registeredKeys.get(k).equals(resolvedPath)) {
-                                            toCancel = k;
-                                            break;
-                                        }
-                                    }
-                                    if (toCancel != null) {
-                                        registeredKeys.remove(toCancel);
-                                        keyToService.remove(toCancel);
-                                        toCancel.cancel();
-                                    }
-                                    forgetChecksum(service, resolvedPath);
-                                    Map<Path, @Nullable ScheduledFuture<?>> keyFutures = futures.get(key);
-                                    if (keyFutures != null) {
-                                        ScheduledFuture<?> future = keyFutures.remove(resolvedPath);
-                                        if (future != null) {
-                                            future.cancel(true);
-                                        }
-                                    }
-                                }
-                            }
+                    Map<AbstractWatchService, Registration> registrations;
+                    synchronized (this) {
+                        Map<AbstractWatchService, Registration> keyRegistrations = keyToServices.get(key);
+                        registrations = keyRegistrations == null ? Collections.emptyMap()
+                                : new HashMap<>(keyRegistrations);
+                    }
+                    if (registrations.isEmpty()) {
+                        logger.warn("Detected invalid WatchEvent '{}' and key '{}' for entry '{}' in not registered "
+                                + "file or directory", event, key, event.context());
+                        continue;
+                    }
+
+                    // Context for directory entry event is the file name of entry.
+                    Path contextPath = WatchQueueReader.<Path> cast(event).context();
+                    for (Entry<AbstractWatchService, Registration> entry : registrations.entrySet()) {
+                        AbstractWatchService service = entry.getKey();
+                        Registration registration = entry.getValue();
+                        if (registration.kinds.contains(kind)) {
+                            // The context path is resolved by the path the service has registered
+                            processEvent(service, event, registration.directory.resolve(contextPath));
                         }
                     }
                 }
@@ -281,6 +309,50 @@ public class WatchQueueReader implements Runnable {
         }
     }
 
+    private void processEvent(AbstractWatchService service, WatchEvent<?> event, Path resolvedPath) {
+        Kind<?> kind = event.kind();
+        File f = resolvedPath.toFile();
+        if (kind == ENTRY_MODIFY && f.isDirectory()) {
+            logger.trace("Skipping modification event for directory: {}", f);
+        } else if (service.getChangeSetDelay() > 0) {
+            addToChangeSet(service, kind, resolvedPath);
+        } else if (kind == ENTRY_MODIFY) {
+            processModificationEvent(event, resolvedPath, service);
+        } else {
+            service.processWatchEvent(event, kind, resolvedPath);
+        }
+
+        if (kind == ENTRY_CREATE && f.isDirectory() && service.watchSubDirectories()
+                && service.getWatchEventKinds(resolvedPath) != null) {
+            registerDirectoryInternal(service, service.getWatchEventKinds(resolvedPath), resolvedPath);
+        } else if (kind == ENTRY_DELETE) {
+            synchronized (this) {
+                Iterator<Entry<WatchKey, Map<AbstractWatchService, Registration>>> iterator = keyToServices
+                        .entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Entry<WatchKey, Map<AbstractWatchService, Registration>> entry = iterator.next();
+                    Map<AbstractWatchService, Registration> registrations = entry.getValue();
+                    Registration registration = registrations.get(service);
+                    if (registration != null && registration.directory.equals(resolvedPath)) {
+                        registrations.remove(service);
+                        if (registrations.isEmpty()) {
+                            entry.getKey().cancel();
+                            iterator.remove();
+                        }
+                        break;
+                    }
+                }
+                if (service.getChangeSetDelay() <= 0) {
+                    forgetChecksum(service, resolvedPath);
+                }
+                ScheduledFuture<?> future = removeScheduledJob(service, resolvedPath);
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
     /**
      * Schedules forwarding of the event to the listeners (if appliccable).
      * <p>
@@ -297,23 +369,21 @@ public class WatchQueueReader implements Runnable {
      * discussion</a> on Stack Overflow.
      *
      *
-     * @param key
      * @param event
      * @param resolvedPath
      * @param service
      */
-    private void processModificationEvent(WatchKey key, WatchEvent<?> event, Path resolvedPath,
-            AbstractWatchService service) {
+    private void processModificationEvent(WatchEvent<?> event, Path resolvedPath, AbstractWatchService service) {
         synchronized (futures) {
             logger.trace("Modification event for {} ", resolvedPath);
-            ScheduledFuture<?> previousFuture = removeScheduledJob(key, resolvedPath);
+            ScheduledFuture<?> previousFuture = removeScheduledJob(service, resolvedPath);
             if (previousFuture != null) {
                 previousFuture.cancel(true);
                 logger.trace("Cancelled previous for {} ", resolvedPath);
             }
             ScheduledFuture<?> future = scheduler.schedule(() -> {
                 logger.trace("Executing job for {}", resolvedPath);
-                ScheduledFuture<?> res = removeScheduledJob(key, resolvedPath);
+                ScheduledFuture<?> res = removeScheduledJob(service, resolvedPath);
                 if (res != null) {
                     logger.trace("Job removed itself for {}", resolvedPath);
                 } else {
@@ -326,30 +396,90 @@ public class WatchQueueReader implements Runnable {
                 }
             }, PROCESSING_DELAY, TimeUnit.MILLISECONDS);
             logger.trace("Scheduled processing of {}", resolvedPath);
-            rememberScheduledJob(key, resolvedPath, future);
+            rememberScheduledJob(service, resolvedPath, future);
         }
     }
 
-    private Path resolvePath(WatchKey key, WatchEvent<?> event) {
-        WatchEvent<Path> ev = cast(event);
-        // Context for directory entry event is the file name of entry.
-        Path contextPath = ev.context();
-        Path baseWatchedDir = null;
-        Path registeredPath = null;
-        synchronized (this) {
-            baseWatchedDir = keyToService.get(key).getSourcePath();
-            registeredPath = registeredKeys.get(key);
+    /**
+     * Adds a change to the change set of the given service and (re)schedules its delivery.
+     * <p>
+     * Each change restarts the delay of the service, so that a burst of changes (e.g. copying a whole folder) is
+     * delivered at once. To not hold back changes forever, a change set is delivered at the latest after
+     * {@value #MAX_CHANGE_SET_DELAY_FACTOR} times the delay.
+     *
+     * @param service the service to deliver the change to
+     * @param kind the kind of the change
+     * @param resolvedPath the changed path
+     */
+    private void addToChangeSet(AbstractWatchService service, Kind<?> kind, Path resolvedPath) {
+        synchronized (changeSets) {
+            ChangeSet changeSet = changeSets.computeIfAbsent(service, s -> new ChangeSet());
+            Kind<?> coalescedKind = coalesce(changeSet.changes.get(resolvedPath), kind);
+            if (coalescedKind == null) {
+                changeSet.changes.remove(resolvedPath);
+            } else {
+                changeSet.changes.put(resolvedPath, coalescedKind);
+            }
+
+            ScheduledFuture<?> flushJob = changeSet.flushJob;
+            if (flushJob != null) {
+                flushJob.cancel(false);
+            }
+            long delay = service.getChangeSetDelay();
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - changeSet.created);
+            long remaining = Math.max(0, Math.min(delay, delay * MAX_CHANGE_SET_DELAY_FACTOR - elapsed));
+            changeSet.flushJob = scheduler.schedule(() -> flushChangeSet(service, changeSet), remaining,
+                    TimeUnit.MILLISECONDS);
         }
-        if (registeredPath != null) {
-            // If the path has been registered in the watch service it relative path can be resolved
-            // The context path is resolved by its already registered parent path
-            return registeredPath.resolve(contextPath);
+    }
+
+    /**
+     * Combines two subsequent changes of the same path into one.
+     *
+     * @param previous the kind of the pending change, <code>null</code> if there is none
+     * @param kind the kind of the new change
+     * @return the kind of the combined change or <code>null</code> if the changes cancel each other out
+     */
+    private static @Nullable Kind<?> coalesce(@Nullable Kind<?> previous, Kind<?> kind) {
+        if (previous == null) {
+            return kind;
+        } else if (previous == ENTRY_CREATE) {
+            // the path did not exist before, so a deletion leaves nothing to report
+            return kind == ENTRY_DELETE ? null : ENTRY_CREATE;
+        } else {
+            // the path existed before, so anything but a deletion is a modification
+            return kind == ENTRY_DELETE ? ENTRY_DELETE : ENTRY_MODIFY;
         }
+    }
 
-        logger.warn(
-                "Detected invalid WatchEvent '{}' and key '{}' for entry '{}' in not registered file or directory of '{}'",
-                event, key, contextPath, baseWatchedDir);
-        return null;
+    private void flushChangeSet(AbstractWatchService service, ChangeSet changeSet) {
+        synchronized (changeSets) {
+            if (changeSets.get(service) != changeSet) {
+                // already delivered or the service has been stopped
+                return;
+            }
+            changeSets.remove(service);
+        }
+
+        Map<Path, Kind<?>> changes = new LinkedHashMap<>();
+        changeSet.changes.forEach((path, kind) -> {
+            if (kind == ENTRY_DELETE) {
+                forgetChecksum(service, path);
+                changes.put(path, kind);
+            } else if (checkAndTrackContent(service, path) || kind == ENTRY_CREATE) {
+                changes.put(path, kind);
+            } else {
+                logger.trace("File content '{}' has not changed, skipping modification", path);
+            }
+        });
+        if (!changes.isEmpty()) {
+            logger.trace("Delivering {} changes to {}", changes.size(), service);
+            try {
+                service.processWatchEvents(Collections.unmodifiableMap(changes));
+            } catch (RuntimeException e) {
+                logger.error("Error processing the changes of {}", service.getSourcePath(), e);
+            }
+        }
     }
 
     private byte[] hash(Path path) {
@@ -387,39 +517,56 @@ public class WatchQueueReader implements Runnable {
         if (newHash == null) {
             return true;
         }
-        Map<Path, byte[]> keyHashes = hashes.get(service);
-        if (keyHashes == null) {
-            keyHashes = new HashMap<>();
-            hashes.put(service, keyHashes);
+        synchronized (hashes) {
+            Map<Path, byte[]> keyHashes = hashes.get(service);
+            if (keyHashes == null) {
+                keyHashes = new HashMap<>();
+                hashes.put(service, keyHashes);
+            }
+            byte[] oldHash = keyHashes.put(resolvedPath, newHash);
+            return oldHash == null || !Arrays.equals(oldHash, newHash);
         }
-        byte[] oldHash = keyHashes.put(resolvedPath, newHash);
-        return oldHash == null || !Arrays.equals(oldHash, newHash);
     }
 
     private void forgetChecksum(AbstractWatchService service, Path resolvedPath) {
-        Map<Path, byte[]> keyHashes = hashes.get(service);
-        if (keyHashes != null) {
-            keyHashes.remove(resolvedPath);
+        synchronized (hashes) {
+            Map<Path, byte[]> keyHashes = hashes.get(service);
+            if (keyHashes != null) {
+                keyHashes.remove(resolvedPath);
+            }
+        }
+    }
+
+    private void cancelScheduledJobs(AbstractWatchService service) {
+        Map<Path, @Nullable ScheduledFuture<?>> serviceFutures = futures.remove(service);
+        if (serviceFutures != null) {
+            serviceFutures.values().forEach(future -> future.cancel(true));
+        }
+        synchronized (changeSets) {
+            ChangeSet changeSet = changeSets.remove(service);
+            if (changeSet != null && changeSet.flushJob != null) {
+                changeSet.flushJob.cancel(false);
+            }
         }
     }
 
-    private Map<Path, @Nullable ScheduledFuture<?>> getKeyFutures(WatchKey key) {
-        Map<Path, @Nullable ScheduledFuture<?>> keyFutures = futures.get(key);
-        if (keyFutures == null) {
-            keyFutures = new ConcurrentHashMap<>();
-            futures.put(key, keyFutures);
+    private Map<Path, @Nullable ScheduledFuture<?>> getServiceFutures(AbstractWatchService service) {
+        Map<Path, @Nullable ScheduledFuture<?>> serviceFutures = futures.get(service);
+        if (serviceFutures == null) {
+            serviceFutures = new ConcurrentHashMap<>();
+            futures.put(service, serviceFutures);
         }
-        return keyFutures;
+        return serviceFutures;
     }
 
-    private ScheduledFuture<?> removeScheduledJob(WatchKey key, Path resolvedPath) {
-        Map<Path, @Nullable ScheduledFuture<?>> keyFutures = getKeyFutures(key);
-        return keyFutures.remove(resolvedPath);
+    private ScheduledFuture<?> removeScheduledJob(AbstractWatchService service, Path resolvedPath) {
+        Map<Path, @Nullable ScheduledFuture<?>> serviceFutures = getServiceFutures(service);
+        return serviceFutures.remove(resolvedPath);
     }
 
-    private void rememberScheduledJob(WatchKey key, Path resolvedPath, ScheduledFuture<?> future) {
-        Map<Path, @Nullable ScheduledFuture<?>> keyFutures = getKeyFutures(key);
-        keyFutures.put(resolvedPath, future);
+    private void rememberScheduledJob(AbstractWatchService service, Path resolvedPath, ScheduledFuture<?> future) {
+        Map<Path, @Nullable ScheduledFuture<?>> serviceFutures = getServiceFutures(service);
+        serviceFutures.put(resolvedPath, future);
     }
 
 }
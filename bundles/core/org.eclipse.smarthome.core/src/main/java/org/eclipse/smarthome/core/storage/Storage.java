@@ -13,6 +13,7 @@
 package org.eclipse.smarthome.core.storage;
 
 import java.util.Collection;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -46,6 +47,30 @@ public interface Storage<T> {
     @Nullable
     T remove(String key);
 
+    /**
+     * Puts all given key-value mappings into this Storage. Implementations may store the mappings at once, which is
+     * cheaper than storing each of them with {@link #put(String, Object)}.
+     *
+     * @param values the mappings to add, a null value removes the mapping of its key
+     */
+    default void putAll(Map<String, @Nullable T> values) {
+        for (Map.Entry<String, @Nullable T> entry : values.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Removes the mappings of all given keys from this Storage. Implementations may remove the mappings at once,
+     * which is cheaper than removing each of them with {@link #remove(String)}.
+     *
+     * @param keys the keys of the mappings to remove
+     */
+    default void removeAll(Collection<String> keys) {
+        for (String key : keys) {
+            remove(key);
+        }
+    }
+
     /**
      * Check if the storage contains a key.
      *
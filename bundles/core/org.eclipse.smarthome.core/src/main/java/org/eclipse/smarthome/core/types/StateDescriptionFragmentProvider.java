@@ -50,4 +50,30 @@ public interface StateDescriptionFragmentProvider {
      */
     Integer getRank();
 
+    /**
+     * Determines whether the {@link StateDescriptionFragment} for the given item may be cached. A provider which
+     * allows caching has to announce any change of its fragments through
+     * {@link org.eclipse.smarthome.core.service.StateDescriptionService#invalidate(String)}, unless the change comes
+     * along with an update of the item itself.
+     *
+     * @param itemName item name (must not be null)
+     * @return <code>true</code> if the fragment may be cached, <code>false</code> (default) if the provider has to be
+     *         asked every time
+     */
+    default boolean isCacheable(String itemName) {
+        return false;
+    }
+
+    /**
+     * Determines whether the provider announces every change of its fragments for any item through
+     * {@link org.eclipse.smarthome.core.service.StateDescriptionService#invalidate(String)} or
+     * {@link org.eclipse.smarthome.core.service.StateDescriptionService#invalidateAll()}, unless the change comes
+     * along with an update of the item itself. Only then the revision of the state descriptions can be tracked.
+     *
+     * @return <code>true</code> if all changes are announced, <code>false</code> (default) otherwise
+     */
+    default boolean announcesChanges() {
+        return false;
+    }
+
 }
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest.core.internal.persistence;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.persistence.dto.ItemHistoryDTO;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests for the {@link ItemHistoryStreamingOutput}.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class ItemHistoryStreamingOutputTest {
+
+    @Test
+    public void testWritesHistoryWithBoundaries() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        ItemHistoryStreamingOutput output = new ItemHistoryStreamingOutput("Temperature",
+                () -> Stream.of(historicItem(1500L, new DecimalType(21)), historicItem(1800L, new DecimalType(22)))
+                        .onClose(() -> closed.set(true)),
+                new DecimalType(20), 1000L, new DecimalType(23), 2000L, System.currentTimeMillis());
+
+        ItemHistoryDTO dto = write(output);
+
+        assertThat(dto.name, is("Temperature"));
+        assertThat(dto.datapoints, is("4"));
+        assertThat(dto.data.size(), is(4));
+        assertThat(dto.data.get(0).time, is(1000L));
+        assertThat(dto.data.get(0).state, is("20"));
+        assertThat(dto.data.get(2).time, is(1800L));
+        assertThat(dto.data.get(2).state, is("22"));
+        assertThat(dto.data.get(3).time, is(2000L));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testReplicatesBinaryStates() throws IOException {
+        ItemHistoryStreamingOutput output = new ItemHistoryStreamingOutput("Switch",
+                () -> Stream.of(historicItem(1500L, OnOffType.ON)), null, 1000L, null, 2000L,
+                System.currentTimeMillis());
+
+        ItemHistoryDTO dto = write(output);
+
+        assertThat(dto.datapoints, is("1"));
+        assertThat(dto.data.size(), is(2));
+        assertThat(dto.data.get(1).state, is("ON"));
+    }
+
+    private ItemHistoryDTO write(ItemHistoryStreamingOutput output) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        output.write(stream);
+        return new Gson().fromJson(new String(stream.toByteArray(), StandardCharsets.UTF_8), ItemHistoryDTO.class);
+    }
+
+    private HistoricItem historicItem(long time, State state) {
+        return new HistoricItem() {
+            @Override
+            public Date getTimestamp() {
+                return new Date(time);
+            }
+
+            @Override
+            public State getState() {
+                return state;
+            }
+
+            @Override
+            public String getName() {
+                return "item";
+            }
+        };
+    }
+
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest.core.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.events.EventFilter;
+import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.items.events.GroupItemStateChangedEvent;
+import org.eclipse.smarthome.core.items.events.ItemStateChangedEvent;
+import org.eclipse.smarthome.core.thing.events.ThingStatusInfoChangedEvent;
+import org.eclipse.smarthome.core.thing.firmware.FirmwareStatusInfoEvent;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * The {@link StateRevisionTracker} counts the changes of item states and thing statuses, which are not reflected by
+ * the revisions of the registries. Together with the registry revisions, these revisions are used for the entity tags
+ * of the REST resources.
+ * <p>
+ * As the events are delivered asynchronously, a revision may lag slightly behind the actual state.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@Component(service = { EventSubscriber.class, StateRevisionTracker.class })
+public class StateRevisionTracker implements EventSubscriber {
+
+    private final Set<String> subscribedEventTypes = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(ItemStateChangedEvent.TYPE, GroupItemStateChangedEvent.TYPE,
+                    ThingStatusInfoChangedEvent.TYPE, FirmwareStatusInfoEvent.TYPE)));
+
+    private final AtomicLong itemStateRevision = new AtomicLong();
+    private final AtomicLong thingStatusRevision = new AtomicLong();
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return subscribedEventTypes;
+    }
+
+    @Override
+    public EventFilter getEventFilter() {
+        return null;
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemStateChangedEvent) {
+            itemStateRevision.incrementAndGet();
+        } else {
+            thingStatusRevision.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the revision of the item states, which is increased whenever the state of an item changes.
+     *
+     * @return the revision of the item states
+     */
+    public long getItemStateRevision() {
+        return itemStateRevision.get();
+    }
+
+    /**
+     * Returns the revision of the thing statuses, which is increased whenever the status or the firmware status of a
+     * thing changes.
+     *
+     * @return the revision of the thing statuses
+     */
+    public long getThingStatusRevision() {
+        return thingStatusRevision.get();
+    }
+
+}
@@ -12,12 +12,12 @@
  */
 package org.eclipse.smarthome.io.rest.core.internal.channel;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import javax.annotation.security.RolesAllowed;
 import javax.ws.rs.GET;
@@ -25,8 +25,10 @@ import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
@@ -45,9 +47,9 @@ import org.eclipse.smarthome.core.thing.type.ChannelKind;
 import org.eclipse.smarthome.core.thing.type.ChannelType;
 import org.eclipse.smarthome.core.thing.type.ChannelTypeRegistry;
 import org.eclipse.smarthome.core.thing.type.ChannelTypeUID;
+import org.eclipse.smarthome.io.rest.JSONResponseCache;
 import org.eclipse.smarthome.io.rest.LocaleUtil;
 import org.eclipse.smarthome.io.rest.RESTResource;
-import org.eclipse.smarthome.io.rest.Stream2JSONInputStream;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
@@ -74,11 +76,21 @@ public class ChannelTypeResource implements RESTResource {
     /** The URI path to this resource */
     public static final String PATH_CHANNEL_TYPES = "channel-types";
 
+    /** The duration for how long a serialized listing of all channel types is reused */
+    private static final Duration TYPE_LISTING_EXPIRY = Duration.ofSeconds(10);
+
     private ChannelTypeRegistry channelTypeRegistry;
     private ConfigDescriptionRegistry configDescriptionRegistry;
 
     private ProfileTypeRegistry profileTypeRegistry;
 
+    private final JSONResponseCache<Locale> typeListingCache = new JSONResponseCache<>(TYPE_LISTING_EXPIRY,
+            locale -> channelTypeRegistry.getChannelTypes(locale).stream()
+                    .map(c -> convertToChannelTypeDTO(c, locale)));
+
+    @Context
+    private Request request;
+
     @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
     protected void setChannelTypeRegistry(ChannelTypeRegistry channelTypeRegistry) {
         this.channelTypeRegistry = channelTypeRegistry;
@@ -112,11 +124,7 @@ public class ChannelTypeResource implements RESTResource {
     @ApiResponses(value = @ApiResponse(code = 200, message = "OK", response = ChannelTypeDTO.class, responseContainer = "Set"))
     public Response getAll(
             @HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) @ApiParam(value = HttpHeaders.ACCEPT_LANGUAGE) String language) {
-        Locale locale = LocaleUtil.getLocale(language);
-
-        Stream<ChannelTypeDTO> channelStream = channelTypeRegistry.getChannelTypes(locale).stream()
-                .map(c -> convertToChannelTypeDTO(c, locale));
-        return Response.ok(new Stream2JSONInputStream(channelStream)).build();
+        return typeListingCache.getResponse(request, LocaleUtil.getLocale(language));
     }
 
     @GET
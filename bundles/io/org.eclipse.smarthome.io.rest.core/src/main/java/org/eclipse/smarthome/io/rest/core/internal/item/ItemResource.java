@@ -18,6 +18,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -40,8 +41,10 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
@@ -70,14 +73,19 @@ import org.eclipse.smarthome.core.library.items.RollershutterItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.service.StateDescriptionService;
+import org.eclipse.smarthome.core.thing.ThingRegistry;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.TypeParser;
 import org.eclipse.smarthome.io.rest.DTOMapper;
+import org.eclipse.smarthome.io.rest.ETagUtil;
 import org.eclipse.smarthome.io.rest.JSONResponse;
 import org.eclipse.smarthome.io.rest.LocaleUtil;
 import org.eclipse.smarthome.io.rest.RESTResource;
 import org.eclipse.smarthome.io.rest.Stream2JSONInputStream;
+import org.eclipse.smarthome.io.rest.core.internal.StateRevisionTracker;
 import org.eclipse.smarthome.io.rest.core.item.EnrichedGroupItemDTO;
 import org.eclipse.smarthome.io.rest.core.item.EnrichedItemDTO;
 import org.eclipse.smarthome.io.rest.core.item.EnrichedItemDTOMapper;
@@ -128,10 +136,17 @@ public class ItemResource implements RESTResource {
     /** The URI path to this resource */
     public static final String PATH_ITEMS = "items";
 
+    /** The suffix of a metadata selector, which selects all namespaces starting with the preceding prefix */
+    private static final String NAMESPACE_WILDCARD = "*";
+
     @NonNullByDefault({})
     @Context
     UriInfo uriInfo;
 
+    @Context
+    @Nullable
+    Request request;
+
     @NonNullByDefault({})
     private ItemRegistry itemRegistry;
     @NonNullByDefault({})
@@ -142,6 +157,10 @@ public class ItemResource implements RESTResource {
     private ManagedItemProvider managedItemProvider;
     @NonNullByDefault({})
     private DTOMapper dtoMapper;
+    private @Nullable StateRevisionTracker stateRevisionTracker;
+    private @Nullable StateDescriptionService stateDescriptionService;
+    private @Nullable ItemChannelLinkRegistry itemChannelLinkRegistry;
+    private @Nullable ThingRegistry thingRegistry;
     private final Set<ItemFactory> itemFactories = new HashSet<>();
 
     @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
@@ -198,6 +217,42 @@ public class ItemResource implements RESTResource {
         this.dtoMapper = dtoMapper;
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setStateRevisionTracker(StateRevisionTracker stateRevisionTracker) {
+        this.stateRevisionTracker = stateRevisionTracker;
+    }
+
+    protected void unsetStateRevisionTracker(StateRevisionTracker stateRevisionTracker) {
+        this.stateRevisionTracker = null;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setStateDescriptionService(StateDescriptionService stateDescriptionService) {
+        this.stateDescriptionService = stateDescriptionService;
+    }
+
+    protected void unsetStateDescriptionService(StateDescriptionService stateDescriptionService) {
+        this.stateDescriptionService = null;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setItemChannelLinkRegistry(ItemChannelLinkRegistry itemChannelLinkRegistry) {
+        this.itemChannelLinkRegistry = itemChannelLinkRegistry;
+    }
+
+    protected void unsetItemChannelLinkRegistry(ItemChannelLinkRegistry itemChannelLinkRegistry) {
+        this.itemChannelLinkRegistry = null;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setThingRegistry(ThingRegistry thingRegistry) {
+        this.thingRegistry = thingRegistry;
+    }
+
+    protected void unsetThingRegistry(ThingRegistry thingRegistry) {
+        this.thingRegistry = null;
+    }
+
     @GET
     @RolesAllowed({ Role.USER, Role.ADMIN })
     @Produces(MediaType.APPLICATION_JSON)
@@ -215,11 +270,18 @@ public class ItemResource implements RESTResource {
         final Set<String> namespaces = splitAndFilterNamespaces(namespaceSelector);
         logger.debug("Received HTTP GET request at '{}'", uriInfo.getPath());
 
+        EntityTag entityTag = getEntityTag(!namespaces.isEmpty(), uriInfo.getBaseUri(), locale, type, tags,
+                namespaceSelector, recursive, fields);
+        Response notModified = ETagUtil.evaluatePreconditions(request, entityTag);
+        if (notModified != null) {
+            return notModified;
+        }
+
         Stream<EnrichedItemDTO> itemStream = getItems(type, tags).stream()
                 .map(item -> EnrichedItemDTOMapper.map(item, recursive, null, uriInfo.getBaseUri(), locale))
                 .peek(dto -> addMetadata(dto, namespaces, null));
         itemStream = dtoMapper.limitToFields(itemStream, fields);
-        return Response.ok(new Stream2JSONInputStream(itemStream)).build();
+        return Response.ok(new Stream2JSONInputStream(itemStream)).tag(entityTag).build();
     }
 
     @GET
@@ -252,13 +314,47 @@ public class ItemResource implements RESTResource {
         }
     }
 
+    /**
+     * Creates the entity tag for a list of items from the revisions of the items, their states, their state
+     * descriptions and, if requested, their metadata. As the state descriptions of the items are derived from the
+     * channels they are linked to, the revisions of the links and things are included as well.
+     */
+    private @Nullable EntityTag getEntityTag(boolean withMetadata, Object... parameters) {
+        StateRevisionTracker stateRevisionTracker = this.stateRevisionTracker;
+        StateDescriptionService stateDescriptionService = this.stateDescriptionService;
+        ItemChannelLinkRegistry itemChannelLinkRegistry = this.itemChannelLinkRegistry;
+        ThingRegistry thingRegistry = this.thingRegistry;
+        if (stateRevisionTracker == null || stateDescriptionService == null || itemChannelLinkRegistry == null
+                || thingRegistry == null) {
+            return null;
+        }
+        return ETagUtil.createEntityTag(Arrays.toString(parameters), itemRegistry.getRevision(),
+                stateRevisionTracker.getItemStateRevision(), stateDescriptionService.getRevision(),
+                itemChannelLinkRegistry.getRevision(), thingRegistry.getRevision(),
+                withMetadata ? metadataRegistry.getRevision() : 0);
+    }
+
+    /**
+     * Splits the comma separated metadata selector into the namespaces it selects. A selector can either be the name
+     * of a namespace or a prefix followed by a trailing wildcard (e.g. "alexa*" or "*"), which selects all namespaces
+     * with metadata starting with the prefix.
+     */
     private Set<String> splitAndFilterNamespaces(@Nullable String namespaceSelector) {
         return namespaceSelector == null ? Collections.emptySet()
                 : Arrays.stream(namespaceSelector.split(",")) //
+                        .flatMap(this::selectNamespaces) //
                         .filter(n -> !metadataRegistry.isInternalNamespace(n)) //
                         .collect(Collectors.toSet());
     }
 
+    private Stream<String> selectNamespaces(String selector) {
+        if (selector.endsWith(NAMESPACE_WILDCARD)) {
+            String prefix = selector.substring(0, selector.length() - NAMESPACE_WILDCARD.length());
+            return metadataRegistry.getNamespaces().stream().filter(n -> n.startsWith(prefix));
+        }
+        return Stream.of(selector);
+    }
+
     /**
      *
      * @param itemname
@@ -667,15 +763,23 @@ public class ItemResource implements RESTResource {
         List<ActiveItem> updatedItems = new ArrayList<>();
         List<ActiveItem> failedItems = new ArrayList<>();
 
+        // new items and updates are stored in bulk, the last occurrence of an item name wins
+        Map<String, Item> itemsToAdd = new LinkedHashMap<>();
+        List<Item> itemsToUpdate = new ArrayList<>();
+
         for (ActiveItem activeItem : activeItems) {
             String itemName = activeItem.getName();
-            if (getItem(itemName) == null) {
+            if (itemsToAdd.containsKey(itemName)) {
+                // item is created by this request, replace it
+                itemsToAdd.put(itemName, activeItem);
+                updatedItems.add(activeItem);
+            } else if (getItem(itemName) == null) {
                 // item does not yet exist, create it
-                managedItemProvider.add(activeItem);
+                itemsToAdd.put(itemName, activeItem);
                 createdItems.add(activeItem);
             } else if (managedItemProvider.get(itemName) != null) {
                 // item already exists as a managed item, update it
-                managedItemProvider.update(activeItem);
+                itemsToUpdate.add(activeItem);
                 updatedItems.add(activeItem);
             } else {
                 // Item exists but cannot be updated
@@ -684,6 +788,9 @@ public class ItemResource implements RESTResource {
             }
         }
 
+        managedItemProvider.addAll(itemsToAdd.values());
+        managedItemProvider.updateAll(itemsToUpdate);
+
         // build response
         List<JsonObject> responseList = new ArrayList<>();
 
@@ -785,11 +892,13 @@ public class ItemResource implements RESTResource {
     }
 
     private void addMetadata(EnrichedItemDTO dto, Set<String> namespaces, @Nullable Predicate<Metadata> filter) {
+        if (namespaces.isEmpty()) {
+            return;
+        }
         Map<String, Object> metadata = new HashMap<>();
-        for (String namespace : namespaces) {
-            MetadataKey key = new MetadataKey(namespace, dto.name);
-            Metadata md = metadataRegistry.get(key);
-            if (md != null && (filter == null || filter.test(md))) {
+        for (Metadata md : metadataRegistry.getItemMetadata(dto.name)) {
+            String namespace = md.getUID().getNamespace();
+            if (namespaces.contains(namespace) && (filter == null || filter.test(md))) {
                 MetadataDTO mdDto = new MetadataDTO();
                 mdDto.value = md.getValue();
                 mdDto.config = md.getConfiguration().isEmpty() ? null : md.getConfiguration();
@@ -22,7 +22,9 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
@@ -35,6 +37,7 @@ import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
 import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry;
 import org.eclipse.smarthome.core.thing.link.ThingLinkManager;
 import org.eclipse.smarthome.core.thing.link.dto.ItemChannelLinkDTO;
+import org.eclipse.smarthome.io.rest.ETagUtil;
 import org.eclipse.smarthome.io.rest.JSONResponse;
 import org.eclipse.smarthome.io.rest.RESTResource;
 import org.eclipse.smarthome.io.rest.Stream2JSONInputStream;
@@ -72,14 +75,23 @@ public class ItemChannelLinkResource implements RESTResource {
     @Context
     UriInfo uriInfo;
 
+    @Context
+    Request request;
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Gets all available links.", response = ItemChannelLinkDTO.class, responseContainer = "Collection")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "OK", response = ItemChannelLinkDTO.class, responseContainer = "Collection") })
     public Response getAll() {
+        EntityTag entityTag = ETagUtil.createEntityTag(null, itemChannelLinkRegistry.getRevision());
+        Response notModified = ETagUtil.evaluatePreconditions(request, entityTag);
+        if (notModified != null) {
+            return notModified;
+        }
+
         Stream<ItemChannelLinkDTO> linkStream = itemChannelLinkRegistry.getAll().stream().map(this::toBeans);
-        return Response.ok(new Stream2JSONInputStream(linkStream)).build();
+        return Response.ok(new Stream2JSONInputStream(linkStream)).tag(entityTag).build();
     }
 
     @GET
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest.core.internal.persistence;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.persistence.dto.ItemHistoryDTO;
+import org.eclipse.smarthome.core.types.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Writes the history of an item in the format of the {@link ItemHistoryDTO} while the historic items are read from
+ * the persistence service, so that the memory used by a request does not depend on the number of returned values.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+class ItemHistoryStreamingOutput implements StreamingOutput {
+
+    private final Logger logger = LoggerFactory.getLogger(ItemHistoryStreamingOutput.class);
+
+    private final String itemName;
+    private final Supplier<Stream<HistoricItem>> historicItems;
+    private final @Nullable State stateBefore;
+    private final long begin;
+    private final @Nullable State stateAfter;
+    private final long end;
+    private final long timerStart;
+
+    /**
+     * Creates a new streaming output.
+     *
+     * @param itemName the name of the item
+     * @param historicItems supplies the historic items of the requested period, the stream is opened when the
+     *            response is written and closed afterwards
+     * @param stateBefore the state before the requested period or null
+     * @param begin the begin of the requested period in milliseconds
+     * @param stateAfter the state after the requested period or null
+     * @param end the end of the requested period in milliseconds
+     * @param timerStart the time in milliseconds at which the request started
+     */
+    ItemHistoryStreamingOutput(String itemName, Supplier<Stream<HistoricItem>> historicItems,
+            @Nullable State stateBefore, long begin, @Nullable State stateAfter, long end, long timerStart) {
+        this.itemName = itemName;
+        this.historicItems = historicItems;
+        this.stateBefore = stateBefore;
+        this.begin = begin;
+        this.stateAfter = stateAfter;
+        this.end = end;
+        this.timerStart = timerStart;
+    }
+
+    @Override
+    public void write(@Nullable OutputStream output) throws IOException, WebApplicationException {
+        if (output == null) {
+            return;
+        }
+        // the writer is not closed, as the output stream is owned by the container
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+        long quantity = 0;
+
+        writer.beginObject();
+        writer.name("name").value(itemName);
+        writer.name("data").beginArray();
+
+        State stateBefore = this.stateBefore;
+        if (stateBefore != null) {
+            writeData(writer, begin, stateBefore);
+            quantity++;
+        }
+
+        try (Stream<HistoricItem> stream = historicItems.get()) {
+            Iterator<HistoricItem> it = stream.iterator();
+            while (it.hasNext()) {
+                HistoricItem historicItem = it.next();
+                State state = historicItem.getState();
+                long time = historicItem.getTimestamp().getTime();
+
+                // For 'binary' states, we need to replicate the data
+                // to avoid diagonal lines
+                if (state instanceof OnOffType || state instanceof OpenClosedType) {
+                    writeData(writer, time, state);
+                }
+
+                writeData(writer, time, state);
+                quantity++;
+            }
+        }
+
+        State stateAfter = this.stateAfter;
+        if (stateAfter != null) {
+            writeData(writer, end, stateAfter);
+            quantity++;
+        }
+
+        writer.endArray();
+        writer.name("datapoints").value(Long.toString(quantity));
+        writer.endObject();
+        writer.flush();
+
+        logger.debug("Persistence returned {} rows in {}ms", quantity, System.currentTimeMillis() - timerStart);
+    }
+
+    private void writeData(JsonWriter writer, long time, State state) throws IOException {
+        writer.beginObject();
+        writer.name("time").value(time);
+        writer.name("state").value(state.toString());
+        writer.endObject();
+    }
+
+}
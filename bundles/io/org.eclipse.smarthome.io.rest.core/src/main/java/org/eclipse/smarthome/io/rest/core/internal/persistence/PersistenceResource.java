@@ -12,13 +12,16 @@
  */
 package org.eclipse.smarthome.io.rest.core.internal.persistence;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.security.RolesAllowed;
 import javax.ws.rs.DELETE;
@@ -34,6 +37,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.eclipse.smarthome.core.auth.Role;
 import org.eclipse.smarthome.core.i18n.TimeZoneProvider;
@@ -41,11 +45,11 @@ import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.library.types.DateTimeType;
-import org.eclipse.smarthome.core.library.types.OnOffType;
-import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.persistence.AggregationFunction;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
 import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.persistence.HistoricItemAggregator;
 import org.eclipse.smarthome.core.persistence.ModifiablePersistenceService;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.PersistenceServiceRegistry;
@@ -168,8 +172,11 @@ public class PersistenceResource implements RESTResource {
                     + "]", required = false) @QueryParam("endtime") String endTime,
             @ApiParam(value = "Page number of data to return. This parameter will enable paging.", required = false) @QueryParam("page") int pageNumber,
             @ApiParam(value = "The length of each page.", required = false) @QueryParam("pagelength") int pageLength,
-            @ApiParam(value = "Gets one value before and after the requested period.", required = false) @QueryParam("boundary") boolean boundary) {
-        return getItemHistoryDTO(serviceId, itemName, startTime, endTime, pageNumber, pageLength, boundary);
+            @ApiParam(value = "Gets one value before and after the requested period.", required = false) @QueryParam("boundary") boolean boundary,
+            @ApiParam(value = "Number of buckets the requested period is split into. Each bucket returns a single aggregated value, paging is not applied.", required = false) @QueryParam("buckets") int buckets,
+            @ApiParam(value = "The function used to aggregate the values of a bucket. Will default to AVERAGE.", required = false, allowableValues = "AVERAGE,MINIMUM,MAXIMUM,SUM,COUNT,TIME_WEIGHTED_AVERAGE,LAST") @QueryParam("aggregation") String aggregation) {
+        return getItemHistoryDTO(serviceId, itemName, startTime, endTime, pageNumber, pageLength, boundary, buckets,
+                aggregation);
     }
 
     @DELETE
@@ -213,7 +220,7 @@ public class PersistenceResource implements RESTResource {
     }
 
     private Response getItemHistoryDTO(String serviceId, String itemName, String timeBegin, String timeEnd,
-            int pageNumber, int pageLength, boolean boundary) {
+            int pageNumber, int pageLength, boolean boundary, int buckets, String aggregation) {
         // Benchmarking timer...
         long timerStart = System.currentTimeMillis();
 
@@ -236,6 +243,17 @@ public class PersistenceResource implements RESTResource {
 
         QueryablePersistenceService qService = (QueryablePersistenceService) service;
 
+        AggregationFunction function = AggregationFunction.AVERAGE;
+        if (aggregation != null) {
+            try {
+                function = AggregationFunction.valueOf(aggregation.toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                logger.debug("Unknown aggregation function '{}'.", aggregation);
+                return JSONResponse.createErrorResponse(Status.BAD_REQUEST,
+                        "Unknown aggregation function: " + aggregation);
+            }
+        }
+
         ZonedDateTime dateTimeBegin = ZonedDateTime.now();
         ZonedDateTime dateTimeEnd = dateTimeBegin;
         if (timeBegin != null) {
@@ -265,32 +283,25 @@ public class PersistenceResource implements RESTResource {
         }
 
         FilterCriteria filter;
-        Iterable<HistoricItem> result;
-        State state = null;
-
-        Long quantity = 0l;
-
-        ItemHistoryDTO dto = new ItemHistoryDTO();
-        dto.name = itemName;
-
-        filter = new FilterCriteria();
-        filter.setItemName(itemName);
+        State stateBefore = null;
+        State stateAfter = null;
 
         // If "boundary" is true then we want to get one value before and after the requested period
         // This is necessary for values that don't change often otherwise data will start after the start of the graph
         // (or not at all if there's no change during the graph period)
         if (boundary) {
             // Get the value before the start time.
-            filter.setEndDate(dateTimeBegin);
-            filter.setPageSize(1);
-            filter.setOrdering(Ordering.DESCENDING);
-            result = qService.query(filter);
-            if (result != null && result.iterator().hasNext()) {
-                dto.addData(dateTimeBegin.toInstant().toEpochMilli(), result.iterator().next().getState());
-                quantity++;
-            }
+            filter = new FilterCriteria().setItemName(itemName).setEndDate(dateTimeBegin).setPageSize(1)
+                    .setOrdering(Ordering.DESCENDING);
+            stateBefore = queryFirstState(qService, filter);
+
+            // Get the value after the end time.
+            filter = new FilterCriteria().setItemName(itemName).setBeginDate(dateTimeEnd).setEndDate(dateTimeEnd)
+                    .setPageSize(1).setOrdering(Ordering.ASCENDING);
+            stateAfter = queryFirstState(qService, filter);
         }
 
+        filter = new FilterCriteria().setItemName(itemName);
         if (pageLength == 0) {
             filter.setPageNumber(0);
             filter.setPageSize(Integer.MAX_VALUE);
@@ -303,42 +314,30 @@ public class PersistenceResource implements RESTResource {
         filter.setEndDate(dateTimeEnd);
         filter.setOrdering(Ordering.ASCENDING);
 
-        result = qService.query(filter);
-        if (result != null) {
-            Iterator<HistoricItem> it = result.iterator();
-
-            // Iterate through the data
-            while (it.hasNext()) {
-                HistoricItem historicItem = it.next();
-                state = historicItem.getState();
-
-                // For 'binary' states, we need to replicate the data
-                // to avoid diagonal lines
-                if (state instanceof OnOffType || state instanceof OpenClosedType) {
-                    dto.addData(historicItem.getTimestamp().getTime(), state);
-                }
-
-                dto.addData(historicItem.getTimestamp().getTime(), state);
-                quantity++;
-            }
-        }
-
-        if (boundary) {
-            // Get the value after the end time.
-            filter.setBeginDate(dateTimeEnd);
-            filter.setPageSize(1);
-            filter.setOrdering(Ordering.ASCENDING);
-            result = qService.query(filter);
-            if (result != null && result.iterator().hasNext()) {
-                dto.addData(dateTimeEnd.toInstant().toEpochMilli(), result.iterator().next().getState());
-                quantity++;
-            }
+        // The values are only read while the response is written, so that they are not held in memory
+        Supplier<Stream<HistoricItem>> historicItems;
+        if (buckets > 0) {
+            // Let the service aggregate the values, so that only one value per bucket is returned
+            Duration bucketSize = Duration.between(dateTimeBegin, dateTimeEnd).dividedBy(buckets);
+            FilterCriteria aggregationFilter = filter;
+            AggregationFunction aggregationFunction = function;
+            historicItems = () -> StreamSupport.stream(HistoricItemAggregator
+                    .aggregate(qService, aggregationFilter, aggregationFunction, bucketSize).spliterator(), false);
+        } else {
+            FilterCriteria queryFilter = filter;
+            historicItems = () -> qService.stream(queryFilter);
         }
 
-        dto.datapoints = Long.toString(quantity);
-        logger.debug("Persistence returned {} rows in {}ms", dto.datapoints, System.currentTimeMillis() - timerStart);
+        StreamingOutput output = new ItemHistoryStreamingOutput(itemName, historicItems, stateBefore,
+                dateTimeBegin.toInstant().toEpochMilli(), stateAfter, dateTimeEnd.toInstant().toEpochMilli(),
+                timerStart);
+        return Response.ok(output, MediaType.APPLICATION_JSON).build();
+    }
 
-        return JSONResponse.createResponse(Status.OK, dto, "");
+    private State queryFirstState(QueryablePersistenceService qService, FilterCriteria filter) {
+        try (Stream<HistoricItem> result = qService.stream(filter)) {
+            return result.findFirst().map(HistoricItem::getState).orElse(null);
+        }
     }
 
     /**
@@ -40,8 +40,10 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
@@ -87,10 +89,12 @@ import org.eclipse.smarthome.core.thing.type.ChannelTypeUID;
 import org.eclipse.smarthome.core.thing.type.ThingType;
 import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
 import org.eclipse.smarthome.core.thing.util.ThingHelper;
+import org.eclipse.smarthome.io.rest.ETagUtil;
 import org.eclipse.smarthome.io.rest.JSONResponse;
 import org.eclipse.smarthome.io.rest.LocaleUtil;
 import org.eclipse.smarthome.io.rest.RESTResource;
 import org.eclipse.smarthome.io.rest.Stream2JSONInputStream;
+import org.eclipse.smarthome.io.rest.core.internal.StateRevisionTracker;
 import org.eclipse.smarthome.io.rest.core.thing.EnrichedThingDTO;
 import org.eclipse.smarthome.io.rest.core.thing.EnrichedThingDTOMapper;
 import org.osgi.service.component.annotations.Component;
@@ -146,10 +150,14 @@ public class ThingResource implements RESTResource {
     private ThingStatusInfoI18nLocalizationService thingStatusInfoI18nLocalizationService;
     private FirmwareUpdateService firmwareUpdateService;
     private FirmwareRegistry firmwareRegistry;
+    private StateRevisionTracker stateRevisionTracker;
 
     @Context
     private UriInfo uriInfo;
 
+    @Context
+    private Request request;
+
     /**
      * create a new Thing
      *
@@ -234,9 +242,15 @@ public class ThingResource implements RESTResource {
     public Response getAll(@HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) @ApiParam(value = "language") String language) {
         final Locale locale = LocaleUtil.getLocale(language);
 
+        EntityTag entityTag = getEntityTag(locale);
+        Response notModified = ETagUtil.evaluatePreconditions(request, entityTag);
+        if (notModified != null) {
+            return notModified;
+        }
+
         Stream<EnrichedThingDTO> thingStream = thingRegistry.stream().map(t -> convertToEnrichedThingDTO(t, locale))
                 .distinct();
-        return Response.ok(new Stream2JSONInputStream(thingStream)).build();
+        return Response.ok(new Stream2JSONInputStream(thingStream)).tag(entityTag).build();
     }
 
     @GET
@@ -705,6 +719,18 @@ public class ThingResource implements RESTResource {
                 getLinkedItemsMap(thing), managed);
     }
 
+    /**
+     * Creates the entity tag for the list of things from the revisions of the things, their statuses and their links.
+     */
+    private EntityTag getEntityTag(Locale locale) {
+        StateRevisionTracker stateRevisionTracker = this.stateRevisionTracker;
+        if (stateRevisionTracker == null) {
+            return null;
+        }
+        return ETagUtil.createEntityTag(locale.toString(), thingRegistry.getRevision(),
+                stateRevisionTracker.getThingStatusRevision(), itemChannelLinkRegistry.getRevision());
+    }
+
     private Map<String, Set<String>> getLinkedItemsMap(Thing thing) {
         Map<String, Set<String>> linkedItemsMap = new HashMap<>();
         for (Channel channel : thing.getChannels()) {
@@ -782,6 +808,15 @@ public class ThingResource implements RESTResource {
         this.firmwareRegistry = null;
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setStateRevisionTracker(StateRevisionTracker stateRevisionTracker) {
+        this.stateRevisionTracker = stateRevisionTracker;
+    }
+
+    protected void unsetStateRevisionTracker(StateRevisionTracker stateRevisionTracker) {
+        this.stateRevisionTracker = null;
+    }
+
     protected void unsetFirmwareUpdateService(FirmwareUpdateService firmwareUpdateService) {
         this.firmwareUpdateService = null;
     }
@@ -12,10 +12,10 @@
  */
 package org.eclipse.smarthome.io.rest.core.internal.thing;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Stream;
 
 import javax.annotation.security.RolesAllowed;
 import javax.ws.rs.GET;
@@ -23,8 +23,10 @@ import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
 import org.eclipse.smarthome.config.core.ConfigDescription;
@@ -48,9 +50,9 @@ import org.eclipse.smarthome.core.thing.type.ChannelType;
 import org.eclipse.smarthome.core.thing.type.ChannelTypeRegistry;
 import org.eclipse.smarthome.core.thing.type.ThingType;
 import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
+import org.eclipse.smarthome.io.rest.JSONResponseCache;
 import org.eclipse.smarthome.io.rest.LocaleUtil;
 import org.eclipse.smarthome.io.rest.RESTResource;
-import org.eclipse.smarthome.io.rest.Stream2JSONInputStream;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
@@ -84,12 +86,22 @@ public class ThingTypeResource implements RESTResource {
     /** The URI path to this resource */
     public static final String PATH_THINGS_TYPES = "thing-types";
 
+    /** The duration for how long a serialized listing of all thing types is reused */
+    private static final Duration TYPE_LISTING_EXPIRY = Duration.ofSeconds(10);
+
     private final Logger logger = LoggerFactory.getLogger(ThingTypeResource.class);
 
     private ThingTypeRegistry thingTypeRegistry;
     private ConfigDescriptionRegistry configDescriptionRegistry;
     private ChannelTypeRegistry channelTypeRegistry;
 
+    private final JSONResponseCache<Locale> typeListingCache = new JSONResponseCache<>(TYPE_LISTING_EXPIRY,
+            locale -> thingTypeRegistry.getThingTypes(locale).stream()
+                    .map(t -> convertToStrippedThingTypeDTO(t, locale)));
+
+    @Context
+    private Request request;
+
     @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
     protected void setThingTypeRegistry(ThingTypeRegistry thingTypeRegistry) {
         this.thingTypeRegistry = thingTypeRegistry;
@@ -124,10 +136,7 @@ public class ThingTypeResource implements RESTResource {
     @ApiResponses(value = @ApiResponse(code = 200, message = "OK", response = StrippedThingTypeDTO.class, responseContainer = "Set"))
     public Response getAll(
             @HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) @ApiParam(value = HttpHeaders.ACCEPT_LANGUAGE) String language) {
-        Locale locale = LocaleUtil.getLocale(language);
-        Stream<StrippedThingTypeDTO> typeStream = thingTypeRegistry.getThingTypes(locale).stream()
-                .map(t -> convertToStrippedThingTypeDTO(t, locale));
-        return Response.ok(new Stream2JSONInputStream(typeStream)).build();
+        return typeListingCache.getResponse(request, LocaleUtil.getLocale(language));
     }
 
     @GET
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import javax.ws.rs.core.EntityTag;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link ETagUtil}.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class ETagUtilTest {
+
+    @Test
+    public void shouldCreateEqualTagsForEqualRevisionsAndParameters() {
+        EntityTag first = ETagUtil.createEntityTag("en", 1, 2);
+        EntityTag second = ETagUtil.createEntityTag("en", 1, 2);
+
+        assertThat(first, is(notNullValue()));
+        assertThat(first.isWeak(), is(true));
+        assertThat(first, is(equalTo(second)));
+    }
+
+    @Test
+    public void shouldCreateDifferentTagsForChangedRevisionsOrParameters() {
+        EntityTag tag = ETagUtil.createEntityTag("en", 1, 2);
+
+        assertThat(ETagUtil.createEntityTag("en", 1, 3), is(not(equalTo(tag))));
+        assertThat(ETagUtil.createEntityTag("de", 1, 2), is(not(equalTo(tag))));
+    }
+
+    @Test
+    public void shouldNotCreateTagForUntrackedRevision() {
+        assertThat(ETagUtil.createEntityTag(null, 1, -1), is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotEvaluatePreconditionsWithoutRequestOrTag() {
+        assertThat(ETagUtil.evaluatePreconditions(null, ETagUtil.createEntityTag(null, 1)), is(nullValue()));
+    }
+
+}
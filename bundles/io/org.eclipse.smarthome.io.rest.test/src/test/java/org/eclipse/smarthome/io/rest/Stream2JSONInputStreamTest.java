@@ -15,11 +15,14 @@ package org.eclipse.smarthome.io.rest;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
@@ -66,6 +69,50 @@ public class Stream2JSONInputStreamTest {
         assertThat(inputStreamToString(collection2InputStream), is(GSON.toJson(dummyCollection)));
     }
 
+    @Test
+    public void shouldStreamCollectionInSmallChunks() throws Exception {
+        List<DummyObject> dummyCollection = IntStream.range(0, 100)
+                .mapToObj(i -> new DummyObject("demoKey" + i, "demoValue\u00e4" + i)).collect(Collectors.toList());
+        collection2InputStream = new Stream2JSONInputStream(dummyCollection.stream());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[7];
+        int count;
+        while ((count = collection2InputStream.read(chunk, 0, chunk.length)) != -1) {
+            out.write(chunk, 0, count);
+        }
+
+        assertThat(out.toString("UTF-8"), is(GSON.toJson(dummyCollection)));
+    }
+
+    @Test
+    public void shouldWriteCollectionToOutputStream() throws Exception {
+        DummyObject dummyObject1 = new DummyObject("demoKey1", "demoValue1");
+        DummyObject dummyObject2 = new DummyObject("demoKey2", "demoValue2");
+        List<DummyObject> dummyCollection = Arrays.asList(dummyObject1, dummyObject2);
+        collection2InputStream = new Stream2JSONInputStream(dummyCollection.stream());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        collection2InputStream.writeTo(out);
+
+        assertThat(out.toString("UTF-8"), is(GSON.toJson(dummyCollection)));
+        assertThat(collection2InputStream.read(), is(-1));
+    }
+
+    @Test
+    public void shouldWriteRemainderToOutputStream() throws Exception {
+        DummyObject dummyObject1 = new DummyObject("demoKey1", "demoValue1");
+        DummyObject dummyObject2 = new DummyObject("demoKey2", "demoValue2");
+        List<DummyObject> dummyCollection = Arrays.asList(dummyObject1, dummyObject2);
+        collection2InputStream = new Stream2JSONInputStream(dummyCollection.stream());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(collection2InputStream.read());
+        collection2InputStream.writeTo(out);
+
+        assertThat(out.toString("UTF-8"), is(GSON.toJson(dummyCollection)));
+    }
+
     private String inputStreamToString(InputStream in) throws IOException {
         return IOUtils.toString(in);
     }
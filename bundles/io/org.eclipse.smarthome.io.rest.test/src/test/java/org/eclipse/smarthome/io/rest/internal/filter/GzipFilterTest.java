@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest.internal.filter;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class GzipFilterTest {
+
+    @Test
+    public void shouldAcceptGzip() {
+        assertTrue(GzipFilter.acceptsGzip("gzip"));
+        assertTrue(GzipFilter.acceptsGzip("deflate, GZIP"));
+        assertTrue(GzipFilter.acceptsGzip("gzip;q=0.5, deflate"));
+    }
+
+    @Test
+    public void shouldNotAcceptGzip() {
+        assertFalse(GzipFilter.acceptsGzip(null));
+        assertFalse(GzipFilter.acceptsGzip(""));
+        assertFalse(GzipFilter.acceptsGzip("deflate, identity"));
+        assertFalse(GzipFilter.acceptsGzip("gzip;q=0"));
+        assertFalse(GzipFilter.acceptsGzip("x-gzip"));
+    }
+
+}
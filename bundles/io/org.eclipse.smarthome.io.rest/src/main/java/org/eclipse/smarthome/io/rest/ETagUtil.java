@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest;
+
+import java.util.Arrays;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * {@link ETagUtil} provides helper methods for answering conditional requests of REST resources. The entity tags are
+ * derived from the revisions of the sources of a response (e.g. {@link
+ * org.eclipse.smarthome.core.common.registry.Registry#getRevision()}), so that a request with a matching
+ * "If-None-Match" header can be answered with "304 Not Modified" before any DTO is mapped or serialized.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+public class ETagUtil {
+
+    private ETagUtil() {
+    }
+
+    /**
+     * Creates a weak entity tag from the given revisions and the parameters of the request, which influence the
+     * response (e.g. the locale or filters).
+     *
+     * @param parameters the request parameters which influence the response, may be null
+     * @param revisions the revisions of all sources of the response
+     * @return the entity tag or null if any of the revisions is negative, i.e. a source does not track revisions
+     */
+    public static @Nullable EntityTag createEntityTag(@Nullable String parameters, long... revisions) {
+        StringBuilder value = new StringBuilder();
+        for (long revision : revisions) {
+            if (revision < 0) {
+                return null;
+            }
+            value.append(Long.toHexString(revision)).append('-');
+        }
+        value.append(Integer.toHexString(parameters == null ? 0 : parameters.hashCode()));
+        return new EntityTag(value.toString(), true);
+    }
+
+    /**
+     * Creates a weak entity tag from the hash of the given content.
+     *
+     * @param content the content of the response
+     * @return the entity tag
+     */
+    public static EntityTag createEntityTag(byte[] content) {
+        return new EntityTag(Integer.toHexString(Arrays.hashCode(content)) + "-"
+                + Integer.toHexString(content.length), true);
+    }
+
+    /**
+     * Evaluates the "If-None-Match" header of the given request against the given entity tag.
+     *
+     * @param request the request, may be null if the resource is not called through JAX-RS
+     * @param entityTag the current entity tag of the resource, may be null if it is unknown
+     * @return a "304 Not Modified" response if the client already has the current representation, null otherwise
+     */
+    public static @Nullable Response evaluatePreconditions(@Nullable Request request, @Nullable EntityTag entityTag) {
+        if (request == null || entityTag == null) {
+            return null;
+        }
+        ResponseBuilder builder = request.evaluatePreconditions(entityTag);
+        return builder == null ? null : builder.tag(entityTag).build();
+    }
+
+}
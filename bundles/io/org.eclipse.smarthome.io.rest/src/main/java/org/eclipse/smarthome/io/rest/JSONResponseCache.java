@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.cache.ExpiringLoadingCache;
+
+/**
+ * The {@link JSONResponseCache} keeps the serialized JSON bodies of collection responses, which are expensive to
+ * create but rarely change (e.g. the listings of types), for a given time. Each body gets an entity tag derived from
+ * its content, so that conditional requests for unchanged bodies are answered with "304 Not Modified".
+ *
+ * @author Flavio Costa - Initial contribution
+ *
+ * @param <K> the type of the key, which identifies a body (e.g. the locale)
+ */
+@NonNullByDefault
+public class JSONResponseCache<K> {
+
+    private static final int MAXIMUM_SIZE = 16;
+
+    private static class Body {
+        private final byte[] content;
+        private final EntityTag entityTag;
+
+        public Body(byte[] content) {
+            this.content = content;
+            this.entityTag = ETagUtil.createEntityTag(content);
+        }
+    }
+
+    private final ExpiringLoadingCache<K, Body> cache;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param expiry the duration for how long a body stays valid
+     * @param source the function providing the elements of the body for a key
+     */
+    public JSONResponseCache(Duration expiry, Function<K, Stream<?>> source) {
+        this.cache = new ExpiringLoadingCache<>(expiry.toMillis(), 0, MAXIMUM_SIZE, key -> serialize(source.apply(key)));
+    }
+
+    /**
+     * Creates the response for the given key, using the cached body if it is still valid.
+     *
+     * @param request the request, may be null if the resource is not called through JAX-RS
+     * @param key the key of the body
+     * @return a "304 Not Modified" response if the client already has the current body, a response with the body
+     *         otherwise
+     */
+    public Response getResponse(@Nullable Request request, K key) {
+        Body body = cache.get(key);
+        if (body == null) {
+            return Response.serverError().build();
+        }
+        Response notModified = ETagUtil.evaluatePreconditions(request, body.entityTag);
+        if (notModified != null) {
+            return notModified;
+        }
+        return Response.ok(new ByteArrayInputStream(body.content)).tag(body.entityTag).build();
+    }
+
+    /**
+     * Discards all cached bodies.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private static Body serialize(Stream<?> elements) {
+        try (Stream2JSONInputStream in = new Stream2JSONInputStream(elements)) {
+            return new Body(IOUtils.toByteArray(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -12,8 +12,12 @@
  */
 package org.eclipse.smarthome.io.rest;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.stream.Stream;
@@ -22,25 +26,37 @@ import org.apache.commons.io.IOUtils;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * This {@link InputStream} will stream {@link Stream}s as JSON one item at a time. This will reduce memory usage when
  * streaming large collections through the REST interface. The input stream creates one JSON representation at a time
  * from the top level elements of the stream. For best performance a flattened stream should be provided. Otherwise a
  * nested collections JSON representation will be fully transformed into memory.
+ * <p>
+ * The JSON representations are written by a single {@link JsonWriter} into a reused buffer. When the stream is sent as
+ * a response entity, it is written directly into the response through {@link #writeTo(OutputStream)}.
  *
  * @author Henning Treu - initial contribution
  *
  */
 public class Stream2JSONInputStream extends InputStream {
 
-    private final Iterator<String> iterator;
+    private static final Gson GSON = new GsonBuilder().create();
 
-    private InputStream jsonElementStream;
+    private final Stream<?> source;
 
-    private boolean firstIteratorElement;
+    private final Iterator<?> iterator;
 
-    private Gson gson = new GsonBuilder().create();
+    private final JsonBuffer jsonElementBuffer = new JsonBuffer();
+
+    private final JsonWriter jsonWriter;
+
+    private int position;
+
+    private boolean started;
+
+    private boolean finished;
 
     /**
      * Creates a new {@link Stream2JSONInputStream} backed by the given {@link Stream} source.
@@ -53,58 +69,124 @@ public class Stream2JSONInputStream extends InputStream {
             throw new IllegalArgumentException("The source must not be null!");
         }
 
-        iterator = source.map(e -> gson.toJson(e)).iterator();
-        jsonElementStream = IOUtils.toInputStream("");
-        firstIteratorElement = true;
+        this.source = source;
+        iterator = source.iterator();
+        jsonWriter = new JsonWriter(new OutputStreamWriter(jsonElementBuffer, StandardCharsets.UTF_8));
     }
 
     @Override
     public int read() throws IOException {
-        int result = jsonElementStream.read();
-
-        if (result == -1) { // the current JSON element was completely streamed
-            if (finished()) { // we are done streaming the collection
-                return -1;
-            }
+        if (!fillBuffer()) {
+            return -1;
+        }
+        return jsonElementBuffer.getBytes()[position++] & 0xff;
+    }
 
-            fillBuffer(); // get the next element into a new jsonElementStream
-            result = jsonElementStream.read();
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
         }
+        if (len == 0) {
+            return 0;
+        }
+        if (!fillBuffer()) {
+            return -1;
+        }
+        int count = Math.min(len, jsonElementBuffer.getCount() - position);
+        System.arraycopy(jsonElementBuffer.getBytes(), position, b, off, count);
+        position += count;
+        return count;
+    }
 
-        return result;
+    @Override
+    public int available() throws IOException {
+        return jsonElementBuffer.getCount() - position;
     }
 
     @Override
     public void close() throws IOException {
-        jsonElementStream.close();
+        finished = true;
+        jsonElementBuffer.reset();
+        position = 0;
+        source.close();
     }
 
-    private void fillBuffer() {
-        String prefix;
-        if (firstIteratorElement) {
-            prefix = "[";
-            firstIteratorElement = false;
-        } else {
-            prefix = ",";
+    /**
+     * Writes the not yet consumed part of the JSON representation to the given {@link OutputStream}. If nothing has
+     * been read from this stream yet, the elements are written straight into the given {@link OutputStream} without
+     * any intermediate buffer. The given {@link OutputStream} is flushed but not closed.
+     *
+     * @param out the {@link OutputStream} to write to
+     * @throws IOException if writing to the {@link OutputStream} fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        if (started) {
+            IOUtils.copy(this, out);
+            out.flush();
+            return;
         }
 
-        String entity = iterator.hasNext() ? iterator.next() : "";
+        started = true;
+        finished = true;
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        writer.beginArray();
+        while (iterator.hasNext()) {
+            writeElement(writer, iterator.next());
+        }
+        writer.endArray();
+        writer.flush();
+    }
 
-        String postfix = "";
-        if (!iterator.hasNext()) {
-            postfix = "]";
+    /**
+     * Makes sure that the buffer contains unread bytes, by writing the next element if necessary.
+     *
+     * @return <code>false</code> if the collection has been streamed completely
+     */
+    private boolean fillBuffer() throws IOException {
+        while (position >= jsonElementBuffer.getCount()) {
+            if (finished) {
+                return false;
+            }
+            jsonElementBuffer.reset();
+            position = 0;
+
+            if (!started) {
+                jsonWriter.beginArray();
+                started = true;
+            }
+            if (iterator.hasNext()) {
+                writeElement(jsonWriter, iterator.next());
+            }
+            if (!iterator.hasNext()) {
+                jsonWriter.endArray();
+                finished = true;
+            }
+            jsonWriter.flush();
         }
+        return true;
+    }
 
-        IOUtils.closeQuietly(jsonElementStream);
-        try {
-            jsonElementStream = IOUtils.toInputStream(prefix + entity + postfix, StandardCharsets.UTF_8.name());
-        } catch (IOException e) {
-            // IOException is thrown for invalid encoding. This will never happen with StandardCharsets.UTF_8.
+    private void writeElement(JsonWriter writer, Object element) throws IOException {
+        if (element == null) {
+            writer.nullValue();
+        } else {
+            GSON.toJson(element, element.getClass(), writer);
         }
     }
 
-    private boolean finished() {
-        return !firstIteratorElement && !iterator.hasNext();
+    /**
+     * A {@link ByteArrayOutputStream} which grants access to its buffer, so that it can be read without copying it.
+     */
+    private static class JsonBuffer extends ByteArrayOutputStream {
+
+        byte[] getBytes() {
+            return buf;
+        }
+
+        int getCount() {
+            return count;
+        }
     }
 
 }
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import org.eclipse.smarthome.io.rest.Stream2JSONInputStream;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * Writes a {@link Stream2JSONInputStream} entity straight into the response, instead of letting it be read byte by
+ * byte through its {@link java.io.InputStream} interface.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+@Component(immediate = true, service = Stream2JSONMessageBodyWriter.class)
+public class Stream2JSONMessageBodyWriter implements MessageBodyWriter<Stream2JSONInputStream> {
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return Stream2JSONInputStream.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public long getSize(Stream2JSONInputStream entity, Class<?> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(Stream2JSONInputStream entity, Class<?> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+            throws IOException, WebApplicationException {
+        try {
+            entity.writeTo(entityStream);
+        } finally {
+            entity.close();
+        }
+    }
+
+}
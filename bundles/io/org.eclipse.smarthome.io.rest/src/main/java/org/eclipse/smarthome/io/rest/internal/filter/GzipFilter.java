@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest.internal.filter;
+
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * Compresses JSON responses with gzip if the client accepts this encoding.
+ *
+ * The filter negotiates the encoding and sets the response headers, the interceptor compresses the entity while it
+ * is written.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@Provider
+@Component(immediate = true, service = GzipFilter.class)
+public class GzipFilter implements ContainerResponseFilter, WriterInterceptor {
+
+    private static final String GZIP_ENCODING = "gzip";
+    private static final String VARY_HEADER = "Vary";
+    private static final String GZIP_PROPERTY = GzipFilter.class.getName() + ".gzip";
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+            throws IOException {
+        if (!responseContext.hasEntity() || responseContext.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)
+                || !isJson(responseContext.getMediaType())) {
+            return;
+        }
+
+        responseContext.getHeaders().add(VARY_HEADER, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING))) {
+            responseContext.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+            responseContext.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            requestContext.setProperty(GZIP_PROPERTY, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+        if (!Boolean.TRUE.equals(context.getProperty(GZIP_PROPERTY))) {
+            context.proceed();
+            return;
+        }
+
+        GZIPOutputStream gzipStream = new GZIPOutputStream(context.getOutputStream());
+        context.setOutputStream(gzipStream);
+        try {
+            context.proceed();
+        } finally {
+            gzipStream.finish();
+        }
+    }
+
+    private boolean isJson(MediaType mediaType) {
+        return mediaType != null && MediaType.APPLICATION_JSON_TYPE.getType().equalsIgnoreCase(mediaType.getType())
+                && MediaType.APPLICATION_JSON_TYPE.getSubtype().equalsIgnoreCase(mediaType.getSubtype());
+    }
+
+    /**
+     * Checks whether the given Accept-Encoding header contains gzip with a non-zero quality.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            if (!GZIP_ENCODING.equalsIgnoreCase(parameters[0].trim())) {
+                continue;
+            }
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+}
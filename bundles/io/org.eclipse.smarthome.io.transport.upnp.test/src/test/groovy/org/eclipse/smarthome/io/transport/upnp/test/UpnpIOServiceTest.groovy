@@ -16,6 +16,8 @@ import static org.hamcrest.CoreMatchers.*
 import static org.junit.Assert.*
 import static org.junit.matchers.JUnitMatchers.*
 
+import java.util.concurrent.TimeUnit
+
 import org.eclipse.smarthome.io.transport.upnp.UpnpIOParticipant
 import org.eclipse.smarthome.io.transport.upnp.internal.UpnpIOServiceImpl
 import org.eclipse.smarthome.test.OSGiTest
@@ -130,6 +132,45 @@ class UpnpIOServiceTest extends OSGiTest {
         assertThatEveryThingIsEmpty()
     }
 
+    @Test
+    void 'test that status listeners of the same device action share one polling job'() {
+        def upnpIoParticipant3 = [ getUDN: { UDNString } ] as UpnpIOParticipant
+
+        upnpIoService.addStatusListener(upnpIoParticipant, SERVICE_ID, ACTION_ID, 60)
+        def poller = upnpIoService.devicePollers.values().iterator().next()
+        // the first poll is delayed by a random time within the interval
+        assertThat poller.job.getDelay(TimeUnit.SECONDS) < 60, is(true)
+        upnpIoService.addStatusListener(upnpIoParticipant3, SERVICE_ID, ACTION_ID, 60)
+        assertThat upnpIoService.pollingJobs.keySet().size(), is(2)
+        assertThat upnpIoService.devicePollers.keySet().size(), is(1)
+        assertThat upnpIoService.devicePollers.values().iterator().next(), is(sameInstance(poller))
+
+        upnpIoService.addStatusListener(upnpIoParticipant3, SERVICE_ID, ACTION_ID, 30)
+        assertThat upnpIoService.devicePollers.keySet().size(), is(1)
+        assertThat upnpIoService.devicePollers.values().iterator().next(), is(not(sameInstance(poller)))
+
+        upnpIoService.removeStatusListener(upnpIoParticipant)
+        assertThat upnpIoService.devicePollers.keySet().size(), is(1)
+
+        upnpIoService.removeStatusListener(upnpIoParticipant3)
+        assertThatEveryThingIsEmpty()
+    }
+
+    @Test
+    void 'test that status listeners of different actions of the same device are polled separately'() {
+        def upnpIoParticipant3 = [ getUDN: { UDNString } ] as UpnpIOParticipant
+
+        upnpIoService.addStatusListener(upnpIoParticipant, SERVICE_ID, ACTION_ID, 60)
+        upnpIoService.addStatusListener(upnpIoParticipant3, SERVICE_ID_2, ACTION_ID, 60)
+        assertThat upnpIoService.devicePollers.keySet().size(), is(2)
+
+        upnpIoService.removeStatusListener(upnpIoParticipant3)
+        assertThat upnpIoService.devicePollers.keySet().size(), is(1)
+
+        upnpIoService.removeStatusListener(upnpIoParticipant)
+        assertThatEveryThingIsEmpty()
+    }
+
     @Test
     void 'test that Subscriptions are added'() {
         upnpIoService.addSubscription(upnpIoParticipant, SERVICE_ID, 60)
@@ -162,6 +203,7 @@ class UpnpIOServiceTest extends OSGiTest {
     private assertThatEveryThingIsEmpty() {
         assertThat upnpIoService.participants.isEmpty(), is(true)
         assertThat upnpIoService.pollingJobs.keySet().isEmpty(), is(true)
+        assertThat upnpIoService.devicePollers.keySet().isEmpty(), is(true)
         assertThat upnpIoService.currentStates.keySet().isEmpty(), is(true)
         assertThat upnpIoService.subscriptionCallbacks.keySet().isEmpty(), is(true)
     }
@@ -86,6 +86,7 @@ public interface UpnpIOService {
      * Establish a polling mechanism to check the status of a specific UDN device. The polling mechanism
      * works by invoking the actionID on serviceID every interval. It is assumed that the actionID does
      * not take/have to take any {variable,value} input set
+     * Polls of the same action on a device are coalesced and skipped while the device is sending GENA events.
      * 
      * @param participant the participant for whom we want to set up a polling
      * @param serviceID the service to use for polling
@@ -19,8 +19,11 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
@@ -72,14 +75,19 @@ public class UpnpIOServiceImpl implements UpnpIOService, RegistryListener {
 
     private final int DEFAULT_POLLING_INTERVAL = 60;
     private static final String POOL_NAME = "upnp-io";
+    private static final String POLLING_POOL_NAME = "upnp-io-polling";
+    private static final long POLLING_TIMEOUT = 10;
 
     private UpnpService upnpService;
 
     private final Set<UpnpIOParticipant> participants = new CopyOnWriteArraySet<>();
-    private final Map<UpnpIOParticipant, ScheduledFuture> pollingJobs = new ConcurrentHashMap<UpnpIOParticipant, ScheduledFuture>();
+    private final Map<UpnpIOParticipant, PollingRequest> pollingJobs = new ConcurrentHashMap<>();
+    private final Map<String, DevicePoller> devicePollers = new HashMap<>();
+    private final Map<String, Long> lastEventReceived = new ConcurrentHashMap<>();
     private final Map<UpnpIOParticipant, Boolean> currentStates = new ConcurrentHashMap<UpnpIOParticipant, Boolean>();
     private final Map<Service, UpnpSubscriptionCallback> subscriptionCallbacks = new ConcurrentHashMap<Service, UpnpSubscriptionCallback>();
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(POOL_NAME);
+    private final ExecutorService pollingPool = ThreadPoolManager.getPool(POLLING_POOL_NAME);
 
     public class UpnpSubscriptionCallback extends SubscriptionCallback {
 
@@ -128,6 +136,7 @@ public class UpnpIOServiceImpl implements UpnpIOService, RegistryListener {
 
             logger.trace("A GENA subscription '{}' for device '{}' is established", serviceId,
                     deviceRoot.getIdentity().getUdn());
+            deviceEventReceived(deviceRoot);
 
             for (UpnpIOParticipant participant : participants) {
                 if (Objects.equals(getDevice(participant), deviceRoot)) {
@@ -149,6 +158,7 @@ public class UpnpIOServiceImpl implements UpnpIOService, RegistryListener {
 
             logger.trace("Receiving a GENA subscription '{}' response for device '{}'", serviceId,
                     deviceRoot.getIdentity().getUdn());
+            deviceEventReceived(deviceRoot);
             for (UpnpIOParticipant participant : participants) {
                 if (Objects.equals(getDevice(participant), deviceRoot)) {
                     for (String stateVariable : values.keySet()) {
@@ -370,7 +380,6 @@ public class UpnpIOServiceImpl implements UpnpIOService, RegistryListener {
     public void unregisterParticipant(UpnpIOParticipant participant) {
         if (participant != null) {
             stopPollingForParticipant(participant);
-            pollingJobs.remove(participant);
             currentStates.remove(participant);
             participants.remove(participant);
         }
@@ -420,24 +429,107 @@ public class UpnpIOServiceImpl implements UpnpIOService, RegistryListener {
         }
     }
 
-    private class UPNPPollingRunnable implements Runnable {
+    /**
+     * Notes the reception of a GENA message from a device, which proves that the device is alive and makes polling it
+     * unnecessary for the current polling interval.
+     */
+    private void deviceEventReceived(Device deviceRoot) {
+        if (deviceRoot != null && deviceRoot.getIdentity() != null) {
+            lastEventReceived.put(deviceRoot.getIdentity().getUdn().getIdentifierString(), System.nanoTime());
+        }
+    }
+
+    private void setDeviceStatus(String udn, boolean newStatus) {
+        for (UpnpIOParticipant participant : pollingJobs.keySet()) {
+            if (udn.equals(participant.getUDN())) {
+                setDeviceStatus(participant, newStatus);
+            }
+        }
+    }
+
+    /**
+     * The polling request of a single participant. All requests for the same action of a device are coalesced into a
+     * single {@link DevicePoller}.
+     */
+    private static class PollingRequest {
 
-        private final UpnpIOParticipant participant;
+        private final String udn;
         private final String serviceID;
         private final String actionID;
+        private final int interval;
 
-        public UPNPPollingRunnable(UpnpIOParticipant participant, String serviceID, String actionID) {
-            this.participant = participant;
+        public PollingRequest(String udn, String serviceID, String actionID, int interval) {
+            this.udn = udn;
             this.serviceID = serviceID;
             this.actionID = actionID;
+            this.interval = interval;
+        }
+
+        /**
+         * Returns the key of the {@link DevicePoller} which serves this request.
+         */
+        public String getPollerKey() {
+            return udn + "/" + serviceID + "/" + actionID;
+        }
+    }
+
+    /**
+     * Polls the status of a single device through one action on behalf of all participants that have added a status
+     * listener for this action.
+     * The poll is skipped, if a GENA message has been received from the device within the polling interval. The
+     * action invocation itself is done on a separate pool, so that slow devices do not block the scheduler.
+     */
+    private class DevicePoller implements Runnable {
+
+        private final String udn;
+        private final String serviceID;
+        private final String actionID;
+        private final int interval;
+        private final long intervalNanos;
+
+        private ScheduledFuture<?> job;
+        private Future<?> pendingPoll;
+
+        private long polls;
+        private long skippedPolls;
+        private long failedPolls;
+        private long timedOutPolls;
+        private long totalLatency;
+        private long maxLatency;
+
+        public DevicePoller(String udn, String serviceID, String actionID, int interval) {
+            this.udn = udn;
+            this.serviceID = serviceID;
+            this.actionID = actionID;
+            this.interval = interval;
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(interval);
         }
 
         @Override
-        public void run() {
+        public synchronized void run() {
+            if (pendingPoll != null && !pendingPoll.isDone()) {
+                logger.debug("Skipping poll of device '{}' as the previous poll is still running", udn);
+                return;
+            }
+
+            Long lastEvent = lastEventReceived.get(udn);
+            if (lastEvent != null && System.nanoTime() - lastEvent < intervalNanos) {
+                logger.trace("Skipping poll of device '{}' as it has recently sent an event", udn);
+                skippedPolls++;
+                setDeviceStatus(udn, true);
+                return;
+            }
+
+            final Future<?> poll = pollingPool.submit(this::poll);
+            pendingPoll = poll;
+            scheduler.schedule(() -> checkTimeout(poll), POLLING_TIMEOUT, TimeUnit.SECONDS);
+        }
+
+        private void poll() {
             // It is assumed that during addStatusListener() a check is made whether the participant is correctly
             // registered
             try {
-                Device device = getDevice(participant);
+                Device device = upnpService.getRegistry().getDevice(new UDN(udn), true);
                 if (device != null) {
                     Service service = findService(device, serviceID);
                     if (service != null) {
@@ -445,32 +537,87 @@ public class UpnpIOServiceImpl implements UpnpIOService, RegistryListener {
                         if (action != null) {
                             @SuppressWarnings("unchecked")
                             ActionInvocation invocation = new ActionInvocation(action);
-                            logger.debug("Polling participant '{}' through Action '{}' of Service '{}' ",
-                                    participant.getUDN(), actionID, serviceID);
+                            logger.debug("Polling device '{}' through Action '{}' of Service '{}' ", udn,
+                                    actionID, serviceID);
+                            long start = System.nanoTime();
                             new ActionCallback.Default(invocation, upnpService.getControlPoint()).run();
+                            pollCompleted(System.nanoTime() - start);
 
                             ActionException anException = invocation.getFailure();
-                            if (anException != null
+                            if (anException != null && anException.getMessage() != null
                                     && anException.getMessage().contains("Connection error or no response received")) {
                                 // The UDN is not reachable anymore
-                                setDeviceStatus(participant, false);
+                                pollFailed();
+                                setDeviceStatus(udn, false);
                             } else {
                                 // The UDN functions correctly
-                                setDeviceStatus(participant, true);
+                                setDeviceStatus(udn, true);
                             }
                         } else {
-                            logger.debug("Could not find action '{}' for participant '{}'", actionID,
-                                    participant.getUDN());
+                            logger.debug("Could not find action '{}' for device '{}'", actionID, udn);
                         }
                     } else {
-                        logger.debug("Could not find service '{}' for participant '{}'", serviceID,
-                                participant.getUDN());
+                        logger.debug("Could not find service '{}' for device '{}'", serviceID, udn);
                     }
                 }
             } catch (Exception e) {
                 logger.error("An exception occurred while polling an UPNP device: '{}'", e.getMessage(), e);
             }
         }
+
+        private void checkTimeout(Future<?> poll) {
+            if (!poll.isDone()) {
+                logger.debug("Polling device '{}' timed out after {} seconds", udn, POLLING_TIMEOUT);
+                poll.cancel(true);
+                synchronized (this) {
+                    timedOutPolls++;
+                }
+                setDeviceStatus(udn, false);
+            }
+        }
+
+        private synchronized void pollCompleted(long latency) {
+            polls++;
+            totalLatency += latency;
+            maxLatency = Math.max(maxLatency, latency);
+            logger.trace("Polled device '{}' in {} ms", udn, TimeUnit.NANOSECONDS.toMillis(latency));
+        }
+
+        private synchronized void pollFailed() {
+            failedPolls++;
+        }
+
+        public synchronized void cancel() {
+            if (job != null) {
+                job.cancel(true);
+            }
+            if (pendingPoll != null) {
+                pendingPoll.cancel(true);
+            }
+            logger.debug("Stopped polling device '{}' through Action '{}' of Service '{}': {}", udn, actionID,
+                    serviceID, this);
+        }
+
+        /**
+         * Stops the scheduling of this poller in favour of the given one, without interrupting a poll in progress.
+         * The replacement does not start another poll until the one in progress has finished.
+         */
+        public synchronized void replaceWith(DevicePoller replacement) {
+            if (job != null) {
+                job.cancel(false);
+            }
+            synchronized (replacement) {
+                replacement.pendingPoll = pendingPoll;
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "polls=" + polls + ", skipped=" + skippedPolls + ", failed=" + failedPolls + ", timedOut="
+                    + timedOutPolls + ", avgLatency="
+                    + (polls == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatency / polls)) + "ms, maxLatency="
+                    + TimeUnit.NANOSECONDS.toMillis(maxLatency) + "ms";
+        }
     }
 
     @Override
@@ -480,23 +627,64 @@ public class UpnpIOServiceImpl implements UpnpIOService, RegistryListener {
 
             int pollingInterval = interval == 0 ? DEFAULT_POLLING_INTERVAL : interval;
 
-            // remove the previous polling job, if any
-            stopPollingForParticipant(participant);
-
             currentStates.put(participant, true);
 
-            Runnable pollingRunnable = new UPNPPollingRunnable(participant, serviceID, actionID);
-            pollingJobs.put(participant,
-                    scheduler.scheduleWithFixedDelay(pollingRunnable, 0, pollingInterval, TimeUnit.SECONDS));
+            PollingRequest request = new PollingRequest(participant.getUDN(), serviceID, actionID, pollingInterval);
+            PollingRequest previous = pollingJobs.put(participant, request);
+            if (previous != null && !previous.getPollerKey().equals(request.getPollerKey())) {
+                reschedulePolling(previous);
+            }
+            reschedulePolling(request);
         }
     }
 
     private void stopPollingForParticipant(UpnpIOParticipant participant) {
-        if (pollingJobs.containsKey(participant)) {
-            ScheduledFuture<?> pollingJob = pollingJobs.get(participant);
-            if (pollingJob != null) {
-                pollingJob.cancel(true);
+        PollingRequest request = pollingJobs.remove(participant);
+        if (request != null) {
+            reschedulePolling(request);
+        }
+    }
+
+    /**
+     * (Re-)schedules the polling of a device through the action of the given request, according to the shortest
+     * interval that has been requested by the participants for this action. A running poller is kept as long as this
+     * interval does not change, a new poller starts after a random delay within the interval.
+     */
+    private void reschedulePolling(PollingRequest request) {
+        String key = request.getPollerKey();
+        synchronized (devicePollers) {
+            int interval = Integer.MAX_VALUE;
+            for (PollingRequest other : pollingJobs.values()) {
+                if (key.equals(other.getPollerKey())) {
+                    interval = Math.min(interval, other.interval);
+                }
+            }
+
+            DevicePoller poller = devicePollers.get(key);
+            if (interval == Integer.MAX_VALUE) {
+                if (poller != null) {
+                    devicePollers.remove(key);
+                    poller.cancel();
+                }
+                if (devicePollers.values().stream().noneMatch(p -> p.udn.equals(request.udn))) {
+                    lastEventReceived.remove(request.udn);
+                }
+                return;
+            }
+            if (poller != null && poller.interval == interval) {
+                return;
+            }
+
+            DevicePoller replacement = new DevicePoller(request.udn, request.serviceID, request.actionID, interval);
+            if (poller != null) {
+                poller.replaceWith(replacement);
+            }
+            synchronized (replacement) {
+                // spread the first polls, so that the devices are not all polled at the same time
+                replacement.job = scheduler.scheduleWithFixedDelay(replacement,
+                        ThreadLocalRandom.current().nextInt(interval), interval, TimeUnit.SECONDS);
             }
+            devicePollers.put(key, replacement);
         }
     }
 
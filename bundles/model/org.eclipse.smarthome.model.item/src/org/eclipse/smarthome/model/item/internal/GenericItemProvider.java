@@ -39,6 +39,7 @@ import org.eclipse.smarthome.core.items.ItemProvider;
 import org.eclipse.smarthome.core.items.MetadataRegistry;
 import org.eclipse.smarthome.core.items.dto.GroupFunctionDTO;
 import org.eclipse.smarthome.core.items.dto.ItemDTOMapper;
+import org.eclipse.smarthome.core.service.StateDescriptionService;
 import org.eclipse.smarthome.core.types.StateDescriptionFragment;
 import org.eclipse.smarthome.core.types.StateDescriptionFragmentBuilder;
 import org.eclipse.smarthome.core.types.StateDescriptionFragmentProvider;
@@ -80,6 +81,8 @@ public class GenericItemProvider extends AbstractProvider<Item>
 
     private GenericMetadataProvider genericMetaDataProvider = null;
 
+    private StateDescriptionService stateDescriptionService = null;
+
     private final Map<String, Collection<Item>> itemsMap = new ConcurrentHashMap<>();
 
     private final Collection<ItemFactory> itemFactorys = new ArrayList<ItemFactory>();
@@ -136,6 +139,15 @@ public class GenericItemProvider extends AbstractProvider<Item>
         this.genericMetaDataProvider = null;
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setStateDescriptionService(StateDescriptionService stateDescriptionService) {
+        this.stateDescriptionService = stateDescriptionService;
+    }
+
+    protected void unsetStateDescriptionService(StateDescriptionService stateDescriptionService) {
+        this.stateDescriptionService = null;
+    }
+
     /**
      * Add another instance of an {@link ItemFactory}. Used by Declarative Services.
      *
@@ -179,6 +191,10 @@ public class GenericItemProvider extends AbstractProvider<Item>
     public Collection<Item> getAll() {
         List<Item> items = new ArrayList<Item>();
         stateDescriptionFragments.clear();
+        StateDescriptionService stateDescriptionService = this.stateDescriptionService;
+        if (stateDescriptionService != null) {
+            stateDescriptionService.invalidateAll();
+        }
         for (String name : modelRepository.getAllModelNamesOfType("items")) {
             items.addAll(getItemsFromModel(name));
         }
@@ -285,6 +301,7 @@ public class GenericItemProvider extends AbstractProvider<Item>
                 label = StringUtils.substringBefore(label, "[").trim();
                 stateDescriptionFragments.put(modelItem.getName(),
                         StateDescriptionFragmentBuilder.create().withPattern(format).build());
+                invalidateStateDescription(modelItem.getName());
             }
             item.setLabel(label);
             item.setCategory(modelItem.getIcon());
@@ -444,9 +461,17 @@ public class GenericItemProvider extends AbstractProvider<Item>
     private void notifyAndCleanup(Item oldItem) {
         notifyListenersAboutRemovedElement(oldItem);
         this.stateDescriptionFragments.remove(oldItem.getName());
+        invalidateStateDescription(oldItem.getName());
         genericMetaDataProvider.removeMetadata(oldItem.getName());
     }
 
+    private void invalidateStateDescription(String itemName) {
+        StateDescriptionService stateDescriptionService = this.stateDescriptionService;
+        if (stateDescriptionService != null) {
+            stateDescriptionService.invalidate(itemName);
+        }
+    }
+
     protected boolean hasItemChanged(Item item1, Item item2) {
         return !Objects.equals(item1.getClass(), item2.getClass()) || //
                 !Objects.equals(item1.getName(), item2.getName()) || //
@@ -536,4 +561,15 @@ public class GenericItemProvider extends AbstractProvider<Item>
         return stateDescriptionFragments.get(itemName);
     }
 
+    @Override
+    public boolean isCacheable(@NonNull String itemName) {
+        // every change of the fragments is announced to the state description service
+        return true;
+    }
+
+    @Override
+    public boolean announcesChanges() {
+        return true;
+    }
+
 }
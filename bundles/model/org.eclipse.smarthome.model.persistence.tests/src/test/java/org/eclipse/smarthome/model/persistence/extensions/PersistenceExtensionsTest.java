@@ -14,17 +14,23 @@ package org.eclipse.smarthome.model.persistence.extensions;
 
 import static org.junit.Assert.*;
 
+import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.IntStream;
 
+import org.eclipse.smarthome.core.i18n.TimeZoneProvider;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.AggregationFunction;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.PersistenceServiceRegistry;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.model.persistence.tests.TestAggregatablePersistenceService;
 import org.eclipse.smarthome.model.persistence.tests.TestPersistenceService;
 import org.joda.time.DateMidnight;
 import org.joda.time.DateTime;
@@ -40,6 +46,8 @@ import org.junit.Test;
 @SuppressWarnings("deprecation")
 public class PersistenceExtensionsTest {
 
+    private final TestAggregatablePersistenceService aggregatableService = new TestAggregatablePersistenceService();
+
     private final PersistenceServiceRegistry registry = new PersistenceServiceRegistry() {
 
         private final PersistenceService testPersistenceService = new TestPersistenceService();
@@ -61,10 +69,12 @@ public class PersistenceExtensionsTest {
 
         @Override
         public PersistenceService get(String serviceId) {
-            return testPersistenceService;
+            return aggregatableService.getId().equals(serviceId) ? aggregatableService : testPersistenceService;
         }
     };
 
+    private final TimeZoneProvider timeZoneProvider = () -> ZoneId.systemDefault();
+
     private PersistenceExtensions ext;
     private GenericItem item;
 
@@ -72,6 +82,7 @@ public class PersistenceExtensionsTest {
     public void setUp() {
         ext = new PersistenceExtensions();
         ext.setPersistenceServiceRegistry(registry);
+        ext.setTimeZoneProvider(timeZoneProvider);
         item = new GenericItem("Test", "Test") {
             @Override
             public List<Class<? extends State>> getAcceptedDataTypes() {
@@ -88,6 +99,7 @@ public class PersistenceExtensionsTest {
     @After
     public void tearDown() {
         ext.unsetPersistenceServiceRegistry(registry);
+        ext.unsetTimeZoneProvider(timeZoneProvider);
     }
 
     @Test
@@ -115,6 +127,8 @@ public class PersistenceExtensionsTest {
         historicItem = PersistenceExtensions.minimumSince(item, new DateMidnight(2005, 1, 1), "test");
         assertEquals("2005", historicItem.getState().toString());
         assertEquals(new DateMidnight(2005, 1, 1).toDate(), historicItem.getTimestamp());
+        // the persisted entry is returned as it is
+        assertEquals("Test", historicItem.getName());
     }
 
     @Test
@@ -127,6 +141,8 @@ public class PersistenceExtensionsTest {
         historicItem = PersistenceExtensions.maximumSince(item, new DateMidnight(2005, 1, 1), "test");
         assertEquals("2012", historicItem.getState().toString());
         assertEquals(new DateMidnight(2012, 1, 1).toDate(), historicItem.getTimestamp());
+        // the persisted entry is returned as it is
+        assertEquals("Test", historicItem.getName());
     }
 
     @Test
@@ -141,6 +157,54 @@ public class PersistenceExtensionsTest {
         assertEquals(expected, average.doubleValue(), 0.01);
     }
 
+    @Test
+    public void testSumSince() {
+        DecimalType sum = PersistenceExtensions.sumSince(item, new DateMidnight(1940, 1, 1), "test");
+        assertEquals(0, sum.intValue());
+
+        sum = PersistenceExtensions.sumSince(item, new DateMidnight(2005, 1, 1), "test");
+        assertEquals(IntStream.rangeClosed(2005, 2012).sum(), sum.intValue());
+    }
+
+    @Test
+    public void testAggregatablePersistenceService() {
+        item.setState(new DecimalType(1));
+        HistoricItem historicItem = PersistenceExtensions.minimumSince(item, new DateMidnight(2005, 1, 1),
+                "aggregatable");
+        assertEquals("1", historicItem.getState().toString());
+
+        item.setState(new DecimalType(5000));
+        historicItem = PersistenceExtensions.minimumSince(item, new DateMidnight(2005, 1, 1), "aggregatable");
+        assertEquals("2005", historicItem.getState().toString());
+        assertEquals(new DateMidnight(2005, 1, 1).toDate(), historicItem.getTimestamp());
+        assertEquals("Test", historicItem.getName());
+
+        item.setState(new DecimalType(1));
+        historicItem = PersistenceExtensions.maximumSince(item, new DateMidnight(2005, 1, 1), "aggregatable");
+        assertEquals("2012", historicItem.getState().toString());
+        assertEquals(new DateMidnight(2012, 1, 1).toDate(), historicItem.getTimestamp());
+        assertEquals("Test", historicItem.getName());
+
+        DecimalType sum = PersistenceExtensions.sumSince(item, new DateMidnight(1940, 1, 1), "aggregatable");
+        assertEquals(0, sum.intValue());
+        sum = PersistenceExtensions.sumSince(item, new DateMidnight(2005, 1, 1), "aggregatable");
+        assertEquals(IntStream.rangeClosed(2005, 2012).sum(), sum.intValue());
+
+        item.setState(new DecimalType(3025));
+        DecimalType average = PersistenceExtensions.averageSince(item, new DateMidnight(2003, 1, 1), "aggregatable");
+        DecimalType expectedAverage = PersistenceExtensions.averageSince(item, new DateMidnight(2003, 1, 1), "test");
+        assertEquals(expectedAverage.doubleValue(), average.doubleValue(), 0.01);
+
+        DecimalType delta = PersistenceExtensions.deltaSince(item, new DateMidnight(2011, 12, 31), "aggregatable");
+        assertEquals(3025 - 2011, delta.intValue());
+        assertEquals(PersistenceExtensions.deltaSince(item, new DateMidnight(2011, 12, 31), "test"), delta);
+
+        assertEquals(Arrays.asList(AggregationFunction.MINIMUM, AggregationFunction.MINIMUM,
+                AggregationFunction.MAXIMUM, AggregationFunction.SUM, AggregationFunction.SUM,
+                AggregationFunction.TIME_WEIGHTED_AVERAGE, AggregationFunction.LAST, AggregationFunction.LAST),
+                aggregatableService.aggregations);
+    }
+
     @Test
     public void testPreviousStateNoSkip() {
         item.setState(new DecimalType(4321));
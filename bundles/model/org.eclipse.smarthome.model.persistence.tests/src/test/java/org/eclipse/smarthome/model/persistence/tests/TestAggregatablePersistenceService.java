@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.model.persistence.tests;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.smarthome.core.persistence.AggregatablePersistenceService;
+import org.eclipse.smarthome.core.persistence.AggregationFunction;
+import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.persistence.HistoricItemAggregator;
+
+/**
+ * A persistence service used for unit tests, which aggregates the states of {@link TestPersistenceService} itself
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class TestAggregatablePersistenceService extends TestPersistenceService
+        implements AggregatablePersistenceService {
+
+    public final List<AggregationFunction> aggregations = new ArrayList<>();
+
+    @Override
+    public String getId() {
+        return "aggregatable";
+    }
+
+    @Override
+    public Iterable<HistoricItem> aggregate(FilterCriteria filter, AggregationFunction function, Duration bucketSize) {
+        aggregations.add(function);
+        FilterCriteria ascendingFilter = new FilterCriteria().setItemName(filter.getItemName())
+                .setBeginDate(filter.getBeginDateZoned()).setEndDate(filter.getEndDateZoned())
+                .setOrdering(Ordering.ASCENDING);
+        return HistoricItemAggregator.aggregate(query(ascendingFilter), function, filter.getBeginDateZoned(),
+                bucketSize);
+    }
+
+}
@@ -19,13 +19,17 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.stream.Stream;
 
 import org.eclipse.smarthome.core.i18n.TimeZoneProvider;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.AggregatablePersistenceService;
+import org.eclipse.smarthome.core.persistence.AggregationFunction;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
 import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.persistence.HistoricItemAggregator;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.PersistenceServiceRegistry;
 import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
@@ -164,11 +168,8 @@ public class PersistenceExtensions {
             filter.setItemName(item.getName());
             filter.setPageSize(1);
             filter.setOrdering(Ordering.DESCENDING);
-            Iterable<HistoricItem> result = qService.query(filter);
-            if (result.iterator().hasNext()) {
-                return result.iterator().next();
-            } else {
-                return null;
+            try (Stream<HistoricItem> result = qService.stream(filter)) {
+                return result.findFirst().orElse(null);
             }
         } else {
             LoggerFactory.getLogger(PersistenceExtensions.class)
@@ -285,20 +286,33 @@ public class PersistenceExtensions {
      *         {@link QueryablePersistenceService}
      */
     public static HistoricItem maximumSince(final Item item, AbstractInstant timestamp, String serviceId) {
-        Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
-        Iterator<HistoricItem> it = result.iterator();
         HistoricItem maximumHistoricItem = null;
         DecimalType maximum = (DecimalType) item.getStateAs(DecimalType.class);
-        while (it.hasNext()) {
-            HistoricItem historicItem = it.next();
-            State state = historicItem.getState();
-            if (state instanceof DecimalType) {
-                DecimalType value = (DecimalType) state;
+        PersistenceService service = getService(serviceId);
+        if (service instanceof AggregatablePersistenceService) {
+            HistoricItem historicItem = aggregateSince((AggregatablePersistenceService) service, item, timestamp,
+                    AggregationFunction.MAXIMUM);
+            if (historicItem != null) {
+                DecimalType value = (DecimalType) historicItem.getState();
                 if (maximum == null || value.compareTo(maximum) > 0) {
                     maximum = value;
                     maximumHistoricItem = historicItem;
                 }
             }
+        } else {
+            Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
+            Iterator<HistoricItem> it = result.iterator();
+            while (it.hasNext()) {
+                HistoricItem historicItem = it.next();
+                State state = historicItem.getState();
+                if (state instanceof DecimalType) {
+                    DecimalType value = (DecimalType) state;
+                    if (maximum == null || value.compareTo(maximum) > 0) {
+                        maximum = value;
+                        maximumHistoricItem = historicItem;
+                    }
+                }
+            }
         }
         if (maximumHistoricItem == null && maximum != null) {
             // the maximum state is the current one, so construct a historic item on the fly
@@ -352,20 +366,33 @@ public class PersistenceExtensions {
      *         the given <code>serviceId</code> does not refer to an available {@link QueryablePersistenceService}
      */
     public static HistoricItem minimumSince(final Item item, AbstractInstant timestamp, String serviceId) {
-        Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
-        Iterator<HistoricItem> it = result.iterator();
         HistoricItem minimumHistoricItem = null;
         DecimalType minimum = (DecimalType) item.getStateAs(DecimalType.class);
-        while (it.hasNext()) {
-            HistoricItem historicItem = it.next();
-            State state = historicItem.getState();
-            if (state instanceof DecimalType) {
-                DecimalType value = (DecimalType) state;
+        PersistenceService service = getService(serviceId);
+        if (service instanceof AggregatablePersistenceService) {
+            HistoricItem historicItem = aggregateSince((AggregatablePersistenceService) service, item, timestamp,
+                    AggregationFunction.MINIMUM);
+            if (historicItem != null) {
+                DecimalType value = (DecimalType) historicItem.getState();
                 if (minimum == null || value.compareTo(minimum) < 0) {
                     minimum = value;
                     minimumHistoricItem = historicItem;
                 }
             }
+        } else {
+            Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
+            Iterator<HistoricItem> it = result.iterator();
+            while (it.hasNext()) {
+                HistoricItem historicItem = it.next();
+                State state = historicItem.getState();
+                if (state instanceof DecimalType) {
+                    DecimalType value = (DecimalType) state;
+                    if (minimum == null || value.compareTo(minimum) < 0) {
+                        minimum = value;
+                        minimumHistoricItem = historicItem;
+                    }
+                }
+            }
         }
         if (minimumHistoricItem == null && minimum != null) {
             // the minimal state is the current one, so construct a historic item on the fly
@@ -419,9 +446,6 @@ public class PersistenceExtensions {
      *         refer to an available {@link QueryablePersistenceService}
      */
     public static DecimalType averageSince(Item item, AbstractInstant timestamp, String serviceId) {
-        Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
-        Iterator<HistoricItem> it = result.iterator();
-
         BigDecimal total = BigDecimal.ZERO;
 
         BigDecimal avgValue, timeSpan;
@@ -429,23 +453,42 @@ public class PersistenceExtensions {
         BigDecimal lastTimestamp = null, thisTimestamp = null;
         BigDecimal firstTimestamp = null;
 
-        while (it.hasNext()) {
-            HistoricItem thisItem = it.next();
-            State state = thisItem.getState();
-
-            if (state instanceof DecimalType) {
-                thisState = (DecimalType) state;
-                thisTimestamp = BigDecimal.valueOf(thisItem.getTimestamp().getTime());
-                if (firstTimestamp == null) {
-                    firstTimestamp = thisTimestamp;
-                } else {
-                    avgValue = (thisState.toBigDecimal().add(lastState.toBigDecimal())).divide(BigDecimal.valueOf(2),
-                            MathContext.DECIMAL64);
-                    timeSpan = thisTimestamp.subtract(lastTimestamp);
-                    total = total.add(avgValue.multiply(timeSpan, MathContext.DECIMAL64));
+        PersistenceService service = getService(serviceId);
+        if (service instanceof AggregatablePersistenceService) {
+            // the service integrates the persisted states, the time since the last one is added below
+            AggregatablePersistenceService aService = (AggregatablePersistenceService) service;
+            HistoricItem averageItem = aggregateSince(aService, item, timestamp,
+                    AggregationFunction.TIME_WEIGHTED_AVERAGE);
+            HistoricItem lastItem = aggregateSince(aService, item, timestamp, AggregationFunction.LAST);
+            if (averageItem != null && lastItem != null) {
+                firstTimestamp = BigDecimal.valueOf(averageItem.getTimestamp().getTime());
+                lastTimestamp = BigDecimal.valueOf(lastItem.getTimestamp().getTime());
+                lastState = (DecimalType) lastItem.getState();
+                total = ((DecimalType) averageItem.getState()).toBigDecimal()
+                        .multiply(lastTimestamp.subtract(firstTimestamp), MathContext.DECIMAL64);
+            }
+        } else {
+            Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
+            Iterator<HistoricItem> it = result.iterator();
+
+            while (it.hasNext()) {
+                HistoricItem thisItem = it.next();
+                State state = thisItem.getState();
+
+                if (state instanceof DecimalType) {
+                    thisState = (DecimalType) state;
+                    thisTimestamp = BigDecimal.valueOf(thisItem.getTimestamp().getTime());
+                    if (firstTimestamp == null) {
+                        firstTimestamp = thisTimestamp;
+                    } else {
+                        avgValue = (thisState.toBigDecimal().add(lastState.toBigDecimal()))
+                                .divide(BigDecimal.valueOf(2), MathContext.DECIMAL64);
+                        timeSpan = thisTimestamp.subtract(lastTimestamp);
+                        total = total.add(avgValue.multiply(timeSpan, MathContext.DECIMAL64));
+                    }
+                    lastTimestamp = thisTimestamp;
+                    lastState = thisState;
                 }
-                lastTimestamp = thisTimestamp;
-                lastState = thisState;
             }
         }
 
@@ -494,6 +537,13 @@ public class PersistenceExtensions {
      *         {@link QueryablePersistenceService}
      */
     public static DecimalType sumSince(Item item, AbstractInstant timestamp, String serviceId) {
+        PersistenceService service = getService(serviceId);
+        if (service instanceof AggregatablePersistenceService) {
+            HistoricItem sum = aggregateSince((AggregatablePersistenceService) service, item, timestamp,
+                    AggregationFunction.SUM);
+            return sum != null ? (DecimalType) sum.getState() : new DecimalType(BigDecimal.ZERO);
+        }
+
         Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
         Iterator<HistoricItem> it = result.iterator();
 
@@ -525,6 +575,26 @@ public class PersistenceExtensions {
         }
     }
 
+    /**
+     * Aggregates the states of the given <code>item</code> since the given point in time into a single value, which
+     * is computed by the persistence service itself.
+     *
+     * @return the aggregated value or <code>null</code> if there are no numeric states
+     */
+    private static HistoricItem aggregateSince(AggregatablePersistenceService service, Item item,
+            AbstractInstant timestamp, AggregationFunction function) {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setBeginDate(ZonedDateTime.ofInstant(timestamp.toDate().toInstant(), timeZoneProvider.getTimeZone()));
+        filter.setItemName(item.getName());
+        return aggregate(service, filter, function);
+    }
+
+    private static HistoricItem aggregate(AggregatablePersistenceService service, FilterCriteria filter,
+            AggregationFunction function) {
+        Iterator<HistoricItem> it = HistoricItemAggregator.aggregate(service, filter, function, null).iterator();
+        return it.hasNext() ? it.next() : null;
+    }
+
     /**
      * Query the last update time of a given <code>item</code>. The default persistence service is used.
      *
@@ -554,11 +624,9 @@ public class PersistenceExtensions {
             filter.setItemName(item.getName());
             filter.setOrdering(Ordering.DESCENDING);
             filter.setPageSize(1);
-            Iterable<HistoricItem> result = qService.query(filter);
-            if (result.iterator().hasNext()) {
-                return new DateTime(result.iterator().next().getTimestamp());
-            } else {
-                return null;
+            try (Stream<HistoricItem> result = qService.stream(filter)) {
+                return result.findFirst().map(historicItem -> new DateTime(historicItem.getTimestamp()))
+                        .orElse(null);
             }
         } else {
             LoggerFactory.getLogger(PersistenceExtensions.class)
@@ -595,7 +663,17 @@ public class PersistenceExtensions {
      *         <code>serviceId</code>
      */
     public static DecimalType deltaSince(Item item, AbstractInstant timestamp, String serviceId) {
-        HistoricItem itemThen = historicState(item, timestamp, serviceId);
+        HistoricItem itemThen;
+        PersistenceService service = getService(serviceId);
+        if (service instanceof AggregatablePersistenceService) {
+            // the latest numeric state up to the given point in time
+            FilterCriteria filter = new FilterCriteria();
+            filter.setEndDate(ZonedDateTime.ofInstant(timestamp.toDate().toInstant(), timeZoneProvider.getTimeZone()));
+            filter.setItemName(item.getName());
+            itemThen = aggregate((AggregatablePersistenceService) service, filter, AggregationFunction.LAST);
+        } else {
+            itemThen = historicState(item, timestamp, serviceId);
+        }
         if (itemThen != null) {
             DecimalType valueThen = (DecimalType) itemThen.getState();
             DecimalType valueNow = (DecimalType) item.getStateAs(DecimalType.class);
@@ -700,25 +778,24 @@ public class PersistenceExtensions {
             int startPage = 0;
             filter.setPageNumber(startPage);
 
-            Iterable<HistoricItem> items = qService.query(filter);
-            while (items != null) {
-                Iterator<HistoricItem> itemIterator = items.iterator();
+            while (true) {
                 int itemCount = 0;
-                while (itemIterator.hasNext()) {
-                    HistoricItem historicItem = itemIterator.next();
-                    itemCount++;
-                    if (!skipEqual || (skipEqual && !historicItem.getState().equals(item.getState()))) {
-                        return historicItem;
+                try (Stream<HistoricItem> items = qService.stream(filter)) {
+                    Iterator<HistoricItem> itemIterator = items.iterator();
+                    while (itemIterator.hasNext()) {
+                        HistoricItem historicItem = itemIterator.next();
+                        itemCount++;
+                        if (!skipEqual || (skipEqual && !historicItem.getState().equals(item.getState()))) {
+                            return historicItem;
+                        }
                     }
                 }
                 if (itemCount == filter.getPageSize()) {
                     filter.setPageNumber(++startPage);
-                    items = qService.query(filter);
                 } else {
-                    items = null;
+                    return null;
                 }
             }
-            return null;
 
         } else {
             LoggerFactory.getLogger(PersistenceExtensions.class)
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.model.script.internal.actions;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.model.script.internal.actions.HashedWheelTimer.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Flavio Costa - Initial contribution
+ *
+ */
+public class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setup() {
+        // a small wheel, so that the timeouts need several rounds
+        timer = new HashedWheelTimer("test", 5, 4, Runnable::run);
+    }
+
+    @After
+    public void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    public void testTimeoutExpires() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicLong executionTime = new AtomicLong();
+        long time = System.currentTimeMillis() + 100;
+
+        Timeout timeout = timer.schedule(() -> {
+            executionTime.set(System.currentTimeMillis());
+            latch.countDown();
+        }, time);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertTrue(executionTime.get() >= time);
+    }
+
+    @Test
+    public void testTimeoutInThePastExpires() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        timer.schedule(latch::countDown, System.currentTimeMillis() - 1000);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancelledTimeoutDoesNotExpire() throws InterruptedException {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Timeout timeout = timer.schedule(cancelled::countDown, System.currentTimeMillis() + 50);
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.cancel());
+        timer.schedule(latch::countDown, System.currentTimeMillis() + 100);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, cancelled.getCount());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    public void testTimeoutsExpireInOrder() throws InterruptedException {
+        int count = 50;
+        CountDownLatch latch = new CountDownLatch(count);
+        long[] executionTimes = new long[count];
+        long start = System.currentTimeMillis();
+
+        for (int i = count - 1; i >= 0; i--) {
+            final int index = i;
+            timer.schedule(() -> {
+                executionTimes[index] = System.currentTimeMillis();
+                latch.countDown();
+            }, start + 10 * i);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            assertTrue(executionTimes[i] >= start + 10 * i);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testScheduleAfterStop() {
+        timer.stop();
+        timer.schedule(() -> {
+        }, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.model.script.internal.actions;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+/**
+ *
+ * @author Flavio Costa - Initial contribution
+ *
+ */
+public class TimerImplTest {
+
+    @Test
+    public void testTimerExecutes() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        TimerImpl timer = new TimerImpl("testTimerExecutes", DateTime.now().plusMillis(50), latch::countDown);
+        timer.start();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        waitForTermination(timer);
+        assertEquals(1, timer.getExecutionCount());
+        assertTrue(timer.getLastDelay() >= 0);
+    }
+
+    @Test
+    public void testCancelledTimerDoesNotExecute() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        TimerImpl timer = new TimerImpl("testCancelledTimerDoesNotExecute", DateTime.now().plusMillis(100),
+                executions::incrementAndGet);
+        timer.start();
+
+        assertTrue(timer.cancel());
+        Thread.sleep(300);
+        assertEquals(0, executions.get());
+        assertFalse(timer.hasTerminated());
+    }
+
+    @Test
+    public void testRescheduledTimerExecutesOnce() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        TimerImpl timer = new TimerImpl("testRescheduledTimerExecutesOnce", DateTime.now().plusMillis(50),
+                executions::incrementAndGet);
+        timer.start();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(timer.reschedule(DateTime.now().plusMillis(100)));
+        }
+
+        waitForTermination(timer);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testTerminatedTimerCanBeRescheduled() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        TimerImpl timer = new TimerImpl("testTerminatedTimerCanBeRescheduled", DateTime.now(),
+                executions::incrementAndGet);
+        timer.start();
+        waitForTermination(timer);
+
+        assertTrue(timer.reschedule(DateTime.now()));
+        assertFalse(timer.hasTerminated());
+        waitForTermination(timer);
+        assertEquals(2, executions.get());
+        assertEquals(2, timer.getExecutionCount());
+    }
+
+    @Test
+    public void testNewTimerReplacesTimerWithSameIdentity() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        TimerImpl first = new TimerImpl("testNewTimerReplacesTimerWithSameIdentity", DateTime.now().plusMillis(100),
+                executions::incrementAndGet);
+        first.start();
+        TimerImpl second = new TimerImpl("testNewTimerReplacesTimerWithSameIdentity", DateTime.now().plusMillis(100),
+                executions::incrementAndGet);
+        second.start();
+
+        waitForTermination(second);
+        assertEquals(1, executions.get());
+        assertFalse(first.hasTerminated());
+    }
+
+    private void waitForTermination(TimerImpl timer) throws InterruptedException {
+        for (int i = 0; i < 100 && !timer.hasTerminated(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(timer.hasTerminated());
+    }
+}
@@ -243,4 +243,13 @@ public class NumberExtensionsTest {
         assertTrue(NumberExtensions.operator_greaterEqualsThan((Number) DECIMAL1, Q_ONE_1));
     }
 
+    @Test
+    public void numberToBigDecimal_Decimal() {
+        assertThat(NumberExtensions.numberToBigDecimal(new DecimalType("1.50")), is(new BigDecimal("1.50")));
+        assertThat(NumberExtensions.numberToBigDecimal(new DecimalType(new BigDecimal("1E+3"))),
+                is(new BigDecimal("1000")));
+        assertThat(NumberExtensions.numberToBigDecimal(5), is(new BigDecimal("5")));
+        assertThat(NumberExtensions.numberToBigDecimal(2.5), is(new BigDecimal("2.5")));
+    }
+
 }
@@ -0,0 +1,321 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.model.script.internal.actions;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A timer that keeps its timeouts in the buckets of a hashed wheel, which is advanced by a single thread once per
+ * tick. Scheduling and cancelling a timeout are constant time operations which only enqueue the timeout for the wheel
+ * thread, so that many short lived timeouts that get cancelled or rescheduled before they expire are cheap. Expired
+ * timeouts are executed by the given executor.
+ * <p>
+ * Timeouts expire at most one tick late, so the tick duration is the precision of the timer. The wheel thread is
+ * waiting without ticking while there are no timeouts.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class HashedWheelTimer {
+
+    private final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private final String name;
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor executor;
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Object lock = new Object();
+
+    // guarded by the lock
+    private Thread worker;
+    private boolean stopped;
+
+    // only accessed by the wheel thread
+    private long startTime;
+    private long tick;
+    private int size;
+
+    /**
+     * Creates a new timer. The wheel thread is started with the first timeout.
+     *
+     * @param name the name of the timer, which is used for the name of its thread
+     * @param tickDuration the duration of a tick in milliseconds
+     * @param ticksPerWheel the number of buckets of the wheel, which is rounded up to a power of two
+     * @param executor the executor of the expired timeouts
+     */
+    public HashedWheelTimer(String name, long tickDuration, int ticksPerWheel, Executor executor) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("The tick duration must be positive: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("The ticks per wheel must be between 1 and 2^30: " + ticksPerWheel);
+        }
+        this.name = name;
+        this.tickDuration = TimeUnit.MILLISECONDS.toNanos(tickDuration);
+        int length = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new Bucket[Math.max(length, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.executor = executor;
+    }
+
+    /**
+     * Schedules a task for execution at the given time.
+     *
+     * @param task the task to execute
+     * @param time the time of the execution in milliseconds since the epoch, a time in the past executes the task
+     *            with the next tick
+     * @return the timeout of the task, which can be used to cancel its execution
+     * @throws IllegalStateException if the timer has been stopped
+     */
+    public Timeout schedule(Runnable task, long time) {
+        // the delay is limited, so that the deadline does not overflow
+        long delay = Math.min(TimeUnit.MILLISECONDS.toNanos(Math.max(time - System.currentTimeMillis(), 0)),
+                Long.MAX_VALUE / 4);
+        Timeout timeout = new Timeout(task, System.nanoTime() + delay);
+        synchronized (lock) {
+            if (stopped) {
+                throw new IllegalStateException("Timer '" + name + "' has been stopped.");
+            }
+            pendingTimeouts.add(timeout);
+            if (worker == null) {
+                worker = new Thread(this::run, "ESH-" + name + "-wheel");
+                worker.setDaemon(true);
+                worker.start();
+            } else {
+                lock.notifyAll();
+            }
+        }
+        return timeout;
+    }
+
+    /**
+     * Stops the wheel thread. The timeouts that have not expired yet are not executed anymore.
+     */
+    public void stop() {
+        synchronized (lock) {
+            stopped = true;
+            if (worker != null) {
+                worker.interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        startTime = System.nanoTime();
+        try {
+            while (true) {
+                if (size == 0 && !awaitTimeouts()) {
+                    return;
+                }
+                long now = waitForNextTick();
+                removeCancelledTimeouts();
+                transferPendingTimeouts();
+                wheel[(int) (tick & mask)].expireTimeouts(now);
+                tick++;
+            }
+        } catch (InterruptedException e) {
+            logger.debug("The wheel thread of timer '{}' has been stopped.", name);
+        }
+    }
+
+    /**
+     * Waits while there are no timeouts and realigns the tick with the current time afterwards, which is safe as the
+     * wheel is empty.
+     *
+     * @return false if the timer has been stopped
+     */
+    private boolean awaitTimeouts() throws InterruptedException {
+        synchronized (lock) {
+            while (pendingTimeouts.isEmpty() && !stopped) {
+                lock.wait();
+            }
+            if (stopped) {
+                return false;
+            }
+        }
+        tick = (System.nanoTime() - startTime) / tickDuration;
+        return true;
+    }
+
+    private long waitForNextTick() throws InterruptedException {
+        long deadline = startTime + (tick + 1) * tickDuration;
+        while (true) {
+            long now = System.nanoTime();
+            long sleep = TimeUnit.NANOSECONDS.toMillis(deadline - now + 999999);
+            if (sleep <= 0) {
+                return now;
+            }
+            Thread.sleep(sleep);
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+                size--;
+            }
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long expiryTick = (timeout.deadline - startTime) / tickDuration;
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            // a timeout in the past expires with the current tick
+            Bucket bucket = wheel[(int) (Math.max(expiryTick, tick) & mask)];
+            bucket.add(timeout);
+            size++;
+        }
+    }
+
+    private void execute(Timeout timeout) {
+        try {
+            executor.execute(timeout.task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Timer '{}' could not execute an expired timeout: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * A scheduled task of the timer.
+     */
+    public final class Timeout {
+
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        // only accessed by the wheel thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the execution of the task.
+         *
+         * @return true, if the task had neither expired nor been cancelled before
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        /**
+         * Determines whether the timeout has expired, i.e. whether its task has been handed over for execution.
+         *
+         * @return true, if the timeout has expired
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (state.compareAndSet(INIT, EXPIRED)) {
+                execute(this);
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of timeouts, only accessed by the wheel thread.
+     */
+    private final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expireTimeouts(long now) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= now) {
+                    remove(timeout);
+                    size--;
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                    size--;
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -12,100 +12,147 @@
  */
 package org.eclipse.smarthome.model.script.internal.actions;
 
-import static org.quartz.TriggerBuilder.newTrigger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.model.script.actions.Timer;
-import org.joda.time.DateTime;
+import org.eclipse.smarthome.model.script.internal.actions.HashedWheelTimer.Timeout;
 import org.joda.time.base.AbstractInstant;
-import org.quartz.JobExecutionContext;
-import org.quartz.JobKey;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
-import org.quartz.TriggerKey;
-import org.quartz.impl.StdSchedulerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This is an implementation of the {@link Timer} interface using the Quartz
- * library for scheduling.
+ * This is an implementation of the {@link Timer} interface using a {@link HashedWheelTimer} for scheduling.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
  */
 public class TimerImpl implements Timer {
 
+    private static final String THREAD_POOL_NAME = "scriptTimer";
+    private static final long TICK_DURATION = 10; // ms
+    private static final int TICKS_PER_WHEEL = 512;
+
     private final Logger logger = LoggerFactory.getLogger(TimerImpl.class);
 
     // the scheduler used for timer events
-    public static Scheduler scheduler;
+    public static final HashedWheelTimer scheduler = new HashedWheelTimer(THREAD_POOL_NAME, TICK_DURATION,
+            TICKS_PER_WHEEL, ThreadPoolManager.getPool(THREAD_POOL_NAME));
 
-    static {
-        try {
-            scheduler = StdSchedulerFactory.getDefaultScheduler();
-        } catch (SchedulerException e) {
-            LoggerFactory.getLogger(TimerImpl.class).error("initializing scheduler throws exception", e);
-        }
-    }
+    // the scheduled timers by their identity, a new timer replaces a scheduled timer with the same identity
+    private static final Map<String, TimerImpl> timers = new ConcurrentHashMap<>();
 
-    private JobKey jobKey;
-    private TriggerKey triggerKey;
+    private final String identity;
+    private final Runnable procedure;
+
+    // guarded by this
+    private Timeout timeout;
     private AbstractInstant startTime;
+    private long generation;
+
+    private volatile boolean cancelled = false;
+    private volatile boolean running = false;
+    private volatile boolean terminated = false;
 
-    private boolean cancelled = false;
-    private boolean terminated = false;
+    private final AtomicInteger executionCount = new AtomicInteger();
+    private volatile long lastDelay;
+    private volatile long lastDuration;
 
-    public TimerImpl(JobKey jobKey, TriggerKey triggerKey, AbstractInstant startTime) {
-        this.jobKey = jobKey;
-        this.triggerKey = triggerKey;
+    public TimerImpl(String identity, AbstractInstant startTime, Runnable procedure) {
+        this.identity = identity;
         this.startTime = startTime;
+        this.procedure = procedure;
+    }
+
+    /**
+     * Schedules the timer for its start time, replacing a scheduled timer with the same identity.
+     */
+    public void start() {
+        TimerImpl existing = timers.put(identity, this);
+        if (existing != null && existing != this) {
+            existing.cancel();
+            logger.debug("Cancelled existing timer '{}'", identity);
+        }
+        synchronized (this) {
+            schedule(startTime);
+        }
     }
 
     @Override
-    public boolean cancel() {
-        try {
-            boolean result = scheduler.deleteJob(jobKey);
-            if (result) {
-                cancelled = true;
-            }
-        } catch (SchedulerException e) {
-            logger.warn("An error occurred while cancelling the job '{}': {}", jobKey.toString(), e.getMessage());
+    public synchronized boolean cancel() {
+        if (timeout != null && timeout.cancel()) {
+            timeout = null;
+            cancelled = true;
+            timers.remove(identity, this);
         }
         return cancelled;
     }
 
     @Override
-    public boolean reschedule(AbstractInstant newTime) {
+    public synchronized boolean reschedule(AbstractInstant newTime) {
+        if (timeout != null) {
+            timeout.cancel();
+        }
         try {
-            Trigger trigger = newTrigger().startAt(newTime.toDate()).build();
-            scheduler.rescheduleJob(triggerKey, trigger);
-            this.triggerKey = trigger.getKey();
-            this.cancelled = false;
-            this.terminated = false;
-            return true;
-        } catch (SchedulerException e) {
-            logger.warn("An error occurred while rescheduling the job '{}': {}", jobKey.toString(), e.getMessage());
+            schedule(newTime);
+        } catch (IllegalStateException e) {
+            logger.warn("An error occurred while rescheduling the timer '{}': {}", identity, e.getMessage());
+            timeout = null;
             return false;
         }
+        this.startTime = newTime;
+        this.cancelled = false;
+        this.terminated = false;
+        return true;
     }
 
-    @Override
-    public boolean isRunning() {
+    private void schedule(AbstractInstant time) {
+        long scheduledGeneration = ++generation;
+        timeout = scheduler.schedule(() -> execute(scheduledGeneration), time.getMillis());
+    }
+
+    private void execute(long scheduledGeneration) {
+        long scheduledTime;
+        synchronized (this) {
+            // the timer has been rescheduled after the timeout expired
+            if (scheduledGeneration != generation) {
+                return;
+            }
+            timeout = null;
+            scheduledTime = startTime.getMillis();
+            running = true;
+        }
+        long start = System.currentTimeMillis();
+        logger.debug("Executing timer '{}'", identity);
         try {
-            for (JobExecutionContext context : scheduler.getCurrentlyExecutingJobs()) {
-                if (context.getJobDetail().getKey().equals(jobKey)) {
-                    return true;
+            procedure.run();
+        } catch (RuntimeException e) {
+            logger.error("Error during the execution of timer '{}': {}", identity, e.getMessage(), e);
+        } finally {
+            long end = System.currentTimeMillis();
+            lastDelay = start - scheduledTime;
+            lastDuration = end - start;
+            executionCount.incrementAndGet();
+            logger.debug("Timer '{}' was executed {} ms after its scheduled time and took {} ms", identity, lastDelay,
+                    lastDuration);
+            synchronized (this) {
+                running = false;
+                // the timer might have been rescheduled during its execution
+                if (timeout == null) {
+                    terminated = true;
+                    timers.remove(identity, this);
                 }
             }
-            return false;
-        } catch (SchedulerException e) {
-            // fallback implementation
-            logger.debug("An error occurred getting currently running jobs: {}", e.getMessage());
-            return DateTime.now().isAfter(startTime) && !terminated;
         }
     }
 
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
     @Override
     public boolean hasTerminated() {
         return terminated;
@@ -114,4 +161,25 @@ public class TimerImpl implements Timer {
     public void setTerminated(boolean terminated) {
         this.terminated = terminated;
     }
+
+    /**
+     * @return the number of executions of the timer
+     */
+    public int getExecutionCount() {
+        return executionCount.get();
+    }
+
+    /**
+     * @return the time in milliseconds between the scheduled time and the start of the last execution
+     */
+    public long getLastDelay() {
+        return lastDelay;
+    }
+
+    /**
+     * @return the duration in milliseconds of the last execution
+     */
+    public long getLastDuration() {
+        return lastDuration;
+    }
 }
@@ -18,6 +18,7 @@ import java.math.RoundingMode;
 import javax.measure.quantity.Dimensionless;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.PercentType;
 import org.eclipse.smarthome.core.library.types.QuantityType;
 import org.eclipse.smarthome.core.library.unit.SmartHomeUnits;
 import org.eclipse.smarthome.core.types.Type;
@@ -381,6 +382,18 @@ public class NumberExtensions {
             }
             return null;
         }
+        // subclasses of DecimalType like HSBType have other string representations
+        if (number != null && (number.getClass() == DecimalType.class || number.getClass() == PercentType.class)) {
+            BigDecimal value = ((DecimalType) number).toBigDecimal();
+            // a negative scale would be lost by the plain string representation
+            if (value.scale() >= 0) {
+                return value;
+            }
+        } else if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        } else if (number instanceof Integer || number instanceof Long) {
+            return BigDecimal.valueOf(number.longValue());
+        }
         if (number != null) {
             return new BigDecimal(number.toString());
         } else {
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.storage.mapdb.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+/**
+ *
+ * @author Flavio Costa - Initial contribution
+ *
+ */
+public class MapDbStorageTest {
+
+    private static final String STORAGE_NAME = "test";
+
+    public static class PersistedThing {
+        public String label;
+        public List<String> channels;
+        public Map<String, Object> properties;
+    }
+
+    private DB db;
+    private MapDbCommitter committer;
+
+    @Before
+    public void setup() {
+        db = DBMaker.newMemoryDB().make();
+        committer = new MapDbCommitter(db, 0, 1000, null);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void testPutAndGetInBinaryForm() {
+        MapDbStorage<PersistedThing> storage = new MapDbStorage<>(db, STORAGE_NAME, null, committer, true);
+        storage.put("thing", createThing("Living Room"));
+
+        assertTrue(db.getTreeMap(STORAGE_NAME).get("thing") instanceof byte[]);
+        assertThing(storage.get("thing"), "Living Room");
+    }
+
+    @Test
+    public void testConvertToBinaryForm() {
+        MapDbStorage<PersistedThing> storage = new MapDbStorage<>(db, STORAGE_NAME, null, committer, false);
+        storage.put("thing", createThing("Kitchen"));
+        assertTrue(db.getTreeMap(STORAGE_NAME).get("thing") instanceof String);
+
+        storage = new MapDbStorage<>(db, STORAGE_NAME, null, committer, true);
+
+        assertTrue(db.getTreeMap(STORAGE_NAME).get("thing") instanceof byte[]);
+        assertThing(storage.get("thing"), "Kitchen");
+    }
+
+    @Test
+    public void testReadBinaryFormAsJsonStorage() {
+        MapDbStorage<PersistedThing> storage = new MapDbStorage<>(db, STORAGE_NAME, null, committer, true);
+        storage.put("thing", createThing("Garage"));
+
+        storage = new MapDbStorage<>(db, STORAGE_NAME, null, committer, false);
+        assertThing(storage.get("thing"), "Garage");
+        assertThing(storage.put("thing", createThing("Cellar")), "Garage");
+        assertTrue(db.getTreeMap(STORAGE_NAME).get("thing") instanceof String);
+    }
+
+    @Test
+    public void testPutAllAndRemoveAll() {
+        MapDbStorage<PersistedThing> storage = new MapDbStorage<>(db, STORAGE_NAME, null, committer, false);
+        storage.put("obsolete", createThing("Attic"));
+
+        Map<String, PersistedThing> things = new HashMap<>();
+        things.put("thing1", createThing("Bedroom"));
+        things.put("thing2", createThing("Bathroom"));
+        things.put("obsolete", null);
+        storage.putAll(things);
+
+        assertEquals(2, storage.getKeys().size());
+        assertThing(storage.get("thing1"), "Bedroom");
+        assertThing(storage.get("thing2"), "Bathroom");
+
+        storage.removeAll(Arrays.asList("thing1", "thing2", "unknown"));
+        assertTrue(storage.getKeys().isEmpty());
+    }
+
+    @Test
+    public void testCommitEveryChangeWithoutWriteDelay() {
+        DB db = mock(DB.class);
+        MapDbCommitter committer = new MapDbCommitter(db, 0, 1000, null);
+
+        committer.changed(1);
+        committer.changed(0);
+        committer.changed(3);
+
+        verify(db, times(2)).commit();
+    }
+
+    @Test
+    public void testGroupCommits() throws InterruptedException {
+        DB db = mock(DB.class);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            MapDbCommitter committer = new MapDbCommitter(db, 100, 5, scheduler);
+
+            committer.changed(1);
+            committer.changed(2);
+            verify(db, never()).commit();
+
+            // the maximum number of pending changes is reached
+            committer.changed(2);
+            verify(db, times(1)).commit();
+
+            committer.changed(1);
+            verify(db, times(1)).commit();
+            verify(db, timeout(2000).times(2)).commit();
+
+            // nothing left to commit
+            committer.commit();
+            verify(db, times(2)).commit();
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testChangeCommitSettings() {
+        DB db = mock(DB.class);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            MapDbCommitter committer = new MapDbCommitter(db, 0, 1000, scheduler);
+
+            committer.setCommitSettings(60000, 5);
+            committer.changed(1);
+            committer.changed(2);
+            verify(db, never()).commit();
+
+            // the pending changes are due with the new maximum
+            committer.setCommitSettings(60000, 3);
+            verify(db, times(1)).commit();
+
+            committer.changed(1);
+            verify(db, times(1)).commit();
+
+            // without a write delay the pending changes are committed right away
+            committer.setCommitSettings(0, 3);
+            verify(db, times(2)).commit();
+
+            committer.changed(1);
+            verify(db, times(3)).commit();
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBinaryCodec() {
+        JsonElement json = new JsonParser().parse(
+                "{\"label\":\"Ünïcödé \\\"quoted\\\"\",\"values\":[1,2.50,-1e-7,true,false,null,{\"label\":\"label\"}]}");
+
+        byte[] data = MapDbBinaryCodec.encode("org.example.Type", json);
+        MapDbBinaryCodec.DecodedValue decoded = MapDbBinaryCodec.decode(data);
+
+        assertEquals("org.example.Type", decoded.typeName);
+        assertEquals(json.toString(), decoded.json.toString());
+        assertTrue(data.length < ("org.example.Type@@@" + json.toString()).getBytes().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBinaryCodecRejectsTruncatedData() {
+        byte[] data = MapDbBinaryCodec.encode("org.example.Type", new JsonParser().parse("{\"label\":\"text\"}"));
+
+        MapDbBinaryCodec.decode(Arrays.copyOf(data, data.length - 2));
+    }
+
+    private PersistedThing createThing(String label) {
+        PersistedThing thing = new PersistedThing();
+        thing.label = label;
+        thing.channels = Arrays.asList("power", "brightness");
+        thing.properties = new HashMap<>();
+        thing.properties.put("refresh", new BigDecimal("60"));
+        thing.properties.put("host", "192.168.0.1");
+        return thing;
+    }
+
+    private void assertThing(PersistedThing thing, String label) {
+        assertNotNull(thing);
+        assertEquals(label, thing.label);
+        assertEquals(Arrays.asList("power", "brightness"), thing.channels);
+        assertEquals(new BigDecimal("60"), thing.properties.get("refresh"));
+        assertEquals("192.168.0.1", thing.properties.get("host"));
+    }
+}
@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.storage.mapdb.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+
+/**
+ * Encodes the JSON representation of a value together with its type name in a compact binary form. Strings are
+ * prefixed by their length instead of being quoted and escaped, and a string which occurs more than once (like the
+ * member names of the objects of a list) is only stored once and referenced by its index afterwards. Numbers are kept
+ * in their textual form, so that they are decoded to the exact same JSON numbers.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbBinaryCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte NUMBER = 3;
+    private static final byte STRING = 4;
+    private static final byte STRING_REFERENCE = 5;
+    private static final byte ARRAY = 6;
+    private static final byte OBJECT = 7;
+
+    /**
+     * A decoded value, which consists of the type name and the JSON representation of the value.
+     */
+    public static class DecodedValue {
+        public final String typeName;
+        public final JsonElement json;
+
+        DecodedValue(String typeName, JsonElement json) {
+            this.typeName = typeName;
+            this.json = json;
+        }
+    }
+
+    /**
+     * Encodes a value.
+     *
+     * @param typeName the qualified type name of the value
+     * @param json the JSON representation of the value
+     * @return the binary representation
+     */
+    public static byte[] encode(String typeName, JsonElement json) {
+        Encoder encoder = new Encoder();
+        encoder.out.write(FORMAT_VERSION);
+        encoder.writeBytes(typeName.getBytes(StandardCharsets.UTF_8));
+        encoder.writeElement(json);
+        return encoder.out.toByteArray();
+    }
+
+    /**
+     * Decodes a value.
+     *
+     * @param data the binary representation
+     * @return the type name and the JSON representation of the value
+     * @throws IllegalArgumentException if the data is not a valid binary representation
+     */
+    public static DecodedValue decode(byte[] data) {
+        if (data.length == 0 || data[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported binary format");
+        }
+        Decoder decoder = new Decoder(data);
+        decoder.position = 1;
+        try {
+            String typeName = decoder.readRawString();
+            JsonElement json = decoder.readElement();
+            return new DecodedValue(typeName, json);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated binary data", e);
+        }
+    }
+
+    private static class Encoder {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private void writeElement(JsonElement element) {
+            if (element.isJsonNull()) {
+                out.write(NULL);
+            } else if (element.isJsonPrimitive()) {
+                JsonPrimitive primitive = element.getAsJsonPrimitive();
+                if (primitive.isBoolean()) {
+                    out.write(primitive.getAsBoolean() ? TRUE : FALSE);
+                } else if (primitive.isNumber()) {
+                    out.write(NUMBER);
+                    writeBytes(primitive.getAsString().getBytes(StandardCharsets.US_ASCII));
+                } else {
+                    writeString(primitive.getAsString());
+                }
+            } else if (element.isJsonArray()) {
+                JsonArray array = element.getAsJsonArray();
+                out.write(ARRAY);
+                writeVarInt(array.size());
+                for (JsonElement child : array) {
+                    writeElement(child);
+                }
+            } else {
+                Set<Map.Entry<String, JsonElement>> members = element.getAsJsonObject().entrySet();
+                out.write(OBJECT);
+                writeVarInt(members.size());
+                for (Map.Entry<String, JsonElement> member : members) {
+                    writeString(member.getKey());
+                    writeElement(member.getValue());
+                }
+            }
+        }
+
+        private void writeString(String value) {
+            Integer index = strings.get(value);
+            if (index != null) {
+                out.write(STRING_REFERENCE);
+                writeVarInt(index);
+            } else {
+                strings.put(value, strings.size());
+                out.write(STRING);
+                writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarInt(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        private void writeVarInt(int value) {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                out.write((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            out.write(remaining);
+        }
+    }
+
+    private static class Decoder {
+        private final byte[] data;
+        private final List<String> strings = new ArrayList<>();
+        private int position;
+
+        private Decoder(byte[] data) {
+            this.data = data;
+        }
+
+        private JsonElement readElement() {
+            byte tag = data[position++];
+            switch (tag) {
+                case NULL:
+                    return JsonNull.INSTANCE;
+                case TRUE:
+                    return new JsonPrimitive(Boolean.TRUE);
+                case FALSE:
+                    return new JsonPrimitive(Boolean.FALSE);
+                case NUMBER:
+                    return new JsonPrimitive(new LazilyParsedNumber(readRawString()));
+                case STRING:
+                case STRING_REFERENCE:
+                    return new JsonPrimitive(readString(tag));
+                case ARRAY:
+                    int size = readVarInt();
+                    JsonArray array = new JsonArray();
+                    for (int i = 0; i < size; i++) {
+                        array.add(readElement());
+                    }
+                    return array;
+                case OBJECT:
+                    int members = readVarInt();
+                    JsonObject object = new JsonObject();
+                    for (int i = 0; i < members; i++) {
+                        String name = readString(data[position++]);
+                        object.add(name, readElement());
+                    }
+                    return object;
+                default:
+                    throw new IllegalArgumentException("Unknown tag " + tag + " at position " + (position - 1));
+            }
+        }
+
+        private String readString(byte tag) {
+            if (tag == STRING_REFERENCE) {
+                int index = readVarInt();
+                if (index >= strings.size()) {
+                    throw new IllegalArgumentException("Unknown string reference " + index);
+                }
+                return strings.get(index);
+            } else if (tag == STRING) {
+                String value = readRawString();
+                strings.add(value);
+                return value;
+            }
+            throw new IllegalArgumentException("Expected a string at position " + (position - 1));
+        }
+
+        private String readRawString() {
+            int length = readVarInt();
+            if (length < 0 || position + length > data.length) {
+                throw new IllegalArgumentException("Invalid string length " + length);
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = data[position++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed length at position " + position);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.storage.mapdb.internal;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.mapdb.DB;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Commits the changes of the {@link MapDbStorage}s of a MapDB database. Without a write delay every change is
+ * committed right away. Otherwise the changes are grouped and committed once the write delay has passed since the
+ * first uncommitted change, or as soon as the maximum number of uncommitted changes has been reached.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbCommitter {
+
+    private final Logger logger = LoggerFactory.getLogger(MapDbCommitter.class);
+
+    private final DB db;
+    private final @Nullable ScheduledExecutorService scheduler;
+
+    // guarded by this
+    private int writeDelay;
+    private int maxPendingChanges;
+    private int pendingChanges;
+    private @Nullable ScheduledFuture<?> commitJob;
+
+    /**
+     * @param db the database to commit
+     * @param writeDelay the time in milliseconds by which a commit is deferred, 0 to commit every change
+     * @param maxPendingChanges the number of uncommitted changes after which a deferred commit is done right away
+     * @param scheduler the scheduler of the deferred commits, only needed with a write delay
+     */
+    public MapDbCommitter(DB db, int writeDelay, int maxPendingChanges, @Nullable ScheduledExecutorService scheduler) {
+        if (writeDelay > 0 && scheduler == null) {
+            throw new IllegalArgumentException("A scheduler is needed to defer commits.");
+        }
+        this.db = db;
+        this.writeDelay = writeDelay;
+        this.maxPendingChanges = maxPendingChanges;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Changes the commit settings. The uncommitted changes are committed right away, if they are due according to
+     * the new settings, and otherwise with the next deferred commit.
+     *
+     * @param writeDelay the time in milliseconds by which a commit is deferred, 0 to commit every change
+     * @param maxPendingChanges the number of uncommitted changes after which a deferred commit is done right away
+     */
+    public synchronized void setCommitSettings(int writeDelay, int maxPendingChanges) {
+        ScheduledExecutorService scheduler = this.scheduler;
+        ScheduledFuture<?> commitJob = this.commitJob;
+        if (writeDelay > 0 && scheduler == null) {
+            throw new IllegalArgumentException("A scheduler is needed to defer commits.");
+        }
+        boolean delayChanged = this.writeDelay != writeDelay;
+        this.writeDelay = writeDelay;
+        this.maxPendingChanges = maxPendingChanges;
+        if (writeDelay <= 0 || scheduler == null || pendingChanges >= maxPendingChanges) {
+            commit();
+        } else if (delayChanged && commitJob != null) {
+            // reschedule the pending commit with the new delay
+            commitJob.cancel(false);
+            this.commitJob = scheduler.schedule(this::commit, writeDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Notifies about changes to the database, which get committed right away or with the next deferred commit.
+     *
+     * @param changes the number of changes
+     */
+    public synchronized void changed(int changes) {
+        if (changes <= 0) {
+            return;
+        }
+        pendingChanges += changes;
+        ScheduledExecutorService scheduler = this.scheduler;
+        if (writeDelay <= 0 || scheduler == null || pendingChanges >= maxPendingChanges) {
+            commit();
+        } else if (commitJob == null) {
+            commitJob = scheduler.schedule(this::commit, writeDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Commits all uncommitted changes.
+     */
+    public synchronized void commit() {
+        ScheduledFuture<?> commitJob = this.commitJob;
+        if (commitJob != null) {
+            commitJob.cancel(false);
+            this.commitJob = null;
+        }
+        if (pendingChanges > 0) {
+            try {
+                db.commit();
+                logger.trace("Committed {} changes to MapDB", pendingChanges);
+            } catch (RuntimeException e) {
+                logger.warn("Couldn't commit {} changes to MapDB: {}", pendingChanges, e.getMessage());
+            }
+            pendingChanges = 0;
+        }
+    }
+}
@@ -17,6 +17,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -28,6 +29,8 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 
 /**
  * The MapDbStorage is concrete implementation of the {@link Storage} interface.
@@ -35,6 +38,10 @@ import com.google.gson.GsonBuilder;
  * the given values using their JSON representation (generated by {@code Gson}.
  * This transformation should help maintaining version compatibility of the stored
  * data.
+ * <p>
+ * Optionally the JSON representation is stored in the compact binary form of the {@link MapDbBinaryCodec}. Both forms
+ * can be read, so that a database can be switched between them, and the values in JSON form are converted when a
+ * storage is opened in binary form.
  *
  * @author Thomas.Eichstaedt-Engelen - Initial Contribution and API
  * @author Alex Tugarev - Loading with Class.forName() if classLoader is null
@@ -50,16 +57,23 @@ public class MapDbStorage<T> implements DeletableStorage<T> {
     private final String name;
     private final DB db;
     private final ClassLoader classLoader;
-    private Map<String, String> map;
+    private final MapDbCommitter committer;
+    private final boolean binary;
+    private Map<String, Object> map;
 
     private transient Gson mapper;
 
-    public MapDbStorage(DB db, String name, ClassLoader classLoader) {
+    public MapDbStorage(DB db, String name, ClassLoader classLoader, MapDbCommitter committer, boolean binary) {
         this.name = name;
         this.db = db;
         this.classLoader = classLoader;
+        this.committer = committer;
+        this.binary = binary;
         this.map = db.createTreeMap(name).makeOrGet();
         this.mapper = new GsonBuilder().registerTypeAdapterFactory(new PropertiesTypeAdapterFactory()).create();
+        if (binary) {
+            convertToBinary();
+        }
     }
 
     @Override
@@ -74,16 +88,45 @@ public class MapDbStorage<T> implements DeletableStorage<T> {
         if (value == null) {
             return remove(key);
         }
-        String previousValue = map.put(key, serialize(value));
-        db.commit();
-        return deserialize(previousValue);
+        Object previousValue = map.put(key, serialize(value));
+        committer.changed(1);
+        return deserializeValue(previousValue);
     }
 
     @Override
     public @Nullable T remove(String key) {
-        String removedElement = map.remove(key);
-        db.commit();
-        return deserialize(removedElement);
+        Object removedElement = map.remove(key);
+        committer.changed(removedElement != null ? 1 : 0);
+        return deserializeValue(removedElement);
+    }
+
+    @Override
+    public void putAll(Map<String, @Nullable T> values) {
+        Map<String, Object> serializedValues = new TreeMap<>();
+        int changes = 0;
+        for (Map.Entry<String, @Nullable T> entry : values.entrySet()) {
+            T value = entry.getValue();
+            if (value == null) {
+                if (map.remove(entry.getKey()) != null) {
+                    changes++;
+                }
+            } else {
+                serializedValues.put(entry.getKey(), serialize(value));
+            }
+        }
+        map.putAll(serializedValues);
+        committer.changed(changes + serializedValues.size());
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        int changes = 0;
+        for (String key : keys) {
+            if (map.remove(key) != null) {
+                changes++;
+            }
+        }
+        committer.changed(changes);
     }
 
     @Override
@@ -93,7 +136,7 @@ public class MapDbStorage<T> implements DeletableStorage<T> {
 
     @Override
     public @Nullable T get(String key) {
-        return deserialize(map.get(key));
+        return deserializeValue(map.get(key));
     }
 
     @Override
@@ -117,14 +160,19 @@ public class MapDbStorage<T> implements DeletableStorage<T> {
      * JSON String.
      *
      * @param value the {@code value} to store
-     * @return the JSON document prepended with the qualified type name of {@code value}
+     * @return the JSON document prepended with the qualified type name of {@code value}, or its binary form
      */
-    private String serialize(T value) {
+    private Object serialize(T value) {
         if (value == null) {
             throw new IllegalArgumentException("Cannot serialize NULL");
         }
 
         String valueTypeName = value.getClass().getName();
+        if (binary) {
+            byte[] data = MapDbBinaryCodec.encode(valueTypeName, mapper.toJsonTree(value));
+            logger.trace("serialized value of type '{}' to {} bytes in MapDB", valueTypeName, data.length);
+            return data;
+        }
         String valueAsString = mapper.toJson(value);
         String concatValue = valueTypeName + TYPE_SEPARATOR + valueAsString;
 
@@ -141,7 +189,6 @@ public class MapDbStorage<T> implements DeletableStorage<T> {
      * @param json
      * @return
      */
-    @SuppressWarnings("unchecked")
     public @Nullable T deserialize(@Nullable String json) {
         if (json == null) {
             // nothing to deserialize
@@ -155,15 +202,7 @@ public class MapDbStorage<T> implements DeletableStorage<T> {
         @Nullable
         T value = null;
         try {
-            // load required class within the given bundle context
-            Class<T> loadedValueType = null;
-            if (classLoader == null) {
-                loadedValueType = (Class<T>) Class.forName(valueTypeName);
-            } else {
-                loadedValueType = (Class<T>) classLoader.loadClass(valueTypeName);
-            }
-
-            value = mapper.fromJson(valueAsString, loadedValueType);
+            value = mapper.fromJson(valueAsString, loadClass(valueTypeName));
             logger.trace("deserialized value '{}' from MapDB", value);
         } catch (Exception e) {
             logger.warn("Couldn't deserialize value '{}'. Root cause is: {}", json, e.getMessage());
@@ -172,4 +211,64 @@ public class MapDbStorage<T> implements DeletableStorage<T> {
         return value;
     }
 
+    private @Nullable T deserializeValue(@Nullable Object storedValue) {
+        if (storedValue instanceof byte[]) {
+            @Nullable
+            T value = null;
+            try {
+                MapDbBinaryCodec.DecodedValue decoded = MapDbBinaryCodec.decode((byte[]) storedValue);
+                value = mapper.fromJson(decoded.json, loadClass(decoded.typeName));
+                logger.trace("deserialized value '{}' from MapDB", value);
+            } catch (Exception e) {
+                logger.warn("Couldn't deserialize binary value of storage '{}'. Root cause is: {}", name,
+                        e.getMessage());
+            }
+            return value;
+        }
+        return deserialize((String) storedValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<T> loadClass(String valueTypeName) throws ClassNotFoundException {
+        // load required class within the given bundle context
+        if (classLoader == null) {
+            return (Class<T>) Class.forName(valueTypeName);
+        } else {
+            return (Class<T>) classLoader.loadClass(valueTypeName);
+        }
+    }
+
+    /**
+     * Converts the values which are stored as JSON strings to the binary form. The JSON documents are converted
+     * as they are, so that the classes of the values do not need to be loaded.
+     */
+    private void convertToBinary() {
+        Map<String, Object> convertedValues = new TreeMap<>();
+        JsonParser parser = new JsonParser();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (entry.getValue() instanceof String) {
+                String json = (String) entry.getValue();
+                int separator = json.indexOf(TYPE_SEPARATOR);
+                if (separator < 0) {
+                    logger.warn("Couldn't convert value '{}' to the binary form as it has no type.", json);
+                    continue;
+                }
+                try {
+                    JsonElement element = parser.parse(json.substring(separator + TYPE_SEPARATOR.length()));
+                    convertedValues.put(entry.getKey(),
+                            MapDbBinaryCodec.encode(json.substring(0, separator), element));
+                } catch (RuntimeException e) {
+                    logger.warn("Couldn't convert value '{}' to the binary form. Root cause is: {}", json,
+                            e.getMessage());
+                }
+            }
+        }
+        if (!convertedValues.isEmpty()) {
+            map.putAll(convertedValues);
+            committer.changed(convertedValues.size());
+            committer.commit();
+            logger.info("Converted {} values of storage '{}' to the binary form.", convertedValues.size(), name);
+        }
+    }
+
 }
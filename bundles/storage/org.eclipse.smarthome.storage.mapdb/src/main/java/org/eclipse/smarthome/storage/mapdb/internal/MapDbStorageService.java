@@ -13,8 +13,10 @@
 package org.eclipse.smarthome.storage.mapdb.internal;
 
 import java.io.File;
+import java.util.Map;
 
 import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.storage.DeletableStorage;
 import org.eclipse.smarthome.core.storage.DeletableStorageService;
 import org.eclipse.smarthome.core.storage.StorageService;
@@ -44,7 +46,26 @@ public class MapDbStorageService implements DeletableStorageService {
     /** the folder name to store mapdb databases ({@code mapdb} by default) */
     private String dbFolderName = "mapdb";
 
-    public void activate() {
+    private static final String CFG_WRITE_DELAY = "write_delay";
+    private static final String CFG_MAX_PENDING_CHANGES = "max_pending_changes";
+    private static final String CFG_BINARY_FORMAT = "binary_format";
+
+    private int writeDelay = 0;
+    private int maxPendingChanges = 1000;
+    private boolean binaryFormat = false;
+
+    private MapDbCommitter committer;
+
+    public void activate(Map<String, Object> properties) {
+        if (properties != null) {
+            writeDelay = getIntegerProperty(properties, CFG_WRITE_DELAY, writeDelay);
+            maxPendingChanges = getIntegerProperty(properties, CFG_MAX_PENDING_CHANGES, maxPendingChanges);
+            Object binaryFormatProperty = properties.get(CFG_BINARY_FORMAT);
+            if (binaryFormatProperty != null) {
+                binaryFormat = Boolean.parseBoolean(binaryFormatProperty.toString());
+            }
+        }
+
         dbFolderName = ConfigConstants.getUserDataFolder() + File.separator + dbFolderName;
         File folder = new File(dbFolderName);
         if (!folder.exists()) {
@@ -53,18 +74,35 @@ public class MapDbStorageService implements DeletableStorageService {
 
         File dbFile = new File(dbFolderName, DB_FILE_NAME);
         db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
+        committer = new MapDbCommitter(db, writeDelay, maxPendingChanges, ThreadPoolManager.getScheduledPool("mapdb"));
 
         logger.debug("Opened MapDB file at '{}'.", dbFile.getAbsolutePath());
     }
 
+    /**
+     * Applies changed commit settings to the open database. A change of the binary format only applies after the
+     * service has been activated again.
+     */
+    public void modified(Map<String, Object> properties) {
+        if (properties != null) {
+            writeDelay = getIntegerProperty(properties, CFG_WRITE_DELAY, writeDelay);
+            maxPendingChanges = getIntegerProperty(properties, CFG_MAX_PENDING_CHANGES, maxPendingChanges);
+        }
+        committer.setCommitSettings(writeDelay, maxPendingChanges);
+        logger.debug("Changed MapDB commit settings: write delay {} ms, at most {} pending changes.", writeDelay,
+                maxPendingChanges);
+    }
+
     public void deactivate() {
+        // Since the commits might be deferred, we need to commit any pending changes
+        committer.commit();
         db.close();
         logger.debug("Deactivated MapDB Storage Service.");
     }
 
     @Override
     public <T> DeletableStorage<T> getStorage(String name, ClassLoader classLoader) {
-        return new MapDbStorage<T>(db, name, classLoader);
+        return new MapDbStorage<T>(db, name, classLoader, committer, binaryFormat);
     }
 
     @Override
@@ -72,4 +110,16 @@ public class MapDbStorageService implements DeletableStorageService {
         return getStorage(name, null);
     }
 
+    private int getIntegerProperty(Map<String, Object> properties, String name, int defaultValue) {
+        Object value = properties.get(name);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.toString());
+            } catch (NumberFormatException nfe) {
+                logger.error("Value {} for {} is invalid. Using {}.", value, name, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
 }
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.timeseries.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the {@link Segment}.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class SegmentTest {
+
+    private static final long T0 = 1527811200000L; // 2018-06-01T00:00:00Z
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+
+    @Before
+    public void setUp() {
+        file = folder.getRoot().toPath().resolve("0000000000" + Segment.FILE_EXTENSION);
+    }
+
+    @Test
+    public void testRoundTripOfMixedStates() throws IOException {
+        Segment segment = Segment.create(file, T0);
+        assertTrue(segment.append(T0, new DecimalType("21.5")));
+        assertTrue(segment.append(T0 + 1000, new DecimalType("21.75")));
+        assertTrue(segment.append(T0 + 2000, new DecimalType("21.75")));
+        assertTrue(segment.append(T0 + 3000, new DecimalType(-3)));
+        assertTrue(segment.append(T0 + 4000, new StringType("hello")));
+        assertTrue(segment.append(T0 + 5000, OnOffType.ON));
+        assertTrue(segment.append(T0 + 5000, OnOffType.ON));
+
+        List<HistoricItem> items = segment.read("item", Long.MIN_VALUE, Long.MAX_VALUE);
+        assertThat(items.size(), is(7));
+        assertThat(items.get(0).getState(), is(new DecimalType("21.5")));
+        assertThat(items.get(1).getState(), is(new DecimalType("21.75")));
+        assertThat(items.get(2).getState(), is(new DecimalType("21.75")));
+        assertThat(items.get(3).getState(), is(new DecimalType(-3)));
+        assertThat(items.get(4).getState(), is(new StringType("hello")));
+        assertThat(items.get(5).getState(), is(OnOffType.ON));
+        assertThat(items.get(6).getState(), is(OnOffType.ON));
+        assertThat(items.get(4).getTimestamp().getTime(), is(T0 + 4000));
+        assertThat(items.get(6).getName(), is("item"));
+        assertThat(segment.getCount(), is(7L));
+        assertThat(segment.getLastTimestamp(), is(T0 + 5000));
+    }
+
+    @Test
+    public void testRangeReadAcrossKeyframes() throws IOException {
+        Segment segment = Segment.create(file, T0);
+        int records = Segment.KEYFRAME_INTERVAL * 5 + 7;
+        for (int i = 0; i < records; i++) {
+            assertTrue(segment.append(T0 + i * 1000L, new DecimalType(new BigDecimal(i).movePointLeft(1))));
+        }
+
+        List<HistoricItem> items = segment.read("item", T0 + 130 * 1000L, T0 + 200 * 1000L);
+        assertThat(items.size(), is(71));
+        assertThat(items.get(0).getState(), is(new DecimalType("13.0")));
+        assertThat(items.get(0).getTimestamp().getTime(), is(T0 + 130 * 1000L));
+        assertThat(items.get(70).getState(), is(new DecimalType("20.0")));
+    }
+
+    @Test
+    public void testReopenSealedSegment() throws IOException {
+        Segment segment = Segment.create(file, T0);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(segment.append(T0 + i * 60000L, new DecimalType(i % 10)));
+        }
+        segment.seal();
+
+        Segment reopened = Segment.open(file);
+        assertTrue(reopened.isSealed());
+        assertThat(reopened.getCount(), is(100L));
+        assertThat(reopened.getFirstTimestamp(), is(T0));
+        assertThat(reopened.getLastTimestamp(), is(T0 + 99 * 60000L));
+        List<HistoricItem> items = reopened.read("item", T0 + 95 * 60000L, Long.MAX_VALUE);
+        assertThat(items.size(), is(5));
+        assertThat(items.get(4).getState(), is(new DecimalType(9)));
+    }
+
+    @Test
+    public void testRecoveryDiscardsCorruptedTail() throws IOException {
+        Segment segment = Segment.create(file, T0);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(segment.append(T0 + i * 1000L, new DecimalType(i)));
+        }
+        segment.force();
+
+        // simulate a crash after the end was committed but before the record was completely written
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer end = ByteBuffer.allocate(8);
+            channel.read(end, 8);
+            long committedEnd = end.getLong(0);
+            channel.write(ByteBuffer.wrap(new byte[] { 0x07, 0x01, 0x02 }), committedEnd);
+            end.clear();
+            end.putLong(0, committedEnd + 3);
+            channel.write(end, 8);
+        }
+
+        Segment recovered = Segment.open(file);
+        assertFalse(recovered.isSealed());
+        assertThat(recovered.getCount(), is(10L));
+        assertTrue(recovered.append(T0 + 10000L, new DecimalType(10)));
+
+        List<HistoricItem> items = recovered.read("item", Long.MIN_VALUE, Long.MAX_VALUE);
+        assertThat(items.size(), is(11));
+        assertThat(items.get(10).getState(), is(new DecimalType(10)));
+        assertThat(items.get(10).getTimestamp().getTime(), is(T0 + 10000L));
+    }
+
+    @Test
+    public void testReplacedSegmentIsReadFromTheNewFile() throws IOException {
+        Segment segment = Segment.create(file, T0);
+        for (int i = 0; i < Segment.KEYFRAME_INTERVAL * 3; i++) {
+            assertTrue(segment.append(T0 + i * 1000L, new DecimalType(i)));
+        }
+        segment.seal();
+        // builds the keyframe index of the original file
+        assertThat(segment.read("item", T0 + 150 * 1000L, Long.MAX_VALUE).size(), is(42));
+
+        Segment replacement = Segment.create(file.resolveSibling("replacement"), T0);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(replacement.append(T0 + i * 20000L, new StringType("value" + i)));
+        }
+        replacement.seal();
+        segment.replaceWith(replacement);
+
+        assertThat(segment.getCount(), is(10L));
+        List<HistoricItem> items = segment.read("item", T0 + 150 * 1000L, Long.MAX_VALUE);
+        assertThat(items.size(), is(2));
+        assertThat(items.get(0).getState(), is(new StringType("value8")));
+    }
+
+    @Test
+    public void testDeletedSegmentReturnsNoRecords() throws IOException {
+        Segment segment = Segment.create(file, T0);
+        assertTrue(segment.append(T0, new DecimalType(1)));
+        segment.seal();
+
+        segment.delete();
+
+        assertFalse(file.toFile().exists());
+        assertThat(segment.read("item", Long.MIN_VALUE, Long.MAX_VALUE).size(), is(0));
+    }
+
+    @Test(expected = IOException.class)
+    public void testCorruptedRecordIsReportedAsIOException() throws IOException {
+        Segment segment = Segment.create(file, T0);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(segment.append(T0 + i * 1000L, new DecimalType(i)));
+        }
+        segment.seal();
+
+        // an unknown record kind in the header of the second record, which follows the 11 bytes of the first one
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0x07 }), 64 + 11);
+        }
+
+        Segment.open(file).read("item", Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testAppendFailsWhenSegmentIsFull() throws IOException {
+        Segment segment = Segment.create(file, T0);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1024; i++) {
+            builder.append("0123456789");
+        }
+        StringType state = new StringType(builder.toString());
+        long timestamp = T0;
+        while (segment.append(timestamp, state)) {
+            timestamp++;
+            state = new StringType(state.toString().substring(1) + timestamp % 10);
+        }
+        assertTrue(segment.getCount() >= Segment.MAX_CAPACITY / 10300);
+        assertThat(segment.read("item", Long.MIN_VALUE, Long.MAX_VALUE).size(), is((int) segment.getCount()));
+    }
+
+}
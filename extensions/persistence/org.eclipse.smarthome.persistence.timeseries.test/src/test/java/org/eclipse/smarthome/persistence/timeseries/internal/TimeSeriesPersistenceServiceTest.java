@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.timeseries.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Operator;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.persistence.PersistenceItemInfo;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.UnDefType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the {@link TimeSeriesPersistenceService}.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class TimeSeriesPersistenceServiceTest {
+
+    private static final long T0 = 1527811200000L; // 2018-06-01T00:00:00Z
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+    private TimeSeriesPersistenceService service;
+
+    @Before
+    public void setUp() {
+        directory = folder.getRoot().toPath();
+        service = new TimeSeriesPersistenceService();
+        service.activate(directory, Collections.emptyMap());
+    }
+
+    @After
+    public void tearDown() {
+        service.deactivate();
+    }
+
+    @Test
+    public void testQueryOrderingAndPaging() {
+        for (int i = 0; i < 10; i++) {
+            service.store("Temperature", T0 + i * 1000L, new DecimalType(i));
+        }
+
+        FilterCriteria filter = new FilterCriteria().setItemName("Temperature").setOrdering(Ordering.ASCENDING);
+        assertThat(values(service.query(filter)), is(range(0, 10)));
+
+        filter.setOrdering(Ordering.DESCENDING).setPageSize(3).setPageNumber(1);
+        assertThat(values(service.query(filter)), is(asList(6, 5, 4)));
+
+        filter.setOrdering(Ordering.ASCENDING).setPageSize(Integer.MAX_VALUE).setPageNumber(0)
+                .setBeginDate(toDate(T0 + 2000L)).setEndDate(toDate(T0 + 4000L));
+        assertThat(values(service.query(filter)), is(range(2, 5)));
+    }
+
+    @Test
+    public void testQueryAcrossDaysAndItems() {
+        service.store("A", T0, new DecimalType(1));
+        service.store("A", T0 + DAY, new DecimalType(2));
+        service.store("A", T0 + 2 * DAY, new DecimalType(3));
+        service.store("B", T0 + DAY, new StringType("b"));
+
+        FilterCriteria filter = new FilterCriteria().setItemName("A").setOrdering(Ordering.DESCENDING);
+        assertThat(values(service.query(filter)), is(asList(3, 2, 1)));
+
+        filter.setBeginDate(toDate(T0 + DAY)).setOrdering(Ordering.ASCENDING);
+        assertThat(values(service.query(filter)), is(asList(2, 3)));
+
+        List<String> names = new ArrayList<>();
+        for (HistoricItem item : service.query(new FilterCriteria())) {
+            names.add(item.getName());
+        }
+        assertThat(names, is(Arrays.asList("A", "A", "A", "B")));
+    }
+
+    @Test
+    public void testOperatorFilter() {
+        for (int i = 0; i < 10; i++) {
+            service.store("Temperature", T0 + i * 1000L, new DecimalType(i));
+        }
+
+        FilterCriteria filter = new FilterCriteria().setItemName("Temperature").setOrdering(Ordering.ASCENDING)
+                .setOperator(Operator.GTE).setState(new DecimalType(7));
+        assertThat(values(service.query(filter)), is(range(7, 10)));
+
+        filter.setOperator(Operator.EQ).setState(new DecimalType(3));
+        assertThat(values(service.query(filter)), is(asList(3)));
+
+        filter.setOperator(Operator.LT).setState(new DecimalType(2)).setPageSize(1).setPageNumber(1);
+        assertThat(values(service.query(filter)), is(asList(1)));
+    }
+
+    @Test
+    public void testIgnoresUndefinedStates() {
+        service.store("Switch", T0, OnOffType.ON);
+        service.store("Switch", T0 + 1000L, UnDefType.UNDEF);
+        service.store("Switch", T0 + 2000L, OnOffType.OFF);
+
+        List<State> states = new ArrayList<>();
+        for (HistoricItem item : service.query(new FilterCriteria().setItemName("Switch"))) {
+            states.add(item.getState());
+        }
+        assertThat(states, is(Arrays.<State> asList(OnOffType.OFF, OnOffType.ON)));
+    }
+
+    @Test
+    public void testReopen() {
+        service.store("My Item/1", T0, new DecimalType(1));
+        service.store("My Item/1", T0 + DAY, new DecimalType(2));
+        service.deactivate();
+
+        service = new TimeSeriesPersistenceService();
+        service.activate(directory, Collections.emptyMap());
+        service.store("My Item/1", T0 + DAY + 1000L, new DecimalType(3));
+
+        FilterCriteria filter = new FilterCriteria().setItemName("My Item/1").setOrdering(Ordering.ASCENDING);
+        assertThat(values(service.query(filter)), is(asList(1, 2, 3)));
+
+        Set<PersistenceItemInfo> infos = service.getItemInfo();
+        assertThat(infos.size(), is(1));
+        PersistenceItemInfo info = infos.iterator().next();
+        assertThat(info.getName(), is("My Item/1"));
+        assertThat(info.getCount(), is(3));
+        assertThat(info.getEarliest().getTime(), is(T0));
+        assertThat(info.getLatest().getTime(), is(T0 + DAY + 1000L));
+    }
+
+    @Test
+    public void testRetentionAndCompaction() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("retentionDays", 5);
+        properties.put("compactionDays", 2);
+        service.deactivate();
+        service = new TimeSeriesPersistenceService();
+        service.activate(directory, properties);
+
+        long now = System.currentTimeMillis();
+        long today = now - now % DAY;
+        long old = today - 10 * DAY;
+        long recent = today - 3 * DAY + TimeUnit.HOURS.toMillis(1);
+        service.store("Switch", old, OnOffType.ON);
+        service.store("Switch", recent, OnOffType.ON);
+        service.store("Switch", recent + 1000L, OnOffType.ON);
+        service.store("Switch", recent + 2000L, OnOffType.OFF);
+        service.store("Switch", now, OnOffType.OFF);
+        service.runMaintenance();
+
+        List<Long> timestamps = new ArrayList<>();
+        for (HistoricItem item : service
+                .query(new FilterCriteria().setItemName("Switch").setOrdering(Ordering.ASCENDING))) {
+            timestamps.add(item.getTimestamp().getTime());
+        }
+        assertThat(timestamps, is(Arrays.asList(recent, recent + 2000L, now)));
+    }
+
+    private static ZonedDateTime toDate(long timestamp) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC);
+    }
+
+    private static List<Integer> values(Iterable<HistoricItem> items) {
+        List<Integer> values = new ArrayList<>();
+        for (HistoricItem item : items) {
+            values.add(((DecimalType) item.getState()).intValue());
+        }
+        return values;
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    private static List<Integer> asList(Integer... values) {
+        return Arrays.asList(values);
+    }
+
+}
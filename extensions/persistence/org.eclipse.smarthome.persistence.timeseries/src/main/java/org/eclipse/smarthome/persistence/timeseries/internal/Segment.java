@@ -0,0 +1,683 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.timeseries.internal;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.types.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A segment is an append-only, memory-mapped file holding a time ordered series of states of a single item.
+ * <p>
+ * The file starts with a fixed size header, which contains the committed end of the data. A record is only committed
+ * by updating the end after all of its bytes have been written, so that a partially written record is ignored after a
+ * crash. Each record consists of
+ * <ul>
+ * <li>a header byte with the kind of the record and the keyframe flag,
+ * <li>the timestamp, either absolute (keyframes) or as delta-of-delta to the previous record,
+ * <li>the value, which is either a decimal as scale and unscaled value, the delta of the unscaled value to the previous
+ * decimal of the same scale, a repetition of the previous state or any other state as type index and string.
+ * </ul>
+ * Every {@link #KEYFRAME_INTERVAL}th record is a keyframe, which does not refer to its predecessors. The positions of
+ * the keyframes are indexed by their timestamps, so that a range query only decodes the records of the requested
+ * range.
+ * <p>
+ * A segment is writable until it is sealed, afterwards it is only mapped while it is read. The file of a sealed
+ * segment is only replaced or deleted after running reads have finished.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+final class Segment {
+
+    static final String FILE_EXTENSION = ".seg";
+
+    static final int KEYFRAME_INTERVAL = 64;
+    static final int INITIAL_CAPACITY = 64 * 1024;
+    static final int MAX_CAPACITY = 4 * 1024 * 1024;
+
+    private static final int MAGIC = 0x45534854;
+    private static final short VERSION = 1;
+
+    private static final int VERSION_OFFSET = 4;
+    private static final int FLAGS_OFFSET = 6;
+    private static final int END_OFFSET = 8;
+    private static final int COUNT_OFFSET = 16;
+    private static final int FIRST_TIMESTAMP_OFFSET = 24;
+    private static final int LAST_TIMESTAMP_OFFSET = 32;
+    private static final int HEADER_SIZE = 64;
+
+    private static final short FLAG_SEALED = 1;
+    private static final short FLAG_COMPACTED = 2;
+
+    private static final int KIND_MASK = 0x07;
+    private static final int KIND_NUMBER = 1;
+    private static final int KIND_NUMBER_DELTA = 2;
+    private static final int KIND_REPEAT = 3;
+    private static final int KIND_STATE = 4;
+    private static final int KEYFRAME = 0x08;
+
+    private final Logger logger = LoggerFactory.getLogger(Segment.class);
+
+    private final Path file;
+    private final long firstTimestamp;
+
+    // held while the file is read, so that it is not replaced or deleted meanwhile
+    private final ReadWriteLock fileLock = new ReentrantReadWriteLock();
+    private boolean deleted;
+
+    private volatile long lastTimestamp;
+    private volatile long count;
+    private volatile int end;
+    private volatile short flags;
+
+    private long @Nullable [] keyframeTimestamps;
+    private int[] keyframePositions = new int[0];
+    private int keyframeCount;
+
+    private @Nullable MappedByteBuffer buffer;
+    private Context context = new Context();
+    private Context pendingContext = new Context();
+    private boolean forceKeyframe;
+    private ByteBuffer scratch = ByteBuffer.allocate(256);
+
+    private Segment(Path file, long firstTimestamp) {
+        this.file = file;
+        this.firstTimestamp = firstTimestamp;
+        this.lastTimestamp = firstTimestamp;
+    }
+
+    /**
+     * Creates a new writable segment.
+     *
+     * @param file the file of the segment, which must not exist yet
+     * @param firstTimestamp the timestamp of the first record, which is going to be appended
+     * @return the segment
+     * @throws IOException if the file could not be created
+     */
+    static Segment create(Path file, long firstTimestamp) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, INITIAL_CAPACITY);
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(VERSION_OFFSET, VERSION);
+            buffer.putShort(FLAGS_OFFSET, (short) 0);
+            buffer.putLong(END_OFFSET, HEADER_SIZE);
+            buffer.putLong(COUNT_OFFSET, 0);
+            buffer.putLong(FIRST_TIMESTAMP_OFFSET, firstTimestamp);
+            buffer.putLong(LAST_TIMESTAMP_OFFSET, firstTimestamp);
+
+            Segment segment = new Segment(file, firstTimestamp);
+            segment.buffer = buffer;
+            segment.end = HEADER_SIZE;
+            segment.keyframeTimestamps = new long[0];
+            return segment;
+        }
+    }
+
+    /**
+     * Opens an existing segment. A segment, which has not been sealed, is mapped for writing and its records are
+     * verified, so that data written after the last committed record is discarded.
+     *
+     * @param file the file of the segment
+     * @return the segment
+     * @throws IOException if the file could not be read or is not a segment
+     */
+    static Segment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // read the complete header
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getShort(VERSION_OFFSET) != VERSION) {
+                throw new IOException("Not a valid segment file: " + file);
+            }
+
+            Segment segment = new Segment(file, header.getLong(FIRST_TIMESTAMP_OFFSET));
+            segment.flags = header.getShort(FLAGS_OFFSET);
+            segment.end = (int) Math.min(header.getLong(END_OFFSET), channel.size());
+            segment.count = header.getLong(COUNT_OFFSET);
+            segment.lastTimestamp = header.getLong(LAST_TIMESTAMP_OFFSET);
+            if (!segment.isSealed()) {
+                segment.buffer = channel.map(MapMode.READ_WRITE, 0, Math.max(channel.size(), INITIAL_CAPACITY));
+                segment.recover();
+            }
+            return segment;
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    boolean isSealed() {
+        return (flags & FLAG_SEALED) != 0;
+    }
+
+    boolean isCompacted() {
+        return (flags & FLAG_COMPACTED) != 0;
+    }
+
+    /**
+     * Checks whether the given state can be stored in a segment.
+     *
+     * @param state the state
+     * @return true if the state can be stored
+     */
+    static boolean isSupported(State state) {
+        return toNumber(state) != null || StateCodec.getTypeIndex(state) >= 0;
+    }
+
+    /**
+     * Appends a record to this segment.
+     *
+     * @param timestamp the timestamp of the record, which must not be older than the last record
+     * @param state the state, which must be {@link #isSupported(State) supported}
+     * @return true if the record was appended, false if the segment is full
+     * @throws IOException if the segment could not be extended
+     */
+    synchronized boolean append(long timestamp, State state) throws IOException {
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            throw new IllegalStateException("Segment " + file + " is sealed");
+        }
+        boolean keyframe = forceKeyframe || count % KEYFRAME_INTERVAL == 0;
+        pendingContext.copyFrom(context);
+        ByteBuffer record = encode(pendingContext, timestamp, state, keyframe);
+        int length = record.remaining();
+        if (end + length > buffer.capacity()) {
+            buffer = grow(end + length);
+            if (buffer == null) {
+                return false;
+            }
+        }
+
+        int position = end;
+        buffer.position(position);
+        buffer.put(record);
+        if (keyframe) {
+            addKeyframe(timestamp, position);
+        }
+        Context committed = context;
+        context = pendingContext;
+        pendingContext = committed;
+        forceKeyframe = false;
+
+        count++;
+        lastTimestamp = timestamp;
+        end = position + length;
+        buffer.putLong(COUNT_OFFSET, count);
+        buffer.putLong(LAST_TIMESTAMP_OFFSET, timestamp);
+        buffer.putLong(END_OFFSET, end);
+        return true;
+    }
+
+    /**
+     * Reads the records of the given time range.
+     *
+     * @param name the name of the returned historic items
+     * @param begin the earliest timestamp to return (inclusive)
+     * @param end the latest timestamp to return (inclusive)
+     * @return the historic items in ascending order
+     * @throws IOException if the segment could not be mapped or its records could not be decoded
+     */
+    List<HistoricItem> read(String name, long begin, long end) throws IOException {
+        fileLock.readLock().lock();
+        try {
+            if (deleted) {
+                return Collections.emptyList();
+            }
+            return readRecords(name, begin, end);
+        } finally {
+            fileLock.readLock().unlock();
+        }
+    }
+
+    private List<HistoricItem> readRecords(String name, long begin, long end) throws IOException {
+        ByteBuffer view;
+        int limit;
+        int start;
+        synchronized (this) {
+            limit = this.end;
+            MappedByteBuffer buffer = this.buffer;
+            if (buffer != null) {
+                view = buffer.duplicate();
+            } else {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    view = channel.map(MapMode.READ_ONLY, 0, limit);
+                }
+                if (keyframeTimestamps == null) {
+                    scan(view.duplicate(), limit);
+                }
+            }
+            start = findKeyframe(begin);
+        }
+
+        List<HistoricItem> result = new ArrayList<>();
+        Context context = new Context();
+        view.position(start);
+        try {
+            while (view.position() < limit) {
+                State state = decode(view, context);
+                if (context.timestamp > end) {
+                    break;
+                }
+                if (state != null && context.timestamp >= begin) {
+                    result.add(new TimeSeriesHistoricItem(name, context.timestamp, state));
+                }
+            }
+        } catch (IllegalStateException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException(
+                    "Could not decode record of segment " + file + " at position " + view.position() + ": " + e, e);
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the file of this sealed segment by the file of the given sealed segment, e.g. a compacted copy of it.
+     * Running reads are finished first, the keyframe index is rebuilt by the next read.
+     *
+     * @param replacement the segment, whose file is moved to the file of this segment
+     * @throws IOException if the file could not be replaced
+     */
+    void replaceWith(Segment replacement) throws IOException {
+        if (!isSealed() || !replacement.isSealed()) {
+            throw new IllegalStateException("Only sealed segments can be replaced");
+        }
+        fileLock.writeLock().lock();
+        try {
+            Files.move(replacement.getFile(), file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                flags = replacement.flags;
+                end = replacement.end;
+                count = replacement.count;
+                lastTimestamp = replacement.lastTimestamp;
+                keyframeTimestamps = null;
+                keyframePositions = new int[0];
+                keyframeCount = 0;
+            }
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes the file of this sealed segment, after running reads have finished. Subsequent reads return no records.
+     *
+     * @throws IOException if the file could not be deleted
+     */
+    void delete() throws IOException {
+        if (!isSealed()) {
+            throw new IllegalStateException("Only sealed segments can be deleted");
+        }
+        fileLock.writeLock().lock();
+        try {
+            Files.deleteIfExists(file);
+            deleted = true;
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks this writable segment as compacted, i.e. it does not contain repeated states anymore.
+     */
+    synchronized void markCompacted() {
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            throw new IllegalStateException("Segment " + file + " is sealed");
+        }
+        flags |= FLAG_COMPACTED;
+        buffer.putShort(FLAGS_OFFSET, flags);
+    }
+
+    /**
+     * Writes the committed records of a writable segment to the storage device.
+     */
+    synchronized void force() {
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Seals this segment, so that no more records can be appended. The file is truncated to its committed end.
+     */
+    synchronized void seal() {
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            return;
+        }
+        flags |= FLAG_SEALED;
+        buffer.putShort(FLAGS_OFFSET, flags);
+        buffer.force();
+        this.buffer = null;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(end);
+        } catch (IOException e) {
+            // some platforms do not allow to truncate mapped files, the header limits the data anyway
+            logger.debug("Could not truncate segment '{}': {}", file, e.getMessage());
+        }
+    }
+
+    private void recover() {
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            return;
+        }
+        int committedEnd = end;
+        int verifiedEnd = scan(buffer.duplicate(), committedEnd);
+        if (verifiedEnd != committedEnd) {
+            logger.warn("Discarding {} corrupted bytes at the end of segment '{}'", committedEnd - verifiedEnd, file);
+        }
+        end = verifiedEnd;
+        buffer.putLong(COUNT_OFFSET, count);
+        buffer.putLong(LAST_TIMESTAMP_OFFSET, lastTimestamp);
+        buffer.putLong(END_OFFSET, end);
+        // the encoding context is not restored, so the next record must not refer to its predecessors
+        forceKeyframe = true;
+    }
+
+    /**
+     * Decodes all records up to the given limit to build the keyframe index.
+     *
+     * @return the end of the last record, which could be decoded
+     */
+    private int scan(ByteBuffer view, int limit) {
+        keyframeTimestamps = new long[0];
+        keyframeCount = 0;
+
+        Context context = new Context();
+        int position = HEADER_SIZE;
+        long records = 0;
+        long last = firstTimestamp;
+        try {
+            view.position(position);
+            while (position < limit) {
+                boolean keyframe = (view.get(position) & KEYFRAME) != 0;
+                if (position == HEADER_SIZE && !keyframe) {
+                    throw new IllegalStateException("First record is not a keyframe");
+                }
+                decode(view, context);
+                if (view.position() > limit) {
+                    break;
+                }
+                if (keyframe) {
+                    addKeyframe(context.timestamp, position);
+                }
+                records++;
+                last = context.timestamp;
+                position = view.position();
+            }
+        } catch (IllegalStateException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            logger.debug("Stopped scanning segment '{}' at position {}: {}", file, position, e.getMessage());
+        }
+        count = records;
+        lastTimestamp = last;
+        return position;
+    }
+
+    private int findKeyframe(long begin) {
+        long[] timestamps = keyframeTimestamps;
+        if (timestamps == null || keyframeCount == 0) {
+            return HEADER_SIZE;
+        }
+        // the last keyframe before the begin, as the records following it may already be within the range
+        int index = Arrays.binarySearch(timestamps, 0, keyframeCount, begin);
+        if (index < 0) {
+            index = -index - 2;
+        } else {
+            while (index >= 0 && timestamps[index] >= begin) {
+                index--;
+            }
+        }
+        return index < 0 ? HEADER_SIZE : keyframePositions[index];
+    }
+
+    private void addKeyframe(long timestamp, int position) {
+        long[] timestamps = keyframeTimestamps;
+        if (timestamps == null) {
+            return;
+        }
+        if (keyframeCount == timestamps.length) {
+            int capacity = Math.max(16, keyframeCount * 2);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            keyframeTimestamps = timestamps;
+            keyframePositions = Arrays.copyOf(keyframePositions, capacity);
+        }
+        timestamps[keyframeCount] = timestamp;
+        keyframePositions[keyframeCount] = position;
+        keyframeCount++;
+    }
+
+    private @Nullable MappedByteBuffer grow(int required) throws IOException {
+        MappedByteBuffer buffer = this.buffer;
+        int capacity = buffer == null ? INITIAL_CAPACITY : buffer.capacity();
+        while (capacity < required) {
+            capacity *= 2;
+        }
+        if (capacity > MAX_CAPACITY) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(MapMode.READ_WRITE, 0, capacity);
+        }
+        this.buffer = buffer;
+        return buffer;
+    }
+
+    private ByteBuffer encode(Context context, long timestamp, State state, boolean keyframe) {
+        BigDecimal number = toNumber(state);
+        State previous = context.state;
+        boolean repeat = !keyframe && previous != null && previous.getClass() == state.getClass()
+                && previous.equals(state);
+
+        int kind;
+        long unscaled = 0;
+        int scale = 0;
+        byte[] value = new byte[0];
+        int typeIndex = -1;
+        if (number != null) {
+            unscaled = number.unscaledValue().longValue();
+            scale = number.scale();
+        }
+        if (repeat) {
+            kind = KIND_REPEAT;
+        } else if (number != null) {
+            kind = !keyframe && context.numeric && context.scale == scale ? KIND_NUMBER_DELTA : KIND_NUMBER;
+        } else {
+            kind = KIND_STATE;
+            typeIndex = StateCodec.getTypeIndex(state);
+            value = state.toFullString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        int maximumLength = 1 + 10 + 20 + 6 + value.length;
+        if (scratch.capacity() < maximumLength) {
+            scratch = ByteBuffer.allocate(maximumLength);
+        }
+        ByteBuffer record = scratch;
+        record.clear();
+        record.put((byte) (kind | (keyframe ? KEYFRAME : 0)));
+        if (keyframe) {
+            record.putLong(timestamp);
+            context.delta = 0;
+        } else {
+            long delta = timestamp - context.timestamp;
+            putVarLong(record, zigZag(delta - context.delta));
+            context.delta = delta;
+        }
+        context.timestamp = timestamp;
+
+        switch (kind) {
+            case KIND_NUMBER:
+                putVarLong(record, zigZag(scale));
+                putVarLong(record, zigZag(unscaled));
+                context.numeric = true;
+                context.scale = scale;
+                context.unscaled = unscaled;
+                break;
+            case KIND_NUMBER_DELTA:
+                putVarLong(record, zigZag(unscaled - context.unscaled));
+                context.unscaled = unscaled;
+                break;
+            case KIND_STATE:
+                record.put((byte) typeIndex);
+                putVarLong(record, value.length);
+                record.put(value);
+                context.numeric = false;
+                break;
+            default:
+                break;
+        }
+        context.state = state;
+        record.flip();
+        return record;
+    }
+
+    private static @Nullable State decode(ByteBuffer view, Context context) {
+        int header = view.get();
+        if ((header & KEYFRAME) != 0) {
+            context.timestamp = view.getLong();
+            context.delta = 0;
+        } else {
+            context.delta += unZigZag(getVarLong(view));
+            context.timestamp += context.delta;
+        }
+
+        switch (header & KIND_MASK) {
+            case KIND_NUMBER:
+                context.scale = (int) unZigZag(getVarLong(view));
+                context.unscaled = unZigZag(getVarLong(view));
+                context.numeric = true;
+                context.state = new DecimalType(BigDecimal.valueOf(context.unscaled, context.scale));
+                break;
+            case KIND_NUMBER_DELTA:
+                if (!context.numeric) {
+                    throw new IllegalStateException("Delta without preceding number");
+                }
+                context.unscaled += unZigZag(getVarLong(view));
+                context.state = new DecimalType(BigDecimal.valueOf(context.unscaled, context.scale));
+                break;
+            case KIND_REPEAT:
+                break;
+            case KIND_STATE:
+                int typeIndex = view.get();
+                byte[] value = new byte[(int) getVarLong(view)];
+                view.get(value);
+                context.numeric = false;
+                context.state = StateCodec.decode(typeIndex, new String(value, StandardCharsets.UTF_8));
+                break;
+            default:
+                throw new IllegalStateException("Unknown record kind " + (header & KIND_MASK));
+        }
+        return context.state;
+    }
+
+    private static @Nullable BigDecimal toNumber(State state) {
+        if (state.getClass() != DecimalType.class) {
+            return null;
+        }
+        BigDecimal number = ((DecimalType) state).toBigDecimal();
+        return number.unscaledValue().bitLength() < Long.SIZE ? number : null;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            buffer.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        buffer.put((byte) remaining);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed variable length number");
+    }
+
+    /**
+     * The state shared by consecutive records, which is required to encode or decode the next record.
+     */
+    private static class Context {
+        long timestamp;
+        long delta;
+        boolean numeric;
+        int scale;
+        long unscaled;
+        @Nullable
+        State state;
+
+        void copyFrom(Context other) {
+            timestamp = other.timestamp;
+            delta = other.delta;
+            numeric = other.numeric;
+            scale = other.scale;
+            unscaled = other.unscaled;
+            state = other.state;
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.timeseries.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DateTimeType;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.PlayPauseType;
+import org.eclipse.smarthome.core.library.types.PointType;
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.library.types.RewindFastforwardType;
+import org.eclipse.smarthome.core.library.types.StringListType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.TypeParser;
+
+/**
+ * Maps the states, which are not stored as plain numbers, to a type index and their string representation.
+ * <p>
+ * The position of a type in {@link #TYPES} is part of the file format, hence new types must only be appended.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+final class StateCodec {
+
+    private static final List<Class<? extends State>> TYPES = Collections.unmodifiableList(Arrays.asList(
+            DecimalType.class, StringType.class, OnOffType.class, OpenClosedType.class, UpDownType.class,
+            PercentType.class, HSBType.class, DateTimeType.class, PointType.class, QuantityType.class,
+            StringListType.class, PlayPauseType.class, RewindFastforwardType.class));
+
+    private StateCodec() {
+    }
+
+    /**
+     * Returns the index of the type of the given state.
+     *
+     * @param state the state
+     * @return the type index or -1 if the type of the state cannot be stored
+     */
+    static int getTypeIndex(State state) {
+        return TYPES.indexOf(state.getClass());
+    }
+
+    /**
+     * Restores a state from its type index and string representation.
+     *
+     * @param typeIndex the type index, as returned by {@link #getTypeIndex(State)}
+     * @param value the string representation, as returned by {@link State#toFullString()}
+     * @return the state or null if it could not be restored
+     */
+    static @Nullable State decode(int typeIndex, String value) {
+        if (typeIndex < 0 || typeIndex >= TYPES.size()) {
+            return null;
+        }
+        return TypeParser.parseState(Collections.singletonList(TYPES.get(typeIndex)), value);
+    }
+
+}
@@ -0,0 +1,342 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.timeseries.internal;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.persistence.PersistenceItemInfo;
+import org.eclipse.smarthome.core.types.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The time series of a single item, which is stored in a directory of {@link Segment}s. Only the last segment is
+ * writable, it is sealed when it is full or when a record of the next day is appended, so that retention and
+ * compaction can be applied to whole days.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+final class TimeSeries {
+
+    private static final long SEGMENT_DURATION = TimeUnit.DAYS.toMillis(1);
+    private static final String SEGMENT_NAME_FORMAT = "%010d";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    private final Logger logger = LoggerFactory.getLogger(TimeSeries.class);
+
+    private final String name;
+    private final Path directory;
+
+    // guarded by this, ordered by time, only the last segment may be writable
+    private final List<Segment> segments = new ArrayList<>();
+    private long nextSequence;
+
+    /**
+     * Opens the time series stored in the given directory, which is created if it does not exist.
+     *
+     * @param name the name of the item
+     * @param directory the directory of the time series
+     * @throws IOException if the directory could not be read
+     */
+    TimeSeries(String name, Path directory) throws IOException {
+        this.name = name;
+        this.directory = directory;
+
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + Segment.FILE_EXTENSION)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        for (Path file : files) {
+            try {
+                Segment segment = Segment.open(file);
+                // only the last segment may have been left writable
+                Segment previous = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+                if (previous != null) {
+                    previous.seal();
+                }
+                segments.add(segment);
+                nextSequence = Math.max(nextSequence, getSequence(file) + 1);
+            } catch (IOException | NumberFormatException e) {
+                logger.warn("Skipping unreadable segment '{}' of item '{}': {}", file, name, e.getMessage());
+            }
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Appends a state to the time series. States with an older timestamp than the last stored state are appended with
+     * the timestamp of the last state, as the series is append-only.
+     *
+     * @param timestamp the timestamp of the state
+     * @param state the state
+     * @throws IOException if the state could not be written
+     */
+    synchronized void append(long timestamp, State state) throws IOException {
+        if (!Segment.isSupported(state)) {
+            logger.debug("Cannot store state '{}' of type {} for item '{}'", state, state.getClass().getSimpleName(),
+                    name);
+            return;
+        }
+
+        Segment active = getWritableSegment();
+        long effectiveTimestamp = timestamp;
+        if (!segments.isEmpty()) {
+            effectiveTimestamp = Math.max(timestamp, segments.get(segments.size() - 1).getLastTimestamp());
+        }
+        if (active != null && getDay(effectiveTimestamp) != getDay(active.getFirstTimestamp())) {
+            active.seal();
+            active = null;
+        }
+        if (active == null) {
+            active = createSegment(effectiveTimestamp);
+        }
+        if (!active.append(effectiveTimestamp, state)) {
+            active.seal();
+            active = createSegment(effectiveTimestamp);
+            if (!active.append(effectiveTimestamp, state)) {
+                logger.warn("State of item '{}' exceeds the maximum segment size and is not stored", name);
+            }
+        }
+    }
+
+    /**
+     * Reads the states of the given time range.
+     *
+     * @param begin the earliest timestamp (inclusive)
+     * @param end the latest timestamp (inclusive)
+     * @param ascending whether the states should be returned in ascending or descending order
+     * @return the states, which are read segment by segment while iterating
+     */
+    Iterator<HistoricItem> read(long begin, long end, boolean ascending) {
+        List<Segment> matches = new ArrayList<>();
+        synchronized (this) {
+            for (Segment segment : segments) {
+                if (segment.getFirstTimestamp() <= end && segment.getLastTimestamp() >= begin
+                        && segment.getCount() > 0) {
+                    matches.add(segment);
+                }
+            }
+        }
+        if (!ascending) {
+            Collections.reverse(matches);
+        }
+
+        Iterator<Segment> segmentIterator = matches.iterator();
+        return new Iterator<HistoricItem>() {
+            private Iterator<HistoricItem> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && segmentIterator.hasNext()) {
+                    Segment segment = segmentIterator.next();
+                    try {
+                        List<HistoricItem> items = segment.read(name, begin, end);
+                        if (!ascending) {
+                            Collections.reverse(items);
+                        }
+                        current = items.iterator();
+                    } catch (IOException e) {
+                        logger.warn("Could not read segment '{}' of item '{}': {}", segment.getFile(), name,
+                                e.getMessage());
+                    }
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public HistoricItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Forces the written data of the writable segment to the storage device.
+     */
+    synchronized void flush() {
+        Segment active = getWritableSegment();
+        if (active != null) {
+            active.force();
+        }
+    }
+
+    /**
+     * Seals the writable segment, if the given point in time is not on the day of its first record anymore.
+     *
+     * @param now the current time
+     */
+    synchronized void sealIdleSegment(long now) {
+        Segment active = getWritableSegment();
+        if (active != null && getDay(now) != getDay(active.getFirstTimestamp())) {
+            active.seal();
+        }
+    }
+
+    /**
+     * Removes all sealed segments, which only contain data older than the given point in time.
+     *
+     * @param cutoff the oldest point in time to keep
+     */
+    synchronized void applyRetention(long cutoff) {
+        for (Iterator<Segment> it = segments.iterator(); it.hasNext();) {
+            Segment segment = it.next();
+            if (segment.isSealed() && segment.getLastTimestamp() < cutoff) {
+                try {
+                    segment.delete();
+                    it.remove();
+                } catch (IOException e) {
+                    logger.warn("Could not remove segment '{}' of item '{}': {}", segment.getFile(), name,
+                            e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes repeated states from all sealed segments, which only contain data older than the given point in time.
+     * Only the first state of a sequence of equal states is kept.
+     *
+     * @param cutoff the point in time before which segments are compacted
+     */
+    synchronized void compact(long cutoff) {
+        for (Segment segment : segments) {
+            if (segment.isSealed() && !segment.isCompacted() && segment.getLastTimestamp() < cutoff) {
+                try {
+                    compact(segment);
+                } catch (IOException e) {
+                    logger.warn("Could not compact segment '{}' of item '{}': {}", segment.getFile(), name,
+                            e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the information about the stored data.
+     *
+     * @return the information or null if there is no data
+     */
+    synchronized @Nullable PersistenceItemInfo getInfo() {
+        long count = 0;
+        for (Segment segment : segments) {
+            count += segment.getCount();
+        }
+        if (count == 0) {
+            return null;
+        }
+        Date earliest = new Date(segments.get(0).getFirstTimestamp());
+        Date latest = new Date(segments.get(segments.size() - 1).getLastTimestamp());
+        Integer rows = (int) Math.min(count, Integer.MAX_VALUE);
+        return new PersistenceItemInfo() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public @Nullable Integer getCount() {
+                return rows;
+            }
+
+            @Override
+            public @Nullable Date getEarliest() {
+                return earliest;
+            }
+
+            @Override
+            public @Nullable Date getLatest() {
+                return latest;
+            }
+        };
+    }
+
+    /**
+     * Forces the written data to the storage device. The writable segment is kept writable, so that appending can be
+     * continued after the time series has been opened again.
+     */
+    synchronized void close() {
+        flush();
+    }
+
+    private void compact(Segment segment) throws IOException {
+        Path file = segment.getFile();
+        Path temporaryFile = file.resolveSibling(file.getFileName() + TEMPORARY_EXTENSION);
+        Files.deleteIfExists(temporaryFile);
+
+        List<HistoricItem> items = segment.read(name, Long.MIN_VALUE, Long.MAX_VALUE);
+        Segment compacted = Segment.create(temporaryFile, segment.getFirstTimestamp());
+        State previous = null;
+        for (HistoricItem item : items) {
+            State state = item.getState();
+            if (previous == null || previous.getClass() != state.getClass() || !previous.equals(state)) {
+                compacted.append(item.getTimestamp().getTime(), state);
+                previous = state;
+            }
+        }
+        compacted.markCompacted();
+        compacted.seal();
+
+        // readers might still use the segment, so it is updated in place once they are done
+        segment.replaceWith(compacted);
+        logger.debug("Compacted segment '{}' of item '{}' from {} to {} states", file, name, items.size(),
+                compacted.getCount());
+    }
+
+    private @Nullable Segment getWritableSegment() {
+        if (segments.isEmpty()) {
+            return null;
+        }
+        Segment last = segments.get(segments.size() - 1);
+        return last.isSealed() ? null : last;
+    }
+
+    private Segment createSegment(long firstTimestamp) throws IOException {
+        Path file = directory.resolve(String.format(SEGMENT_NAME_FORMAT, nextSequence) + Segment.FILE_EXTENSION);
+        Segment segment = Segment.create(file, firstTimestamp);
+        nextSequence++;
+        segments.add(segment);
+        return segment;
+    }
+
+    private static long getSequence(Path file) {
+        String fileName = file.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - Segment.FILE_EXTENSION.length()));
+    }
+
+    private static long getDay(long timestamp) {
+        return Math.floorDiv(timestamp, SEGMENT_DURATION);
+    }
+
+}
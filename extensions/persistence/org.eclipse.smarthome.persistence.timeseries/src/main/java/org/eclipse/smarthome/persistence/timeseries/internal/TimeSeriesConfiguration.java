@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.timeseries.internal;
+
+/**
+ * Configuration of the {@link TimeSeriesPersistenceService}.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+public class TimeSeriesConfiguration {
+
+    /** number of days for which data is kept, 0 keeps the data forever */
+    public int retentionDays = 0;
+
+    /** number of days after which repeated states are removed from the data, 0 disables the compaction */
+    public int compactionDays = 7;
+
+    /** interval in seconds in which written data is forced to the storage device, 0 leaves it to the system */
+    public int flushInterval = 10;
+
+}
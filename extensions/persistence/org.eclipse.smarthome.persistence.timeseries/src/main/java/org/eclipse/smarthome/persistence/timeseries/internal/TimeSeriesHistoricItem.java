@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.timeseries.internal;
+
+import java.util.Date;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * A {@link HistoricItem} read from a {@link Segment}.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+class TimeSeriesHistoricItem implements HistoricItem {
+
+    private final String name;
+    private final long timestamp;
+    private final State state;
+
+    TimeSeriesHistoricItem(String name, long timestamp, State state) {
+        this.name = name;
+        this.timestamp = timestamp;
+        this.state = state;
+    }
+
+    @Override
+    public Date getTimestamp() {
+        return new Date(timestamp);
+    }
+
+    @Override
+    public State getState() {
+        return state;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSeriesHistoricItem [name=" + name + ", timestamp=" + getTimestamp() + ", state=" + state + "]";
+    }
+
+}
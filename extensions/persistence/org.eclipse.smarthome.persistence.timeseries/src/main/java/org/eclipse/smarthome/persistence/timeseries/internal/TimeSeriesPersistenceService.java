@@ -0,0 +1,419 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.timeseries.internal;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.config.core.ConfigurableService;
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.persistence.PersistenceItemInfo;
+import org.eclipse.smarthome.core.persistence.PersistenceService;
+import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.UnDefType;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An embedded {@link QueryablePersistenceService}, which stores the states of every item as an append-only time
+ * series in memory-mapped {@link Segment} files below the user data folder. It does not require any external
+ * database.
+ *
+ * @author Flavio Costa - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.eclipse.smarthome.persistence.timeseries", property = {
+                Constants.SERVICE_PID + "=org.eclipse.smarthome.persistence.timeseries",
+                ConfigurableService.SERVICE_PROPERTY_DESCRIPTION_URI + "=" + TimeSeriesPersistenceService.CONFIG_URI,
+                ConfigurableService.SERVICE_PROPERTY_CATEGORY + "=persistence",
+                ConfigurableService.SERVICE_PROPERTY_LABEL + "=Time Series Persistence" })
+public class TimeSeriesPersistenceService implements QueryablePersistenceService {
+
+    static final String SERVICE_ID = "timeseries";
+    static final String CONFIG_URI = "persistence:timeseries";
+
+    private static final String STORAGE_FOLDER = "persistence";
+    private static final String THREAD_POOL_NAME = "persistence";
+    private static final long MAINTENANCE_INTERVAL = TimeUnit.HOURS.toMinutes(1);
+
+    private final Logger logger = LoggerFactory.getLogger(TimeSeriesPersistenceService.class);
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME);
+    private final Map<String, TimeSeries> timeSeries = new ConcurrentHashMap<>();
+
+    private @Nullable Path directory;
+    private TimeSeriesConfiguration configuration = new TimeSeriesConfiguration();
+    private @Nullable ScheduledFuture<?> flushJob;
+    private @Nullable ScheduledFuture<?> maintenanceJob;
+
+    @Activate
+    protected void activate(Map<String, Object> properties) {
+        activate(Paths.get(ConfigConstants.getUserDataFolder(), STORAGE_FOLDER, SERVICE_ID), properties);
+    }
+
+    /**
+     * Activates the service with the given storage directory.
+     *
+     * @param directory the directory, which holds the time series of all items
+     * @param properties the configuration properties
+     */
+    void activate(Path directory, Map<String, Object> properties) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, Files::isDirectory)) {
+                for (Path itemDirectory : stream) {
+                    String name = decodeName(itemDirectory.getFileName().toString());
+                    timeSeries.put(name, new TimeSeries(name, itemDirectory));
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Could not open the time series persistence in '{}': {}", directory, e.getMessage());
+        }
+        modified(properties);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> properties) {
+        configuration = new Configuration(properties).as(TimeSeriesConfiguration.class);
+        cancelJobs();
+
+        int flushInterval = configuration.flushInterval;
+        if (flushInterval > 0) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.SECONDS);
+        }
+        maintenanceJob = scheduler.scheduleWithFixedDelay(this::runMaintenance, 1, MAINTENANCE_INTERVAL,
+                TimeUnit.MINUTES);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        cancelJobs();
+        timeSeries.values().forEach(TimeSeries::close);
+        timeSeries.clear();
+        directory = null;
+    }
+
+    @Override
+    public String getId() {
+        return SERVICE_ID;
+    }
+
+    @Override
+    public String getLabel(@Nullable Locale locale) {
+        return "Time Series";
+    }
+
+    @Override
+    public void store(Item item) {
+        store(item, item.getName());
+    }
+
+    @Override
+    public void store(Item item, @Nullable String alias) {
+        store(alias != null ? alias : item.getName(), System.currentTimeMillis(), item.getState());
+    }
+
+    /**
+     * Stores a state with the given timestamp.
+     *
+     * @param name the name of the item or its alias
+     * @param timestamp the timestamp of the state
+     * @param state the state
+     */
+    void store(String name, long timestamp, State state) {
+        if (state instanceof UnDefType) {
+            return;
+        }
+        TimeSeries series = getTimeSeries(name);
+        if (series == null) {
+            logger.debug("Cannot store state of item '{}', the service is not active", name);
+            return;
+        }
+        try {
+            series.append(timestamp, state);
+        } catch (IOException e) {
+            logger.warn("Could not store state of item '{}': {}", name, e.getMessage());
+        }
+    }
+
+    @Override
+    public Iterable<HistoricItem> query(FilterCriteria filter) {
+        List<TimeSeries> series = getMatchingSeries(filter);
+        if (series.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return () -> new QueryIterator(series, filter);
+    }
+
+    @Override
+    public Stream<HistoricItem> stream(FilterCriteria filter) {
+        List<TimeSeries> series = getMatchingSeries(filter);
+        if (series.isEmpty()) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new QueryIterator(series, filter),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private List<TimeSeries> getMatchingSeries(FilterCriteria filter) {
+        List<TimeSeries> series = new ArrayList<>();
+        String itemName = filter.getItemName();
+        if (itemName != null) {
+            TimeSeries itemSeries = timeSeries.get(itemName);
+            if (itemSeries != null) {
+                series.add(itemSeries);
+            }
+        } else {
+            series.addAll(timeSeries.values());
+            series.sort(Comparator.comparing(TimeSeries::getName));
+        }
+        return series;
+    }
+
+    @Override
+    public Set<PersistenceItemInfo> getItemInfo() {
+        Set<PersistenceItemInfo> infos = new HashSet<>();
+        for (TimeSeries series : timeSeries.values()) {
+            PersistenceItemInfo info = series.getInfo();
+            if (info != null) {
+                infos.add(info);
+            }
+        }
+        return infos;
+    }
+
+    /**
+     * Forces the written data of all items to the storage device.
+     */
+    void flush() {
+        try {
+            timeSeries.values().forEach(TimeSeries::flush);
+        } catch (RuntimeException e) {
+            logger.warn("Could not flush the time series: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Seals idle segments and applies the retention and compaction policies.
+     */
+    void runMaintenance() {
+        long now = System.currentTimeMillis();
+        TimeSeriesConfiguration configuration = this.configuration;
+        try {
+            for (TimeSeries series : timeSeries.values()) {
+                series.sealIdleSegment(now);
+                if (configuration.retentionDays > 0) {
+                    series.applyRetention(now - TimeUnit.DAYS.toMillis(configuration.retentionDays));
+                }
+                if (configuration.compactionDays > 0) {
+                    series.compact(now - TimeUnit.DAYS.toMillis(configuration.compactionDays));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not maintain the time series: {}", e.getMessage(), e);
+        }
+    }
+
+    private @Nullable TimeSeries getTimeSeries(String name) {
+        TimeSeries series = timeSeries.get(name);
+        if (series == null) {
+            synchronized (timeSeries) {
+                Path directory = this.directory;
+                series = timeSeries.get(name);
+                if (series == null && directory != null) {
+                    try {
+                        series = new TimeSeries(name, directory.resolve(encodeName(name)));
+                        timeSeries.put(name, series);
+                    } catch (IOException e) {
+                        logger.warn("Could not create time series of item '{}': {}", name, e.getMessage());
+                    }
+                }
+            }
+        }
+        return series;
+    }
+
+    private void cancelJobs() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        job = maintenanceJob;
+        if (job != null) {
+            job.cancel(false);
+            maintenanceJob = null;
+        }
+    }
+
+    private static String encodeName(String name) {
+        try {
+            return URLEncoder.encode(name, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String decodeName(String fileName) {
+        try {
+            return URLDecoder.decode(fileName, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long toEpochMilli(@Nullable ZonedDateTime dateTime, long defaultValue) {
+        return dateTime == null ? defaultValue : dateTime.toInstant().toEpochMilli();
+    }
+
+    /**
+     * Iterates over the states of the matching time series, applying the state filter and the paging of the
+     * {@link FilterCriteria}. The segments are only read when the iteration reaches them.
+     */
+    private static class QueryIterator implements Iterator<HistoricItem> {
+
+        private final Iterator<TimeSeries> series;
+        private final FilterCriteria filter;
+        private final long begin;
+        private final long end;
+        private final boolean ascending;
+
+        private Iterator<HistoricItem> current = Collections.emptyIterator();
+        private @Nullable HistoricItem next;
+        private long skip;
+        private long remaining;
+
+        QueryIterator(List<TimeSeries> series, FilterCriteria filter) {
+            this.series = series.iterator();
+            this.filter = filter;
+            this.begin = toEpochMilli(filter.getBeginDateZoned(), Long.MIN_VALUE);
+            this.end = toEpochMilli(filter.getEndDateZoned(), Long.MAX_VALUE);
+            this.ascending = filter.getOrdering() == Ordering.ASCENDING;
+            this.skip = (long) filter.getPageNumber() * filter.getPageSize();
+            this.remaining = filter.getPageSize();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            while (remaining > 0) {
+                while (!current.hasNext()) {
+                    if (!series.hasNext()) {
+                        return false;
+                    }
+                    current = series.next().read(begin, end, ascending);
+                }
+                HistoricItem item = current.next();
+                if (!matches(item.getState())) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                next = item;
+                remaining--;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public HistoricItem next() {
+            HistoricItem item = hasNext() ? next : null;
+            if (item == null) {
+                throw new NoSuchElementException();
+            }
+            next = null;
+            return item;
+        }
+
+        private boolean matches(State state) {
+            State filterState = filter.getState();
+            if (filterState == null) {
+                return true;
+            }
+            switch (filter.getOperator()) {
+                case EQ:
+                    return filterState.equals(state);
+                case NEQ:
+                    return !filterState.equals(state);
+                default:
+                    DecimalType value = state.as(DecimalType.class);
+                    DecimalType filterValue = filterState.as(DecimalType.class);
+                    if (value == null || filterValue == null) {
+                        return false;
+                    }
+                    int comparison = value.compareTo(filterValue);
+                    switch (filter.getOperator()) {
+                        case GT:
+                            return comparison > 0;
+                        case GTE:
+                            return comparison >= 0;
+                        case LT:
+                            return comparison < 0;
+                        case LTE:
+                            return comparison <= 0;
+                        default:
+                            return false;
+                    }
+            }
+        }
+    }
+
+}